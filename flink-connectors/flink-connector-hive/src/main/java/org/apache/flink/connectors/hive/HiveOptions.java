@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connectors.hive;
+
+import org.apache.flink.configuration.ConfigOption;
+
+import static org.apache.flink.configuration.ConfigOptions.key;
+
+/**
+ * Options of the Hive connector. They are read from the configuration of the table environment.
+ */
+public class HiveOptions {
+
+	public static final ConfigOption<Boolean> TABLE_EXEC_HIVE_FALLBACK_MAPRED_READER =
+			key("table.exec.hive.fallback-mapred-reader")
+					.defaultValue(false)
+					.withDescription("If it is false, ORC and Parquet tables are read with vectorized readers, " +
+							"which decode the columns of a batch of rows at once. If it is true, all tables are " +
+							"read with the record readers and SerDes of Hive.");
+
+	public static final ConfigOption<Integer> TABLE_EXEC_HIVE_VECTORIZED_READER_BATCH_SIZE =
+			key("table.exec.hive.vectorized-reader.batch-size")
+					.defaultValue(2048)
+					.withDescription("The maximum number of rows of a batch read by the vectorized readers.");
+
+	public static final ConfigOption<String> TABLE_EXEC_HIVE_INFER_SOURCE_PARALLELISM_BYTES_PER_TASK =
+			key("table.exec.hive.infer-source-parallelism.bytes-per-task")
+					.defaultValue("128 mb")
+					.withDescription("The amount of data a task of a Hive source should read when the " +
+							"parallelism of the source is inferred. The inferred parallelism is at most the " +
+							"number of input splits.");
+
+	private HiveOptions() {
+	}
+}
@@ -26,6 +26,7 @@ import org.apache.flink.table.catalog.CatalogTableImpl;
 import org.apache.flink.table.catalog.ObjectPath;
 import org.apache.flink.table.catalog.config.CatalogConfig;
 import org.apache.flink.table.catalog.hive.descriptors.HiveCatalogValidator;
+import org.apache.flink.table.dataformat.BaseRow;
 import org.apache.flink.table.factories.FunctionDefinitionFactory;
 import org.apache.flink.table.factories.TableFactoryUtil;
 import org.apache.flink.table.factories.TableSinkFactory;
@@ -41,7 +42,6 @@ import org.apache.flink.table.functions.hive.HiveGenericUDTF;
 import org.apache.flink.table.functions.hive.HiveSimpleUDF;
 import org.apache.flink.table.sinks.OutputFormatTableSink;
 import org.apache.flink.table.sinks.TableSink;
-import org.apache.flink.table.sources.InputFormatTableSource;
 import org.apache.flink.table.sources.TableSource;
 import org.apache.flink.types.Row;
 import org.apache.flink.util.Preconditions;
@@ -66,7 +66,7 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  * A table factory implementation for Hive catalog.
  */
 public class HiveTableFactory
-		implements TableSourceFactory<Row>, TableSinkFactory<Row>, FunctionDefinitionFactory {
+		implements TableSourceFactory<BaseRow>, TableSinkFactory<Row>, FunctionDefinitionFactory {
 	private static final Logger LOG = LoggerFactory.getLogger(HiveTableFactory.class);
 
 	private final HiveConf hiveConf;
@@ -96,28 +96,28 @@ public class HiveTableFactory
 	}
 
 	@Override
-	public TableSource<Row> createTableSource(Map<String, String> properties) {
+	public TableSource<BaseRow> createTableSource(Map<String, String> properties) {
 		throw new UnsupportedOperationException();
 	}
 
 	@Override
-	public TableSource<Row> createTableSource(ObjectPath tablePath, CatalogTable table) {
+	public TableSource<BaseRow> createTableSource(ObjectPath tablePath, CatalogTable table) {
 		Preconditions.checkNotNull(table);
 		Preconditions.checkArgument(table instanceof CatalogTableImpl);
 
 		boolean isGeneric = Boolean.valueOf(table.getProperties().get(CatalogConfig.IS_GENERIC));
 
 		if (!isGeneric) {
-			return createInputFormatTableSource(tablePath, table);
+			return createHiveTableSource(tablePath, table);
 		} else {
 			return TableFactoryUtil.findAndCreateTableSource(table);
 		}
 	}
 
 	/**
-	 * Creates and configures a {@link org.apache.flink.table.sources.InputFormatTableSource} using the given {@link CatalogTable}.
+	 * Creates and configures a {@link HiveTableSource} using the given {@link CatalogTable}.
 	 */
-	private InputFormatTableSource<Row> createInputFormatTableSource(ObjectPath tablePath, CatalogTable table) {
+	private HiveTableSource createHiveTableSource(ObjectPath tablePath, CatalogTable table) {
 		return new HiveTableSource(new JobConf(hiveConf), tablePath, table);
 	}
 
@@ -24,22 +24,39 @@ import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.java.hadoop.common.HadoopInputFormatCommonBase;
 import org.apache.flink.api.java.hadoop.mapred.wrapper.HadoopDummyReporter;
 import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
-import org.apache.flink.api.java.typeutils.RowTypeInfo;
 import org.apache.flink.core.io.InputSplitAssigner;
+import org.apache.flink.formats.parquet.vector.ParquetColumnarRowSplitReader;
+import org.apache.flink.orc.vector.OrcColumnarRowSplitReader;
 import org.apache.flink.table.api.TableSchema;
 import org.apache.flink.table.catalog.CatalogTable;
 import org.apache.flink.table.catalog.hive.util.HiveTableUtil;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.DataFormatConverters;
+import org.apache.flink.table.dataformat.DataFormatConverters.DataFormatConverter;
+import org.apache.flink.table.dataformat.GenericRow;
+import org.apache.flink.table.dataformat.JoinedRow;
+import org.apache.flink.table.dataformat.TypeGetterSetters;
 import org.apache.flink.table.functions.hive.conversion.HiveInspectors;
-import org.apache.flink.types.Row;
+import org.apache.flink.table.runtime.operators.join.partitionpruning.PartitionValues;
+import org.apache.flink.table.runtime.operators.join.partitionpruning.PartitionValuesReceiver;
+import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
 
 import org.apache.hadoop.conf.Configurable;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
 import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
+import org.apache.hadoop.hive.ql.io.orc.OrcSerde;
+import org.apache.hadoop.hive.ql.io.orc.OrcSplit;
+import org.apache.hadoop.hive.ql.io.parquet.serde.ParquetHiveSerDe;
 import org.apache.hadoop.hive.serde2.Deserializer;
 import org.apache.hadoop.hive.serde2.SerDeUtils;
 import org.apache.hadoop.hive.serde2.objectinspector.StructField;
 import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
 import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.mapred.FileSplit;
 import org.apache.hadoop.mapred.InputFormat;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.JobConfigurable;
@@ -50,9 +67,14 @@ import org.apache.hadoop.util.ReflectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.sql.Date;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -63,9 +85,21 @@ import static org.apache.hadoop.mapreduce.lib.input.FileInputFormat.INPUT_DIR;
 /**
  * The HiveTableInputFormat are inspired by the HCatInputFormat and HadoopInputFormatBase.
  * It's used to read from hive partition/non-partition table.
+ *
+ * <p>Splits of ORC and Parquet tables are read with vectorized readers, which decode the selected
+ * columns of a batch of rows at once instead of deserializing every record with the SerDe of the
+ * table. The {@link org.apache.flink.table.dataformat.ColumnarRow ColumnarRows} of the readers are
+ * returned without copying their fields, joined with the values of the partition columns if those
+ * are selected. Other formats, columns of unsupported types and files which the vectorized readers
+ * cannot read fall back to the record reader and SerDe of Hive, which can also be forced with
+ * {@link HiveOptions#TABLE_EXEC_HIVE_FALLBACK_MAPRED_READER}.
+ *
+ * <p>With dynamic partition pruning, the splits of the partitions whose values are not among the
+ * {@link PartitionValues} published by the dimension side of a join are skipped. The values are
+ * received before the first split is opened.
  */
-public class HiveTableInputFormat extends HadoopInputFormatCommonBase<Row, HiveTableInputSplit>
-		implements ResultTypeQueryable {
+public class HiveTableInputFormat extends HadoopInputFormatCommonBase<BaseRow, HiveTableInputSplit>
+		implements ResultTypeQueryable<BaseRow> {
 	private static final long serialVersionUID = 6351448428766433164L;
 	private static Logger logger = LoggerFactory.getLogger(HiveTableInputFormat.class);
 
@@ -78,7 +112,18 @@ public class HiveTableInputFormat extends HadoopInputFormatCommonBase<Row, HiveT
 	protected transient boolean fetched = false;
 	protected transient boolean hasNext;
 
-	private RowTypeInfo rowTypeInfo;
+	private BaseRowTypeInfo producedType;
+
+	//The names and types of all fields of the table, the partition columns being the last ones.
+	private String[] fieldNames;
+	private DataType[] fieldTypes;
+	//The indices of the fields which are returned, in the order of the returned rows.
+	private int[] projectedFields;
+
+	//Whether all splits are read with the record readers and SerDes of Hive.
+	private boolean useMapredReader;
+	//The maximum number of rows of a batch of the vectorized readers.
+	private int vectorizedBatchSize;
 
 	//Necessary info to init deserializer
 	private List<String> partitionColNames;
@@ -92,10 +137,48 @@ public class HiveTableInputFormat extends HadoopInputFormatCommonBase<Row, HiveT
 	private transient InputFormat mapredInputFormat;
 	private transient HiveTablePartition hiveTablePartition;
 
+	//Converts the fields which are read by the SerDe and the partition values to the internal format.
+	private transient DataFormatConverter[] converters;
+	//The row returned by the record reader path, reused for all records.
+	private transient GenericRow reuseRow;
+
+	//The reader of the current split if it is read by a vectorized reader, null otherwise.
+	private transient ColumnarSplitReader vectorizedReader;
+	//The values of the selected partition columns of the current split, in the internal format.
+	private transient GenericRow partitionRow;
+	//Joins the rows of the vectorized reader with the partition values, if they follow the other columns.
+	private transient JoinedRow joinedRow;
+	//For each returned field, the index of the column in the vectorized reader, or -1 - i for the
+	//i-th partition column. Null if the returned rows are not assembled field by field.
+	private transient int[] vectorizedFieldMapping;
+
+	//The name of the values to prune the partitions with at runtime, null if they are not pruned at runtime.
+	@Nullable
+	private String dynamicPruningValuesName;
+	private List<String> dynamicPruningFields;
+	private long dynamicPruningWaitTimeout;
+	//The values to prune the partitions with, null if all partitions are read.
+	private transient PartitionValues dynamicPruningValues;
+	private transient boolean dynamicPruningValuesReceived;
+	//Whether the current split is skipped by dynamic partition pruning.
+	private transient boolean splitPruned;
+
 	public HiveTableInputFormat(
 			JobConf jobConf,
 			CatalogTable catalogTable,
 			List<HiveTablePartition> partitions) {
+		this(jobConf, catalogTable, partitions, null,
+				HiveOptions.TABLE_EXEC_HIVE_FALLBACK_MAPRED_READER.defaultValue(),
+				HiveOptions.TABLE_EXEC_HIVE_VECTORIZED_READER_BATCH_SIZE.defaultValue());
+	}
+
+	public HiveTableInputFormat(
+			JobConf jobConf,
+			CatalogTable catalogTable,
+			List<HiveTablePartition> partitions,
+			@Nullable int[] projectedFields,
+			boolean useMapredReader,
+			int vectorizedBatchSize) {
 		super(jobConf.getCredentials());
 		checkNotNull(catalogTable, "catalogTable can not be null.");
 		this.partitions = checkNotNull(partitions, "partitions can not be null.");
@@ -103,14 +186,62 @@ public class HiveTableInputFormat extends HadoopInputFormatCommonBase<Row, HiveT
 		this.jobConf = new JobConf(jobConf);
 		this.partitionColNames = catalogTable.getPartitionKeys();
 		TableSchema tableSchema = catalogTable.getSchema();
-		this.rowTypeInfo = new RowTypeInfo(tableSchema.getFieldTypes(), tableSchema.getFieldNames());
+		this.fieldNames = tableSchema.getFieldNames();
+		this.fieldTypes = tableSchema.getFieldDataTypes();
+		if (projectedFields == null) {
+			projectedFields = new int[fieldNames.length];
+			for (int i = 0; i < projectedFields.length; i++) {
+				projectedFields[i] = i;
+			}
+		}
+		this.projectedFields = projectedFields;
+		this.useMapredReader = useMapredReader;
+		this.vectorizedBatchSize = vectorizedBatchSize;
+		LogicalType[] producedTypes = new LogicalType[projectedFields.length];
+		String[] producedNames = new String[projectedFields.length];
+		for (int i = 0; i < projectedFields.length; i++) {
+			producedTypes[i] = fieldTypes[projectedFields[i]].getLogicalType();
+			producedNames[i] = fieldNames[projectedFields[i]];
+		}
+		this.producedType = new BaseRowTypeInfo(producedTypes, producedNames);
+	}
+
+	/**
+	 * Skips the splits of the partitions whose values of the given partition fields are not among
+	 * the {@link PartitionValues} published under the given name.
+	 */
+	void setDynamicPartitionPruning(String valuesName, List<String> partitionFields, long waitTimeoutMillis) {
+		this.dynamicPruningValuesName = checkNotNull(valuesName);
+		this.dynamicPruningFields = checkNotNull(partitionFields);
+		this.dynamicPruningWaitTimeout = waitTimeoutMillis;
 	}
 
 	@Override
 	public void open(HiveTableInputSplit split) throws IOException {
 		this.hiveTablePartition = split.getHiveTablePartition();
+		this.splitPruned = isPrunedDynamically(hiveTablePartition);
+		if (splitPruned) {
+			logger.debug("Skipping {}, which has no join partner.", split.getHadoopInputSplit());
+			return;
+		}
+		if (converters == null) {
+			converters = new DataFormatConverter[projectedFields.length];
+			for (int i = 0; i < projectedFields.length; i++) {
+				converters[i] = DataFormatConverters.getConverterForDataType(toExternalType(fieldTypes[projectedFields[i]]));
+			}
+		}
 		StorageDescriptor sd = hiveTablePartition.getStorageDescriptor();
 		jobConf.set(INPUT_DIR, sd.getLocation());
+		if (useVectorizedReader(sd, split.getHadoopInputSplit())) {
+			try {
+				this.vectorizedReader = createVectorizedReader(sd, (FileSplit) split.getHadoopInputSplit());
+				return;
+			} catch (UnsupportedOperationException | LinkageError e) {
+				// e.g. a column whose physical type the vectorized reader does not support, or
+				// an older version of the ORC or Parquet libraries on the class path
+				logger.info("Falling back to the record reader of Hive to read {}.", split.getHadoopInputSplit(), e);
+			}
+		}
 		try {
 			this.mapredInputFormat = (InputFormat)
 				Class.forName(sd.getInputFormat(), true, Thread.currentThread().getContextClassLoader()).newInstance();
@@ -131,6 +262,9 @@ public class HiveTableInputFormat extends HadoopInputFormatCommonBase<Row, HiveT
 		key = this.recordReader.createKey();
 		value = this.recordReader.createValue();
 		this.fetched = false;
+		if (reuseRow == null) {
+			reuseRow = new GenericRow(projectedFields.length);
+		}
 		try {
 			deserializer = (Deserializer) Class.forName(sd.getSerdeInfo().getSerializationLib()).newInstance();
 			Configuration conf = new Configuration();
@@ -144,6 +278,175 @@ public class HiveTableInputFormat extends HadoopInputFormatCommonBase<Row, HiveT
 		}
 	}
 
+	private boolean isPrunedDynamically(HiveTablePartition partition) throws IOException {
+		if (dynamicPruningValuesName == null) {
+			return false;
+		}
+		if (!dynamicPruningValuesReceived) {
+			try {
+				dynamicPruningValues = new PartitionValuesReceiver(
+						getRuntimeContext(), dynamicPruningValuesName, dynamicPruningWaitTimeout).receive();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while waiting for the values of " + dynamicPruningValuesName, e);
+			} catch (Exception e) {
+				throw new IOException("Failed to receive the values of " + dynamicPruningValuesName, e);
+			}
+			dynamicPruningValuesReceived = true;
+		}
+		if (dynamicPruningValues == null) {
+			return false;
+		}
+		List<Object> partitionValues = new ArrayList<>(dynamicPruningFields.size());
+		for (String field : dynamicPruningFields) {
+			partitionValues.add(partition.getPartitionSpec().get(field));
+		}
+		return !dynamicPruningValues.contains(partitionValues);
+	}
+
+	private boolean useVectorizedReader(StorageDescriptor sd, org.apache.hadoop.mapred.InputSplit hadoopSplit) {
+		if (useMapredReader) {
+			return false;
+		}
+		String serDe = sd.getSerdeInfo().getSerializationLib();
+		if (OrcSerde.class.getName().equals(serDe)) {
+			// the delta files of transactional tables have to be merged by the ACID reader of Hive
+			if (!(hadoopSplit instanceof OrcSplit) || !((OrcSplit) hadoopSplit).isOriginal()) {
+				return false;
+			}
+		} else if (!ParquetHiveSerDe.class.getName().equals(serDe) || !(hadoopSplit instanceof FileSplit)) {
+			return false;
+		}
+		for (int field : projectedFields) {
+			if (!partitionColNames.contains(fieldNames[field])
+					&& !isVectorizationSupported(fieldTypes[field].getLogicalType())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isVectorizationSupported(LogicalType type) {
+		switch (type.getTypeRoot()) {
+			case BOOLEAN:
+			case TINYINT:
+			case SMALLINT:
+			case INTEGER:
+			case BIGINT:
+			case FLOAT:
+			case DOUBLE:
+			case VARCHAR:
+			case BINARY:
+			case VARBINARY:
+			case DECIMAL:
+			case DATE:
+			case TIMESTAMP_WITHOUT_TIME_ZONE:
+				return true;
+			default:
+				// Hive pads CHAR values to their length in the files, but strips them when deserializing
+				return false;
+		}
+	}
+
+	private ColumnarSplitReader createVectorizedReader(StorageDescriptor sd, FileSplit fileSplit) throws IOException {
+		List<String> selectedNames = new ArrayList<>();
+		List<LogicalType> selectedTypes = new ArrayList<>();
+		List<Object> partitionValues = new ArrayList<>();
+		int[] fieldMapping = new int[projectedFields.length];
+		// the partition values can be joined to the rows of the reader if they are the last fields
+		boolean partitionsLast = true;
+		for (int i = 0; i < projectedFields.length; i++) {
+			int field = projectedFields[i];
+			if (partitionColNames.contains(fieldNames[field])) {
+				fieldMapping[i] = -1 - partitionValues.size();
+				partitionValues.add(converters[i].toInternal(hiveTablePartition.getPartitionSpec().get(fieldNames[field])));
+			} else {
+				partitionsLast &= partitionValues.isEmpty();
+				fieldMapping[i] = selectedNames.size();
+				selectedNames.add(fieldNames[field]);
+				selectedTypes.add(fieldTypes[field].getLogicalType());
+			}
+		}
+		String[] names = selectedNames.toArray(new String[0]);
+		LogicalType[] types = selectedTypes.toArray(new LogicalType[0]);
+		int batchSize = vectorizedBatchSize;
+		Path path = fileSplit.getPath();
+
+		ColumnarSplitReader reader;
+		if (OrcSerde.class.getName().equals(sd.getSerdeInfo().getSerializationLib())) {
+			List<String> fileFieldNames = new ArrayList<>();
+			for (FieldSchema column : sd.getCols()) {
+				fileFieldNames.add(column.getName());
+			}
+			OrcColumnarRowSplitReader orcReader = new OrcColumnarRowSplitReader(
+					jobConf, fileFieldNames, names, types, batchSize, path, fileSplit.getStart(), fileSplit.getLength());
+			reader = new ColumnarSplitReader() {
+				@Override
+				public boolean reachedEnd() throws IOException {
+					return orcReader.reachedEnd();
+				}
+
+				@Override
+				public BaseRow nextRecord() {
+					return orcReader.nextRecord();
+				}
+
+				@Override
+				public void close() throws IOException {
+					orcReader.close();
+				}
+			};
+		} else {
+			ParquetColumnarRowSplitReader parquetReader = new ParquetColumnarRowSplitReader(
+					jobConf, names, types, batchSize, path, fileSplit.getStart(), fileSplit.getLength());
+			reader = new ColumnarSplitReader() {
+				@Override
+				public boolean reachedEnd() throws IOException {
+					return parquetReader.reachedEnd();
+				}
+
+				@Override
+				public BaseRow nextRecord() {
+					return parquetReader.nextRecord();
+				}
+
+				@Override
+				public void close() throws IOException {
+					parquetReader.close();
+				}
+			};
+		}
+		this.partitionRow = GenericRow.of(partitionValues.toArray());
+		if (partitionValues.isEmpty()) {
+			this.joinedRow = null;
+			this.vectorizedFieldMapping = null;
+		} else if (partitionsLast) {
+			this.joinedRow = new JoinedRow();
+			this.vectorizedFieldMapping = null;
+		} else {
+			this.joinedRow = null;
+			this.vectorizedFieldMapping = fieldMapping;
+			if (reuseRow == null) {
+				reuseRow = new GenericRow(projectedFields.length);
+			}
+		}
+		return reader;
+	}
+
+	/**
+	 * Returns the data type which is converted to the same objects as the SerDe path returns.
+	 */
+	private static DataType toExternalType(DataType type) {
+		switch (type.getLogicalType().getTypeRoot()) {
+			case DATE:
+				return type.bridgedTo(Date.class);
+			case TIMESTAMP_WITHOUT_TIME_ZONE:
+				return type.bridgedTo(Timestamp.class);
+			default:
+				return type;
+		}
+	}
+
 	@Override
 	public HiveTableInputSplit[] createInputSplits(int minNumSplits)
 			throws IOException {
@@ -188,6 +491,12 @@ public class HiveTableInputFormat extends HadoopInputFormatCommonBase<Row, HiveT
 
 	@Override
 	public boolean reachedEnd() throws IOException {
+		if (splitPruned) {
+			return true;
+		}
+		if (vectorizedReader != null) {
+			return vectorizedReader.reachedEnd();
+		}
 		if (!fetched) {
 			fetchNext();
 		}
@@ -200,6 +509,10 @@ public class HiveTableInputFormat extends HadoopInputFormatCommonBase<Row, HiveT
 			this.recordReader.close();
 			this.recordReader = null;
 		}
+		if (this.vectorizedReader != null) {
+			this.vectorizedReader.close();
+			this.vectorizedReader = null;
+		}
 	}
 
 	protected void fetchNext() throws IOException {
@@ -208,23 +521,44 @@ public class HiveTableInputFormat extends HadoopInputFormatCommonBase<Row, HiveT
 	}
 
 	@Override
-	public Row nextRecord(Row ignore) throws IOException {
+	public BaseRow nextRecord(BaseRow ignore) throws IOException {
 		if (reachedEnd()) {
 			return null;
 		}
-		Row row = new Row(rowTypeInfo.getArity());
+		if (vectorizedReader != null) {
+			BaseRow columnarRow = vectorizedReader.nextRecord();
+			if (joinedRow != null) {
+				return joinedRow.replace(columnarRow, partitionRow);
+			} else if (vectorizedFieldMapping == null) {
+				return columnarRow;
+			}
+			for (int index = 0; index < vectorizedFieldMapping.length; index++) {
+				int column = vectorizedFieldMapping[index];
+				if (column < 0) {
+					reuseRow.setField(index, partitionRow.getField(-1 - column));
+				} else if (columnarRow.isNullAt(column)) {
+					reuseRow.setField(index, null);
+				} else {
+					reuseRow.setField(index, TypeGetterSetters.get(columnarRow, column, producedType.getLogicalTypes()[index]));
+				}
+			}
+			return reuseRow;
+		}
+		GenericRow row = reuseRow;
 		try {
 			//Use HiveDeserializer to deserialize an object out of a Writable blob
 			Object hiveRowStruct = deserializer.deserialize(value);
-			int index = 0;
-			for (; index < structFields.size(); index++) {
-				StructField structField = structFields.get(index);
-				Object object = HiveInspectors.toFlinkObject(structField.getFieldObjectInspector(),
-						structObjectInspector.getStructFieldData(hiveRowStruct, structField));
-				row.setField(index, object);
-			}
-			for (String partition : partitionColNames){
-				row.setField(index++, hiveTablePartition.getPartitionSpec().get(partition));
+			for (int index = 0; index < projectedFields.length; index++) {
+				int field = projectedFields[index];
+				if (field >= structFields.size()) {
+					String partition = fieldNames[field];
+					row.setField(index, converters[index].toInternal(hiveTablePartition.getPartitionSpec().get(partition)));
+				} else {
+					StructField structField = structFields.get(field);
+					Object object = HiveInspectors.toFlinkObject(structField.getFieldObjectInspector(),
+							structObjectInspector.getStructFieldData(hiveRowStruct, structField));
+					row.setField(index, converters[index].toInternal(object));
+				}
 			}
 		} catch (Exception e){
 			logger.error("Error happens when converting hive data type to flink data type.");
@@ -235,8 +569,8 @@ public class HiveTableInputFormat extends HadoopInputFormatCommonBase<Row, HiveT
 	}
 
 	@Override
-	public TypeInformation getProducedType() {
-		return rowTypeInfo;
+	public TypeInformation<BaseRow> getProducedType() {
+		return producedType;
 	}
 
 	// --------------------------------------------------------------------------------------------
@@ -246,9 +580,17 @@ public class HiveTableInputFormat extends HadoopInputFormatCommonBase<Row, HiveT
 	private void writeObject(ObjectOutputStream out) throws IOException {
 		super.write(out);
 		jobConf.write(out);
-		out.writeObject(rowTypeInfo);
+		out.writeObject(producedType);
+		out.writeObject(fieldNames);
+		out.writeObject(fieldTypes);
+		out.writeObject(projectedFields);
+		out.writeBoolean(useMapredReader);
+		out.writeInt(vectorizedBatchSize);
 		out.writeObject(partitionColNames);
 		out.writeObject(partitions);
+		out.writeObject(dynamicPruningValuesName);
+		out.writeObject(dynamicPruningFields);
+		out.writeLong(dynamicPruningWaitTimeout);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -263,8 +605,29 @@ public class HiveTableInputFormat extends HadoopInputFormatCommonBase<Row, HiveT
 		if (currentUserCreds != null) {
 			jobConf.getCredentials().addAll(currentUserCreds);
 		}
-		rowTypeInfo = (RowTypeInfo) in.readObject();
+		producedType = (BaseRowTypeInfo) in.readObject();
+		fieldNames = (String[]) in.readObject();
+		fieldTypes = (DataType[]) in.readObject();
+		projectedFields = (int[]) in.readObject();
+		useMapredReader = in.readBoolean();
+		vectorizedBatchSize = in.readInt();
 		partitionColNames = (List<String>) in.readObject();
 		partitions = (List<HiveTablePartition>) in.readObject();
+		dynamicPruningValuesName = (String) in.readObject();
+		dynamicPruningFields = (List<String>) in.readObject();
+		dynamicPruningWaitTimeout = in.readLong();
+	}
+
+	/**
+	 * Reads the rows of a split with a vectorized reader.
+	 */
+	private interface ColumnarSplitReader extends Closeable {
+
+		boolean reachedEnd() throws IOException;
+
+		/**
+		 * Returns the next row, which is only valid until the next call of this method.
+		 */
+		BaseRow nextRecord();
 	}
 }
@@ -18,9 +18,11 @@
 
 package org.apache.flink.connectors.hive;
 
-import org.apache.flink.api.common.io.InputFormat;
-import org.apache.flink.api.common.typeinfo.TypeInformation;
-import org.apache.flink.api.java.typeutils.RowTypeInfo;
+import org.apache.flink.api.common.ExecutionConfig.GlobalJobParameters;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.MemorySize;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 import org.apache.flink.table.api.DataTypes;
 import org.apache.flink.table.api.TableSchema;
 import org.apache.flink.table.catalog.CatalogTable;
@@ -28,12 +30,15 @@ import org.apache.flink.table.catalog.ObjectPath;
 import org.apache.flink.table.catalog.hive.client.HiveMetastoreClientFactory;
 import org.apache.flink.table.catalog.hive.client.HiveMetastoreClientWrapper;
 import org.apache.flink.table.catalog.hive.descriptors.HiveCatalogValidator;
-import org.apache.flink.table.sources.InputFormatTableSource;
-import org.apache.flink.table.sources.PartitionableTableSource;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.sources.DynamicPartitionPrunableTableSource;
+import org.apache.flink.table.sources.ParallelismInferableTableSource;
+import org.apache.flink.table.sources.ProjectableTableSource;
+import org.apache.flink.table.sources.StreamTableSource;
 import org.apache.flink.table.sources.TableSource;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.LogicalTypeRoot;
-import org.apache.flink.types.Row;
+import org.apache.flink.table.utils.TableConnectorUtils;
 import org.apache.flink.util.Preconditions;
 
 import org.apache.hadoop.hive.conf.HiveConf;
@@ -44,16 +49,25 @@ import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
+import java.io.IOException;
 import java.sql.Date;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * A TableSource implementation to read data from Hive tables.
+ *
+ * <p>The source produces {@link BaseRow BaseRows}, so that the rows of the vectorized readers are
+ * handed to the planner without being converted. The {@link HiveOptions} are read from the
+ * configuration of the table environment.
  */
-public class HiveTableSource extends InputFormatTableSource<Row> implements PartitionableTableSource {
+public class HiveTableSource implements StreamTableSource<BaseRow>, DynamicPartitionPrunableTableSource,
+		ProjectableTableSource<BaseRow>, ParallelismInferableTableSource {
 
 	private static Logger logger = LoggerFactory.getLogger(HiveTableSource.class);
 
@@ -66,6 +80,14 @@ public class HiveTableSource extends InputFormatTableSource<Row> implements Part
 	private List<Map<String, String>> partitionList = new ArrayList<>();
 	private Map<Map<String, String>, HiveTablePartition> partitionSpec2HiveTablePartition = new HashMap<>();
 	private boolean initAllPartitions;
+	//the indices of the fields which are read, null if all fields are read
+	@Nullable
+	private int[] projectedFields;
+	//the name of the values to prune the partitions with at runtime, null if they are not pruned at runtime
+	@Nullable
+	private String dynamicPruningValuesName;
+	private List<String> dynamicPruningFields;
+	private long dynamicPruningWaitTimeout;
 
 	public HiveTableSource(JobConf jobConf, ObjectPath tablePath, CatalogTable catalogTable) {
 		this.jobConf = Preconditions.checkNotNull(jobConf);
@@ -79,22 +101,54 @@ public class HiveTableSource extends InputFormatTableSource<Row> implements Part
 	private HiveTableSource(JobConf jobConf, ObjectPath tablePath, CatalogTable catalogTable,
 							List<HiveTablePartition> allHivePartitions,
 							String hiveVersion,
-							List<Map<String, String>> partitionList) {
+							List<Map<String, String>> partitionList,
+							@Nullable int[] projectedFields) {
 		this.jobConf = Preconditions.checkNotNull(jobConf);
 		this.tablePath = Preconditions.checkNotNull(tablePath);
 		this.catalogTable = Preconditions.checkNotNull(catalogTable);
 		this.allHivePartitions = allHivePartitions;
 		this.hiveVersion = hiveVersion;
 		this.partitionList = partitionList;
+		this.projectedFields = projectedFields;
 		this.initAllPartitions = true;
 	}
 
 	@Override
-	public InputFormat getInputFormat() {
+	public boolean isBounded() {
+		return true;
+	}
+
+	@Override
+	public DataStream<BaseRow> getDataStream(StreamExecutionEnvironment execEnv) {
+		Configuration tableConfiguration = getTableConfiguration(execEnv);
+		HiveTableInputFormat inputFormat = createInputFormat(
+				tableConfiguration.getBoolean(HiveOptions.TABLE_EXEC_HIVE_FALLBACK_MAPRED_READER),
+				tableConfiguration.getInteger(HiveOptions.TABLE_EXEC_HIVE_VECTORIZED_READER_BATCH_SIZE));
+		if (dynamicPruningValuesName != null) {
+			inputFormat.setDynamicPartitionPruning(dynamicPruningValuesName, dynamicPruningFields, dynamicPruningWaitTimeout);
+		}
+		return execEnv.createInput(inputFormat, inputFormat.getProducedType());
+	}
+
+	private HiveTableInputFormat createInputFormat(boolean useMapredReader, int vectorizedBatchSize) {
 		if (!initAllPartitions) {
 			initAllPartitions();
 		}
-		return new HiveTableInputFormat(jobConf, catalogTable, allHivePartitions);
+		return new HiveTableInputFormat(
+				jobConf, catalogTable, allHivePartitions, projectedFields, useMapredReader, vectorizedBatchSize);
+	}
+
+	/**
+	 * Returns the configuration of the table environment, which the planner sets as the global job
+	 * parameters of the execution environment before it translates a table program.
+	 */
+	private static Configuration getTableConfiguration(StreamExecutionEnvironment execEnv) {
+		Configuration configuration = new Configuration();
+		GlobalJobParameters parameters = execEnv.getConfig().getGlobalJobParameters();
+		if (parameters != null) {
+			parameters.toMap().forEach(configuration::setString);
+		}
+		return configuration;
 	}
 
 	@Override
@@ -105,17 +159,77 @@ public class HiveTableSource extends InputFormatTableSource<Row> implements Part
 	@Override
 	public DataType getProducedDataType() {
 		TableSchema tableSchema = catalogTable.getSchema();
-		DataTypes.Field[] fields = new DataTypes.Field[tableSchema.getFieldCount()];
+		int[] fieldIndices = getProjectedFields();
+		DataTypes.Field[] fields = new DataTypes.Field[fieldIndices.length];
 		for (int i = 0; i < fields.length; i++) {
-			fields[i] = DataTypes.FIELD(tableSchema.getFieldName(i).get(), tableSchema.getFieldDataType(i).get());
+			fields[i] = DataTypes.FIELD(
+					tableSchema.getFieldName(fieldIndices[i]).get(), tableSchema.getFieldDataType(fieldIndices[i]).get());
 		}
-		return DataTypes.ROW(fields);
+		return DataTypes.ROW(fields).bridgedTo(BaseRow.class);
 	}
 
 	@Override
-	public TypeInformation<Row> getReturnType() {
-		TableSchema tableSchema = catalogTable.getSchema();
-		return new RowTypeInfo(tableSchema.getFieldTypes(), tableSchema.getFieldNames());
+	public TableSource<BaseRow> projectFields(int[] fields) {
+		if (!initAllPartitions) {
+			initAllPartitions();
+		}
+		HiveTableSource source = new HiveTableSource(
+				jobConf, tablePath, catalogTable, allHivePartitions, hiveVersion, partitionList, fields);
+		source.partitionSpec2HiveTablePartition = partitionSpec2HiveTablePartition;
+		source.copyDynamicPartitionPruning(this);
+		return source;
+	}
+
+	@Override
+	public int inferParallelism(Configuration configuration, int maxParallelism) {
+		if (!initAllPartitions) {
+			initAllPartitions();
+		}
+		if (allHivePartitions.isEmpty()) {
+			return 1;
+		}
+		HiveTableInputSplit[] splits;
+		long totalLength = 0;
+		try {
+			splits = createInputFormat(true, HiveOptions.TABLE_EXEC_HIVE_VECTORIZED_READER_BATCH_SIZE.defaultValue())
+					.createInputSplits(0);
+			for (HiveTableInputSplit split : splits) {
+				totalLength += split.getHadoopInputSplit().getLength();
+			}
+		} catch (IOException e) {
+			logger.warn("Failed to infer the source parallelism of {}.", tablePath, e);
+			return -1;
+		}
+		long bytesPerTask = MemorySize.parseBytes(
+				configuration.getString(HiveOptions.TABLE_EXEC_HIVE_INFER_SOURCE_PARALLELISM_BYTES_PER_TASK));
+		// small splits are read by the same task, but no task gets less than one split
+		long parallelism = Math.min(splits.length, (totalLength + bytesPerTask - 1) / bytesPerTask);
+		logger.info("Inferred a source parallelism of {} for {} splits of {} bytes of {}.",
+				parallelism, splits.length, totalLength, tablePath);
+		return (int) Math.max(1, Math.min(maxParallelism, parallelism));
+	}
+
+	@Override
+	public String explainSource() {
+		String explain = TableConnectorUtils.generateRuntimeName(getClass(), getTableSchema().getFieldNames());
+		if (projectedFields != null) {
+			explain += ", ProjectedFields: " + Arrays.toString(projectedFields);
+		}
+		if (dynamicPruningValuesName != null) {
+			explain += ", DynamicPartitionPruning: " + dynamicPruningValuesName + dynamicPruningFields;
+		}
+		return explain;
+	}
+
+	private int[] getProjectedFields() {
+		if (projectedFields != null) {
+			return projectedFields;
+		}
+		int[] fields = new int[catalogTable.getSchema().getFieldCount()];
+		for (int i = 0; i < fields.length; i++) {
+			fields[i] = i;
+		}
+		return fields;
 	}
 
 	@Override
@@ -143,8 +257,34 @@ public class HiveTableSource extends InputFormatTableSource<Row> implements Part
 																			"partition spec %s", partitionSpec));
 				remainingHivePartitions.add(hiveTablePartition);
 			}
-			return new HiveTableSource(jobConf, tablePath, catalogTable, remainingHivePartitions, hiveVersion, partitionList);
+			HiveTableSource source = new HiveTableSource(jobConf, tablePath, catalogTable, remainingHivePartitions,
+					hiveVersion, partitionList, projectedFields);
+			source.copyDynamicPartitionPruning(this);
+			return source;
+		}
+	}
+
+	@Override
+	public TableSource applyDynamicPartitionPruning(
+			String valuesName, List<String> partitionFieldNames, long waitTimeoutMillis) {
+		Preconditions.checkArgument(catalogTable.getPartitionKeys().containsAll(partitionFieldNames),
+				"%s are not partition fields of %s.", partitionFieldNames, tablePath);
+		if (!initAllPartitions) {
+			initAllPartitions();
 		}
+		HiveTableSource source = new HiveTableSource(
+				jobConf, tablePath, catalogTable, allHivePartitions, hiveVersion, partitionList, projectedFields);
+		source.partitionSpec2HiveTablePartition = partitionSpec2HiveTablePartition;
+		source.dynamicPruningValuesName = Preconditions.checkNotNull(valuesName);
+		source.dynamicPruningFields = partitionFieldNames;
+		source.dynamicPruningWaitTimeout = waitTimeoutMillis;
+		return source;
+	}
+
+	private void copyDynamicPartitionPruning(HiveTableSource source) {
+		this.dynamicPruningValuesName = source.dynamicPruningValuesName;
+		this.dynamicPruningFields = source.dynamicPruningFields;
+		this.dynamicPruningWaitTimeout = source.dynamicPruningWaitTimeout;
 	}
 
 	private void initAllPartitions() {
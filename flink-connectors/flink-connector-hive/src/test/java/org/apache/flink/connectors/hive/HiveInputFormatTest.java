@@ -34,6 +34,9 @@ import org.apache.flink.table.catalog.hive.client.HiveMetastoreClientFactory;
 import org.apache.flink.table.catalog.hive.client.HiveMetastoreClientWrapper;
 import org.apache.flink.table.catalog.hive.client.HiveShimLoader;
 import org.apache.flink.table.catalog.hive.util.HiveTableUtil;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.DataFormatConverters;
+import org.apache.flink.table.dataformat.DataFormatConverters.DataFormatConverter;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.types.Row;
 
@@ -51,6 +54,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Tests {@link HiveTableInputFormat}.
@@ -121,8 +125,8 @@ public class HiveInputFormatTest {
 		partitions.add(new HiveTablePartition(sd, new HashMap<>()));
 		CatalogTable catalogTable = (CatalogTable) hiveCatalog.getTable(new ObjectPath(dbName, tblName));
 		HiveTableInputFormat hiveTableInputFormat = new HiveTableInputFormat(new JobConf(hiveConf), catalogTable, partitions);
-		DataSet<Row> rowDataSet = env.createInput(hiveTableInputFormat);
-		List<Row> rows = rowDataSet.collect();
+		DataSet<BaseRow> rowDataSet = env.createInput(hiveTableInputFormat);
+		List<Row> rows = toRows(rowDataSet.collect(), tableSchema.toRowDataType());
 		Assert.assertEquals(4, rows.size());
 		Assert.assertEquals("1,1,a,1000,1.11", rows.get(0).toString());
 		Assert.assertEquals("2,2,a,2000,2.22", rows.get(1).toString());
@@ -173,9 +177,16 @@ public class HiveInputFormatTest {
 		CatalogTable catalogTable = new CatalogTableImpl(builder.build(), new HashMap<>(), "TEST_TABLE");
 		HiveTableInputFormat hiveTableInputFormat =
 			new HiveTableInputFormat(new JobConf(hiveConf), catalogTable, partitions);
-		DataSet<Row> rowDataSet = env.createInput(hiveTableInputFormat);
-		List<Row> rows = rowDataSet.collect();
+		DataSet<BaseRow> rowDataSet = env.createInput(hiveTableInputFormat);
+		List<Row> rows = toRows(rowDataSet.collect(), catalogTable.getSchema().toRowDataType());
 		Assert.assertEquals(1, rows.size());
 		Assert.assertEquals("[1, 2, 3],{1=a, 2=b},3,c", rows.get(0).toString());
 	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Row> toRows(List<BaseRow> baseRows, DataType rowType) {
+		DataFormatConverter<BaseRow, Row> converter =
+			(DataFormatConverter<BaseRow, Row>) DataFormatConverters.getConverterForDataType(rowType);
+		return baseRows.stream().map(converter::toExternal).collect(Collectors.toList());
+	}
 }
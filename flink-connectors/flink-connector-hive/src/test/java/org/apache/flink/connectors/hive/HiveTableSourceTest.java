@@ -18,6 +18,7 @@
 
 package org.apache.flink.connectors.hive;
 
+import org.apache.flink.configuration.Configuration;
 import org.apache.flink.table.api.Table;
 import org.apache.flink.table.api.TableEnvironment;
 import org.apache.flink.table.api.internal.TableImpl;
@@ -25,7 +26,9 @@ import org.apache.flink.table.catalog.CatalogTable;
 import org.apache.flink.table.catalog.ObjectPath;
 import org.apache.flink.table.catalog.hive.HiveCatalog;
 import org.apache.flink.table.catalog.hive.HiveTestUtils;
+import org.apache.flink.table.dataformat.BaseRow;
 import org.apache.flink.table.planner.runtime.utils.TableUtil;
+import org.apache.flink.table.sources.TableSource;
 import org.apache.flink.types.Row;
 
 import com.klarna.hiverunner.HiveShell;
@@ -133,4 +136,84 @@ public class HiveTableSourceTest {
 		assertArrayEquals(new String[]{"2014,3,0", "2014,4,0", "2015,2,1", "2015,5,1"}, rowStrings);
 	}
 
+	@Test
+	public void testInferParallelism() throws Exception {
+		final String dbName = "source_db";
+		final String tblName = "test_parallelism";
+		hiveShell.execute("CREATE TABLE source_db.test_parallelism (a INT) partitioned by (pt int)");
+		hiveShell.insertInto(dbName, tblName)
+				.withColumns("a", "pt")
+				.addRow(1, 0)
+				.addRow(2, 1)
+				.addRow(3, 2)
+				.commit();
+		ObjectPath tablePath = new ObjectPath(dbName, tblName);
+		CatalogTable catalogTable = (CatalogTable) hiveCatalog.getTable(tablePath);
+
+		// all splits are smaller than the bytes of a task
+		HiveTableSource hiveTableSource = new HiveTableSource(new JobConf(hiveConf), tablePath, catalogTable);
+		assertEquals(1, hiveTableSource.inferParallelism(new Configuration(), 10));
+
+		// every split is read by its own task, but not by more tasks than the maximum
+		Configuration configuration = new Configuration();
+		configuration.setString(HiveOptions.TABLE_EXEC_HIVE_INFER_SOURCE_PARALLELISM_BYTES_PER_TASK, "1 b");
+		assertEquals(3, hiveTableSource.inferParallelism(configuration, 10));
+		assertEquals(2, hiveTableSource.inferParallelism(configuration, 2));
+
+		// the splits of pruned partitions are not counted
+		HiveTableSource pruned = (HiveTableSource) hiveTableSource.applyPartitionPruning(
+				hiveTableSource.getPartitions().subList(0, 1));
+		assertEquals(1, pruned.inferParallelism(configuration, 10));
+	}
+
+	@Test
+	public void testReadOrcTable() throws Exception {
+		testReadColumnarTable("orc");
+	}
+
+	@Test
+	public void testReadParquetTable() throws Exception {
+		testReadColumnarTable("parquet");
+	}
+
+	private void testReadColumnarTable(String format) throws Exception {
+		final String dbName = "source_db";
+		final String tblName = "test_" + format;
+		hiveShell.execute(String.format("CREATE TABLE source_db.%s (a INT, b STRING, c DECIMAL(10, 2), d DOUBLE) " +
+						"partitioned by (pt int) stored as %s", tblName, format));
+		hiveShell.insertInto(dbName, tblName)
+				.withColumns("a", "b", "c", "d", "pt")
+				.addRow(1, "a", "1.10", 1.1, 0)
+				.addRow(2, null, "2.20", 2.2, 0)
+				.addRow(3, "c", null, 3.3, 1)
+				.commit();
+		ObjectPath tablePath = new ObjectPath(dbName, tblName);
+		CatalogTable catalogTable = (CatalogTable) hiveCatalog.getTable(tablePath);
+
+		for (boolean fallback : new boolean[] {false, true}) {
+			// partition column before the other columns
+			assertArrayEquals(
+					new String[]{"0,1.10,a", "0,2.20,null", "1,null,c"},
+					readProjected(tablePath, catalogTable, new int[] {4, 2, 1}, fallback));
+			// partition column after the other columns
+			assertArrayEquals(
+					new String[]{"a,1.10,0", "c,null,1", "null,2.20,0"},
+					readProjected(tablePath, catalogTable, new int[] {1, 2, 4}, fallback));
+			// no partition column
+			assertArrayEquals(
+					new String[]{"a,1.10", "c,null", "null,2.20"},
+					readProjected(tablePath, catalogTable, new int[] {1, 2}, fallback));
+		}
+	}
+
+	private Object[] readProjected(
+			ObjectPath tablePath, CatalogTable catalogTable, int[] fields, boolean fallback) throws Exception {
+		HiveTableSource hiveTableSource = new HiveTableSource(new JobConf(hiveConf), tablePath, catalogTable);
+		TableSource<BaseRow> projected = hiveTableSource.projectFields(fields);
+		TableEnvironment tEnv = HiveTestUtils.createTableEnv();
+		tEnv.getConfig().getConfiguration().setBoolean(HiveOptions.TABLE_EXEC_HIVE_FALLBACK_MAPRED_READER, fallback);
+		Table src = tEnv.fromTableSource(projected);
+		List<Row> rows = JavaConverters.seqAsJavaListConverter(TableUtil.collect((TableImpl) src)).asJava();
+		return rows.stream().map(Row::toString).sorted().toArray();
+	}
 }
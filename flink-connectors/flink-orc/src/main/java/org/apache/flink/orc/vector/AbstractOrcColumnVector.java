@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.orc.vector;
+
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+
+/**
+ * A blink {@link org.apache.flink.table.dataformat.vector.ColumnVector} which gives access to the
+ * values of an ORC {@link ColumnVector} without copying them.
+ *
+ * <p>The ORC vector is read in place, so the wrapper is only valid until the next batch is read
+ * into the ORC vector.
+ */
+public abstract class AbstractOrcColumnVector implements org.apache.flink.table.dataformat.vector.ColumnVector {
+
+	private final ColumnVector vector;
+
+	AbstractOrcColumnVector(ColumnVector vector) {
+		this.vector = vector;
+	}
+
+	@Override
+	public boolean isNullAt(int i) {
+		return !vector.noNulls && vector.isNull[vector.isRepeating ? 0 : i];
+	}
+
+	@Override
+	public void reset() {
+		// the ORC vector is reset by the ORC reader before each batch
+	}
+
+	/**
+	 * Wraps the given ORC vector as a column vector of the given type.
+	 *
+	 * @throws UnsupportedOperationException If the ORC vector cannot be read as the given type.
+	 */
+	public static org.apache.flink.table.dataformat.vector.ColumnVector createFlinkVector(
+			ColumnVector vector, LogicalType fieldType) {
+		switch (fieldType.getTypeRoot()) {
+			case BOOLEAN:
+			case TINYINT:
+			case SMALLINT:
+			case INTEGER:
+			case DATE:
+			case BIGINT:
+				return new OrcLongColumnVector(checkVector(vector, LongColumnVector.class, fieldType));
+			case FLOAT:
+			case DOUBLE:
+				return new OrcDoubleColumnVector(checkVector(vector, DoubleColumnVector.class, fieldType));
+			case CHAR:
+			case VARCHAR:
+			case BINARY:
+			case VARBINARY:
+				return new OrcBytesColumnVector(checkVector(vector, BytesColumnVector.class, fieldType));
+			case DECIMAL:
+				return new OrcDecimalColumnVector(
+					checkVector(vector, DecimalColumnVector.class, fieldType), ((DecimalType) fieldType).getScale());
+			case TIMESTAMP_WITHOUT_TIME_ZONE:
+				return new OrcTimestampColumnVector(checkVector(vector, TimestampColumnVector.class, fieldType));
+			default:
+				throw new UnsupportedOperationException(fieldType + " is not supported now.");
+		}
+	}
+
+	private static <T extends ColumnVector> T checkVector(
+			ColumnVector vector,
+			Class<T> expected,
+			LogicalType fieldType) {
+		if (!expected.isInstance(vector)) {
+			throw new UnsupportedOperationException(
+				"Cannot read an ORC column of " + vector.getClass().getSimpleName() + " as " + fieldType + ".");
+		}
+		return expected.cast(vector);
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.orc.vector;
+
+import org.apache.flink.table.dataformat.ColumnarRow;
+import org.apache.flink.table.dataformat.vector.ColumnVector;
+import org.apache.flink.table.dataformat.vector.VectorizedColumnBatch;
+import org.apache.flink.table.dataformat.vector.heap.AbstractHeapVector;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.orc.OrcFile;
+import org.apache.orc.Reader;
+import org.apache.orc.RecordReader;
+import org.apache.orc.StripeInformation;
+import org.apache.orc.TypeDescription;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Reads a split of an ORC file into {@link VectorizedColumnBatch VectorizedColumnBatches} and
+ * returns its rows as {@link ColumnarRow ColumnarRows}.
+ *
+ * <p>The split consists of the stripes which start in the byte range of the split. Only the
+ * streams of the selected fields are read from the file. The columns of the batches are views on
+ * the vectors of the ORC {@link VectorizedRowBatch}, so the values are neither copied nor
+ * materialized as objects.
+ *
+ * <p>Only top-level columns of primitive types are supported. Selected fields which do not exist
+ * in the file are read as null, so that files written with an older schema can be read. Files
+ * whose columns are named {@code _col0}, {@code _col1}, ..., as written by older Hive versions,
+ * are read by the position of the fields in the given full field names.
+ */
+public class OrcColumnarRowSplitReader implements Closeable {
+
+	private final RecordReader recordReader;
+
+	private final VectorizedRowBatch orcBatch;
+
+	private final VectorizedColumnBatch batch;
+
+	private final ColumnarRow row;
+
+	/** The position of the next row in the current batch. */
+	private int nextRow;
+
+	private int rowsInBatch;
+
+	/**
+	 * Creates a reader of a split of an ORC file.
+	 *
+	 * @param conf The Hadoop configuration.
+	 * @param fullFieldNames The names of all fields of the files, in the order of the file schema.
+	 * @param selectedFieldNames The names of the fields to read.
+	 * @param selectedTypes The types of the fields to read.
+	 * @param batchSize The maximum number of rows of a batch.
+	 * @param path The path of the file.
+	 * @param splitStart The start offset of the split.
+	 * @param splitLength The length of the split.
+	 */
+	public OrcColumnarRowSplitReader(
+			Configuration conf,
+			List<String> fullFieldNames,
+			String[] selectedFieldNames,
+			LogicalType[] selectedTypes,
+			int batchSize,
+			Path path,
+			long splitStart,
+			long splitLength) throws IOException {
+		checkArgument(selectedFieldNames.length == selectedTypes.length,
+			"The number of field names and field types must be equal.");
+
+		Reader reader = OrcFile.createReader(path, OrcFile.readerOptions(conf));
+		TypeDescription fileSchema = reader.getSchema();
+		List<String> fileFieldNames = fileSchema.getFieldNames();
+		boolean positional = isPositionalSchema(fileFieldNames);
+
+		int[] fileFields = new int[selectedFieldNames.length];
+		boolean[] include = new boolean[fileSchema.getMaximumId() + 1];
+		include[0] = true;
+		for (int i = 0; i < selectedFieldNames.length; i++) {
+			int fileField = positional ?
+				fullFieldNames.indexOf(selectedFieldNames[i]) : fileFieldNames.indexOf(selectedFieldNames[i]);
+			if (fileField >= fileFieldNames.size()) {
+				fileField = -1;
+			}
+			fileFields[i] = fileField;
+			if (fileField < 0) {
+				continue;
+			}
+
+			TypeDescription fieldSchema = fileSchema.getChildren().get(fileField);
+			if (!fieldSchema.getCategory().isPrimitive()) {
+				throw new UnsupportedOperationException(
+					"Field " + selectedFieldNames[i] + " of " + path + " is not a column of a primitive type.");
+			}
+			include[fieldSchema.getId()] = true;
+		}
+
+		this.orcBatch = fileSchema.createRowBatch(batchSize);
+		ColumnVector[] vectors = new ColumnVector[selectedFieldNames.length];
+		for (int i = 0; i < vectors.length; i++) {
+			if (fileFields[i] < 0) {
+				AbstractHeapVector nulls = AbstractHeapVector.createHeapColumn(selectedTypes[i], batchSize);
+				for (int r = 0; r < batchSize; r++) {
+					nulls.setNullAt(r);
+				}
+				vectors[i] = nulls;
+			} else {
+				vectors[i] = AbstractOrcColumnVector.createFlinkVector(orcBatch.cols[fileFields[i]], selectedTypes[i]);
+			}
+		}
+		this.batch = new VectorizedColumnBatch(vectors);
+		this.row = new ColumnarRow(batch);
+
+		long[] range = getStripeRange(reader.getStripes(), splitStart, splitStart + splitLength);
+		Reader.Options options = reader.options()
+			.schema(fileSchema)
+			.include(include)
+			.range(range[0], range[1]);
+		this.recordReader = reader.rows(options);
+	}
+
+	private static boolean isPositionalSchema(List<String> fileFieldNames) {
+		for (int i = 0; i < fileFieldNames.size(); i++) {
+			if (!fileFieldNames.get(i).equals("_col" + i)) {
+				return false;
+			}
+		}
+		return !fileFieldNames.isEmpty();
+	}
+
+	/**
+	 * Returns the offset and length of the stripes which start in the given byte range.
+	 */
+	private static long[] getStripeRange(List<StripeInformation> stripes, long splitStart, long splitEnd) {
+		long readStart = Long.MAX_VALUE;
+		long readEnd = Long.MIN_VALUE;
+		for (StripeInformation stripe : stripes) {
+			if (splitStart <= stripe.getOffset() && stripe.getOffset() < splitEnd) {
+				readStart = Math.min(readStart, stripe.getOffset());
+				readEnd = Math.max(readEnd, stripe.getOffset() + stripe.getLength());
+			}
+		}
+		return readStart < Long.MAX_VALUE ? new long[] {readStart, readEnd - readStart} : new long[] {0L, 0L};
+	}
+
+	/**
+	 * Returns whether all rows of the split have been read.
+	 */
+	public boolean reachedEnd() throws IOException {
+		return !ensureBatch();
+	}
+
+	/**
+	 * Returns the next row. The row is reused and only valid until the next call of this method.
+	 */
+	public ColumnarRow nextRecord() {
+		row.setRowId(batch.getRowId(nextRow++));
+		return row;
+	}
+
+	private boolean ensureBatch() throws IOException {
+		// ORC may return empty batches, e.g., when all rows of a row group are filtered
+		while (nextRow >= rowsInBatch) {
+			// the rows of the current batch have been returned, the batch can be overwritten
+			if (!recordReader.nextBatch(orcBatch)) {
+				return false;
+			}
+			if (orcBatch.selectedInUse) {
+				batch.setSelected(orcBatch.selected, orcBatch.size);
+			} else {
+				batch.clearSelected();
+				batch.setNumRows(orcBatch.size);
+			}
+			nextRow = 0;
+			rowsInBatch = orcBatch.size;
+		}
+		return true;
+	}
+
+	@Override
+	public void close() throws IOException {
+		recordReader.close();
+	}
+}
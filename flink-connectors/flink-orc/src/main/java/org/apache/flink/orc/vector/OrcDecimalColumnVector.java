@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.orc.vector;
+
+import org.apache.flink.table.dataformat.vector.BytesColumnVector;
+import org.apache.flink.table.dataformat.vector.IntColumnVector;
+import org.apache.flink.table.dataformat.vector.LongColumnVector;
+
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Reads an ORC {@link DecimalColumnVector}. The unscaled values are returned in the
+ * representation which {@link org.apache.flink.table.dataformat.vector.VectorizedColumnBatch}
+ * expects for the precision of the decimal, i.e., as ints, longs or big-endian bytes.
+ */
+public class OrcDecimalColumnVector extends AbstractOrcColumnVector implements
+		IntColumnVector, LongColumnVector, BytesColumnVector {
+
+	private final DecimalColumnVector vector;
+
+	private final int scale;
+
+	public OrcDecimalColumnVector(DecimalColumnVector vector, int scale) {
+		super(vector);
+		this.vector = vector;
+		this.scale = scale;
+	}
+
+	@Override
+	public int getInt(int i) {
+		return unscaledValue(i).intValue();
+	}
+
+	@Override
+	public long getLong(int i) {
+		return unscaledValue(i).longValue();
+	}
+
+	@Override
+	public Bytes getBytes(int i) {
+		byte[] bytes = unscaledValue(i).toByteArray();
+		return new Bytes(bytes, 0, bytes.length);
+	}
+
+	private BigInteger unscaledValue(int i) {
+		// Hive decimals drop trailing zeros, so the value is rescaled to the scale of the type
+		return vector.vector[vector.isRepeating ? 0 : i].getHiveDecimal()
+			.bigDecimalValue()
+			.setScale(scale, RoundingMode.HALF_UP)
+			.unscaledValue();
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.orc.vector;
+
+import org.apache.flink.table.dataformat.vector.BooleanColumnVector;
+import org.apache.flink.table.dataformat.vector.ByteColumnVector;
+import org.apache.flink.table.dataformat.vector.IntColumnVector;
+import org.apache.flink.table.dataformat.vector.ShortColumnVector;
+
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+
+/**
+ * Reads an ORC {@link LongColumnVector}, which holds the values of all integral types, booleans
+ * and dates (as days since epoch).
+ */
+public class OrcLongColumnVector extends AbstractOrcColumnVector implements
+		org.apache.flink.table.dataformat.vector.LongColumnVector, BooleanColumnVector,
+		ByteColumnVector, ShortColumnVector, IntColumnVector {
+
+	private final LongColumnVector vector;
+
+	public OrcLongColumnVector(LongColumnVector vector) {
+		super(vector);
+		this.vector = vector;
+	}
+
+	@Override
+	public long getLong(int i) {
+		return vector.vector[vector.isRepeating ? 0 : i];
+	}
+
+	@Override
+	public boolean getBoolean(int i) {
+		return getLong(i) == 1;
+	}
+
+	@Override
+	public byte getByte(int i) {
+		return (byte) getLong(i);
+	}
+
+	@Override
+	public short getShort(int i) {
+		return (short) getLong(i);
+	}
+
+	@Override
+	public int getInt(int i) {
+		return (int) getLong(i);
+	}
+}
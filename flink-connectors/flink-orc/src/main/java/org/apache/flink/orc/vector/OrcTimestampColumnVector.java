@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.orc.vector;
+
+import org.apache.flink.table.dataformat.vector.LongColumnVector;
+
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+
+import java.util.TimeZone;
+
+/**
+ * Reads an ORC {@link TimestampColumnVector} as the milliseconds of the timestamps, in the
+ * internal representation of the blink planner.
+ */
+public class OrcTimestampColumnVector extends AbstractOrcColumnVector implements LongColumnVector {
+
+	private static final TimeZone LOCAL_TZ = TimeZone.getDefault();
+
+	private final TimestampColumnVector vector;
+
+	public OrcTimestampColumnVector(TimestampColumnVector vector) {
+		super(vector);
+		this.vector = vector;
+	}
+
+	@Override
+	public long getLong(int i) {
+		// ORC returns the time of a java.sql.Timestamp, which is shifted by the local time zone
+		long time = vector.time[vector.isRepeating ? 0 : i];
+		return time + LOCAL_TZ.getOffset(time);
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.orc.vector;
+
+import org.apache.flink.table.dataformat.ColumnarRow;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link OrcColumnarRowSplitReader}.
+ */
+public class OrcColumnarRowSplitReaderTest {
+
+	private static final String TEST_FILE_FLAT = "test-data-flat.orc";
+
+	/** The names of the fields of the table, the file itself names its columns _col0, _col1, .... */
+	private static final List<String> FIELD_NAMES = Arrays.asList(
+		"id", "gender", "f2", "education", "f4", "f5", "f6", "f7", "f8");
+
+	private static final String[] SELECTED_NAMES = new String[] {"education", "id", "missing", "gender"};
+
+	private static final LogicalType[] SELECTED_TYPES = new LogicalType[] {
+		new VarCharType(VarCharType.MAX_LENGTH), new IntType(), new IntType(), new VarCharType(VarCharType.MAX_LENGTH)};
+
+	@Test
+	public void testReadFirstRow() throws IOException {
+		String path = getPath(TEST_FILE_FLAT);
+		try (OrcColumnarRowSplitReader reader = createReader(path, 0, new File(path).length())) {
+			assertFalse(reader.reachedEnd());
+			ColumnarRow row = reader.nextRecord();
+			assertEquals(4, row.getArity());
+			assertEquals("Primary", row.getString(0).toString());
+			assertEquals(1, row.getInt(1));
+			assertTrue(row.isNullAt(2));
+			assertEquals("M", row.getString(3).toString());
+		}
+	}
+
+	@Test
+	public void testReadFileInSplits() throws IOException {
+		String path = getPath(TEST_FILE_FLAT);
+		long fileLength = new File(path).length();
+		long splitLength = fileLength / 4 + 1;
+
+		long cnt = 0;
+		int lastId = 0;
+		for (long start = 0; start < fileLength; start += splitLength) {
+			try (OrcColumnarRowSplitReader reader = createReader(path, start, splitLength)) {
+				while (!reader.reachedEnd()) {
+					int id = reader.nextRecord().getInt(1);
+					assertTrue(id > lastId);
+					lastId = id;
+					cnt++;
+				}
+			}
+		}
+		// check that all rows have been read exactly once
+		assertEquals(1920800, cnt);
+	}
+
+	private OrcColumnarRowSplitReader createReader(String path, long start, long length) throws IOException {
+		return new OrcColumnarRowSplitReader(
+			new Configuration(), FIELD_NAMES, SELECTED_NAMES, SELECTED_TYPES, 1024, new Path(path), start, length);
+	}
+
+	private String getPath(String fileName) {
+		return getClass().getClassLoader().getResource(fileName).getPath();
+	}
+}
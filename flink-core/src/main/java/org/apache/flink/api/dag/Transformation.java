@@ -148,6 +148,8 @@ public abstract class Transformation<T> {
 
 	protected long bufferTimeout = -1;
 
+	private boolean doesNotRetainInput = false;
+
 	private String slotSharingGroup;
 
 	@Nullable
@@ -445,6 +447,24 @@ public abstract class Transformation<T> {
 		return bufferTimeout;
 	}
 
+	/**
+	 * Declares that the operator of this {@code Transformation} neither keeps references to its input
+	 * records beyond the call that processes them nor modifies them. The records are then handed to the
+	 * operator without copies when it is chained to its predecessor and object reuse is disabled.
+	 */
+	public void setDoesNotRetainInput(boolean doesNotRetainInput) {
+		this.doesNotRetainInput = doesNotRetainInput;
+	}
+
+	/**
+	 * Returns whether the operator of this {@code Transformation} is declared not to retain its input.
+	 *
+	 * @see #setDoesNotRetainInput(boolean)
+	 */
+	public boolean getDoesNotRetainInput() {
+		return doesNotRetainInput;
+	}
+
 	/**
 	 * Returns all transitive predecessor {@code Transformation}s of this {@code Transformation}. This
 	 * is, for example, used when determining whether a feedback edge of an iteration
@@ -134,6 +134,23 @@ public class MetricOptions {
 			.defaultValue(128)
 			.withDescription("Defines the number of measured latencies to maintain at each operator.");
 
+	/** The fraction of records whose end-to-end latency is tracked. */
+	public static final ConfigOption<Double> LATENCY_SAMPLING_FRACTION =
+		key("metrics.latency.sampling-fraction")
+			.defaultValue(0.0)
+			.withDescription("Defines the fraction of records to which the sources attach their ingestion time, so that" +
+				" every operator can track the latency of these records in its recordLatency histogram. Unlike" +
+				" latency markers, the sampled records do not add elements to the streams. Disables the sampling if set" +
+				" to 0 or a negative value.");
+
+	/** The interval at which the latency of the task mailboxes is measured. */
+	public static final ConfigOption<Long> MAILBOX_LATENCY_INTERVAL =
+		key("metrics.mailbox-latency.interval")
+			.defaultValue(0L)
+			.withDescription("Defines the interval in milliseconds at which the tasks measure the time that actions" +
+				" such as timers or checkpoint triggers wait in their mailbox before being executed. Disables the" +
+				" measurement if set to 0 or a negative value.");
+
 	/**
 	 * Whether Flink should report system resource metrics such as machine's CPU, memory or network usage.
 	 */
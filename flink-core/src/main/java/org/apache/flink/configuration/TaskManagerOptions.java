@@ -310,6 +310,17 @@ public class TaskManagerOptions {
 				" alignment buffers more than the configured amount of data, the checkpoint is aborted (skipped)." +
 				" A value of -1 indicates that there is no limit.");
 
+	/**
+	 * The maximum number of records that the input of a task hands at once to a head operator which supports
+	 * batch processing. A value of <code>1</code> disables batching.
+	 */
+	public static final ConfigOption<Integer> TASK_RECORD_BATCH_SIZE =
+			key("task.record-batch.size")
+			.defaultValue(1)
+			.withDescription("The maximum number of received records that the input of a task hands at once to a" +
+				" head operator which supports batch processing (e.g. map, filter or flatMap). A batch never spans" +
+				" more than the currently deserialized network buffer. A value of 1 disables batching.");
+
 	// ------------------------------------------------------------------------
 
 	/** Not intended to be instantiated. */
@@ -388,6 +388,14 @@ public class DataInputDeserializer implements DataInputView, java.io.Serializabl
 		return position;
 	}
 
+	/**
+	 * Returns the array that is currently read from. The bytes that remain to be read start at
+	 * {@link #getPosition()}; the array is not copied, so it must not be modified by the caller.
+	 */
+	public byte[] getBuffer() {
+		return buffer;
+	}
+
 	// ------------------------------------------------------------------------
 	//  Utilities
 	// ------------------------------------------------------------------------
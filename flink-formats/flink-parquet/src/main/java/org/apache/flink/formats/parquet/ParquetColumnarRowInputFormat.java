@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.parquet;
+
+import org.apache.flink.api.common.io.FileInputFormat;
+import org.apache.flink.core.fs.FileInputSplit;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.formats.parquet.vector.ParquetColumnarRowSplitReader;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.ColumnarRow;
+import org.apache.flink.table.dataformat.vector.VectorizedColumnBatch;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Vectorized input format which reads Parquet files as {@link ColumnarRow ColumnarRows} of the
+ * blink planner.
+ *
+ * <p>Unlike the {@link ParquetInputFormat ParquetInputFormats}, which materialize every record
+ * as a {@link org.apache.flink.types.Row}, this format decodes the pages of the selected columns
+ * in batches into column vectors. The returned rows are views on these batches, so no objects
+ * are created per record or per field.
+ *
+ * <p>The format is splittable: each split reads the row groups whose midpoint lies in the split.
+ * Only flat columns of primitive types are supported.
+ */
+public class ParquetColumnarRowInputFormat extends FileInputFormat<BaseRow> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String[] fieldNames;
+
+	private final LogicalType[] fieldTypes;
+
+	private int[] selectedFields;
+
+	private int batchSize = VectorizedColumnBatch.DEFAULT_SIZE;
+
+	private transient ParquetColumnarRowSplitReader reader;
+
+	/**
+	 * @param path The path of the files to read.
+	 * @param fieldNames The names of the fields of the files.
+	 * @param fieldTypes The types of the fields of the files.
+	 */
+	public ParquetColumnarRowInputFormat(Path path, String[] fieldNames, LogicalType[] fieldTypes) {
+		super(path);
+		checkArgument(fieldNames.length == fieldTypes.length,
+			"The number of field names and field types must be equal.");
+		this.fieldNames = fieldNames;
+		this.fieldTypes = fieldTypes;
+		this.selectedFields = new int[fieldNames.length];
+		for (int i = 0; i < selectedFields.length; i++) {
+			selectedFields[i] = i;
+		}
+	}
+
+	/**
+	 * Configures the fields to be read and returned. The column chunks of the other fields are
+	 * not read from the files.
+	 *
+	 * @param selectedFields The indices of the selected fields.
+	 */
+	public void selectFields(int[] selectedFields) {
+		checkNotNull(selectedFields, "selectedFields");
+		for (int field : selectedFields) {
+			checkArgument(field >= 0 && field < fieldNames.length, "Invalid field index " + field);
+		}
+		this.selectedFields = selectedFields;
+	}
+
+	/**
+	 * Sets the number of rows which are decoded at once.
+	 */
+	public void setBatchSize(int batchSize) {
+		checkArgument(batchSize > 0, "The batch size must be positive.");
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public void open(FileInputSplit split) throws IOException {
+		String[] selectedNames = new String[selectedFields.length];
+		LogicalType[] selectedTypes = new LogicalType[selectedFields.length];
+		for (int i = 0; i < selectedFields.length; i++) {
+			selectedNames[i] = fieldNames[selectedFields[i]];
+			selectedTypes[i] = fieldTypes[selectedFields[i]];
+		}
+
+		this.reader = new ParquetColumnarRowSplitReader(
+			new org.apache.hadoop.conf.Configuration(),
+			selectedNames,
+			selectedTypes,
+			batchSize,
+			new org.apache.hadoop.fs.Path(split.getPath().toUri()),
+			split.getStart(),
+			split.getLength());
+	}
+
+	@Override
+	public boolean reachedEnd() throws IOException {
+		return reader.reachedEnd();
+	}
+
+	@Override
+	public BaseRow nextRecord(BaseRow reuse) throws IOException {
+		return reader.nextRecord();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (reader != null) {
+			reader.close();
+			reader = null;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ParquetColumnarRowInputFormat (" + Arrays.toString(getFilePaths()) + ")";
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.parquet.vector;
+
+import org.apache.flink.formats.parquet.vector.reader.ColumnReader;
+import org.apache.flink.table.dataformat.ColumnarRow;
+import org.apache.flink.table.dataformat.vector.VectorizedColumnBatch;
+import org.apache.flink.table.dataformat.vector.heap.AbstractHeapVector;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Reads a split of a Parquet file into {@link VectorizedColumnBatch VectorizedColumnBatches} and
+ * returns its rows as {@link ColumnarRow ColumnarRows}.
+ *
+ * <p>The split consists of the row groups whose midpoint lies in the byte range of the split. Only
+ * the column chunks of the selected fields are read from the file, the chunks of the other
+ * columns are skipped entirely. The pages are decoded directly into heap column vectors, without
+ * materializing any records.
+ *
+ * <p>Only flat columns of primitive types are supported. Selected fields which do not exist in the
+ * file are read as null, so that files written with an older schema can be read.
+ */
+public class ParquetColumnarRowSplitReader implements Closeable {
+
+	private final LogicalType[] selectedTypes;
+
+	private final ParquetFileReader reader;
+
+	/** The columns of the selected fields in the file, null for fields which are not in the file. */
+	private final ColumnDescriptor[] columns;
+
+	private final VectorizedColumnBatch batch;
+
+	private final AbstractHeapVector[] vectors;
+
+	private final ColumnarRow row;
+
+	private final int batchSize;
+
+	/** The total number of rows of the row groups of the split. */
+	private final long totalRowCount;
+
+	/** The readers of the columns of the current row group. */
+	private ColumnReader[] columnReaders;
+
+	/** The number of rows of the row groups read so far. */
+	private long totalCountLoadedSoFar;
+
+	/** The number of rows read into batches so far. */
+	private long rowsReturned;
+
+	/** The position of the next row in the current batch. */
+	private int nextRow;
+
+	private int rowsInBatch;
+
+	public ParquetColumnarRowSplitReader(
+			Configuration conf,
+			String[] selectedFieldNames,
+			LogicalType[] selectedTypes,
+			int batchSize,
+			Path path,
+			long splitStart,
+			long splitLength) throws IOException {
+		checkArgument(selectedFieldNames.length == selectedTypes.length,
+			"The number of field names and field types must be equal.");
+		this.selectedTypes = selectedTypes;
+		this.batchSize = batchSize;
+
+		ParquetReadOptions options = ParquetReadOptions.builder()
+			.withRange(splitStart, splitStart + splitLength)
+			.build();
+		this.reader = new ParquetFileReader(HadoopInputFile.fromPath(path, conf), options);
+
+		try {
+			MessageType fileSchema = reader.getFileMetaData().getSchema();
+			List<Type> requestedTypes = new ArrayList<>();
+			this.columns = new ColumnDescriptor[selectedFieldNames.length];
+			for (int i = 0; i < selectedFieldNames.length; i++) {
+				String fieldName = selectedFieldNames[i];
+				if (!fileSchema.containsField(fieldName)) {
+					continue;
+				}
+
+				Type type = fileSchema.getType(fieldName);
+				if (!type.isPrimitive() || type.isRepetition(Type.Repetition.REPEATED)) {
+					throw new UnsupportedOperationException(
+						"Field " + fieldName + " of " + path + " is not a flat column of a primitive type.");
+				}
+				requestedTypes.add(type);
+				columns[i] = fileSchema.getColumnDescription(new String[] {fieldName});
+			}
+
+			// only the column chunks of the requested schema are read
+			reader.setRequestedSchema(new MessageType(fileSchema.getName(), requestedTypes));
+			this.totalRowCount = reader.getRecordCount();
+
+			this.vectors = AbstractHeapVector.allocateHeapVectors(selectedTypes, batchSize);
+			this.batch = new VectorizedColumnBatch(vectors);
+			this.row = new ColumnarRow(batch);
+
+			for (int i = 0; i < columns.length; i++) {
+				if (columns[i] == null) {
+					for (int r = 0; r < batchSize; r++) {
+						vectors[i].setNullAt(r);
+					}
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			reader.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns whether all rows of the split have been read.
+	 */
+	public boolean reachedEnd() throws IOException {
+		return !ensureBatch();
+	}
+
+	/**
+	 * Returns the next row. The row is reused and only valid until the next call of this method.
+	 */
+	public ColumnarRow nextRecord() {
+		row.setRowId(batch.getRowId(nextRow++));
+		return row;
+	}
+
+	private boolean ensureBatch() throws IOException {
+		if (nextRow >= rowsInBatch) {
+			// the rows of the current batch have been returned, the batch can be overwritten
+			return nextBatch();
+		}
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean nextBatch() throws IOException {
+		if (rowsReturned >= totalRowCount) {
+			return false;
+		}
+		if (rowsReturned == totalCountLoadedSoFar) {
+			readNextRowGroup();
+		}
+
+		int num = (int) Math.min(batchSize, totalCountLoadedSoFar - rowsReturned);
+		for (int i = 0; i < columnReaders.length; i++) {
+			if (columnReaders[i] != null) {
+				vectors[i].reset();
+				columnReaders[i].readToVector(num, vectors[i]);
+			}
+		}
+		batch.setNumRows(num);
+
+		rowsReturned += num;
+		nextRow = 0;
+		rowsInBatch = num;
+		return true;
+	}
+
+	private void readNextRowGroup() throws IOException {
+		PageReadStore pages = reader.readNextRowGroup();
+		if (pages == null) {
+			throw new IOException("Expected " + totalRowCount + " rows, but reached the last row group after "
+				+ rowsReturned + " rows.");
+		}
+
+		columnReaders = new ColumnReader[columns.length];
+		for (int i = 0; i < columns.length; i++) {
+			if (columns[i] != null) {
+				columnReaders[i] = ParquetSplitReaderUtil.createColumnReader(
+					selectedTypes[i], columns[i], pages.getPageReader(columns[i]));
+			}
+		}
+		totalCountLoadedSoFar += pages.getRowCount();
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.parquet.vector;
+
+import org.apache.flink.formats.parquet.vector.reader.BooleanColumnReader;
+import org.apache.flink.formats.parquet.vector.reader.ByteColumnReader;
+import org.apache.flink.formats.parquet.vector.reader.BytesColumnReader;
+import org.apache.flink.formats.parquet.vector.reader.ColumnReader;
+import org.apache.flink.formats.parquet.vector.reader.DoubleColumnReader;
+import org.apache.flink.formats.parquet.vector.reader.FloatColumnReader;
+import org.apache.flink.formats.parquet.vector.reader.IntColumnReader;
+import org.apache.flink.formats.parquet.vector.reader.LongColumnReader;
+import org.apache.flink.formats.parquet.vector.reader.ShortColumnReader;
+import org.apache.flink.table.dataformat.Decimal;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+import java.io.IOException;
+
+/**
+ * Utilities for the {@link ParquetColumnarRowSplitReader}.
+ */
+public class ParquetSplitReaderUtil {
+
+	private ParquetSplitReaderUtil() {}
+
+	/**
+	 * Creates the reader of a column chunk of the given type.
+	 *
+	 * @throws UnsupportedOperationException If the Parquet type of the column cannot be read as
+	 *                                       the given type.
+	 */
+	public static ColumnReader createColumnReader(
+			LogicalType fieldType,
+			ColumnDescriptor descriptor,
+			PageReader pageReader) throws IOException {
+		PrimitiveTypeName typeName = descriptor.getPrimitiveType().getPrimitiveTypeName();
+		switch (fieldType.getTypeRoot()) {
+			case BOOLEAN:
+				checkTypeName(fieldType, typeName, PrimitiveTypeName.BOOLEAN);
+				return new BooleanColumnReader(descriptor, pageReader);
+			case TINYINT:
+				checkTypeName(fieldType, typeName, PrimitiveTypeName.INT32);
+				return new ByteColumnReader(descriptor, pageReader);
+			case SMALLINT:
+				checkTypeName(fieldType, typeName, PrimitiveTypeName.INT32);
+				return new ShortColumnReader(descriptor, pageReader);
+			case INTEGER:
+			case DATE:
+			case TIME_WITHOUT_TIME_ZONE:
+				checkTypeName(fieldType, typeName, PrimitiveTypeName.INT32);
+				return new IntColumnReader(descriptor, pageReader);
+			case BIGINT:
+			case TIMESTAMP_WITHOUT_TIME_ZONE:
+				checkTypeName(fieldType, typeName, PrimitiveTypeName.INT64);
+				return new LongColumnReader(descriptor, pageReader);
+			case FLOAT:
+				checkTypeName(fieldType, typeName, PrimitiveTypeName.FLOAT);
+				return new FloatColumnReader(descriptor, pageReader);
+			case DOUBLE:
+				checkTypeName(fieldType, typeName, PrimitiveTypeName.DOUBLE);
+				return new DoubleColumnReader(descriptor, pageReader);
+			case CHAR:
+			case VARCHAR:
+			case BINARY:
+			case VARBINARY:
+				checkTypeName(fieldType, typeName, PrimitiveTypeName.BINARY, PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY);
+				return new BytesColumnReader(descriptor, pageReader);
+			case DECIMAL:
+				// the physical type must match the column vector of the precision
+				int precision = ((DecimalType) fieldType).getPrecision();
+				if (Decimal.is32BitDecimal(precision)) {
+					checkTypeName(fieldType, typeName, PrimitiveTypeName.INT32);
+					return new IntColumnReader(descriptor, pageReader);
+				} else if (Decimal.is64BitDecimal(precision)) {
+					checkTypeName(fieldType, typeName, PrimitiveTypeName.INT64);
+					return new LongColumnReader(descriptor, pageReader);
+				} else {
+					checkTypeName(fieldType, typeName, PrimitiveTypeName.BINARY, PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY);
+					return new BytesColumnReader(descriptor, pageReader);
+				}
+			default:
+				throw new UnsupportedOperationException(fieldType + " is not supported now.");
+		}
+	}
+
+	private static void checkTypeName(
+			LogicalType fieldType,
+			PrimitiveTypeName actual,
+			PrimitiveTypeName... expected) {
+		for (PrimitiveTypeName typeName : expected) {
+			if (typeName == actual) {
+				return;
+			}
+		}
+		throw new UnsupportedOperationException(
+			"Cannot read a Parquet column of type " + actual + " as " + fieldType + ".");
+	}
+}
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.parquet.vector.reader;
+
+import org.apache.flink.formats.parquet.vector.ParquetDictionary;
+import org.apache.flink.table.dataformat.vector.heap.AbstractHeapVector;
+import org.apache.flink.table.dataformat.vector.heap.HeapIntVector;
+
+import org.apache.parquet.bytes.ByteBufferInputStream;
+import org.apache.parquet.bytes.BytesUtils;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.DataPage;
+import org.apache.parquet.column.page.DataPageV1;
+import org.apache.parquet.column.page.DataPageV2;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.column.values.ValuesReader;
+import org.apache.parquet.column.values.dictionary.DictionaryValuesReader;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridDecoder;
+import org.apache.parquet.io.ParquetDecodingException;
+
+import java.io.IOException;
+
+import static org.apache.parquet.column.ValuesType.DEFINITION_LEVEL;
+import static org.apache.parquet.column.ValuesType.REPETITION_LEVEL;
+import static org.apache.parquet.column.ValuesType.VALUES;
+
+/**
+ * Base class of the {@link ColumnReader ColumnReaders} of flat (non-repeated) Parquet columns.
+ *
+ * <p>The reader decodes the pages of a column chunk directly into the primitive arrays of heap
+ * column vectors. Dictionary encoded pages are not decoded at all: the dictionary ids are read
+ * into the vector, which decodes a value only when it is accessed. If a batch spans a dictionary
+ * encoded page and a plain page, the ids read so far are decoded, because a vector has either a
+ * dictionary or plain values.
+ *
+ * @param <V> The type of the column vectors.
+ */
+public abstract class AbstractColumnReader<V extends AbstractHeapVector> implements ColumnReader<V> {
+
+	private final PageReader pageReader;
+
+	protected final ColumnDescriptor descriptor;
+
+	/** The dictionary of the column chunk, null if the chunk has no dictionary page. */
+	protected final Dictionary dictionary;
+
+	/** The maximum definition level, i.e., the level of the non-null values. */
+	private final int maxDefLevel;
+
+	/** The total number of values in the column chunk. */
+	private final long totalValueCount;
+
+	/** The number of values read from the column chunk, including the values of the current page. */
+	private long endOfPageValueCount;
+
+	/** The number of values of the column chunk read so far. */
+	private long valuesRead;
+
+	/** Whether the current page is dictionary encoded. */
+	private boolean isCurrentPageDictionaryEncoded;
+
+	/** The definition levels of a page in the format of data page v1. */
+	private ValuesReader definitionLevels;
+
+	/** The definition levels of a page in the format of data page v2. */
+	private RunLengthBitPackingHybridDecoder definitionLevelsV2;
+
+	/** The reader of the plain values of the current page. */
+	protected ValuesReader dataReader;
+
+	/** The reader of the dictionary ids of the current page. */
+	private DictionaryValuesReader dictionaryIdsReader;
+
+	protected AbstractColumnReader(ColumnDescriptor descriptor, PageReader pageReader) throws IOException {
+		this.descriptor = descriptor;
+		this.pageReader = pageReader;
+		this.maxDefLevel = descriptor.getMaxDefinitionLevel();
+		this.totalValueCount = pageReader.getTotalValueCount();
+
+		DictionaryPage dictionaryPage = pageReader.readDictionaryPage();
+		if (dictionaryPage != null) {
+			try {
+				this.dictionary = dictionaryPage.getEncoding().initDictionary(descriptor, dictionaryPage);
+			} catch (IOException e) {
+				throw new IOException("Could not decode the dictionary for " + descriptor, e);
+			}
+		} else {
+			this.dictionary = null;
+		}
+	}
+
+	@Override
+	public final void readToVector(int readNumber, V vector) throws IOException {
+		int rowId = 0;
+		HeapIntVector dictionaryIds = null;
+		if (dictionary != null) {
+			dictionaryIds = vector.reserveDictionaryIds(readNumber);
+		}
+
+		while (readNumber > 0) {
+			// compute the number of values we want to read in this page
+			int leftInPage = (int) (endOfPageValueCount - valuesRead);
+			if (leftInPage == 0) {
+				readPage();
+				leftInPage = (int) (endOfPageValueCount - valuesRead);
+			}
+			int num = Math.min(readNumber, leftInPage);
+
+			if (isCurrentPageDictionaryEncoded) {
+				readDictionaryIds(rowId, num, vector, dictionaryIds);
+				if (vector.hasDictionary() || (rowId == 0 && supportsLazyDecoding())) {
+					// the vector decodes the values on access
+					vector.setDictionary(new ParquetDictionary(dictionary));
+				} else {
+					decodeDictionaryIds(rowId, num, vector, dictionaryIds);
+				}
+			} else {
+				if (vector.hasDictionary() && rowId != 0) {
+					// the batch started in a dictionary encoded page, decode the values read so far
+					decodeDictionaryIds(0, rowId, vector, vector.getDictionaryIds());
+				}
+				vector.setDictionary(null);
+				readBatch(rowId, num, vector);
+			}
+
+			valuesRead += num;
+			rowId += num;
+			readNumber -= num;
+		}
+	}
+
+	/**
+	 * Returns whether the vectors of this reader can decode dictionary ids on access.
+	 */
+	protected boolean supportsLazyDecoding() {
+		return true;
+	}
+
+	/**
+	 * Reads the next plain values of the current page into the vector.
+	 */
+	protected abstract void readBatch(int rowId, int num, V vector);
+
+	/**
+	 * Decodes the dictionary ids of the given rows into the values of the vector.
+	 */
+	protected abstract void decodeDictionaryIds(int rowId, int num, V vector, HeapIntVector dictionaryIds);
+
+	/**
+	 * Returns whether the next value of the current page is non-null.
+	 */
+	protected final boolean readNextDefinitionLevel() {
+		if (maxDefLevel == 0) {
+			return true;
+		}
+		try {
+			int level = definitionLevelsV2 != null
+				? definitionLevelsV2.readInt()
+				: definitionLevels.readInteger();
+			return level == maxDefLevel;
+		} catch (IOException e) {
+			throw new ParquetDecodingException("Could not read the definition levels of " + descriptor, e);
+		}
+	}
+
+	private void readDictionaryIds(int rowId, int num, V vector, HeapIntVector dictionaryIds) {
+		final int[] ids = dictionaryIds.vector;
+		for (int i = rowId; i < rowId + num; i++) {
+			if (readNextDefinitionLevel()) {
+				ids[i] = dictionaryIdsReader.readValueDictionaryId();
+			} else {
+				vector.setNullAt(i);
+			}
+		}
+	}
+
+	private void readPage() throws IOException {
+		DataPage page = pageReader.readPage();
+		if (page == null) {
+			throw new IOException("Expected " + totalValueCount + " values in the column chunk of "
+				+ descriptor + ", but only " + valuesRead + " values could be read.");
+		}
+
+		page.accept(new DataPage.Visitor<Void>() {
+			@Override
+			public Void visit(DataPageV1 dataPageV1) {
+				readPageV1(dataPageV1);
+				return null;
+			}
+
+			@Override
+			public Void visit(DataPageV2 dataPageV2) {
+				readPageV2(dataPageV2);
+				return null;
+			}
+		});
+	}
+
+	private void readPageV1(DataPageV1 page) {
+		try {
+			ByteBufferInputStream in = page.getBytes().toInputStream();
+			// flat columns have no repetition levels
+			page.getRlEncoding().getValuesReader(descriptor, REPETITION_LEVEL).initFromPage(page.getValueCount(), in);
+			this.definitionLevels = page.getDlEncoding().getValuesReader(descriptor, DEFINITION_LEVEL);
+			this.definitionLevels.initFromPage(page.getValueCount(), in);
+			this.definitionLevelsV2 = null;
+			initDataReader(page.getValueEncoding(), page.getValueCount(), in);
+		} catch (IOException e) {
+			throw new ParquetDecodingException("Could not read page " + page + " of " + descriptor, e);
+		}
+	}
+
+	private void readPageV2(DataPageV2 page) {
+		try {
+			this.definitionLevels = null;
+			this.definitionLevelsV2 = new RunLengthBitPackingHybridDecoder(
+				BytesUtils.getWidthFromMaxInt(maxDefLevel),
+				page.getDefinitionLevels().toInputStream());
+			initDataReader(page.getDataEncoding(), page.getValueCount(), page.getData().toInputStream());
+		} catch (IOException e) {
+			throw new ParquetDecodingException("Could not read page " + page + " of " + descriptor, e);
+		}
+	}
+
+	private void initDataReader(Encoding encoding, int valueCount, ByteBufferInputStream in) throws IOException {
+		this.endOfPageValueCount = valuesRead + valueCount;
+
+		if (encoding.usesDictionary()) {
+			if (dictionary == null) {
+				throw new ParquetDecodingException(
+					"Could not read a dictionary encoded page of " + descriptor + " without a dictionary.");
+			}
+			this.dictionaryIdsReader = (DictionaryValuesReader) encoding.getDictionaryBasedValuesReader(
+				descriptor, VALUES, dictionary);
+			this.dictionaryIdsReader.initFromPage(valueCount, in);
+			this.dataReader = null;
+			this.isCurrentPageDictionaryEncoded = true;
+		} else {
+			this.dataReader = encoding.getValuesReader(descriptor, VALUES);
+			this.dataReader.initFromPage(valueCount, in);
+			this.dictionaryIdsReader = null;
+			this.isCurrentPageDictionaryEncoded = false;
+		}
+	}
+}
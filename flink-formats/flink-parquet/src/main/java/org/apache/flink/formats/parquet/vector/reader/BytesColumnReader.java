@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.parquet.vector.reader;
+
+import org.apache.flink.table.dataformat.vector.heap.HeapBytesVector;
+import org.apache.flink.table.dataformat.vector.heap.HeapIntVector;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.io.api.Binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads BINARY and FIXED_LEN_BYTE_ARRAY Parquet columns of CHAR, VARCHAR, BINARY, VARBINARY and
+ * DECIMAL values into {@link HeapBytesVector HeapBytesVectors}.
+ */
+public class BytesColumnReader extends AbstractColumnReader<HeapBytesVector> {
+
+	public BytesColumnReader(ColumnDescriptor descriptor, PageReader pageReader) throws IOException {
+		super(descriptor, pageReader);
+	}
+
+	@Override
+	protected void readBatch(int rowId, int num, HeapBytesVector vector) {
+		for (int i = rowId; i < rowId + num; i++) {
+			if (readNextDefinitionLevel()) {
+				setBinary(vector, i, dataReader.readBytes());
+			} else {
+				vector.setNullAt(i);
+			}
+		}
+	}
+
+	@Override
+	protected void decodeDictionaryIds(int rowId, int num, HeapBytesVector vector, HeapIntVector dictionaryIds) {
+		final int[] ids = dictionaryIds.vector;
+		for (int i = rowId; i < rowId + num; i++) {
+			if (!vector.isNullAt(i)) {
+				setBinary(vector, i, dictionary.decodeToBinary(ids[i]));
+			}
+		}
+	}
+
+	private static void setBinary(HeapBytesVector vector, int i, Binary binary) {
+		// copy the bytes straight from the page buffer, if possible
+		ByteBuffer buffer = binary.toByteBuffer();
+		if (buffer.hasArray()) {
+			vector.setVal(i, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		} else {
+			byte[] bytes = binary.getBytesUnsafe();
+			vector.setVal(i, bytes, 0, bytes.length);
+		}
+	}
+}
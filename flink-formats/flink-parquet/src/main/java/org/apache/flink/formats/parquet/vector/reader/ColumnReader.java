@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.parquet.vector.reader;
+
+import org.apache.flink.table.dataformat.vector.heap.AbstractHeapVector;
+
+import java.io.IOException;
+
+/**
+ * Reads the values of a Parquet column into column vectors.
+ *
+ * @param <V> The type of the column vectors.
+ */
+public interface ColumnReader<V extends AbstractHeapVector> {
+
+	/**
+	 * Reads the next values of the column into the given vector, starting at row 0.
+	 *
+	 * @param readNumber The number of values to read.
+	 * @param vector The vector to read the values into, which has been reset.
+	 */
+	void readToVector(int readNumber, V vector) throws IOException;
+}
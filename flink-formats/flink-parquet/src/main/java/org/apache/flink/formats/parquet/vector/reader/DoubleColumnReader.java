@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.parquet.vector.reader;
+
+import org.apache.flink.table.dataformat.vector.heap.HeapDoubleVector;
+import org.apache.flink.table.dataformat.vector.heap.HeapIntVector;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.page.PageReader;
+
+import java.io.IOException;
+
+/**
+ * Reads DOUBLE Parquet columns of DOUBLE values into {@link HeapDoubleVector HeapDoubleVectors}.
+ */
+public class DoubleColumnReader extends AbstractColumnReader<HeapDoubleVector> {
+
+	public DoubleColumnReader(ColumnDescriptor descriptor, PageReader pageReader) throws IOException {
+		super(descriptor, pageReader);
+	}
+
+	@Override
+	protected void readBatch(int rowId, int num, HeapDoubleVector vector) {
+		final double[] values = vector.vector;
+		for (int i = rowId; i < rowId + num; i++) {
+			if (readNextDefinitionLevel()) {
+				values[i] = dataReader.readDouble();
+			} else {
+				vector.setNullAt(i);
+			}
+		}
+	}
+
+	@Override
+	protected void decodeDictionaryIds(int rowId, int num, HeapDoubleVector vector, HeapIntVector dictionaryIds) {
+		final double[] values = vector.vector;
+		final int[] ids = dictionaryIds.vector;
+		for (int i = rowId; i < rowId + num; i++) {
+			if (!vector.isNullAt(i)) {
+				values[i] = dictionary.decodeToDouble(ids[i]);
+			}
+		}
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.parquet;
+
+import org.apache.flink.core.fs.FileInputSplit;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.BooleanType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.parquet.avro.AvroParquetWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ParquetColumnarRowInputFormat}.
+ */
+public class ParquetColumnarRowInputFormatTest {
+
+	private static final int NUM_ROWS = 10_000;
+
+	private static final Schema SCHEMA = SchemaBuilder.record("TestRecord").fields()
+		.requiredLong("id")
+		.optionalString("category")
+		.optionalString("label")
+		.optionalDouble("score")
+		.requiredBoolean("flag")
+		.optionalInt("small")
+		.endRecord();
+
+	private static final String[] FIELD_NAMES = {"id", "category", "label", "score", "flag", "small"};
+
+	private static final LogicalType[] FIELD_TYPES = {
+		new BigIntType(),
+		new VarCharType(VarCharType.MAX_LENGTH),
+		new VarCharType(VarCharType.MAX_LENGTH),
+		new DoubleType(),
+		new BooleanType(),
+		new IntType()
+	};
+
+	@ClassRule
+	public static TemporaryFolder tempRoot = new TemporaryFolder();
+
+	@Test
+	public void testReadWithDictionary() throws IOException {
+		testReadAllFields(true);
+	}
+
+	@Test
+	public void testReadWithoutDictionary() throws IOException {
+		testReadAllFields(false);
+	}
+
+	private void testReadAllFields(boolean dictionary) throws IOException {
+		Path path = createParquetFile(dictionary);
+
+		ParquetColumnarRowInputFormat format = new ParquetColumnarRowInputFormat(path, FIELD_NAMES, FIELD_TYPES);
+		format.setBatchSize(100);
+
+		int numRows = 0;
+		for (FileInputSplit split : format.createInputSplits(1)) {
+			format.open(split);
+			while (!format.reachedEnd()) {
+				BaseRow row = format.nextRecord(null);
+				long id = row.getLong(0);
+				assertEquals(numRows, id);
+				assertRow(row, id, 1, 2, 3, 4, 5);
+				numRows++;
+			}
+			format.close();
+		}
+		assertEquals(NUM_ROWS, numRows);
+	}
+
+	@Test
+	public void testProjection() throws IOException {
+		Path path = createParquetFile(true);
+
+		ParquetColumnarRowInputFormat format = new ParquetColumnarRowInputFormat(path, FIELD_NAMES, FIELD_TYPES);
+		format.selectFields(new int[] {3, 0});
+
+		FileInputSplit[] splits = format.createInputSplits(1);
+		assertEquals(1, splits.length);
+		format.open(splits[0]);
+
+		int numRows = 0;
+		while (!format.reachedEnd()) {
+			BaseRow row = format.nextRecord(null);
+			assertEquals(2, row.getArity());
+			assertEquals(numRows, row.getLong(1));
+			if (numRows % 7 == 0) {
+				assertTrue(row.isNullAt(0));
+			} else {
+				assertEquals(numRows * 0.5, row.getDouble(0), 0.0);
+			}
+			numRows++;
+		}
+		format.close();
+		assertEquals(NUM_ROWS, numRows);
+	}
+
+	@Test
+	public void testFieldWhichIsNotInTheFile() throws IOException {
+		Path path = createParquetFile(true);
+
+		ParquetColumnarRowInputFormat format = new ParquetColumnarRowInputFormat(
+			path,
+			new String[] {"id", "comment"},
+			new LogicalType[] {new BigIntType(), new VarCharType(VarCharType.MAX_LENGTH)});
+
+		FileInputSplit[] splits = format.createInputSplits(1);
+		format.open(splits[0]);
+
+		int numRows = 0;
+		while (!format.reachedEnd()) {
+			BaseRow row = format.nextRecord(null);
+			assertEquals(numRows, row.getLong(0));
+			assertTrue(row.isNullAt(1));
+			numRows++;
+		}
+		format.close();
+		assertEquals(NUM_ROWS, numRows);
+	}
+
+	@Test
+	public void testMultipleSplits() throws IOException {
+		Path path = createParquetFile(true);
+
+		ParquetColumnarRowInputFormat format = new ParquetColumnarRowInputFormat(path, FIELD_NAMES, FIELD_TYPES);
+		FileInputSplit[] splits = format.createInputSplits(4);
+		assertTrue(splits.length > 1);
+
+		// every row group is read by exactly one split
+		BitSet ids = new BitSet();
+		int numRows = 0;
+		for (FileInputSplit split : splits) {
+			format.open(split);
+			while (!format.reachedEnd()) {
+				BaseRow row = format.nextRecord(null);
+				long id = row.getLong(0);
+				assertFalse(ids.get((int) id));
+				ids.set((int) id);
+				assertRow(row, id, 1, 2, 3, 4, 5);
+				numRows++;
+			}
+			format.close();
+		}
+		assertEquals(NUM_ROWS, numRows);
+		assertEquals(NUM_ROWS, ids.cardinality());
+	}
+
+	private static void assertRow(BaseRow row, long id, int category, int label, int score, int flag, int small) {
+		if (id % 5 == 0) {
+			assertTrue(row.isNullAt(category));
+		} else {
+			assertEquals("category-" + (id % 10), row.getString(category).toString());
+		}
+		assertEquals("label-" + id, row.getString(label).toString());
+		if (id % 7 == 0) {
+			assertTrue(row.isNullAt(score));
+		} else {
+			assertEquals(id * 0.5, row.getDouble(score), 0.0);
+		}
+		assertEquals(id % 3 == 0, row.getBoolean(flag));
+		if (id % 11 == 0) {
+			assertTrue(row.isNullAt(small));
+		} else {
+			assertEquals((int) (id % 100), row.getInt(small));
+		}
+	}
+
+	/**
+	 * Creates a file with many row groups and pages. The dictionary of the label column overflows,
+	 * so that its chunks consist of dictionary encoded pages followed by plain pages.
+	 */
+	private static Path createParquetFile(boolean dictionary) throws IOException {
+		Path path = new Path(tempRoot.newFolder().getPath(), UUID.randomUUID().toString());
+		ParquetWriter<GenericRecord> writer = AvroParquetWriter.<GenericRecord>builder(
+			new org.apache.hadoop.fs.Path(path.toUri()))
+			.withSchema(SCHEMA)
+			.withRowGroupSize(64 * 1024)
+			.withPageSize(4 * 1024)
+			.withDictionaryPageSize(2 * 1024)
+			.withDictionaryEncoding(dictionary)
+			.build();
+
+		for (long id = 0; id < NUM_ROWS; id++) {
+			GenericRecord record = new GenericData.Record(SCHEMA);
+			record.put("id", id);
+			record.put("category", id % 5 == 0 ? null : "category-" + (id % 10));
+			record.put("label", "label-" + id);
+			record.put("score", id % 7 == 0 ? null : id * 0.5);
+			record.put("flag", id % 3 == 0);
+			record.put("small", id % 11 == 0 ? null : (int) (id % 100));
+			writer.write(record);
+		}
+
+		writer.close();
+		return path;
+	}
+}
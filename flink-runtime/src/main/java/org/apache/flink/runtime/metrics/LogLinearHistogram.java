@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.metrics;
+
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.HistogramStatistics;
+
+import java.util.Arrays;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A compact and mergeable {@link Histogram} for non-negative values, similar to an HDR histogram.
+ *
+ * <p>Values are counted in buckets whose width grows with the magnitude of the values: values
+ * smaller than {@value #SUB_BUCKETS} are counted exactly, and every further power of two is split
+ * into {@value #SUB_BUCKETS} buckets of equal width. Thus, the relative error of the reported
+ * quantiles is bounded by {@code 1 / }{@value #SUB_BUCKETS}, while the memory footprint only
+ * grows logarithmically with the largest recorded value.
+ *
+ * <p>Once more than {@code maxCount} values have been recorded, all bucket counts are halved, so
+ * that the histogram favors recent values and its counts stay bounded.
+ */
+public class LogLinearHistogram implements Histogram {
+
+	/** Number of bits of the values that are kept exactly. */
+	private static final int PRECISION_BITS = 5;
+
+	/** Number of buckets per power of two. */
+	static final int SUB_BUCKETS = 1 << PRECISION_BITS;
+
+	private final long maxCount;
+
+	/** The bucket counts, grown on demand up to the bucket of the largest recorded value. */
+	private long[] counts;
+
+	/** The number of values in all buckets. */
+	private long count;
+
+	public LogLinearHistogram(long maxCount) {
+		checkArgument(maxCount > 0, "The maximum count must be positive.");
+		this.maxCount = maxCount;
+		this.counts = new long[SUB_BUCKETS];
+	}
+
+	@Override
+	public synchronized void update(long value) {
+		checkArgument(value >= 0, "Only non-negative values can be recorded.");
+
+		int index = bucketIndex(value);
+		if (index >= counts.length) {
+			counts = Arrays.copyOf(counts, index + 1);
+		}
+
+		counts[index]++;
+
+		if (++count > maxCount) {
+			decay();
+		}
+	}
+
+	/**
+	 * Adds the values recorded by the given histogram to this histogram.
+	 */
+	public synchronized void merge(LogLinearHistogram other) {
+		long[] otherCounts = other.getCounts();
+
+		if (otherCounts.length > counts.length) {
+			counts = Arrays.copyOf(counts, otherCounts.length);
+		}
+
+		for (int i = 0; i < otherCounts.length; i++) {
+			counts[i] += otherCounts[i];
+			count += otherCounts[i];
+		}
+
+		while (count > maxCount) {
+			decay();
+		}
+	}
+
+	@Override
+	public synchronized long getCount() {
+		return count;
+	}
+
+	@Override
+	public HistogramStatistics getStatistics() {
+		return new LogLinearHistogramStatistics(getCounts());
+	}
+
+	private synchronized long[] getCounts() {
+		return counts.clone();
+	}
+
+	private void decay() {
+		count = 0;
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] >>>= 1;
+			count += counts[i];
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	//  Bucket arithmetic
+	// ------------------------------------------------------------------------
+
+	static int bucketIndex(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int shift = exponent - PRECISION_BITS;
+		int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+
+		return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+	}
+
+	static long bucketLowerBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+
+		int shift = index / SUB_BUCKETS - 1;
+		int subBucket = index % SUB_BUCKETS;
+
+		return ((long) (SUB_BUCKETS + subBucket)) << shift;
+	}
+
+	static long bucketWidth(int index) {
+		return index < SUB_BUCKETS ? 1L : 1L << (index / SUB_BUCKETS - 1);
+	}
+
+	/**
+	 * The value which represents all values of the bucket with the given index, i.e., the middle
+	 * of the bucket.
+	 */
+	static long bucketValue(int index) {
+		return bucketLowerBound(index) + (bucketWidth(index) - 1) / 2;
+	}
+}
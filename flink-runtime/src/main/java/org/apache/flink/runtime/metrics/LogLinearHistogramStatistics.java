@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.metrics;
+
+import org.apache.flink.metrics.HistogramStatistics;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Histogram statistics of a snapshot of the bucket counts of a {@link LogLinearHistogram}. All
+ * statistics are computed from the values which represent the buckets.
+ */
+public class LogLinearHistogramStatistics extends HistogramStatistics {
+
+	private final long[] counts;
+
+	private final long count;
+
+	public LogLinearHistogramStatistics(long[] counts) {
+		this.counts = counts;
+
+		long count = 0;
+		for (long bucketCount : counts) {
+			count += bucketCount;
+		}
+		this.count = count;
+	}
+
+	@Override
+	public double getQuantile(double quantile) {
+		checkArgument(quantile >= 0.0 && quantile <= 1.0, "The quantile must be in [0, 1].");
+
+		if (count == 0) {
+			return 0.0;
+		}
+
+		// the rank of the value for the quantile, starting at 1
+		long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return LogLinearHistogram.bucketValue(i);
+			}
+		}
+
+		return getMax();
+	}
+
+	@Override
+	public long[] getValues() {
+		long[] values = new long[size()];
+
+		int pos = 0;
+		for (int i = 0; i < counts.length; i++) {
+			for (long j = 0; j < counts[i]; j++) {
+				values[pos++] = LogLinearHistogram.bucketValue(i);
+			}
+		}
+
+		return values;
+	}
+
+	@Override
+	public int size() {
+		return (int) Math.min(count, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public double getMean() {
+		if (count == 0) {
+			return 0.0;
+		}
+
+		double sum = 0.0;
+		for (int i = 0; i < counts.length; i++) {
+			sum += (double) counts[i] * LogLinearHistogram.bucketValue(i);
+		}
+
+		return sum / count;
+	}
+
+	@Override
+	public double getStdDev() {
+		if (count < 2) {
+			return 0.0;
+		}
+
+		double mean = getMean();
+		double sumOfSquares = 0.0;
+		for (int i = 0; i < counts.length; i++) {
+			double deviation = LogLinearHistogram.bucketValue(i) - mean;
+			sumOfSquares += counts[i] * deviation * deviation;
+		}
+
+		// sample standard deviation, like the other histogram statistics
+		return Math.sqrt(sumOfSquares / (count - 1));
+	}
+
+	@Override
+	public long getMax() {
+		for (int i = counts.length - 1; i >= 0; i--) {
+			if (counts[i] > 0) {
+				return LogLinearHistogram.bucketValue(i);
+			}
+		}
+
+		return 0L;
+	}
+
+	@Override
+	public long getMin() {
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] > 0) {
+				return LogLinearHistogram.bucketValue(i);
+			}
+		}
+
+		return 0L;
+	}
+}
@@ -0,0 +1,555 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.runtime.state.InternalPriorityQueue;
+import org.apache.flink.util.CloseableIterator;
+import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.MathUtils;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+
+/**
+ * A priority queue with set semantics that keeps all elements in serialized form in off-heap memory. This class is
+ * intended to be used as the partition of a {@link KeyGroupPartitionedPriorityQueue}, i.e. one instance manages the
+ * elements of exactly one key-group.
+ *
+ * <p>Elements are serialized with a serializer that produces a format that is lexicographically ordered in alignment
+ * with the element priority (the same contract as for RocksDB-based timers), so the heap can order elements by
+ * comparing their bytes without deserialization. The serialized elements are appended to an off-heap
+ * {@link MemorySegment} (the arena). Each record in the arena has the layout
+ * <code>[heap index (int) | length (int) | bytes]</code>, so that a record can be located in the heap for fast
+ * removal. The heap itself is a primitive <code>int[]</code> of arena offsets and de-duplication is done through an
+ * open-addressing hash index over the serialized bytes. Compared to {@link HeapPriorityQueueSet}, no objects are kept
+ * per element, apart from a cached deserialized head element.
+ *
+ * <p>Space of removed records is reclaimed by compacting the arena into a fresh segment when it runs full. The arena
+ * is allocated lazily on the first insertion, so that empty key-groups do not reserve any memory. Off-heap memory is
+ * released when the queue becomes unreachable.
+ *
+ * <p>This class is not thread-safe and the serialization buffers may be shared between all partitions of the same
+ * {@link KeyGroupPartitionedPriorityQueue}.
+ *
+ * @param <T> type of the contained elements.
+ */
+public class OffHeapPriorityQueueSet<T> implements InternalPriorityQueue<T>, HeapPriorityQueueElement {
+
+	/** Size of the record header in the arena: heap index and length of the serialized element. */
+	private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+
+	/** Offset of the serialized length inside a record. */
+	private static final int RECORD_LENGTH_OFFSET = Integer.BYTES;
+
+	/** Marker for an empty slot in the de-duplication index. */
+	private static final int EMPTY_SLOT = 0;
+
+	/** Marker for a deleted slot in the de-duplication index. */
+	private static final int DELETED_SLOT = -1;
+
+	/** Smallest capacity of the arena in bytes. */
+	private static final int MIN_ARENA_BYTES = 1024;
+
+	/** Smallest capacity of the de-duplication index. */
+	private static final int MIN_INDEX_CAPACITY = 16;
+
+	/** Serializer with a lexicographically ordered format for the elements. */
+	@Nonnull
+	private final TypeSerializer<T> byteOrderedElementSerializer;
+
+	/** Buffer to serialize elements. Can be shared between partitions. */
+	@Nonnull
+	private final DataOutputSerializer outputView;
+
+	/** Buffer to deserialize elements. Can be shared between partitions. */
+	@Nonnull
+	private final DataInputDeserializer inputView;
+
+	/** The off-heap memory that holds the serialized records, allocated on first insert. */
+	@Nullable
+	private MemorySegment arena;
+
+	/** The end of the used region in the arena. */
+	@Nonnegative
+	private int arenaEnd;
+
+	/** The bytes in the used region of the arena that belong to removed records. */
+	@Nonnegative
+	private int garbageBytes;
+
+	/** The binary heap, holding arena offsets of the records. The head element is at index 0. */
+	@Nonnull
+	private int[] heap;
+
+	/** Number of elements in the heap. */
+	@Nonnegative
+	private int size;
+
+	/** Open-addressing index over the records: 0 for empty, -1 for deleted, arena offset + 1 otherwise. */
+	@Nonnull
+	private int[] index;
+
+	/** Hash codes of the records referenced in {@link #index}, at the same positions. */
+	@Nonnull
+	private int[] indexHashes;
+
+	/** Number of deleted slots in the index. */
+	@Nonnegative
+	private int deletedSlots;
+
+	/** Deserialized copy of the current head element, or null if not yet deserialized. */
+	@Nullable
+	private T cachedHead;
+
+	/** Reusable buffer to read serialized elements from the arena. */
+	@Nonnull
+	private byte[] readBuffer;
+
+	/** Index of this queue in the heap of partitions. */
+	private int internalIndex;
+
+	public OffHeapPriorityQueueSet(
+		@Nonnull TypeSerializer<T> byteOrderedElementSerializer,
+		@Nonnull DataOutputSerializer outputView,
+		@Nonnull DataInputDeserializer inputView,
+		@Nonnegative int minimumCapacity) {
+
+		this.byteOrderedElementSerializer = byteOrderedElementSerializer;
+		this.outputView = outputView;
+		this.inputView = inputView;
+		this.heap = new int[Math.max(1, minimumCapacity)];
+		this.size = 0;
+		final int indexCapacity = MathUtils.roundUpToPowerOfTwo(Math.max(MIN_INDEX_CAPACITY, 2 * minimumCapacity));
+		this.index = new int[indexCapacity];
+		this.indexHashes = new int[indexCapacity];
+		this.readBuffer = new byte[64];
+		this.internalIndex = NOT_CONTAINED;
+	}
+
+	@Nullable
+	@Override
+	public T poll() {
+		final T head = peek();
+		if (head != null) {
+			final int headOffset = heap[0];
+			removeFromIndex(headOffset);
+			removeFromHeap(0);
+		}
+		return head;
+	}
+
+	@Nullable
+	@Override
+	public T peek() {
+		if (cachedHead == null && size > 0) {
+			cachedHead = deserializeRecord(heap[0]);
+		}
+		return cachedHead;
+	}
+
+	/**
+	 * Adds the element to the queue, but only if no element with the same serialized form is already contained.
+	 *
+	 * @return <code>true</code> if the operation changed the head element.
+	 */
+	@Override
+	public boolean add(@Nonnull T toAdd) {
+		final int length = serializeElement(toAdd);
+		final int offset = stageRecord(length);
+		final int hash = hashRecord(offset, length);
+
+		if (findSlot(offset, length, hash) >= 0) {
+			return false;
+		}
+
+		arenaEnd += RECORD_HEADER_BYTES + length;
+		insertIntoIndex(offset, hash);
+		return addToHeap(offset) == 0;
+	}
+
+	/**
+	 * Removes the element with the same serialized form from the queue, if contained.
+	 *
+	 * @return <code>true</code> if the operation changed the head element.
+	 */
+	@Override
+	public boolean remove(@Nonnull T toRemove) {
+		final int length = serializeElement(toRemove);
+		final int offset = stageRecord(length);
+		final int slot = findSlot(offset, length, hashRecord(offset, length));
+
+		if (slot < 0) {
+			return false;
+		}
+
+		final int recordOffset = index[slot] - 1;
+		deleteSlot(slot);
+		final int heapIndex = arena.getInt(recordOffset);
+		removeFromHeap(heapIndex);
+		return heapIndex == 0;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void addAll(@Nullable Collection<? extends T> toAdd) {
+		if (toAdd == null) {
+			return;
+		}
+
+		for (T element : toAdd) {
+			add(element);
+		}
+	}
+
+	@Nonnull
+	@Override
+	public CloseableIterator<T> iterator() {
+		return new OffHeapIterator();
+	}
+
+	@Override
+	public int getInternalIndex() {
+		return internalIndex;
+	}
+
+	@Override
+	public void setInternalIndex(int newIndex) {
+		this.internalIndex = newIndex;
+	}
+
+	/**
+	 * Returns the number of bytes of off-heap memory that is currently reserved by this queue.
+	 */
+	@VisibleForTesting
+	public int getReservedMemoryBytes() {
+		return arena != null ? arena.size() : 0;
+	}
+
+	// ------------------------------------------------------------------------
+	//  Heap maintenance
+	// ------------------------------------------------------------------------
+
+	private int addToHeap(int offset) {
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, heap.length < 64 ? heap.length + 2 + heap.length : heap.length + (heap.length >> 1));
+		}
+		final int heapIndex = siftUp(size++, offset);
+		if (heapIndex == 0) {
+			cachedHead = null;
+		}
+		return heapIndex;
+	}
+
+	private void removeFromHeap(int heapIndex) {
+		final int removedOffset = heap[heapIndex];
+		garbageBytes += RECORD_HEADER_BYTES + arena.getInt(removedOffset + RECORD_LENGTH_OFFSET);
+
+		final int lastIndex = --size;
+		if (heapIndex != lastIndex) {
+			final int lastOffset = heap[lastIndex];
+			final int newIndex = siftDown(heapIndex, lastOffset);
+			if (newIndex == heapIndex) {
+				siftUp(heapIndex, lastOffset);
+			}
+		}
+
+		if (heapIndex == 0) {
+			cachedHead = null;
+		}
+
+		if (size == 0) {
+			// all records are garbage, so we can simply start again at the beginning of the arena.
+			arenaEnd = 0;
+			garbageBytes = 0;
+		}
+	}
+
+	private int siftUp(int heapIndex, int offset) {
+		while (heapIndex > 0) {
+			final int parentIndex = (heapIndex - 1) >>> 1;
+			final int parentOffset = heap[parentIndex];
+			if (compareRecords(offset, parentOffset) >= 0) {
+				break;
+			}
+			moveToHeapIndex(parentOffset, heapIndex);
+			heapIndex = parentIndex;
+		}
+		moveToHeapIndex(offset, heapIndex);
+		return heapIndex;
+	}
+
+	private int siftDown(int heapIndex, int offset) {
+		final int heapSize = size;
+		int childIndex = (heapIndex << 1) + 1;
+		while (childIndex < heapSize) {
+			final int secondChildIndex = childIndex + 1;
+			if (secondChildIndex < heapSize && compareRecords(heap[secondChildIndex], heap[childIndex]) < 0) {
+				childIndex = secondChildIndex;
+			}
+			final int childOffset = heap[childIndex];
+			if (compareRecords(childOffset, offset) >= 0) {
+				break;
+			}
+			moveToHeapIndex(childOffset, heapIndex);
+			heapIndex = childIndex;
+			childIndex = (heapIndex << 1) + 1;
+		}
+		moveToHeapIndex(offset, heapIndex);
+		return heapIndex;
+	}
+
+	private void moveToHeapIndex(int offset, int heapIndex) {
+		heap[heapIndex] = offset;
+		arena.putInt(offset, heapIndex);
+	}
+
+	private int compareRecords(int leftOffset, int rightOffset) {
+		final int leftLength = arena.getInt(leftOffset + RECORD_LENGTH_OFFSET);
+		final int rightLength = arena.getInt(rightOffset + RECORD_LENGTH_OFFSET);
+		final int cmp = arena.compare(
+			arena,
+			leftOffset + RECORD_HEADER_BYTES,
+			rightOffset + RECORD_HEADER_BYTES,
+			Math.min(leftLength, rightLength));
+		return cmp != 0 ? cmp : leftLength - rightLength;
+	}
+
+	// ------------------------------------------------------------------------
+	//  Arena management
+	// ------------------------------------------------------------------------
+
+	private int serializeElement(T element) {
+		outputView.clear();
+		try {
+			byteOrderedElementSerializer.serialize(element, outputView);
+		} catch (IOException e) {
+			throw new FlinkRuntimeException("Error while serializing the element.", e);
+		}
+		return outputView.length();
+	}
+
+	/**
+	 * Copies the currently serialized element behind the used region of the arena, without committing it. This lets
+	 * us compare against contained records completely inside the arena.
+	 */
+	private int stageRecord(int length) {
+		ensureArenaCapacity(RECORD_HEADER_BYTES + length);
+		final int offset = arenaEnd;
+		arena.putInt(offset, NOT_CONTAINED);
+		arena.putInt(offset + RECORD_LENGTH_OFFSET, length);
+		arena.put(offset + RECORD_HEADER_BYTES, outputView.getSharedBuffer(), 0, length);
+		return offset;
+	}
+
+	private void ensureArenaCapacity(int requiredBytes) {
+		if (arena == null) {
+			arena = allocateArena(requiredBytes, MIN_ARENA_BYTES);
+			return;
+		}
+
+		if ((long) arenaEnd + requiredBytes <= arena.size()) {
+			return;
+		}
+
+		final long liveBytes = (long) arenaEnd - garbageBytes;
+		long newArenaSize = arena.size();
+		while (newArenaSize < 2 * (liveBytes + requiredBytes)) {
+			newArenaSize <<= 1;
+		}
+
+		if (newArenaSize > Integer.MAX_VALUE) {
+			throw new FlinkRuntimeException("Off-heap priority queue partition exceeds its maximum size.");
+		}
+
+		compactInto(allocateArena(requiredBytes, (int) newArenaSize));
+	}
+
+	private MemorySegment allocateArena(int requiredBytes, int desiredBytes) {
+		return MemorySegmentFactory.allocateUnpooledOffHeapMemory(Math.max(requiredBytes, desiredBytes), this);
+	}
+
+	/**
+	 * Copies all live records into the given segment, in heap order, and rebuilds the index for the new offsets.
+	 */
+	private void compactInto(MemorySegment target) {
+		final MemorySegment source = arena;
+		int targetOffset = 0;
+		for (int i = 0; i < size; ++i) {
+			final int sourceOffset = heap[i];
+			final int recordBytes = RECORD_HEADER_BYTES + source.getInt(sourceOffset + RECORD_LENGTH_OFFSET);
+			source.copyTo(sourceOffset, target, targetOffset, recordBytes);
+			heap[i] = targetOffset;
+			targetOffset += recordBytes;
+		}
+
+		arena = target;
+		arenaEnd = targetOffset;
+		garbageBytes = 0;
+		source.free();
+
+		rebuildIndex(index.length);
+	}
+
+	@Nonnull
+	private T deserializeRecord(int offset) {
+		final int length = arena.getInt(offset + RECORD_LENGTH_OFFSET);
+		if (readBuffer.length < length) {
+			readBuffer = new byte[Math.max(length, readBuffer.length << 1)];
+		}
+		arena.get(offset + RECORD_HEADER_BYTES, readBuffer, 0, length);
+		inputView.setBuffer(readBuffer, 0, length);
+		try {
+			return byteOrderedElementSerializer.deserialize(inputView);
+		} catch (IOException e) {
+			throw new FlinkRuntimeException("Error while deserializing the element.", e);
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	//  De-duplication index
+	// ------------------------------------------------------------------------
+
+	private int hashRecord(int offset, int length) {
+		int position = offset + RECORD_HEADER_BYTES;
+		final int end = position + length;
+		int hash = length;
+		for (; position <= end - Long.BYTES; position += Long.BYTES) {
+			hash = 31 * hash + Long.hashCode(arena.getLong(position));
+		}
+		for (; position < end; ++position) {
+			hash = 31 * hash + arena.get(position);
+		}
+		return MathUtils.murmurHash(hash);
+	}
+
+	/**
+	 * Returns the index slot of the contained record that is equal to the record at the given offset, or -1 if there
+	 * is no such record.
+	 */
+	private int findSlot(int offset, int length, int hash) {
+		final int mask = index.length - 1;
+		int slot = hash & mask;
+		int entry;
+		while ((entry = index[slot]) != EMPTY_SLOT) {
+			if (entry != DELETED_SLOT && indexHashes[slot] == hash) {
+				final int candidateOffset = entry - 1;
+				if (arena.getInt(candidateOffset + RECORD_LENGTH_OFFSET) == length &&
+					arena.equalTo(arena, candidateOffset + RECORD_HEADER_BYTES, offset + RECORD_HEADER_BYTES, length)) {
+					return slot;
+				}
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void insertIntoIndex(int offset, int hash) {
+		if ((size + deletedSlots + 1) << 1 > index.length) {
+			// we grow only if the live records require it, otherwise rehashing just purges deleted slots.
+			rebuildIndex((size + 1) << 2 > index.length ? index.length << 1 : index.length);
+		}
+		insertIntoIndex(index, indexHashes, offset, hash);
+	}
+
+	private void insertIntoIndex(int[] targetIndex, int[] targetHashes, int offset, int hash) {
+		final int mask = targetIndex.length - 1;
+		int slot = hash & mask;
+		while (targetIndex[slot] > EMPTY_SLOT) {
+			slot = (slot + 1) & mask;
+		}
+		if (targetIndex[slot] == DELETED_SLOT) {
+			--deletedSlots;
+		}
+		targetIndex[slot] = offset + 1;
+		targetHashes[slot] = hash;
+	}
+
+	private void removeFromIndex(int offset) {
+		final int length = arena.getInt(offset + RECORD_LENGTH_OFFSET);
+		final int mask = index.length - 1;
+		int slot = hashRecord(offset, length) & mask;
+		while (index[slot] != offset + 1) {
+			slot = (slot + 1) & mask;
+		}
+		deleteSlot(slot);
+	}
+
+	private void deleteSlot(int slot) {
+		index[slot] = DELETED_SLOT;
+		++deletedSlots;
+	}
+
+	private void rebuildIndex(int capacity) {
+		final int[] newIndex = new int[capacity];
+		final int[] newHashes = new int[capacity];
+		deletedSlots = 0;
+		for (int i = 0; i < size; ++i) {
+			final int offset = heap[i];
+			insertIntoIndex(newIndex, newHashes, offset, hashRecord(offset, arena.getInt(offset + RECORD_LENGTH_OFFSET)));
+		}
+		index = newIndex;
+		indexHashes = newHashes;
+	}
+
+	/**
+	 * Iterator over the deserialized elements of the queue, in no particular order. {@link #remove()} is not supported.
+	 */
+	private final class OffHeapIterator implements CloseableIterator<T> {
+
+		private int runningIdx;
+
+		@Override
+		public boolean hasNext() {
+			return runningIdx < size;
+		}
+
+		@Override
+		public T next() {
+			if (runningIdx >= size) {
+				throw new NoSuchElementException("Iterator has no next element.");
+			}
+			return deserializeRecord(heap[runningIdx++]);
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.runtime.state.KeyExtractorFunction;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.KeyGroupedInternalPriorityQueue;
+import org.apache.flink.runtime.state.Keyed;
+import org.apache.flink.runtime.state.PriorityComparable;
+import org.apache.flink.runtime.state.PriorityComparator;
+import org.apache.flink.runtime.state.PriorityQueueSetFactory;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Factory for {@link KeyGroupPartitionedPriorityQueue}s that are partitioned into {@link OffHeapPriorityQueueSet}s,
+ * i.e. that keep their elements serialized in off-heap memory.
+ *
+ * <p>The elements of the produced queues are not part of the keyed state snapshots of a backend and must be
+ * written through the (synchronous) raw keyed state timer snapshots.
+ */
+public class OffHeapPriorityQueueSetFactory implements PriorityQueueSetFactory {
+
+	@Nonnull
+	private final KeyGroupRange keyGroupRange;
+
+	@Nonnegative
+	private final int totalKeyGroups;
+
+	@Nonnegative
+	private final int minimumCapacity;
+
+	/** A shared buffer to serialize elements for the priority queues. */
+	@Nonnull
+	private final DataOutputSerializer sharedElementOutView;
+
+	/** A shared buffer to de-serialize elements for the priority queues. */
+	@Nonnull
+	private final DataInputDeserializer sharedElementInView;
+
+	public OffHeapPriorityQueueSetFactory(
+		@Nonnull KeyGroupRange keyGroupRange,
+		@Nonnegative int totalKeyGroups,
+		@Nonnegative int minimumCapacity) {
+
+		this.keyGroupRange = keyGroupRange;
+		this.totalKeyGroups = totalKeyGroups;
+		this.minimumCapacity = minimumCapacity;
+		this.sharedElementOutView = new DataOutputSerializer(128);
+		this.sharedElementInView = new DataInputDeserializer();
+	}
+
+	@Nonnull
+	@Override
+	public <T extends HeapPriorityQueueElement & PriorityComparable & Keyed> KeyGroupedInternalPriorityQueue<T> create(
+		@Nonnull String stateName,
+		@Nonnull TypeSerializer<T> byteOrderedElementSerializer) {
+
+		final int minimumCapacityPerKeyGroup = 1 + minimumCapacity / keyGroupRange.getNumberOfKeyGroups();
+
+		return new KeyGroupPartitionedPriorityQueue<>(
+			KeyExtractorFunction.forKeyedObjects(),
+			PriorityComparator.forPriorityComparableObjects(),
+			new KeyGroupPartitionedPriorityQueue.PartitionQueueSetFactory<T, OffHeapPriorityQueueSet<T>>() {
+				@Nonnull
+				@Override
+				public OffHeapPriorityQueueSet<T> create(
+					int keyGroupId,
+					int numKeyGroups,
+					@Nonnull KeyExtractorFunction<T> keyExtractor,
+					@Nonnull PriorityComparator<T> elementPriorityComparator) {
+					return new OffHeapPriorityQueueSet<>(
+						byteOrderedElementSerializer,
+						sharedElementOutView,
+						sharedElementInView,
+						minimumCapacityPerKeyGroup);
+				}
+			},
+			keyGroupRange,
+			totalKeyGroups);
+	}
+}
@@ -19,7 +19,10 @@
 package org.apache.flink.runtime.taskexecutor;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.runtime.concurrent.FutureUtils;
 
 
 /**
@@ -39,4 +42,24 @@ public interface GlobalAggregateManager {
 	 * @return The updated aggregate
 	 */
 	<IN, ACC, OUT> OUT updateGlobalAggregate(String aggregateName, Object aggregand, AggregateFunction<IN, ACC, OUT> aggregateFunction) throws IOException;
+
+	/**
+	 * Update the global aggregate without waiting for the JobMaster. The returned future completes
+	 * with the new value, or exceptionally with an {@link IOException} if the update failed.
+	 *
+	 * <p>The default implementation updates the aggregate synchronously.
+	 *
+	 * @param aggregateName The name of the aggregate to update
+	 * @param aggregand The value to add to the aggregate
+	 * @param aggregateFunction The function to apply to the current aggregate and aggregand to
+	 * obtain the new aggregate value
+	 * @return The future of the updated aggregate
+	 */
+	default <IN, ACC, OUT> CompletableFuture<OUT> updateGlobalAggregateAsync(String aggregateName, Object aggregand, AggregateFunction<IN, ACC, OUT> aggregateFunction) {
+		try {
+			return CompletableFuture.completedFuture(updateGlobalAggregate(aggregateName, aggregand, aggregateFunction));
+		} catch (IOException e) {
+			return FutureUtils.completedExceptionally(e);
+		}
+	}
 }
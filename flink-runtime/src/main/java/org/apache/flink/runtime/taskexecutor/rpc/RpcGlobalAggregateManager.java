@@ -19,10 +19,13 @@
 package org.apache.flink.runtime.taskexecutor.rpc;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.apache.flink.api.common.ExecutionConfig;
 import org.apache.flink.api.common.functions.AggregateFunction;
 import org.apache.flink.api.java.ClosureCleaner;
+import org.apache.flink.runtime.concurrent.FutureUtils;
 import org.apache.flink.runtime.jobmaster.JobMasterGateway;
 import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
 import org.apache.flink.util.InstantiationUtil;
@@ -48,5 +51,23 @@ public class RpcGlobalAggregateManager implements GlobalAggregateManager {
 		}
 		return (OUT) result;
 	}
+
+	@Override
+	public <IN, ACC, OUT> CompletableFuture<OUT> updateGlobalAggregateAsync(String aggregateName, Object aggregand, AggregateFunction<IN, ACC, OUT> aggregateFunction) {
+		ClosureCleaner.clean(aggregateFunction, ExecutionConfig.ClosureCleanerLevel.RECURSIVE, true);
+		byte[] serializedAggregateFunction;
+		try {
+			serializedAggregateFunction = InstantiationUtil.serializeObject(aggregateFunction);
+		} catch (IOException e) {
+			return FutureUtils.completedExceptionally(e);
+		}
+		return jobMasterGateway.updateGlobalAggregate(aggregateName, aggregand, serializedAggregateFunction)
+			.handle((result, e) -> {
+				if (e != null) {
+					throw new CompletionException(new IOException("Error updating global aggregate.", e));
+				}
+				return (OUT) result;
+			});
+	}
 }
 
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.metrics;
+
+import org.apache.flink.metrics.HistogramStatistics;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link LogLinearHistogram}.
+ */
+public class LogLinearHistogramTest extends TestLogger {
+
+	@Test
+	public void testSmallValuesAreExact() {
+		LogLinearHistogram histogram = new LogLinearHistogram(1000);
+		for (long i = 1; i <= 9; i++) {
+			histogram.update(i);
+		}
+
+		HistogramStatistics statistics = histogram.getStatistics();
+
+		assertEquals(9, histogram.getCount());
+		assertEquals(9, statistics.size());
+		assertEquals(1, statistics.getMin());
+		assertEquals(9, statistics.getMax());
+		assertEquals(5.0, statistics.getQuantile(0.5), 0.0);
+		assertEquals(5.0, statistics.getMean(), 0.0);
+	}
+
+	@Test
+	public void testBucketBoundaries() {
+		for (int index = 0; index < 40 * LogLinearHistogram.SUB_BUCKETS; index++) {
+			long lowerBound = LogLinearHistogram.bucketLowerBound(index);
+			long upperBound = lowerBound + LogLinearHistogram.bucketWidth(index) - 1;
+
+			assertEquals(index, LogLinearHistogram.bucketIndex(lowerBound));
+			assertEquals(index, LogLinearHistogram.bucketIndex(upperBound));
+			assertEquals(index + 1, LogLinearHistogram.bucketIndex(upperBound + 1));
+		}
+	}
+
+	@Test
+	public void testQuantileRelativeError() {
+		LogLinearHistogram histogram = new LogLinearHistogram(Long.MAX_VALUE);
+		for (long i = 1; i <= 100_000; i++) {
+			histogram.update(i);
+		}
+
+		HistogramStatistics statistics = histogram.getStatistics();
+
+		for (double quantile : new double[] {0.5, 0.75, 0.95, 0.99, 0.999}) {
+			double expected = quantile * 100_000;
+			double actual = statistics.getQuantile(quantile);
+			assertTrue(
+				"Quantile " + quantile + " was " + actual + " instead of " + expected,
+				Math.abs(actual - expected) / expected <= 1.0 / LogLinearHistogram.SUB_BUCKETS);
+		}
+	}
+
+	@Test
+	public void testMerge() {
+		LogLinearHistogram first = new LogLinearHistogram(1000);
+		LogLinearHistogram second = new LogLinearHistogram(1000);
+
+		first.update(1);
+		first.update(2);
+		second.update(3);
+		second.update(1 << 20);
+
+		first.merge(second);
+
+		HistogramStatistics statistics = first.getStatistics();
+		assertEquals(4, first.getCount());
+		assertEquals(1, statistics.getMin());
+		assertEquals(
+			LogLinearHistogram.bucketValue(LogLinearHistogram.bucketIndex(1 << 20)),
+			statistics.getMax());
+	}
+
+	@Test
+	public void testDecay() {
+		LogLinearHistogram histogram = new LogLinearHistogram(100);
+		for (int i = 0; i < 1000; i++) {
+			histogram.update(i < 500 ? 10 : 20);
+		}
+
+		assertTrue(histogram.getCount() <= 100);
+		// the recent values dominate after decaying
+		assertEquals(20.0, histogram.getStatistics().getQuantile(0.5), 0.0);
+	}
+}
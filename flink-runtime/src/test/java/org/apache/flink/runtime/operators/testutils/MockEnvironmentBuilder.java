@@ -75,6 +75,11 @@ public class MockEnvironmentBuilder {
 		return this;
 	}
 
+	public MockEnvironmentBuilder setAggregateManager(GlobalAggregateManager aggregateManager) {
+		this.aggregateManager = aggregateManager;
+		return this;
+	}
+
 	public MockEnvironmentBuilder setTaskConfiguration(Configuration taskConfiguration) {
 		this.taskConfiguration = taskConfiguration;
 		return this;
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.runtime.state.InternalPriorityQueueTestBase;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for {@link OffHeapPriorityQueueSet}.
+ */
+public class OffHeapPriorityQueueSetTest extends InternalPriorityQueueTestBase {
+
+	@Override
+	protected OffHeapPriorityQueueSet<TestElement> newPriorityQueue(int initialCapacity) {
+		return new OffHeapPriorityQueueSet<>(
+			TestElementSerializer.INSTANCE,
+			new DataOutputSerializer(128),
+			new DataInputDeserializer(),
+			initialCapacity);
+	}
+
+	@Override
+	protected boolean testSetSemanticsAgainstDuplicateElements() {
+		return true;
+	}
+
+	@Test
+	public void testNoMemoryReservedUntilFirstInsert() {
+		OffHeapPriorityQueueSet<TestElement> priorityQueue = newPriorityQueue(1);
+		Assert.assertEquals(0, priorityQueue.getReservedMemoryBytes());
+
+		priorityQueue.add(new TestElement(1L, 1L));
+		Assert.assertTrue(priorityQueue.getReservedMemoryBytes() > 0);
+	}
+
+	@Test
+	public void testArenaIsCompactedOnChurn() {
+		OffHeapPriorityQueueSet<TestElement> priorityQueue = newPriorityQueue(1);
+		final int liveElements = 16;
+
+		for (int i = 0; i < liveElements; ++i) {
+			priorityQueue.add(new TestElement(i, i));
+		}
+
+		final int initialReservedBytes = priorityQueue.getReservedMemoryBytes();
+
+		// keep the number of live elements constant, so that the space of removed elements must be reclaimed.
+		for (int i = liveElements; i < 100_000; ++i) {
+			Assert.assertTrue(priorityQueue.remove(new TestElement(i - liveElements, i - liveElements)));
+			Assert.assertFalse(priorityQueue.add(new TestElement(i, i)));
+			Assert.assertEquals(liveElements, priorityQueue.size());
+			Assert.assertEquals(i - liveElements + 1, priorityQueue.peek().getPriority());
+		}
+
+		Assert.assertEquals(initialReservedBytes, priorityQueue.getReservedMemoryBytes());
+
+		for (long expected = 100_000 - liveElements; expected < 100_000; ++expected) {
+			Assert.assertEquals(expected, priorityQueue.poll().getPriority());
+		}
+		Assert.assertTrue(priorityQueue.isEmpty());
+	}
+}
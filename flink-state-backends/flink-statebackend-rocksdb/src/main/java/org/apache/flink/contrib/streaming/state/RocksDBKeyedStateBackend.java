@@ -56,6 +56,7 @@ import org.apache.flink.runtime.state.StreamCompressionDecorator;
 import org.apache.flink.runtime.state.heap.HeapPriorityQueueElement;
 import org.apache.flink.runtime.state.heap.HeapPriorityQueueSetFactory;
 import org.apache.flink.runtime.state.heap.InternalKeyContext;
+import org.apache.flink.runtime.state.heap.OffHeapPriorityQueueSetFactory;
 import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
 import org.apache.flink.util.FileUtils;
 import org.apache.flink.util.FlinkRuntimeException;
@@ -680,7 +681,8 @@ public class RocksDBKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 
 	@Override
 	public boolean requiresLegacySynchronousTimerSnapshots() {
-		return priorityQueueFactory instanceof HeapPriorityQueueSetFactory;
+		return priorityQueueFactory instanceof HeapPriorityQueueSetFactory ||
+			priorityQueueFactory instanceof OffHeapPriorityQueueSetFactory;
 	}
 
 	/** Rocks DB specific information about the k/v states. */
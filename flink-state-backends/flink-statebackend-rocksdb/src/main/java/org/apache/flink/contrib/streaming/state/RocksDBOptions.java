@@ -26,6 +26,7 @@ import static org.apache.flink.contrib.streaming.state.PredefinedOptions.FLASH_S
 import static org.apache.flink.contrib.streaming.state.PredefinedOptions.SPINNING_DISK_OPTIMIZED;
 import static org.apache.flink.contrib.streaming.state.PredefinedOptions.SPINNING_DISK_OPTIMIZED_HIGH_MEM;
 import static org.apache.flink.contrib.streaming.state.RocksDBStateBackend.PriorityQueueStateType.HEAP;
+import static org.apache.flink.contrib.streaming.state.RocksDBStateBackend.PriorityQueueStateType.OFFHEAP;
 import static org.apache.flink.contrib.streaming.state.RocksDBStateBackend.PriorityQueueStateType.ROCKSDB;
 
 /**
@@ -47,8 +48,9 @@ public class RocksDBOptions {
 		.key("state.backend.rocksdb.timer-service.factory")
 		.defaultValue(HEAP.name())
 		.withDescription(String.format("This determines the factory for timer service state implementation. Options " +
-			"are either %s (heap-based, default) or %s for an implementation based on RocksDB .",
-			HEAP.name(), ROCKSDB.name()));
+			"are either %s (heap-based, default), %s for an implementation based on RocksDB or %s for an " +
+			"implementation that keeps the serialized timers in off-heap memory.",
+			HEAP.name(), ROCKSDB.name(), OFFHEAP.name()));
 
 	/**
 	 * The number of threads used to transfer (download and upload) files in RocksDBStateBackend.
@@ -96,7 +96,8 @@ public class RocksDBStateBackend extends AbstractStateBackend implements Configu
 	 */
 	public enum PriorityQueueStateType {
 		HEAP,
-		ROCKSDB
+		ROCKSDB,
+		OFFHEAP
 	}
 
 	private static final long serialVersionUID = 1L;
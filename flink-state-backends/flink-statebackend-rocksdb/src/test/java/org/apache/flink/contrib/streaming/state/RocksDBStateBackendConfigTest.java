@@ -39,6 +39,7 @@ import org.apache.flink.runtime.state.StateBackend;
 import org.apache.flink.runtime.state.TestTaskStateManager;
 import org.apache.flink.runtime.state.filesystem.FsStateBackend;
 import org.apache.flink.runtime.state.heap.HeapPriorityQueueSetFactory;
+import org.apache.flink.runtime.state.heap.OffHeapPriorityQueueSetFactory;
 import org.apache.flink.runtime.state.memory.MemoryStateBackend;
 import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
 import org.apache.flink.runtime.taskmanager.TaskManagerRuntimeInfo;
@@ -144,9 +145,10 @@ public class RocksDBStateBackendConfigTest {
 		Assert.assertEquals("state.backend.rocksdb.timer-service.factory", RocksDBOptions.TIMER_SERVICE_FACTORY.key());
 
 		// Fix the option value string and ensure all are covered
-		Assert.assertEquals(2, RocksDBStateBackend.PriorityQueueStateType.values().length);
+		Assert.assertEquals(3, RocksDBStateBackend.PriorityQueueStateType.values().length);
 		Assert.assertEquals("ROCKSDB", RocksDBStateBackend.PriorityQueueStateType.ROCKSDB.toString());
 		Assert.assertEquals("HEAP", RocksDBStateBackend.PriorityQueueStateType.HEAP.toString());
+		Assert.assertEquals("OFFHEAP", RocksDBStateBackend.PriorityQueueStateType.OFFHEAP.toString());
 
 		// Fix the default
 		Assert.assertEquals(
@@ -170,6 +172,18 @@ public class RocksDBStateBackendConfigTest {
 			RocksDBPriorityQueueSetFactory.class,
 			keyedBackend.getPriorityQueueFactory().getClass());
 		keyedBackend.dispose();
+
+		conf.setString(
+			RocksDBOptions.TIMER_SERVICE_FACTORY,
+			RocksDBStateBackend.PriorityQueueStateType.OFFHEAP.toString());
+
+		rocksDbBackend = rocksDbBackend.configure(conf, Thread.currentThread().getContextClassLoader());
+		keyedBackend = createKeyedStateBackend(rocksDbBackend, env);
+		Assert.assertEquals(
+			OffHeapPriorityQueueSetFactory.class,
+			keyedBackend.getPriorityQueueFactory().getClass());
+		Assert.assertTrue(keyedBackend.requiresLegacySynchronousTimerSnapshots());
+		keyedBackend.dispose();
 	}
 
 	@Test
@@ -22,7 +22,9 @@ import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.java.Utils;
 import org.apache.flink.api.java.typeutils.TypeExtractor;
 import org.apache.flink.streaming.api.functions.async.AsyncFunction;
+import org.apache.flink.streaming.api.functions.async.BatchAsyncFunction;
 import org.apache.flink.streaming.api.operators.async.AsyncWaitOperator;
+import org.apache.flink.streaming.api.operators.async.BatchAsyncWaitOperator;
 
 import java.util.concurrent.TimeUnit;
 
@@ -87,6 +89,51 @@ public class AsyncDataStream {
 		return in.transform("async wait operator", outTypeInfo, operator);
 	}
 
+	/**
+	 * Add a BatchAsyncWaitOperator.
+	 *
+	 * @param in The {@link DataStream} where the {@link BatchAsyncWaitOperator} will be added.
+	 * @param func {@link BatchAsyncFunction} wrapped inside {@link BatchAsyncWaitOperator}.
+	 * @param timeout for the asynchronous operation to complete
+	 * @param bufSize The max number of inputs the {@link BatchAsyncWaitOperator} can hold inside.
+	 * @param mode Processing mode for {@link BatchAsyncWaitOperator}.
+	 * @param maxBatchSize The max number of inputs for one invocation of the {@link BatchAsyncFunction}.
+	 * @param maxBatchDelay The max time in milliseconds an input waits for its batch to be invoked.
+	 * @param <IN> Input type.
+	 * @param <OUT> Output type.
+	 * @return A new {@link SingleOutputStreamOperator}
+	 */
+	private static <IN, OUT> SingleOutputStreamOperator<OUT> addBatchOperator(
+			DataStream<IN> in,
+			BatchAsyncFunction<IN, OUT> func,
+			long timeout,
+			int bufSize,
+			OutputMode mode,
+			int maxBatchSize,
+			long maxBatchDelay) {
+
+		TypeInformation<OUT> outTypeInfo = TypeExtractor.getUnaryOperatorReturnType(
+			func,
+			BatchAsyncFunction.class,
+			0,
+			1,
+			new int[]{1, 0, 0},
+			in.getType(),
+			Utils.getCallLocationName(),
+			true);
+
+		// create transform
+		BatchAsyncWaitOperator<IN, OUT> operator = new BatchAsyncWaitOperator<>(
+			in.getExecutionEnvironment().clean(func),
+			timeout,
+			bufSize,
+			mode,
+			maxBatchSize,
+			maxBatchDelay);
+
+		return in.transform("batch async wait operator", outTypeInfo, operator);
+	}
+
 	/**
 	 * Add an AsyncWaitOperator. The order of output stream records may be reordered.
 	 *
@@ -177,4 +224,73 @@ public class AsyncDataStream {
 			DEFAULT_QUEUE_CAPACITY,
 			OutputMode.ORDERED);
 	}
+
+	/**
+	 * Add a BatchAsyncWaitOperator, which invokes the given {@link BatchAsyncFunction} once for a batch of up to
+	 * {@code maxBatchSize} input records. The order of output stream records may be reordered.
+	 *
+	 * @param in Input {@link DataStream}
+	 * @param func {@link BatchAsyncFunction}
+	 * @param timeout for the asynchronous operation of each record to complete, including the time the record
+	 *                waits for its batch. Must be larger than the maximum batch delay.
+	 * @param timeUnit of the given timeout and maximum batch delay
+	 * @param capacity The max number of records whose async i/o operation can be pending
+	 * @param maxBatchSize The max number of records for one invocation of the function
+	 * @param maxBatchDelay The max time a record waits for its batch to be invoked
+	 * @param <IN> Type of input record
+	 * @param <OUT> Type of output record
+	 * @return A new {@link SingleOutputStreamOperator}.
+	 */
+	public static <IN, OUT> SingleOutputStreamOperator<OUT> unorderedWaitBatch(
+			DataStream<IN> in,
+			BatchAsyncFunction<IN, OUT> func,
+			long timeout,
+			TimeUnit timeUnit,
+			int capacity,
+			int maxBatchSize,
+			long maxBatchDelay) {
+		return addBatchOperator(
+			in,
+			func,
+			timeUnit.toMillis(timeout),
+			capacity,
+			OutputMode.UNORDERED,
+			maxBatchSize,
+			timeUnit.toMillis(maxBatchDelay));
+	}
+
+	/**
+	 * Add a BatchAsyncWaitOperator, which invokes the given {@link BatchAsyncFunction} once for a batch of up to
+	 * {@code maxBatchSize} input records. The order to process input records is guaranteed to be the same as
+	 * input ones.
+	 *
+	 * @param in Input {@link DataStream}
+	 * @param func {@link BatchAsyncFunction}
+	 * @param timeout for the asynchronous operation of each record to complete, including the time the record
+	 *                waits for its batch. Must be larger than the maximum batch delay.
+	 * @param timeUnit of the given timeout and maximum batch delay
+	 * @param capacity The max number of records whose async i/o operation can be pending
+	 * @param maxBatchSize The max number of records for one invocation of the function
+	 * @param maxBatchDelay The max time a record waits for its batch to be invoked
+	 * @param <IN> Type of input record
+	 * @param <OUT> Type of output record
+	 * @return A new {@link SingleOutputStreamOperator}.
+	 */
+	public static <IN, OUT> SingleOutputStreamOperator<OUT> orderedWaitBatch(
+			DataStream<IN> in,
+			BatchAsyncFunction<IN, OUT> func,
+			long timeout,
+			TimeUnit timeUnit,
+			int capacity,
+			int maxBatchSize,
+			long maxBatchDelay) {
+		return addBatchOperator(
+			in,
+			func,
+			timeUnit.toMillis(timeout),
+			capacity,
+			OutputMode.ORDERED,
+			maxBatchSize,
+			timeUnit.toMillis(maxBatchDelay));
+	}
 }
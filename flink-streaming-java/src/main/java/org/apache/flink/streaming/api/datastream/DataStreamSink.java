@@ -168,6 +168,23 @@ public class DataStreamSink<T> {
 		return this;
 	}
 
+	/**
+	 * Declares that this sink neither keeps references to its input records beyond the call
+	 * that processes them nor modifies them. When object reuse is disabled, records are then handed
+	 * to this sink without copies if it is chained to its predecessor.
+	 *
+	 * <p>This is the counterpart of the
+	 * {@link org.apache.flink.streaming.api.functions.DoesNotRetainInput} annotation for functions
+	 * that cannot be annotated, such as lambdas.
+	 *
+	 * @return The sink declared not to retain its input.
+	 */
+	@PublicEvolving
+	public DataStreamSink<T> doesNotRetainInput() {
+		transformation.setDoesNotRetainInput(true);
+		return this;
+	}
+
 	/**
 	 * Sets the slot sharing group of this operation. Parallel instances of
 	 * operations that are in the same slot sharing group will be co-located in the same
@@ -248,6 +248,23 @@ public class SingleOutputStreamOperator<T> extends DataStream<T> {
 		return this;
 	}
 
+	/**
+	 * Declares that this operation neither keeps references to its input records beyond the call
+	 * that processes them nor modifies them. When object reuse is disabled, records are then handed
+	 * to this operation without copies if it is chained to its predecessor.
+	 *
+	 * <p>This is the counterpart of the
+	 * {@link org.apache.flink.streaming.api.functions.DoesNotRetainInput} annotation for functions
+	 * that cannot be annotated, such as lambdas.
+	 *
+	 * @return The operator declared not to retain its input.
+	 */
+	@PublicEvolving
+	public SingleOutputStreamOperator<T> doesNotRetainInput() {
+		transformation.setDoesNotRetainInput(true);
+		return this;
+	}
+
 	/**
 	 * Sets the {@link ChainingStrategy} for the given operator affecting the
 	 * way operators will possibly be co-located on the same thread for
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.functions;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a stream operator or a user function which neither keeps references to its input records
+ * beyond the call that processes them nor modifies them.
+ *
+ * <p>Without object reuse, records are deep-copied when they are handed from one operator of a
+ * chain to the next, so that operators can safely keep or modify them. If a chained operator and,
+ * for operators that wrap a user function, also its user function carry this annotation, the
+ * operator chain hands over the records without copying their values and without allocating new
+ * {@link org.apache.flink.streaming.runtime.streamrecord.StreamRecord StreamRecords}.
+ *
+ * <p>The annotation is not inherited by subclasses. Lambdas and anonymous classes cannot be annotated,
+ * operators with such functions are declared not to retain their input through
+ * {@link org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator#doesNotRetainInput()} or
+ * {@link org.apache.flink.streaming.api.datastream.DataStreamSink#doesNotRetainInput()} instead.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@PublicEvolving
+public @interface DoesNotRetainInput {
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.functions.async;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.functions.Function;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A function to trigger one Async I/O operation for a batch of inputs.
+ *
+ * <p>This is the batched variant of the {@link AsyncFunction}, for external systems which serve batch requests
+ * (e.g. multi-gets) much more efficiently than single requests. The operator buffers incoming elements and calls
+ * {@link #asyncInvokeBatch} once a batch is full or a maximum delay has elapsed. Every input has its own
+ * {@link ResultFuture}, so results can be completed individually. The output mode (ordered or unordered), the
+ * timeouts and the checkpointing of in-flight elements work per element, as for the {@link AsyncFunction}.
+ *
+ * <p>Multi-get example usage:
+ *
+ * <pre>{@code
+ * public class HBaseBatchAsyncFunc implements BatchAsyncFunction<String, String> {
+ *
+ *   public void asyncInvokeBatch(List<String> rows, List<ResultFuture<String>> results) throws Exception {
+ *     List<Get> gets = rows.stream().map(row -> new Get(Bytes.toBytes(row))).collect(Collectors.toList());
+ *     List<CompletableFuture<Result>> futures = hbase.get(gets);
+ *     for (int i = 0; i < futures.size(); i++) {
+ *       ResultFuture<String> result = results.get(i);
+ *       futures.get(i).whenComplete((value, thrown) -> {
+ *         if (thrown == null) {
+ *           result.complete(process(value));
+ *         } else {
+ *           result.completeExceptionally(thrown);
+ *         }
+ *       });
+ *     }
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>The function may additionally implement {@link org.apache.flink.api.common.functions.RichFunction} to be
+ * opened and closed with the operator.
+ *
+ * @param <IN> The type of the input elements.
+ * @param <OUT> The type of the returned elements.
+ */
+@PublicEvolving
+public interface BatchAsyncFunction<IN, OUT> extends Function, Serializable {
+
+	/**
+	 * Trigger one async operation for a batch of stream inputs.
+	 *
+	 * @param inputs elements coming from an upstream task, in the order in which they were received
+	 * @param resultFutures one result future per input (at the same position) to be completed with the result data
+	 * @exception Exception in case of a user code error. An exception will make the task fail and
+	 * trigger fail-over process.
+	 */
+	void asyncInvokeBatch(List<IN> inputs, List<ResultFuture<OUT>> resultFutures) throws Exception;
+
+	/**
+	 * The async operation for the given input timed out. The timeout is measured from the arrival of the input at
+	 * the operator, so it includes the time that the input waited for its batch to be invoked.
+	 * By default, the result future is exceptionally completed with a timeout exception.
+	 *
+	 * @param input element coming from an upstream task
+	 * @param resultFuture to be completed with the result data
+	 */
+	default void timeout(IN input, ResultFuture<OUT> resultFuture) throws Exception {
+		resultFuture.completeExceptionally(
+			new TimeoutException("Async function call has timed out."));
+	}
+}
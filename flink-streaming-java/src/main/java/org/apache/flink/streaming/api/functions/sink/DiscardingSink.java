@@ -19,6 +19,7 @@
 package org.apache.flink.streaming.api.functions.sink;
 
 import org.apache.flink.annotation.Public;
+import org.apache.flink.streaming.api.functions.DoesNotRetainInput;
 
 /**
  * A stream sink that ignores all elements.
@@ -26,6 +27,7 @@ import org.apache.flink.annotation.Public;
  * @param <T> The type of elements received by the sink.
  */
 @Public
+@DoesNotRetainInput
 public class DiscardingSink<T> implements SinkFunction<T> {
 
 	private static final long serialVersionUID = 1L;
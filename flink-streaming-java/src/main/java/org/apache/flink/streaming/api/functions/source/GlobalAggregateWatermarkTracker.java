@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.functions.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
+import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link GlobalWatermarkTracker} which aggregates the watermarks of all participants on the
+ * JobManager, through the {@link GlobalAggregateManager}.
+ *
+ * <p>All sources which use the same aggregate name are aligned with each other. Participants that
+ * did not report their watermark within the update timeout, for example because they finished or
+ * failed, no longer hold back the global watermark.
+ */
+@PublicEvolving
+public class GlobalAggregateWatermarkTracker implements GlobalWatermarkTracker {
+
+	private final GlobalAggregateManager aggregateManager;
+
+	private final String aggregateName;
+
+	private final String participantId;
+
+	private final WatermarkAggregateFunction aggregateFunction;
+
+	/**
+	 * Creates a tracker for a parallel instance of a source function.
+	 *
+	 * @param runtimeContext The runtime context of the source function.
+	 * @param aggregateName The name of the group of sources to align.
+	 * @param updateTimeout The time in milliseconds after which participants that did not report
+	 *                      their watermark are ignored.
+	 */
+	public GlobalAggregateWatermarkTracker(RuntimeContext runtimeContext, String aggregateName, long updateTimeout) {
+		this(
+			((StreamingRuntimeContext) checkRuntimeContext(runtimeContext)).getGlobalAggregateManager(),
+			aggregateName,
+			((StreamingRuntimeContext) runtimeContext).getOperatorUniqueID() + '#' + runtimeContext.getIndexOfThisSubtask(),
+			updateTimeout);
+	}
+
+	public GlobalAggregateWatermarkTracker(
+			GlobalAggregateManager aggregateManager,
+			String aggregateName,
+			String participantId,
+			long updateTimeout) {
+
+		checkArgument(updateTimeout > 0L, "The update timeout must be positive.");
+
+		this.aggregateManager = checkNotNull(aggregateManager);
+		this.aggregateName = checkNotNull(aggregateName);
+		this.participantId = checkNotNull(participantId);
+		this.aggregateFunction = new WatermarkAggregateFunction(updateTimeout);
+	}
+
+	@Override
+	public long updateWatermark(long localWatermark, boolean idle) throws Exception {
+		return aggregateManager.updateGlobalAggregate(
+			aggregateName,
+			new WatermarkUpdate(participantId, localWatermark, idle),
+			aggregateFunction);
+	}
+
+	private static RuntimeContext checkRuntimeContext(RuntimeContext runtimeContext) {
+		checkArgument(runtimeContext instanceof StreamingRuntimeContext,
+			"The watermark alignment requires a streaming runtime context.");
+		return runtimeContext;
+	}
+
+	// ------------------------------------------------------------------------
+
+	/** The watermark reported by a participant. */
+	@VisibleForTesting
+	static final class WatermarkUpdate implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String participantId;
+		private final long watermark;
+		private final boolean idle;
+
+		WatermarkUpdate(String participantId, long watermark, boolean idle) {
+			this.participantId = participantId;
+			this.watermark = watermark;
+			this.idle = idle;
+		}
+	}
+
+	/** The latest watermark of a participant, as kept on the JobManager. */
+	@VisibleForTesting
+	static final class ParticipantWatermark {
+
+		private long watermark;
+		private boolean idle;
+		private long lastUpdateTime;
+	}
+
+	/**
+	 * Computes the minimum watermark of all participants which are neither idle nor timed out.
+	 * The function runs on the JobManager, where the latest watermark of each participant is kept.
+	 */
+	@VisibleForTesting
+	static final class WatermarkAggregateFunction
+			implements AggregateFunction<WatermarkUpdate, Map<String, ParticipantWatermark>, Long> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long updateTimeout;
+
+		WatermarkAggregateFunction(long updateTimeout) {
+			this.updateTimeout = updateTimeout;
+		}
+
+		@Override
+		public Map<String, ParticipantWatermark> createAccumulator() {
+			return new HashMap<>();
+		}
+
+		@Override
+		public Map<String, ParticipantWatermark> add(WatermarkUpdate update, Map<String, ParticipantWatermark> accumulator) {
+			ParticipantWatermark participant = accumulator.computeIfAbsent(update.participantId, id -> new ParticipantWatermark());
+			participant.watermark = update.watermark;
+			participant.idle = update.idle;
+			participant.lastUpdateTime = System.currentTimeMillis();
+			return accumulator;
+		}
+
+		@Override
+		public Long getResult(Map<String, ParticipantWatermark> accumulator) {
+			final long currentTime = System.currentTimeMillis();
+
+			long globalWatermark = Long.MAX_VALUE;
+			for (ParticipantWatermark participant : accumulator.values()) {
+				if (!participant.idle && currentTime - participant.lastUpdateTime <= updateTimeout) {
+					globalWatermark = Math.min(globalWatermark, participant.watermark);
+				}
+			}
+
+			return globalWatermark == Long.MAX_VALUE ? Long.MIN_VALUE : globalWatermark;
+		}
+
+		@Override
+		public Map<String, ParticipantWatermark> merge(Map<String, ParticipantWatermark> a, Map<String, ParticipantWatermark> b) {
+			for (Map.Entry<String, ParticipantWatermark> entry : b.entrySet()) {
+				ParticipantWatermark other = entry.getValue();
+				ParticipantWatermark participant = a.get(entry.getKey());
+				if (participant == null) {
+					a.put(entry.getKey(), other);
+				} else {
+					// the participant is only as far as the smaller of both watermarks
+					participant.watermark = Math.min(participant.watermark, other.watermark);
+					participant.idle = participant.idle && other.idle;
+					participant.lastUpdateTime = Math.max(participant.lastUpdateTime, other.lastUpdateTime);
+				}
+			}
+			return a;
+		}
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.functions.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+/**
+ * Tracks the global watermark of a group of sources, which align their watermarks through a
+ * {@link SplitWatermarkMultiplexer}.
+ *
+ * <p>Like watermarks are combined on stream shuffles, the global watermark is the minimum
+ * watermark of all participants that are not idle.
+ */
+@PublicEvolving
+public interface GlobalWatermarkTracker {
+
+	/**
+	 * Reports the watermark of a participant and returns the global watermark.
+	 *
+	 * @param localWatermark The current watermark of the participant.
+	 * @param idle Whether the participant is idle, in which case it does not hold back the
+	 *             global watermark.
+	 * @return The global watermark, {@link Long#MIN_VALUE} if it is unknown.
+	 */
+	long updateWatermark(long localWatermark, boolean idle) throws Exception;
+}
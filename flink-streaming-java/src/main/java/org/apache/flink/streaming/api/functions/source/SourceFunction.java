@@ -262,6 +262,25 @@ public interface SourceFunction<T> extends Function, Serializable {
 		 */
 		Object getCheckpointLock();
 
+		/**
+		 * Creates a {@link SplitWatermarkMultiplexer} for sources that read several splits, such
+		 * as partitions or files, at the same time. The multiplexer generates the watermarks per
+		 * split and emits the minimum watermark of all active splits through this context, so that
+		 * a lagging split neither holds back nor is overtaken by the other splits.
+		 *
+		 * <p>On {@link TimeCharacteristic#EventTime}, the periodic watermarks of the splits are
+		 * polled automatically in the auto-watermark interval, and the multiplexer is closed with
+		 * this context. Otherwise, the source has to call
+		 * {@link SplitWatermarkMultiplexer#emitPeriodicWatermark(long)} and
+		 * {@link SplitWatermarkMultiplexer#close()} itself.
+		 *
+		 * @return A new multiplexer which emits the watermarks of its splits through this context.
+		 */
+		@PublicEvolving
+		default SplitWatermarkMultiplexer<T> createSplitWatermarkMultiplexer() {
+			return new SplitWatermarkMultiplexer<>(this);
+		}
+
 		/**
 		 * This method is called by the system to shut down the context.
 		 */
@@ -0,0 +1,424 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.functions.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.runtime.util.ExecutorThreadFactory;
+import org.apache.flink.streaming.api.functions.AssignerWithPeriodicWatermarks;
+import org.apache.flink.streaming.api.watermark.Watermark;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Generates watermarks per split of a source and combines them into the watermark of the source.
+ *
+ * <p>Sources which read several splits (for example partitions, shards or files) in one parallel
+ * instance usually interleave the records of the splits. A watermark generator that runs after
+ * the source only sees the interleaved records, so a split that lags behind either holds back
+ * the other splits or is overtaken by them, making its records late. With this class, a source
+ * emits the records of each split through a {@link SourceFunction.SourceContext split context}.
+ * The split contexts track the watermark of their split, and the source emits the minimum of the
+ * watermarks of all active splits, in the same way as watermarks are combined on stream shuffles.
+ *
+ * <p>The watermark of a split is advanced by the {@link AssignerWithPeriodicWatermarks} of the
+ * split, if any, and by the watermarks which are emitted through the split context. Splits can be
+ * marked as temporarily idle, either explicitly through their context or after they have not
+ * emitted anything for the {@link #setSplitIdleTimeout(long) split idle timeout}. Idle splits do
+ * not hold back the watermark of the source, and the source is marked as temporarily idle once
+ * all of its splits are idle. A split becomes active again as soon as it emits a record or a
+ * watermark.
+ *
+ * <p>The split contexts are created once per split and do not create any objects per record.
+ * Like the source context, the split contexts and the multiplexer must only be used while holding
+ * the checkpoint lock, which the methods of the split contexts acquire themselves.
+ *
+ * <p>Periodic watermarks are polled by {@link #emitPeriodicWatermark(long)}. The multiplexers
+ * created by {@link SourceFunction.SourceContext#createSplitWatermarkMultiplexer()} on
+ * {@link org.apache.flink.streaming.api.TimeCharacteristic#EventTime event time} do so
+ * automatically in the auto-watermark interval of the job.
+ *
+ * <p>With {@link #enableWatermarkAlignment(GlobalWatermarkTracker, long) watermark alignment},
+ * the multiplexer additionally reports the watermark of the source to a
+ * {@link GlobalWatermarkTracker} whenever the periodic watermarks are polled. Splits whose
+ * watermark is more than the maximum drift ahead of the global watermark of all aligned sources
+ * are {@link SplitContext#isPaused() paused}, and the source should not read them until they are
+ * resumed. This bounds how far the sources run ahead in event time, and thereby the state that
+ * downstream operators, like event time joins, buffer while waiting for the slowest input.
+ *
+ * @param <T> The type of the elements produced by the source.
+ */
+@PublicEvolving
+public class SplitWatermarkMultiplexer<T> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SplitWatermarkMultiplexer.class);
+
+	private final SourceFunction.SourceContext<T> context;
+
+	private final List<SplitContextImpl> splits = new ArrayList<>();
+
+	/** The idle timeout of the splits, -1 if idleness detection is disabled. */
+	private long splitIdleTimeout = -1L;
+
+	/** The last watermark that was emitted to the source context. */
+	private long combinedWatermark = Long.MIN_VALUE;
+
+	/** Whether the source context has been marked as idle since the last activity of a split. */
+	private boolean idle;
+
+	// ------------------------------------------------------------------------
+	//  Watermark alignment
+	// ------------------------------------------------------------------------
+
+	/** The tracker of the global watermark, null if watermark alignment is disabled. */
+	@Nullable
+	private GlobalWatermarkTracker watermarkTracker;
+
+	/** How far the watermark of a split may be ahead of the global watermark. */
+	private long maxWatermarkDrift;
+
+	/** The executor which reports the watermark to the tracker, outside of the checkpoint lock. */
+	private Executor alignmentExecutor;
+
+	/** The executor which has been created for the watermark alignment, if any. */
+	@Nullable
+	private ExecutorService ownedAlignmentExecutor;
+
+	/** The latest global watermark returned by the tracker. */
+	private volatile long globalWatermark = Long.MIN_VALUE;
+
+	/** Whether the watermark is currently reported to the tracker. */
+	private volatile boolean alignmentInProgress;
+
+	public SplitWatermarkMultiplexer(SourceFunction.SourceContext<T> context) {
+		this.context = checkNotNull(context);
+	}
+
+	/**
+	 * Creates the context for a new split.
+	 *
+	 * @param timestampsAndWatermarks The timestamp assigner and periodic watermark generator of
+	 *                                the split, or {@code null}, if the source assigns timestamps
+	 *                                and emits the watermarks of the split itself.
+	 * @return The context through which the records and watermarks of the split are emitted.
+	 */
+	public SplitContext<T> createSplitContext(
+			@Nullable AssignerWithPeriodicWatermarks<T> timestampsAndWatermarks) {
+
+		synchronized (context.getCheckpointLock()) {
+			SplitContextImpl split = new SplitContextImpl(timestampsAndWatermarks);
+			splits.add(split);
+			return split;
+		}
+	}
+
+	/**
+	 * Sets the time after which a split that did not emit any records or watermarks is
+	 * considered idle. The idleness of the splits is checked whenever the periodic watermarks
+	 * are polled.
+	 *
+	 * @param splitIdleTimeout The idle timeout in milliseconds, or -1 to disable idleness detection.
+	 */
+	public void setSplitIdleTimeout(long splitIdleTimeout) {
+		checkArgument(splitIdleTimeout == -1L || splitIdleTimeout >= 1L,
+			"The split idle timeout cannot be smaller than 1 ms.");
+		this.splitIdleTimeout = splitIdleTimeout;
+	}
+
+	/**
+	 * Enables the alignment of the watermark of this source with the global watermark of the
+	 * given tracker. The watermark is reported to the tracker asynchronously whenever the periodic
+	 * watermarks are polled, so that the source is not blocked by the communication with the
+	 * tracker. Splits are paused while their watermark is more than {@code maxWatermarkDrift}
+	 * ahead of the global watermark.
+	 *
+	 * <p>The multiplexer must be {@link #close() closed} to release the resources of the
+	 * alignment.
+	 *
+	 * @param watermarkTracker The tracker of the global watermark of all aligned sources.
+	 * @param maxWatermarkDrift The maximum drift of the splits from the global watermark, in milliseconds.
+	 */
+	public void enableWatermarkAlignment(GlobalWatermarkTracker watermarkTracker, long maxWatermarkDrift) {
+		ExecutorService executor = Executors.newSingleThreadExecutor(new ExecutorThreadFactory("watermark-alignment"));
+		enableWatermarkAlignment(watermarkTracker, maxWatermarkDrift, executor);
+		this.ownedAlignmentExecutor = executor;
+	}
+
+	@VisibleForTesting
+	void enableWatermarkAlignment(GlobalWatermarkTracker watermarkTracker, long maxWatermarkDrift, Executor executor) {
+		checkArgument(maxWatermarkDrift >= 0L, "The maximum watermark drift cannot be negative.");
+		checkArgument(this.watermarkTracker == null, "Watermark alignment has already been enabled.");
+
+		this.watermarkTracker = checkNotNull(watermarkTracker);
+		this.maxWatermarkDrift = maxWatermarkDrift;
+		this.alignmentExecutor = checkNotNull(executor);
+	}
+
+	/**
+	 * Releases the resources of the watermark alignment. The split contexts must not be used
+	 * any more after the multiplexer has been closed.
+	 */
+	public void close() {
+		if (ownedAlignmentExecutor != null) {
+			ownedAlignmentExecutor.shutdownNow();
+			ownedAlignmentExecutor = null;
+		}
+	}
+
+	/**
+	 * Polls the periodic watermark generators of all splits, detects idle splits, and emits the
+	 * combined watermark, if it advanced.
+	 *
+	 * @param currentTime The current processing time, used to detect idle splits.
+	 */
+	public void emitPeriodicWatermark(long currentTime) {
+		synchronized (context.getCheckpointLock()) {
+			for (SplitContextImpl split : splits) {
+				split.pollWatermark();
+
+				if (split.hadActivity || split.paused) {
+					// paused splits are held back on purpose and must not be considered idle
+					split.hadActivity = false;
+					split.lastActivityTime = currentTime;
+				} else if (!split.idle) {
+					if (split.lastActivityTime == Long.MIN_VALUE) {
+						// the first check after the split was created or resumed
+						split.lastActivityTime = currentTime;
+					} else if (splitIdleTimeout != -1L && currentTime - split.lastActivityTime >= splitIdleTimeout) {
+						split.idle = true;
+					}
+				}
+			}
+
+			updateCombinedWatermark();
+
+			if (watermarkTracker != null) {
+				alignSplits();
+			}
+		}
+	}
+
+	/**
+	 * Emits the minimum watermark of all active splits, if it advanced, or marks the source as
+	 * idle, if all splits are idle.
+	 */
+	private void updateCombinedWatermark() {
+		long minWatermark = Long.MAX_VALUE;
+		boolean hasActiveSplit = false;
+
+		for (SplitContextImpl split : splits) {
+			if (!split.idle) {
+				hasActiveSplit = true;
+				minWatermark = Math.min(minWatermark, split.watermark);
+			}
+		}
+
+		if (hasActiveSplit) {
+			if (minWatermark > combinedWatermark) {
+				combinedWatermark = minWatermark;
+				context.emitWatermark(new Watermark(minWatermark));
+			}
+		} else if (!splits.isEmpty() && !idle) {
+			idle = true;
+			context.markAsTemporarilyIdle();
+		}
+	}
+
+	/**
+	 * Reports the watermark of this source to the tracker, unless a report is still in progress,
+	 * and pauses or resumes the splits according to the latest global watermark.
+	 */
+	private void alignSplits() {
+		if (!alignmentInProgress) {
+			alignmentInProgress = true;
+
+			final GlobalWatermarkTracker tracker = watermarkTracker;
+			final long localWatermark = combinedWatermark;
+			final boolean localIdle = idle;
+
+			alignmentExecutor.execute(() -> {
+				try {
+					globalWatermark = tracker.updateWatermark(localWatermark, localIdle);
+				} catch (Throwable t) {
+					LOG.warn("Could not update the global watermark, the splits are aligned with the previous one.", t);
+				} finally {
+					alignmentInProgress = false;
+				}
+			});
+		}
+
+		final long globalWatermark = this.globalWatermark;
+		for (SplitContextImpl split : splits) {
+			split.paused = globalWatermark != Long.MIN_VALUE
+				&& !split.idle
+				&& split.watermark > globalWatermark
+				&& split.watermark - globalWatermark > maxWatermarkDrift;
+		}
+	}
+
+	private void removeSplit(SplitContextImpl split) {
+		splits.remove(split);
+		updateCombinedWatermark();
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * The context through which a source emits the records and watermarks of a single split.
+	 *
+	 * @param <T> The type of the elements produced by the source.
+	 */
+	@PublicEvolving
+	public interface SplitContext<T> extends SourceFunction.SourceContext<T> {
+
+		/**
+		 * Returns whether the split is paused by the watermark alignment, because its watermark is
+		 * too far ahead of the global watermark. The source should not read records of a paused
+		 * split until it is resumed.
+		 */
+		boolean isPaused();
+	}
+
+	/**
+	 * The context of a single split, which forwards the records of the split to the source
+	 * context and tracks the watermark of the split.
+	 */
+	private final class SplitContextImpl implements SplitContext<T> {
+
+		@Nullable
+		private final AssignerWithPeriodicWatermarks<T> timestampsAndWatermarks;
+
+		private long watermark = Long.MIN_VALUE;
+
+		private boolean idle;
+
+		/** Whether the split emitted anything since the last periodic check. */
+		private boolean hadActivity;
+
+		/** The processing time of the periodic check which last saw activity of the split. */
+		private long lastActivityTime = Long.MIN_VALUE;
+
+		/** Whether the split is paused by the watermark alignment. */
+		private volatile boolean paused;
+
+		private SplitContextImpl(@Nullable AssignerWithPeriodicWatermarks<T> timestampsAndWatermarks) {
+			this.timestampsAndWatermarks = timestampsAndWatermarks;
+		}
+
+		@Override
+		public void collect(T element) {
+			synchronized (context.getCheckpointLock()) {
+				markActive();
+
+				if (timestampsAndWatermarks == null) {
+					context.collect(element);
+				} else {
+					context.collectWithTimestamp(element, timestampsAndWatermarks.extractTimestamp(element, Long.MIN_VALUE));
+				}
+			}
+		}
+
+		@Override
+		public void collectWithTimestamp(T element, long timestamp) {
+			synchronized (context.getCheckpointLock()) {
+				markActive();
+
+				if (timestampsAndWatermarks != null) {
+					timestamp = timestampsAndWatermarks.extractTimestamp(element, timestamp);
+				}
+				context.collectWithTimestamp(element, timestamp);
+			}
+		}
+
+		@Override
+		public void emitWatermark(Watermark mark) {
+			synchronized (context.getCheckpointLock()) {
+				markActive();
+
+				if (mark.getTimestamp() > watermark) {
+					watermark = mark.getTimestamp();
+					updateCombinedWatermark();
+				}
+			}
+		}
+
+		@Override
+		public void markAsTemporarilyIdle() {
+			synchronized (context.getCheckpointLock()) {
+				if (!idle) {
+					idle = true;
+					updateCombinedWatermark();
+				}
+			}
+		}
+
+		@Override
+		public boolean isPaused() {
+			return paused;
+		}
+
+		@Override
+		public Object getCheckpointLock() {
+			return context.getCheckpointLock();
+		}
+
+		/**
+		 * Removes the split, for example because it has been read completely. The split no longer
+		 * holds back the watermark of the source.
+		 */
+		@Override
+		public void close() {
+			synchronized (context.getCheckpointLock()) {
+				removeSplit(this);
+			}
+		}
+
+		private void pollWatermark() {
+			if (timestampsAndWatermarks != null) {
+				Watermark mark = timestampsAndWatermarks.getCurrentWatermark();
+				if (mark != null && mark.getTimestamp() > watermark) {
+					watermark = mark.getTimestamp();
+				}
+			}
+		}
+
+		private void markActive() {
+			hadActivity = true;
+
+			if (idle) {
+				idle = false;
+				lastActivityTime = Long.MIN_VALUE;
+			}
+
+			// the source context becomes active again with the record or watermark
+			SplitWatermarkMultiplexer.this.idle = false;
+		}
+	}
+}
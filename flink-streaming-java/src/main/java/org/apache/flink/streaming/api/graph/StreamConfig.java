@@ -69,6 +69,7 @@ public class StreamConfig implements Serializable {
 	private static final String OUTPUT_SELECTOR_WRAPPER = "outputSelectorWrapper";
 	private static final String SERIALIZEDUDF = "serializedUDF";
 	private static final String BUFFER_TIMEOUT = "bufferTimeout";
+	private static final String DOES_NOT_RETAIN_INPUT = "doesNotRetainInput";
 	private static final String TYPE_SERIALIZER_IN_1 = "typeSerializer_in_1";
 	private static final String TYPE_SERIALIZER_IN_2 = "typeSerializer_in_2";
 	private static final String TYPE_SERIALIZER_OUT_1 = "typeSerializer_out";
@@ -204,6 +205,14 @@ public class StreamConfig implements Serializable {
 		return config.getLong(BUFFER_TIMEOUT, DEFAULT_TIMEOUT);
 	}
 
+	public void setDoesNotRetainInput(boolean doesNotRetainInput) {
+		config.setBoolean(DOES_NOT_RETAIN_INPUT, doesNotRetainInput);
+	}
+
+	public boolean getDoesNotRetainInput() {
+		return config.getBoolean(DOES_NOT_RETAIN_INPUT, false);
+	}
+
 	public boolean isFlushAlwaysEnabled() {
 		return getBufferTimeout() == 0;
 	}
@@ -554,6 +554,12 @@ public class StreamGraph extends StreamingPlan {
 		}
 	}
 
+	public void setDoesNotRetainInput(Integer vertexID, boolean doesNotRetainInput) {
+		if (getStreamNode(vertexID) != null) {
+			getStreamNode(vertexID).setDoesNotRetainInput(doesNotRetainInput);
+		}
+	}
+
 	public void setSerializers(Integer vertexID, TypeSerializer<?> in1, TypeSerializer<?> in2, TypeSerializer<?> out) {
 		StreamNode vertex = getStreamNode(vertexID);
 		vertex.setSerializerIn1(in1);
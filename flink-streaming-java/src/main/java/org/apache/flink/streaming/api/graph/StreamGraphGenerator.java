@@ -284,6 +284,10 @@ public class StreamGraphGenerator {
 			streamGraph.setBufferTimeout(transform.getId(), defaultBufferTimeout);
 		}
 
+		if (transform.getDoesNotRetainInput()) {
+			streamGraph.setDoesNotRetainInput(transform.getId(), true);
+		}
+
 		if (transform.getUid() != null) {
 			streamGraph.setTransformationUID(transform.getId(), transform.getUid());
 		}
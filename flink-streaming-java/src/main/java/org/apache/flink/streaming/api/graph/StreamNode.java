@@ -54,6 +54,7 @@ public class StreamNode implements Serializable {
 	private ResourceSpec minResources = ResourceSpec.DEFAULT;
 	private ResourceSpec preferredResources = ResourceSpec.DEFAULT;
 	private long bufferTimeout;
+	private boolean doesNotRetainInput;
 	private final String operatorName;
 	private @Nullable String slotSharingGroup;
 	private @Nullable String coLocationGroup;
@@ -204,6 +205,14 @@ public class StreamNode implements Serializable {
 		this.bufferTimeout = bufferTimeout;
 	}
 
+	public boolean getDoesNotRetainInput() {
+		return doesNotRetainInput;
+	}
+
+	public void setDoesNotRetainInput(boolean doesNotRetainInput) {
+		this.doesNotRetainInput = doesNotRetainInput;
+	}
+
 	@VisibleForTesting
 	public StreamOperator<?> getOperator() {
 		return (StreamOperator<?>) ((SimpleOperatorFactory) operatorFactory).getOperator();
@@ -434,6 +434,7 @@ public class StreamingJobGraphGenerator {
 
 		config.setVertexID(vertexID);
 		config.setBufferTimeout(vertex.getBufferTimeout());
+		config.setDoesNotRetainInput(vertex.getDoesNotRetainInput());
 
 		config.setTypeSerializerIn1(vertex.getTypeSerializerIn1());
 		config.setTypeSerializerIn2(vertex.getTypeSerializerIn2());
@@ -59,6 +59,7 @@ import org.apache.flink.runtime.state.VoidNamespaceSerializer;
 import org.apache.flink.streaming.api.graph.StreamConfig;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
+import org.apache.flink.streaming.runtime.streamrecord.RecordBatch;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
 import org.apache.flink.streaming.runtime.tasks.StreamTask;
@@ -702,7 +703,7 @@ public abstract class AbstractStreamOperator<OUT>
 	/**
 	 * Wrapping {@link Output} that updates metrics on the number of emitted elements.
 	 */
-	public static class CountingOutput<OUT> implements Output<StreamRecord<OUT>> {
+	public static class CountingOutput<OUT> implements BatchingOutput<OUT> {
 		private final Output<StreamRecord<OUT>> output;
 		private final Counter numRecordsOut;
 
@@ -733,6 +734,12 @@ public abstract class AbstractStreamOperator<OUT>
 			output.collect(outputTag, record);
 		}
 
+		@Override
+		public void collectBatch(RecordBatch<OUT> batch) {
+			numRecordsOut.inc(batch.size());
+			BatchingOutput.collectAll(output, batch);
+		}
+
 		@Override
 		public void close() {
 			output.close();
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.streaming.runtime.streamrecord.RecordBatch;
+
+/**
+ * Interface for {@link OneInputStreamOperator OneInputStreamOperators} that can process a batch of records at a time.
+ * The runtime hands records to such operators in {@link RecordBatch RecordBatches} where possible, which amortizes
+ * the per-record dispatch through the operator chain. Operators that emit their results to a {@link BatchingOutput}
+ * can forward a whole batch to the next operator of the chain.
+ *
+ * <p>In contrast to {@link #processElement(org.apache.flink.streaming.runtime.streamrecord.StreamRecord)}, the key
+ * context is not set by the caller. Implementations that may access keyed state have to call
+ * {@link #setKeyContextElement1(org.apache.flink.streaming.runtime.streamrecord.StreamRecord)} for each record.
+ *
+ * @param <IN> The input type of the operator
+ * @param <OUT> The output type of the operator
+ */
+@PublicEvolving
+public interface BatchedOneInputStreamOperator<IN, OUT> extends OneInputStreamOperator<IN, OUT> {
+
+	/**
+	 * Processes a batch of elements that arrived at this operator, in the order of the batch. The batch is owned by
+	 * the operator until this method returns, see {@link RecordBatch}.
+	 * This method is guaranteed to not be called concurrently with other methods of the operator.
+	 */
+	void processElements(RecordBatch<IN> batch) throws Exception;
+}
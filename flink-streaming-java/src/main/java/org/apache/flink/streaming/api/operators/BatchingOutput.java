@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.streaming.runtime.streamrecord.RecordBatch;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+
+/**
+ * An {@link Output} that can emit a whole {@link RecordBatch} at once.
+ *
+ * @param <T> The type of the values of the records that can be emitted.
+ */
+@Internal
+public interface BatchingOutput<T> extends Output<StreamRecord<T>> {
+
+	/**
+	 * Emits all records of the given batch. The batch is owned by this output until the method returns, see
+	 * {@link RecordBatch}.
+	 */
+	void collectBatch(RecordBatch<T> batch);
+
+	/**
+	 * Emits all records of the given batch to the given output, as a whole if the output supports it and record by
+	 * record otherwise.
+	 */
+	static <T> void collectAll(Output<StreamRecord<T>> output, RecordBatch<T> batch) {
+		if (output instanceof BatchingOutput) {
+			((BatchingOutput<T>) output).collectBatch(batch);
+		} else {
+			for (int i = 0; i < batch.size(); i++) {
+				output.collect(batch.get(i));
+			}
+		}
+	}
+}
@@ -19,13 +19,16 @@ package org.apache.flink.streaming.api.operators;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.api.common.functions.FilterFunction;
+import org.apache.flink.streaming.api.functions.DoesNotRetainInput;
+import org.apache.flink.streaming.runtime.streamrecord.RecordBatch;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 
 /**
  * A {@link StreamOperator} for executing {@link FilterFunction FilterFunctions}.
  */
 @Internal
-public class StreamFilter<IN> extends AbstractUdfStreamOperator<IN, FilterFunction<IN>> implements OneInputStreamOperator<IN, IN> {
+@DoesNotRetainInput
+public class StreamFilter<IN> extends AbstractUdfStreamOperator<IN, FilterFunction<IN>> implements BatchedOneInputStreamOperator<IN, IN> {
 
 	private static final long serialVersionUID = 1L;
 
@@ -40,4 +43,22 @@ public class StreamFilter<IN> extends AbstractUdfStreamOperator<IN, FilterFuncti
 			output.collect(element);
 		}
 	}
+
+	@Override
+	public void processElements(RecordBatch<IN> batch) throws Exception {
+		// compact the batch in place, keeping only the records that pass the filter
+		int retained = 0;
+		for (int i = 0; i < batch.size(); i++) {
+			final StreamRecord<IN> element = batch.get(i);
+			setKeyContextElement1(element);
+			if (userFunction.filter(element.getValue())) {
+				batch.set(retained++, element);
+			}
+		}
+		batch.truncate(retained);
+
+		if (!batch.isEmpty()) {
+			BatchingOutput.collectAll(output, batch);
+		}
+	}
 }
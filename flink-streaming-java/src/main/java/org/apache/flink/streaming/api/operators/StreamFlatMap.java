@@ -19,15 +19,18 @@ package org.apache.flink.streaming.api.operators;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.api.common.functions.FlatMapFunction;
+import org.apache.flink.streaming.api.functions.DoesNotRetainInput;
+import org.apache.flink.streaming.runtime.streamrecord.RecordBatch;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 
 /**
  * A {@link StreamOperator} for executing {@link FlatMapFunction FlatMapFunctions}.
  */
 @Internal
+@DoesNotRetainInput
 public class StreamFlatMap<IN, OUT>
 		extends AbstractUdfStreamOperator<OUT, FlatMapFunction<IN, OUT>>
-		implements OneInputStreamOperator<IN, OUT> {
+		implements BatchedOneInputStreamOperator<IN, OUT> {
 
 	private static final long serialVersionUID = 1L;
 
@@ -49,4 +52,18 @@ public class StreamFlatMap<IN, OUT>
 		collector.setTimestamp(element);
 		userFunction.flatMap(element.getValue(), collector);
 	}
+
+	/**
+	 * Processes the records of the batch one after another. The number of results per record is not bounded, so the
+	 * results are emitted record by record through the {@link TimestampedCollector}.
+	 */
+	@Override
+	public void processElements(RecordBatch<IN> batch) throws Exception {
+		for (int i = 0; i < batch.size(); i++) {
+			final StreamRecord<IN> element = batch.get(i);
+			setKeyContextElement1(element);
+			collector.setTimestamp(element);
+			userFunction.flatMap(element.getValue(), collector);
+		}
+	}
 }
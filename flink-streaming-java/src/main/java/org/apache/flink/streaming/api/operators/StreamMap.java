@@ -19,15 +19,18 @@ package org.apache.flink.streaming.api.operators;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.api.common.functions.MapFunction;
+import org.apache.flink.streaming.api.functions.DoesNotRetainInput;
+import org.apache.flink.streaming.runtime.streamrecord.RecordBatch;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 
 /**
  * A {@link StreamOperator} for executing {@link MapFunction MapFunctions}.
  */
 @Internal
+@DoesNotRetainInput
 public class StreamMap<IN, OUT>
 		extends AbstractUdfStreamOperator<OUT, MapFunction<IN, OUT>>
-		implements OneInputStreamOperator<IN, OUT> {
+		implements BatchedOneInputStreamOperator<IN, OUT> {
 
 	private static final long serialVersionUID = 1L;
 
@@ -40,4 +43,16 @@ public class StreamMap<IN, OUT>
 	public void processElement(StreamRecord<IN> element) throws Exception {
 		output.collect(element.replace(userFunction.map(element.getValue())));
 	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void processElements(RecordBatch<IN> batch) throws Exception {
+		for (int i = 0; i < batch.size(); i++) {
+			final StreamRecord<IN> element = batch.get(i);
+			setKeyContextElement1(element);
+			element.replace(userFunction.map(element.getValue()));
+		}
+		// all records now hold values of the output type
+		BatchingOutput.collectAll(output, (RecordBatch<OUT>) (RecordBatch<?>) batch);
+	}
 }
@@ -18,6 +18,7 @@
 package org.apache.flink.streaming.api.operators;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.streaming.api.functions.DoesNotRetainInput;
 import org.apache.flink.streaming.api.functions.sink.SinkFunction;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
@@ -28,6 +29,7 @@ import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
  * A {@link StreamOperator} for executing {@link SinkFunction SinkFunctions}.
  */
 @Internal
+@DoesNotRetainInput
 public class StreamSink<IN> extends AbstractUdfStreamOperator<Object, SinkFunction<IN>>
 		implements OneInputStreamOperator<IN, Object> {
 
@@ -30,6 +30,7 @@ import org.apache.flink.streaming.runtime.streamstatus.StreamStatusMaintainer;
 import org.apache.flink.streaming.runtime.tasks.OperatorChain;
 import org.apache.flink.streaming.runtime.tasks.ProcessingTimeCallback;
 import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
+import org.apache.flink.util.OutputTag;
 
 import java.util.concurrent.ScheduledFuture;
 
@@ -85,6 +86,11 @@ public class StreamSource<OUT, SRC extends SourceFunction<OUT>> extends Abstract
 				getRuntimeContext().getIndexOfThisSubtask());
 		}
 
+		final double latencySamplingFraction = configuration.getDouble(MetricOptions.LATENCY_SAMPLING_FRACTION);
+		final Output<StreamRecord<OUT>> sourceOutput = latencySamplingFraction > 0.0
+			? new IngestionTimeSamplingOutput<>(collector, latencySamplingFraction)
+			: collector;
+
 		final long watermarkInterval = getRuntimeContext().getExecutionConfig().getAutoWatermarkInterval();
 
 		this.ctx = StreamSourceContexts.getSourceContext(
@@ -92,7 +98,7 @@ public class StreamSource<OUT, SRC extends SourceFunction<OUT>> extends Abstract
 			getProcessingTimeService(),
 			lockingObject,
 			streamStatusMaintainer,
-			collector,
+			sourceOutput,
 			watermarkInterval,
 			-1);
 
@@ -189,4 +195,60 @@ public class StreamSource<OUT, SRC extends SourceFunction<OUT>> extends Abstract
 			latencyMarkTimer.cancel(true);
 		}
 	}
+
+	/**
+	 * Output which attaches the current wall clock time as ingestion timestamp to a fraction of the
+	 * emitted records, so that the operators downstream can track the latency of these records.
+	 * The records are sampled deterministically, e.g., every hundredth record for a fraction of 0.01.
+	 */
+	private static class IngestionTimeSamplingOutput<OUT> implements Output<StreamRecord<OUT>> {
+
+		private final Output<StreamRecord<OUT>> output;
+
+		private final long samplingInterval;
+
+		private long recordsSinceLastSample;
+
+		IngestionTimeSamplingOutput(Output<StreamRecord<OUT>> output, double samplingFraction) {
+			this.output = output;
+			this.samplingInterval = Math.max(1L, Math.round(1.0 / samplingFraction));
+		}
+
+		@Override
+		public void collect(StreamRecord<OUT> record) {
+			sample(record);
+			output.collect(record);
+		}
+
+		@Override
+		public <X> void collect(OutputTag<X> outputTag, StreamRecord<X> record) {
+			sample(record);
+			output.collect(outputTag, record);
+		}
+
+		private void sample(StreamRecord<?> record) {
+			if (++recordsSinceLastSample >= samplingInterval) {
+				record.setIngestionTimestamp(System.currentTimeMillis());
+				recordsSinceLastSample = 0L;
+			} else {
+				// the source contexts reuse their records
+				record.eraseIngestionTimestamp();
+			}
+		}
+
+		@Override
+		public void emitWatermark(Watermark mark) {
+			output.emitWatermark(mark);
+		}
+
+		@Override
+		public void emitLatencyMarker(LatencyMarker latencyMarker) {
+			output.emitLatencyMarker(latencyMarker);
+		}
+
+		@Override
+		public void close() {
+			output.close();
+		}
+	}
 }
@@ -19,6 +19,7 @@ package org.apache.flink.streaming.api.operators;
 
 import org.apache.flink.streaming.api.TimeCharacteristic;
 import org.apache.flink.streaming.api.functions.source.SourceFunction;
+import org.apache.flink.streaming.api.functions.source.SplitWatermarkMultiplexer;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.streaming.runtime.streamstatus.StreamStatus;
@@ -27,6 +28,8 @@ import org.apache.flink.streaming.runtime.tasks.ProcessingTimeCallback;
 import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
 import org.apache.flink.util.Preconditions;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ScheduledFuture;
 
 /**
@@ -57,6 +60,7 @@ public class StreamSourceContexts {
 			case EventTime:
 				ctx = new ManualWatermarkContext<>(
 					output,
+					watermarkInterval,
 					processingTimeService,
 					checkpointLock,
 					streamStatusMaintainer,
@@ -281,14 +285,22 @@ public class StreamSourceContexts {
 	 *
 	 * <p>Streaming topologies can use timestamp assigner functions to override the timestamps
 	 * assigned here.
+	 *
+	 * <p>The periodic watermarks of the {@link SplitWatermarkMultiplexer split watermark multiplexers}
+	 * created by this context are polled in the auto-watermark interval.
 	 */
 	private static class ManualWatermarkContext<T> extends WatermarkContext<T> {
 
 		private final Output<StreamRecord<T>> output;
 		private final StreamRecord<T> reuse;
 
+		private final long watermarkInterval;
+		private final List<SplitWatermarkMultiplexer<T>> splitWatermarkMultiplexers;
+		private final List<ScheduledFuture<?>> splitWatermarkTimers;
+
 		private ManualWatermarkContext(
 				final Output<StreamRecord<T>> output,
+				final long watermarkInterval,
 				final ProcessingTimeService timeService,
 				final Object checkpointLock,
 				final StreamStatusMaintainer streamStatusMaintainer,
@@ -298,6 +310,43 @@ public class StreamSourceContexts {
 
 			this.output = Preconditions.checkNotNull(output, "The output cannot be null.");
 			this.reuse = new StreamRecord<>(null);
+
+			this.watermarkInterval = watermarkInterval;
+			this.splitWatermarkMultiplexers = new ArrayList<>();
+			this.splitWatermarkTimers = new ArrayList<>();
+		}
+
+		@Override
+		public SplitWatermarkMultiplexer<T> createSplitWatermarkMultiplexer() {
+			final SplitWatermarkMultiplexer<T> multiplexer = new SplitWatermarkMultiplexer<>(this);
+
+			synchronized (checkpointLock) {
+				splitWatermarkMultiplexers.add(multiplexer);
+
+				if (watermarkInterval > 0) {
+					splitWatermarkTimers.add(timeService.scheduleAtFixedRate(
+						timestamp -> multiplexer.emitPeriodicWatermark(timestamp),
+						watermarkInterval,
+						watermarkInterval));
+				}
+			}
+
+			return multiplexer;
+		}
+
+		@Override
+		public void close() {
+			super.close();
+
+			for (ScheduledFuture<?> timer : splitWatermarkTimers) {
+				timer.cancel(true);
+			}
+			splitWatermarkTimers.clear();
+
+			for (SplitWatermarkMultiplexer<T> multiplexer : splitWatermarkMultiplexers) {
+				multiplexer.close();
+			}
+			splitWatermarkMultiplexers.clear();
 		}
 
 		@Override
@@ -57,14 +57,23 @@ public class TimestampedCollector<T> implements Collector<T> {
 		} else {
 			reuse.eraseTimestamp();
 		}
+
+		// the emitted records are derived from the base record, so they inherit its ingestion time
+		if (timestampBase.hasIngestionTimestamp()) {
+			reuse.setIngestionTimestamp(timestampBase.getIngestionTimestamp());
+		} else {
+			reuse.eraseIngestionTimestamp();
+		}
 	}
 
 	public void setAbsoluteTimestamp(long timestamp) {
 		reuse.setTimestamp(timestamp);
+		reuse.eraseIngestionTimestamp();
 	}
 
 	public void eraseTimestamp() {
 		reuse.eraseTimestamp();
+		reuse.eraseIngestionTimestamp();
 	}
 
 	@Override
@@ -34,6 +34,9 @@ import org.apache.flink.streaming.api.operators.BoundedOneInput;
 import org.apache.flink.streaming.api.operators.ChainingStrategy;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.api.operators.Output;
+import org.apache.flink.streaming.api.operators.TimestampedCollector;
+import org.apache.flink.streaming.api.operators.async.queue.AsyncCollectionResult;
+import org.apache.flink.streaming.api.operators.async.queue.AsyncResult;
 import org.apache.flink.streaming.api.operators.async.queue.OrderedStreamElementQueue;
 import org.apache.flink.streaming.api.operators.async.queue.StreamElementQueue;
 import org.apache.flink.streaming.api.operators.async.queue.StreamElementQueueEntry;
@@ -46,21 +49,25 @@ import org.apache.flink.streaming.runtime.streamrecord.StreamElementSerializer;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.streaming.runtime.tasks.ProcessingTimeCallback;
 import org.apache.flink.streaming.runtime.tasks.StreamTask;
+import org.apache.flink.streaming.runtime.tasks.mailbox.execution.MailboxExecutor;
 import org.apache.flink.util.ExceptionUtils;
 import org.apache.flink.util.Preconditions;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The {@link AsyncWaitOperator} allows to asynchronously process incoming stream records. For that
  * the operator creates an {@link ResultFuture} which is passed to an {@link AsyncFunction}.
  * Within the async function, the user can complete the async collector arbitrarily. Once the async
- * collector has been completed, the result is emitted by the operator's emitter to downstream
- * operators.
+ * collector has been completed, an action is enqueued to the mailbox of the containing task which
+ * emits all results that can be emitted at this point to downstream operators.
  *
  * <p>The operator offers different output modes depending on the chosen
  * {@link OutputMode}. In order to give exactly once processing guarantees, the
@@ -107,11 +114,26 @@ public class AsyncWaitOperator<IN, OUT>
 
 	private transient ExecutorService executor;
 
-	/** Emitter for the completed stream element queue entries. */
-	private transient Emitter<OUT> emitter;
+	/** Mailbox executor of the containing task, used to emit the completed stream element queue entries. */
+	private transient MailboxExecutor mailboxExecutor;
 
-	/** Thread running the emitter. */
-	private transient Thread emitterThread;
+	/** Mailbox action which emits the completed stream element queue entries. */
+	private transient Runnable emitCompletedResultsAction;
+
+	/** Flag whether {@link #emitCompletedResultsAction} is currently enqueued in the mailbox. */
+	private transient AtomicBoolean emissionScheduled;
+
+	/** Flag whether the mailbox thread is currently waiting on the checkpoint lock for completed results. */
+	private transient volatile boolean waitingForCompletedResults;
+
+	/** Flag whether completed results are currently emitted. Must only be accessed from the mailbox thread. */
+	private transient boolean emitting;
+
+	/** Reused buffer for the completed results polled from the queue. */
+	private transient ArrayList<AsyncResult> completedResults;
+
+	/** Output for stream records. */
+	private transient TimestampedCollector<OUT> timestampedCollector;
 
 	public AsyncWaitOperator(
 			AsyncFunction<IN, OUT> asyncFunction,
@@ -138,6 +160,11 @@ public class AsyncWaitOperator<IN, OUT>
 
 		this.checkpointingLock = getContainingTask().getCheckpointLock();
 
+		this.mailboxExecutor = getContainingTask().getTaskMailboxExecutor();
+		this.emitCompletedResultsAction = this::emitCompletedResults;
+		this.emissionScheduled = new AtomicBoolean(false);
+		this.completedResults = new ArrayList<>(capacity);
+
 		this.inStreamElementSerializer = new StreamElementSerializer<>(
 			getOperatorConfig().<IN>getTypeSerializerIn1(getUserCodeClassloader()));
 
@@ -166,15 +193,9 @@ public class AsyncWaitOperator<IN, OUT>
 	public void open() throws Exception {
 		super.open();
 
-		// create the emitter
-		this.emitter = new Emitter<>(checkpointingLock, output, queue, this);
-
-		// start the emitter thread
-		this.emitterThread = new Thread(emitter, "AsyncIO-Emitter-Thread (" + getOperatorName() + ')');
-		emitterThread.setDaemon(true);
-		emitterThread.start();
+		this.timestampedCollector = new TimestampedCollector<>(output);
 
-		// process stream elements from state, since the Emit thread will start as soon as all
+		// process stream elements from state, since completed results can be emitted as soon as
 		// elements from previous state are in the StreamElementQueue, we have to make sure that the
 		// order to open all operators in the operator chain proceeds from the tail operator to the
 		// head operator.
@@ -297,7 +318,7 @@ public class AsyncWaitOperator<IN, OUT>
 			}
 
 			try {
-				// terminate the emitter, the emitter thread and the executor
+				// terminate the executor
 				stopResources(true);
 			} catch (InterruptedException interrupted) {
 				exception = ExceptionUtils.firstOrSuppressed(interrupted, exception);
@@ -343,21 +364,28 @@ public class AsyncWaitOperator<IN, OUT>
 	}
 
 	/**
-	 * Close the operator's resources. They include the emitter thread and the executor to run
-	 * the queue's complete operation.
+	 * Close the operator's resources. They include the executor to run the queue's complete
+	 * operation.
 	 *
 	 * @param waitForShutdown is true if the method should wait for the resources to be freed;
 	 *                           otherwise false.
 	 * @throws InterruptedException if current thread has been interrupted
 	 */
 	private void stopResources(boolean waitForShutdown) throws InterruptedException {
-		emitter.stop();
-		emitterThread.interrupt();
-
 		executor.shutdown();
 
 		if (waitForShutdown) {
 			try {
+				/*
+				 * If we have the checkpoint lock we might have to free it for a while so that
+				 * completion callbacks, which notify threads waiting on the lock, can finish.
+				 */
+				if (Thread.holdsLock(checkpointingLock)) {
+					while (!executor.isTerminated()) {
+						checkpointingLock.wait(100L);
+					}
+				}
+
 				if (!executor.awaitTermination(365L, TimeUnit.DAYS)) {
 					executor.shutdownNow();
 				}
@@ -366,18 +394,6 @@ public class AsyncWaitOperator<IN, OUT>
 
 				Thread.currentThread().interrupt();
 			}
-
-			/*
-			 * FLINK-5638: If we have the checkpoint lock we might have to free it for a while so
-			 * that the emitter thread can complete/react to the interrupt signal.
-			 */
-			if (Thread.holdsLock(checkpointingLock)) {
-				while (emitterThread.isAlive()) {
-					checkpointingLock.wait(100L);
-				}
-			}
-
-			emitterThread.join();
 		} else {
 			executor.shutdownNow();
 		}
@@ -387,38 +403,163 @@ public class AsyncWaitOperator<IN, OUT>
 	 * Add the given stream element queue entry to the operator's stream element queue. This
 	 * operation blocks until the element has been added.
 	 *
-	 * <p>For that it tries to put the element into the queue and if not successful then it waits on
-	 * the checkpointing lock. The checkpointing lock is also used by the {@link Emitter} to output
-	 * elements. The emitter is also responsible for notifying this method if the queue has capacity
-	 * left again, by calling notifyAll on the checkpointing lock.
+	 * <p>For that it tries to put the element into the queue and if not successful then it yields
+	 * to the mailbox, which eventually runs the action that emits completed elements and thereby
+	 * frees capacity in the queue, see {@link #yieldToCompletedResults()}.
 	 *
 	 * @param streamElementQueueEntry to add to the operator's queue
 	 * @param <T> Type of the stream element queue entry's result
-	 * @throws InterruptedException if the current thread has been interrupted
+	 * @throws Exception if the current thread has been interrupted or pending invocations failed
 	 */
-	private <T> void addAsyncBufferEntry(StreamElementQueueEntry<T> streamElementQueueEntry) throws InterruptedException {
+	private <T> void addAsyncBufferEntry(StreamElementQueueEntry<T> streamElementQueueEntry) throws Exception {
 		assert(Thread.holdsLock(checkpointingLock));
 
 		pendingStreamElementQueueEntry = streamElementQueueEntry;
 
 		while (!queue.tryPut(streamElementQueueEntry)) {
-			// we wait for the emitter to notify us if the queue has space left again
-			checkpointingLock.wait();
+			yieldToCompletedResults();
 		}
 
 		pendingStreamElementQueueEntry = null;
 	}
 
-	private void waitInFlightInputsFinished() throws InterruptedException {
+	private void waitInFlightInputsFinished() throws Exception {
 		assert(Thread.holdsLock(checkpointingLock));
 
 		while (!queue.isEmpty()) {
-			// wait for the emitter thread to output the remaining elements
-			// for that he needs the checkpointing lock and thus we have to free it
+			yieldToCompletedResults();
+		}
+	}
+
+	/**
+	 * Waits for progress in the emission of completed results. In the mailbox thread, this runs
+	 * the next action of the mailbox, which is typically the emission of completed results. If
+	 * there is no such action, or if called from another thread, this waits on the checkpoint lock
+	 * and thereby frees it, so that timers (e.g. the timeouts of the async requests) and
+	 * checkpoints can proceed.
+	 */
+	private void yieldToCompletedResults() throws Exception {
+		assert(Thread.holdsLock(checkpointingLock));
+
+		// we can only wait for results of elements for which the async function has been invoked
+		flushPendingInvocations();
+
+		if (mailboxExecutor.isMailboxThread()) {
+			// the flag must be set before checking the mailbox, so that a concurrently completed
+			// result either enqueues its action before the check or notifies us afterwards
+			waitingForCompletedResults = true;
+
+			try {
+				if (!mailboxExecutor.tryYield()) {
+					checkpointingLock.wait();
+				}
+			} finally {
+				waitingForCompletedResults = false;
+			}
+		} else {
+			// the emission of completed results notifies all threads waiting on the lock
 			checkpointingLock.wait();
 		}
 	}
 
+	/**
+	 * Invokes the async function for all elements whose invocation has been deferred. This is
+	 * called before the operator waits for completed results, e.g. because its queue is full or
+	 * because it is closed. The default implementation invokes the async function for every
+	 * element right away and thus has nothing to flush.
+	 *
+	 * @throws Exception if the invocation of the async function failed
+	 */
+	protected void flushPendingInvocations() throws Exception {
+	}
+
+	@Override
+	public void notifyCompletedResults() {
+		if (emissionScheduled.compareAndSet(false, true)) {
+			try {
+				mailboxExecutor.execute(emitCompletedResultsAction);
+			} catch (RejectedExecutionException e) {
+				emissionScheduled.set(false);
+
+				LOG.debug("Could not schedule the emission of completed results because the mailbox " +
+					"is shut down.", e);
+			}
+		}
+
+		if (waitingForCompletedResults) {
+			synchronized (checkpointingLock) {
+				checkpointingLock.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Mailbox action which emits all results that can currently be polled from the queue.
+	 */
+	private void emitCompletedResults() {
+		emissionScheduled.set(false);
+
+		if (emitting) {
+			// a chained operator yielded to the mailbox while we are emitting, the ongoing emission
+			// picks up all newly completed results and preserves their order
+			return;
+		}
+
+		synchronized (checkpointingLock) {
+			emitting = true;
+
+			try {
+				while (queue.pollCompleted(completedResults) > 0) {
+					for (AsyncResult completedResult : completedResults) {
+						output(completedResult);
+					}
+
+					completedResults.clear();
+				}
+			} catch (InterruptedException e) {
+				// we got interrupted, which indicates the cancellation of the task
+				Thread.currentThread().interrupt();
+			} finally {
+				completedResults.clear();
+				emitting = false;
+			}
+
+			// notify threads which wait for capacity in the queue
+			checkpointingLock.notifyAll();
+		}
+	}
+
+	private void output(AsyncResult asyncResult) {
+		if (asyncResult.isWatermark()) {
+			LOG.debug("Output async watermark.");
+			output.emitWatermark(asyncResult.asWatermark().getWatermark());
+		} else {
+			AsyncCollectionResult<OUT> streamRecordResult = asyncResult.asResultCollection();
+
+			if (streamRecordResult.hasTimestamp()) {
+				timestampedCollector.setAbsoluteTimestamp(streamRecordResult.getTimestamp());
+			} else {
+				timestampedCollector.eraseTimestamp();
+			}
+
+			LOG.debug("Output async stream element collection result.");
+
+			try {
+				Collection<OUT> resultCollection = streamRecordResult.get();
+
+				if (resultCollection != null) {
+					for (OUT result : resultCollection) {
+						timestampedCollector.collect(result);
+					}
+				}
+			} catch (Exception e) {
+				failOperator(
+					new Exception("An async function call terminated with an exception. " +
+						"Failing the AsyncWaitOperator.", e));
+			}
+		}
+	}
+
 	@Override
 	public void failOperator(Throwable throwable) {
 		getContainingTask().getEnvironment().failExternally(throwable);
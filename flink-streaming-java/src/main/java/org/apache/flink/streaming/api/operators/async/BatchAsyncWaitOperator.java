@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators.async;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.java.operators.translation.WrappingFunction;
+import org.apache.flink.streaming.api.datastream.AsyncDataStream;
+import org.apache.flink.streaming.api.functions.async.AsyncFunction;
+import org.apache.flink.streaming.api.functions.async.BatchAsyncFunction;
+import org.apache.flink.streaming.api.functions.async.ResultFuture;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.util.Preconditions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * The {@link BatchAsyncWaitOperator} is an {@link AsyncWaitOperator} which invokes a {@link BatchAsyncFunction}
+ * once for a batch of incoming stream records. Records are buffered until either the maximum batch size is reached
+ * or the maximum batch delay has elapsed since the first record of the batch arrived.
+ *
+ * <p>Buffered records are already part of the operator's stream element queue. Thus, the output mode, the timeouts
+ * and the checkpointing of in-flight records are the same as for the {@link AsyncWaitOperator}. The timeout of a
+ * record starts when it is buffered, so it includes the time the record waits for its batch and therefore has to be
+ * larger than the maximum batch delay. In particular,
+ * buffered records are checkpointed and their batch is invoked again after a recovery. Whenever the operator has to
+ * wait for results, e.g. because its queue is full or because its input ended, the current batch is invoked
+ * right away.
+ *
+ * @param <IN> Input type for the operator.
+ * @param <OUT> Output type for the operator.
+ */
+@Internal
+public class BatchAsyncWaitOperator<IN, OUT> extends AsyncWaitOperator<IN, OUT> {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Maximum number of records for one invocation of the batch async function. */
+	private final int maxBatchSize;
+
+	/** Maximum time in milliseconds that a record waits for its batch to be invoked. */
+	private final long maxBatchDelay;
+
+	/** Timer which invokes the current batch once its maximum delay has elapsed. */
+	private transient ScheduledFuture<?> batchDelayTimer;
+
+	public BatchAsyncWaitOperator(
+			BatchAsyncFunction<IN, OUT> batchAsyncFunction,
+			long timeout,
+			int capacity,
+			AsyncDataStream.OutputMode outputMode,
+			int maxBatchSize,
+			long maxBatchDelay) {
+		super(new BatchingAsyncFunction<>(batchAsyncFunction, maxBatchSize), timeout, capacity, outputMode);
+
+		Preconditions.checkArgument(maxBatchSize > 0, "The maximum batch size must be larger than 0.");
+		Preconditions.checkArgument(maxBatchDelay > 0L, "The maximum batch delay must be larger than 0.");
+		Preconditions.checkArgument(
+			timeout <= 0L || timeout > maxBatchDelay,
+			"The timeout includes the time a record is buffered and must be larger than the maximum batch delay.");
+		this.maxBatchSize = maxBatchSize;
+		this.maxBatchDelay = maxBatchDelay;
+	}
+
+	@Override
+	public void processElement(StreamRecord<IN> element) throws Exception {
+		super.processElement(element);
+
+		final int numBufferedInputs = getBatchingFunction().getNumBufferedInputs();
+
+		if (numBufferedInputs >= maxBatchSize) {
+			flushPendingInvocations();
+		} else if (numBufferedInputs == 1) {
+			final long flushTimestamp = getProcessingTimeService().getCurrentProcessingTime() + maxBatchDelay;
+
+			batchDelayTimer = getProcessingTimeService().registerTimer(
+				flushTimestamp,
+				timestamp -> flushPendingInvocations());
+		}
+	}
+
+	@Override
+	protected void flushPendingInvocations() throws Exception {
+		if (batchDelayTimer != null) {
+			batchDelayTimer.cancel(false);
+			batchDelayTimer = null;
+		}
+
+		getBatchingFunction().invokeBufferedInputs();
+	}
+
+	@SuppressWarnings("unchecked")
+	private BatchingAsyncFunction<IN, OUT> getBatchingFunction() {
+		return (BatchingAsyncFunction<IN, OUT>) userFunction;
+	}
+
+	/**
+	 * {@link AsyncFunction} which buffers the inputs and their result futures until the operator invokes the wrapped
+	 * {@link BatchAsyncFunction} for all of them.
+	 */
+	private static final class BatchingAsyncFunction<IN, OUT>
+			extends WrappingFunction<BatchAsyncFunction<IN, OUT>>
+			implements AsyncFunction<IN, OUT> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int maxBatchSize;
+
+		private transient List<IN> bufferedInputs;
+
+		private transient List<ResultFuture<OUT>> bufferedResultFutures;
+
+		private BatchingAsyncFunction(BatchAsyncFunction<IN, OUT> batchAsyncFunction, int maxBatchSize) {
+			super(Preconditions.checkNotNull(batchAsyncFunction));
+			this.maxBatchSize = maxBatchSize;
+		}
+
+		@Override
+		public void asyncInvoke(IN input, ResultFuture<OUT> resultFuture) {
+			if (bufferedInputs == null) {
+				bufferedInputs = new ArrayList<>(maxBatchSize);
+				bufferedResultFutures = new ArrayList<>(maxBatchSize);
+			}
+
+			bufferedInputs.add(input);
+			bufferedResultFutures.add(resultFuture);
+		}
+
+		@Override
+		public void timeout(IN input, ResultFuture<OUT> resultFuture) throws Exception {
+			wrappedFunction.timeout(input, resultFuture);
+		}
+
+		int getNumBufferedInputs() {
+			return bufferedInputs == null ? 0 : bufferedInputs.size();
+		}
+
+		void invokeBufferedInputs() throws Exception {
+			if (getNumBufferedInputs() == 0) {
+				return;
+			}
+
+			// the function may keep references to the batch until it completes, so we start new lists
+			final List<IN> inputs = bufferedInputs;
+			final List<ResultFuture<OUT>> resultFutures = bufferedResultFutures;
+			bufferedInputs = null;
+			bufferedResultFutures = null;
+
+			wrappedFunction.asyncInvokeBatch(inputs, resultFutures);
+		}
+	}
+}
@@ -33,4 +33,11 @@ public interface OperatorActions {
 	 * @param throwable to fail the stream operator with
 	 */
 	void failOperator(Throwable throwable);
+
+	/**
+	 * Notify the respective stream operator that there are completed results which can be polled from its
+	 * {@link org.apache.flink.streaming.api.operators.async.queue.StreamElementQueue}. This is called from the
+	 * thread that completed the results, without holding the queue's lock.
+	 */
+	void notifyCompletedResults();
 }
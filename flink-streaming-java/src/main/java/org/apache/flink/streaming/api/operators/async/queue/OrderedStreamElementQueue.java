@@ -117,6 +117,31 @@ public class OrderedStreamElementQueue implements StreamElementQueue {
 		}
 	}
 
+	@Override
+	public int pollCompleted(Collection<? super AsyncResult> completedResults) throws InterruptedException {
+		lock.lockInterruptibly();
+
+		try {
+			int numPolled = 0;
+
+			while (!queue.isEmpty() && queue.peek().isDone()) {
+				completedResults.add(queue.poll());
+				numPolled++;
+			}
+
+			if (numPolled > 0) {
+				notFull.signalAll();
+
+				LOG.debug("Polled {} completed head elements from ordered stream element queue. New filling " +
+					"degree ({}/{}).", numPolled, queue.size(), capacity);
+			}
+
+			return numPolled;
+		} finally {
+			lock.unlock();
+		}
+	}
+
 	@Override
 	public Collection<StreamElementQueueEntry<?>> values() throws InterruptedException {
 		lock.lockInterruptibly();
@@ -210,21 +235,29 @@ public class OrderedStreamElementQueue implements StreamElementQueue {
 
 	/**
 	 * Check if the completed {@link StreamElementQueueEntry} is the current head. If this is the
-	 * case, then notify the consumer thread about a new consumable entry.
+	 * case, then notify the consumer thread and the operator about a new consumable entry.
 	 *
 	 * @param streamElementQueueEntry which has been completed
 	 * @throws InterruptedException if the current thread is interrupted
 	 */
 	private void onCompleteHandler(StreamElementQueueEntry<?> streamElementQueueEntry) throws InterruptedException {
+		final boolean headIsDone;
+
 		lock.lockInterruptibly();
 
 		try {
-			if (!queue.isEmpty() && queue.peek().isDone()) {
+			headIsDone = !queue.isEmpty() && queue.peek().isDone();
+
+			if (headIsDone) {
 				LOG.debug("Signal ordered stream element queue has completed head element.");
 				headIsCompleted.signalAll();
 			}
 		} finally {
 			lock.unlock();
 		}
+
+		if (headIsDone) {
+			operatorActions.notifyCompletedResults();
+		}
 	}
 }
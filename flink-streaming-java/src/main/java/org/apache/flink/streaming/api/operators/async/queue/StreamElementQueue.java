@@ -73,6 +73,18 @@ public interface StreamElementQueue {
 	 */
 	AsyncResult poll() throws InterruptedException;
 
+	/**
+	 * Poll all {@link AsyncResult}s which can currently be emitted from the head of this queue and add them to the
+	 * given collection, in the order in which they have to be emitted. This operation does not block and polls no
+	 * results if no completed result is at the head of the queue.
+	 *
+	 * @param completedResults collection to add the completed results to
+	 * @return Number of completed results which have been removed from the queue
+	 * @throws InterruptedException if the current thread has been interrupted while polling the
+	 * 	completed results.
+	 */
+	int pollCompleted(Collection<? super AsyncResult> completedResults) throws InterruptedException;
+
 	/**
 	 * Return the collection of {@link StreamElementQueueEntry} currently contained in this queue.
 	 *
@@ -177,6 +177,30 @@ public class UnorderedStreamElementQueue implements StreamElementQueue {
 		}
 	}
 
+	@Override
+	public int pollCompleted(Collection<? super AsyncResult> completedResults) throws InterruptedException {
+		lock.lockInterruptibly();
+
+		try {
+			final int numPolled = completedQueue.size();
+
+			if (numPolled > 0) {
+				completedResults.addAll(completedQueue);
+				completedQueue.clear();
+
+				numberEntries -= numPolled;
+				notFull.signalAll();
+
+				LOG.debug("Polled {} completed elements from unordered stream element queue. New filling degree " +
+					"({}/{}).", numPolled, numberEntries, capacity);
+			}
+
+			return numPolled;
+		} finally {
+			lock.unlock();
+		}
+	}
+
 	@Override
 	public Collection<StreamElementQueueEntry<?>> values() throws InterruptedException {
 		lock.lockInterruptibly();
@@ -223,12 +247,15 @@ public class UnorderedStreamElementQueue implements StreamElementQueue {
 	 * case, then the element is added to the completed entries queue from where it can be consumed.
 	 * If the first set becomes empty, then the next set is polled from the uncompleted entries
 	 * queue. Completed entries from this new set are then added to the completed entries queue.
+	 * Afterwards, the operator is notified about the new completed entries.
 	 *
 	 * @param streamElementQueueEntry which has been completed
 	 * @throws InterruptedException if the current thread has been interrupted while performing the
 	 * 	on complete callback.
 	 */
 	public void onCompleteHandler(StreamElementQueueEntry<?> streamElementQueueEntry) throws InterruptedException {
+		boolean hasCompleted = false;
+
 		lock.lockInterruptibly();
 
 		try {
@@ -252,10 +279,15 @@ public class UnorderedStreamElementQueue implements StreamElementQueue {
 
 				LOG.debug("Signal unordered stream element queue has completed entries.");
 				hasCompletedEntries.signalAll();
+				hasCompleted = true;
 			}
 		} finally {
 			lock.unlock();
 		}
+
+		if (hasCompleted) {
+			operatorActions.notifyCompletedResults();
+		}
 	}
 
 	/**
@@ -21,6 +21,7 @@ package org.apache.flink.streaming.runtime.io;
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.TaskManagerOptions;
 import org.apache.flink.metrics.Counter;
 import org.apache.flink.metrics.SimpleCounter;
 import org.apache.flink.runtime.io.disk.iomanager.IOManager;
@@ -28,9 +29,12 @@ import org.apache.flink.runtime.io.network.partition.consumer.InputGate;
 import org.apache.flink.runtime.metrics.groups.OperatorMetricGroup;
 import org.apache.flink.runtime.metrics.groups.TaskIOMetricGroup;
 import org.apache.flink.streaming.api.CheckpointingMode;
+import org.apache.flink.streaming.api.operators.BatchedOneInputStreamOperator;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.metrics.RecordLatencyTracker;
 import org.apache.flink.streaming.runtime.metrics.WatermarkGauge;
+import org.apache.flink.streaming.runtime.streamrecord.RecordBatch;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElement;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.streaming.runtime.streamstatus.StatusWatermarkValve;
@@ -42,6 +46,8 @@ import org.apache.flink.streaming.runtime.tasks.StreamTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
@@ -59,6 +65,11 @@ import static org.apache.flink.util.Preconditions.checkState;
  * on the given lock object. This ensures that we don't call methods on a
  * {@link OneInputStreamOperator} concurrently with the timer callback or other things.
  *
+ * <p>If the operator is a {@link BatchedOneInputStreamOperator} and {@link TaskManagerOptions#TASK_RECORD_BATCH_SIZE}
+ * is larger than one, records that were received in the same network buffer are handed to the operator in a
+ * {@link RecordBatch}, acquiring the lock only once per batch. The batch is processed before the next buffer or
+ * event is polled from the input gate, so records never cross a checkpoint barrier.
+ *
  * @param <IN> The type of the record that can be read with this record reader.
  */
 @Internal
@@ -66,7 +77,7 @@ public final class StreamOneInputProcessor<IN> implements StreamInputProcessor {
 
 	private static final Logger LOG = LoggerFactory.getLogger(StreamOneInputProcessor.class);
 
-	private final StreamTaskInput input;
+	private final StreamTaskNetworkInput input;
 
 	private final Object lock;
 
@@ -81,10 +92,15 @@ public final class StreamOneInputProcessor<IN> implements StreamInputProcessor {
 
 	private final OneInputStreamOperator<IN, ?> streamOperator;
 
+	/** Batch of received records that were not yet handed to the operator, null if batching is disabled. */
+	@Nullable
+	private final RecordBatch<IN> recordBatch;
+
 	// ---------------- Metrics ------------------
 
 	private final WatermarkGauge watermarkGauge;
 	private Counter numRecordsIn;
+	private RecordLatencyTracker recordLatencyTracker;
 
 	@SuppressWarnings("unchecked")
 	public StreamOneInputProcessor(
@@ -118,6 +134,10 @@ public final class StreamOneInputProcessor<IN> implements StreamInputProcessor {
 		this.streamStatusMaintainer = checkNotNull(streamStatusMaintainer);
 		this.streamOperator = checkNotNull(streamOperator);
 
+		final int recordBatchSize = taskManagerConfig.getInteger(TaskManagerOptions.TASK_RECORD_BATCH_SIZE);
+		this.recordBatch = streamOperator instanceof BatchedOneInputStreamOperator && recordBatchSize > 1 ?
+			new RecordBatch<>(recordBatchSize) : null;
+
 		this.statusWatermarkValve = new StatusWatermarkValve(
 			inputGate.getNumberOfInputChannels(),
 			new ForwardingValveOutputHandler(streamOperator, lock));
@@ -134,6 +154,7 @@ public final class StreamOneInputProcessor<IN> implements StreamInputProcessor {
 
 		StreamElement recordOrMark = input.pollNextNullable();
 		if (recordOrMark == null) {
+			processRecordBatch();
 			input.isAvailable().get();
 			return !checkFinished();
 		}
@@ -155,11 +176,22 @@ public final class StreamOneInputProcessor<IN> implements StreamInputProcessor {
 	}
 
 	private void processElement(StreamElement recordOrMark, int channel) throws Exception {
+		if (recordBatch != null) {
+			if (recordOrMark.isRecord()) {
+				if (recordBatch.add(recordOrMark.asRecord()) || !input.hasRemainingBufferedData()) {
+					processRecordBatch();
+				}
+				return;
+			}
+			processRecordBatch();
+		}
+
 		if (recordOrMark.isRecord()) {
 			// now we can do the actual processing
 			StreamRecord<IN> record = recordOrMark.asRecord();
 			synchronized (lock) {
 				numRecordsIn.inc();
+				recordLatencyTracker.reportLatency(record);
 				streamOperator.setKeyContextElement1(record);
 				streamOperator.processElement(record);
 			}
@@ -180,6 +212,20 @@ public final class StreamOneInputProcessor<IN> implements StreamInputProcessor {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	private void processRecordBatch() throws Exception {
+		if (recordBatch == null || recordBatch.isEmpty()) {
+			return;
+		}
+
+		synchronized (lock) {
+			numRecordsIn.inc(recordBatch.size());
+			recordLatencyTracker.reportLatency(recordBatch);
+			((BatchedOneInputStreamOperator<IN, ?>) streamOperator).processElements(recordBatch);
+		}
+		recordBatch.clear();
+	}
+
 	private void initializeNumRecordsIn() {
 		if (numRecordsIn == null) {
 			try {
@@ -188,6 +234,7 @@ public final class StreamOneInputProcessor<IN> implements StreamInputProcessor {
 				LOG.warn("An exception occurred during the metrics setup.", e);
 				numRecordsIn = new SimpleCounter();
 			}
+			recordLatencyTracker = new RecordLatencyTracker(streamOperator.getMetricGroup());
 		}
 	}
 
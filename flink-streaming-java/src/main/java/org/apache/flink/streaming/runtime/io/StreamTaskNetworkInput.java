@@ -131,6 +131,15 @@ public final class StreamTaskNetworkInput implements StreamTaskInput {
 		}
 	}
 
+	/**
+	 * Returns whether the next call to {@link #pollNextNullable()} first reads the remaining data of the current
+	 * buffer, i.e. whether more records may have been received together with the last one. As long as this is the
+	 * case, polling the next record cannot trigger a checkpoint.
+	 */
+	public boolean hasRemainingBufferedData() {
+		return currentRecordDeserializer != null;
+	}
+
 	@Override
 	public int getLastChannel() {
 		return lastChannel;
@@ -39,6 +39,7 @@ import org.apache.flink.runtime.plugable.NonReusingDeserializationDelegate;
 import org.apache.flink.streaming.api.CheckpointingMode;
 import org.apache.flink.streaming.api.operators.TwoInputStreamOperator;
 import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.metrics.RecordLatencyTracker;
 import org.apache.flink.streaming.runtime.metrics.WatermarkGauge;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElement;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElementSerializer;
@@ -127,6 +128,7 @@ public final class StreamTwoInputProcessor<IN1, IN2> implements StreamInputProce
 	private final WatermarkGauge input2WatermarkGauge;
 
 	private Counter numRecordsIn;
+	private RecordLatencyTracker recordLatencyTracker;
 
 	private final BitSet finishedChannels1;
 	private final BitSet finishedChannels2;
@@ -218,6 +220,7 @@ public final class StreamTwoInputProcessor<IN1, IN2> implements StreamInputProce
 				LOG.warn("An exception occurred during the metrics setup.", e);
 				numRecordsIn = new SimpleCounter();
 			}
+			recordLatencyTracker = new RecordLatencyTracker(streamOperator.getMetricGroup());
 		}
 
 		while (true) {
@@ -255,6 +258,7 @@ public final class StreamTwoInputProcessor<IN1, IN2> implements StreamInputProce
 							StreamRecord<IN1> record = recordOrWatermark.asRecord();
 							synchronized (lock) {
 								numRecordsIn.inc();
+								recordLatencyTracker.reportLatency(record);
 								streamOperator.setKeyContextElement1(record);
 								streamOperator.processElement1(record);
 							}
@@ -282,6 +286,7 @@ public final class StreamTwoInputProcessor<IN1, IN2> implements StreamInputProce
 							StreamRecord<IN2> record = recordOrWatermark.asRecord();
 							synchronized (lock) {
 								numRecordsIn.inc();
+								recordLatencyTracker.reportLatency(record);
 								streamOperator.setKeyContextElement2(record);
 								streamOperator.processElement2(record);
 							}
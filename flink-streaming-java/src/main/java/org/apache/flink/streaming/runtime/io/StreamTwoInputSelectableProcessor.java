@@ -31,6 +31,7 @@ import org.apache.flink.streaming.api.operators.InputSelectable;
 import org.apache.flink.streaming.api.operators.InputSelection;
 import org.apache.flink.streaming.api.operators.TwoInputStreamOperator;
 import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.metrics.RecordLatencyTracker;
 import org.apache.flink.streaming.runtime.metrics.WatermarkGauge;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElement;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
@@ -97,6 +98,8 @@ public final class StreamTwoInputSelectableProcessor<IN1, IN2> implements Stream
 
 	private Counter numRecordsIn;
 
+	private RecordLatencyTracker recordLatencyTracker;
+
 	private boolean isPrepared;
 
 	public StreamTwoInputSelectableProcessor(
@@ -239,6 +242,7 @@ public final class StreamTwoInputSelectableProcessor<IN1, IN2> implements Stream
 			StreamRecord<IN1> record = recordOrMark.asRecord();
 			synchronized (lock) {
 				numRecordsIn.inc();
+				recordLatencyTracker.reportLatency(record);
 				streamOperator.setKeyContextElement1(record);
 				streamOperator.processElement1(record);
 				inputSelection = inputSelector.nextSelection();
@@ -262,6 +266,7 @@ public final class StreamTwoInputSelectableProcessor<IN1, IN2> implements Stream
 			StreamRecord<IN2> record = recordOrMark.asRecord();
 			synchronized (lock) {
 				numRecordsIn.inc();
+				recordLatencyTracker.reportLatency(record);
 				streamOperator.setKeyContextElement2(record);
 				streamOperator.processElement2(record);
 				inputSelection = inputSelector.nextSelection();
@@ -293,6 +298,7 @@ public final class StreamTwoInputSelectableProcessor<IN1, IN2> implements Stream
 			LOG.warn("An exception occurred during the metrics setup.", e);
 			numRecordsIn = new SimpleCounter();
 		}
+		recordLatencyTracker = new RecordLatencyTracker(streamOperator.getMetricGroup());
 
 		isPrepared = true;
 	}
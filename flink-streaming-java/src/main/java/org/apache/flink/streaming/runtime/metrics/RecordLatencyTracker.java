@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.metrics;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.metrics.LogLinearHistogram;
+import org.apache.flink.runtime.metrics.MetricNames;
+import org.apache.flink.streaming.runtime.streamrecord.RecordBatch;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+
+/**
+ * Tracks the latency of the records that arrive at an operator and carry an ingestion timestamp,
+ * i.e., the time since the records were ingested by a source. The latencies are reported in a
+ * {@link LogLinearHistogram}, which is only registered once the first sampled record arrives.
+ */
+@Internal
+public class RecordLatencyTracker {
+
+	/** The number of latencies after which the histogram starts to decay. */
+	private static final long HISTOGRAM_MAX_COUNT = 4096L;
+
+	private final MetricGroup metricGroup;
+
+	private LogLinearHistogram histogram;
+
+	public RecordLatencyTracker(MetricGroup metricGroup) {
+		this.metricGroup = metricGroup;
+	}
+
+	public void reportLatency(StreamRecord<?> record) {
+		if (record.hasIngestionTimestamp()) {
+			updateHistogram(record.getIngestionTimestamp());
+		}
+	}
+
+	public void reportLatency(RecordBatch<?> batch) {
+		for (int i = 0; i < batch.size(); i++) {
+			reportLatency(batch.get(i));
+		}
+	}
+
+	private void updateHistogram(long ingestionTimestamp) {
+		if (histogram == null) {
+			histogram = metricGroup.histogram(MetricNames.IO_RECORD_LATENCY, new LogLinearHistogram(HISTOGRAM_MAX_COUNT));
+		}
+
+		// the clocks of the machines may differ slightly
+		histogram.update(Math.max(0L, System.currentTimeMillis() - ingestionTimestamp));
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.streamrecord;
+
+import org.apache.flink.annotation.Internal;
+
+import java.util.Arrays;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A reusable batch of {@link StreamRecord StreamRecords} that is handed through an operator chain at once, see
+ * {@link org.apache.flink.streaming.api.operators.BatchedOneInputStreamOperator}.
+ *
+ * <p>A batch is owned by the callee while it is being processed: operators may replace the values of the contained
+ * records and may reorder or drop records (via {@link #set(int, StreamRecord)} and {@link #truncate(int)}). The
+ * caller must not rely on the contents of a batch after handing it on.
+ *
+ * @param <T> The type encapsulated with the stream records of the batch.
+ */
+@Internal
+public final class RecordBatch<T> {
+
+	/** The records of the batch, valid up to {@link #size}. */
+	private final StreamRecord<T>[] records;
+
+	/** The number of records in the batch. */
+	private int size;
+
+	@SuppressWarnings("unchecked")
+	public RecordBatch(int capacity) {
+		checkArgument(capacity > 0, "The capacity of a record batch must be positive.");
+		this.records = (StreamRecord<T>[]) new StreamRecord[capacity];
+		this.size = 0;
+	}
+
+	/**
+	 * Appends the given record to the batch.
+	 *
+	 * @return True, if the batch is full after adding the record.
+	 */
+	public boolean add(StreamRecord<T> record) {
+		records[size++] = record;
+		return size == records.length;
+	}
+
+	public StreamRecord<T> get(int index) {
+		return records[index];
+	}
+
+	public void set(int index, StreamRecord<T> record) {
+		records[index] = record;
+	}
+
+	/**
+	 * Drops all records from the given index on.
+	 */
+	public void truncate(int newSize) {
+		checkArgument(newSize >= 0 && newSize <= size, "Cannot truncate the batch to a larger size.");
+		Arrays.fill(records, newSize, size, null);
+		size = newSize;
+	}
+
+	public void clear() {
+		truncate(0);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int capacity() {
+		return records.length;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean isFull() {
+		return size == records.length;
+	}
+
+	@Override
+	public String toString() {
+		return "RecordBatch{size=" + size + ", capacity=" + records.length + '}';
+	}
+}
@@ -54,6 +54,8 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
 	private static final int TAG_LATENCY_MARKER = 3;
 	private static final int TAG_STREAM_STATUS = 4;
 
+	/** Flag in the tag of records which is set if an ingestion timestamp follows the (optional) timestamp. */
+	private static final int FLAG_INGESTION_TIMESTAMP = 0x40;
 
 	private final TypeSerializer<T> typeSerializer;
 
@@ -137,12 +139,21 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
 		int tag = source.readByte();
 		target.write(tag);
 
+		final boolean hasIngestionTimestamp = (tag & FLAG_INGESTION_TIMESTAMP) != 0;
+		tag &= ~FLAG_INGESTION_TIMESTAMP;
+
 		if (tag == TAG_REC_WITH_TIMESTAMP) {
 			// move timestamp
 			target.writeLong(source.readLong());
+			if (hasIngestionTimestamp) {
+				target.writeLong(source.readLong());
+			}
 			typeSerializer.copy(source, target);
 		}
 		else if (tag == TAG_REC_WITHOUT_TIMESTAMP) {
+			if (hasIngestionTimestamp) {
+				target.writeLong(source.readLong());
+			}
 			typeSerializer.copy(source, target);
 		}
 		else if (tag == TAG_WATERMARK) {
@@ -166,11 +177,16 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
 		if (value.isRecord()) {
 			StreamRecord<T> record = value.asRecord();
 
+			final int ingestionTimestampFlag = record.hasIngestionTimestamp() ? FLAG_INGESTION_TIMESTAMP : 0;
+
 			if (record.hasTimestamp()) {
-				target.write(TAG_REC_WITH_TIMESTAMP);
+				target.write(TAG_REC_WITH_TIMESTAMP | ingestionTimestampFlag);
 				target.writeLong(record.getTimestamp());
 			} else {
-				target.write(TAG_REC_WITHOUT_TIMESTAMP);
+				target.write(TAG_REC_WITHOUT_TIMESTAMP | ingestionTimestampFlag);
+			}
+			if (record.hasIngestionTimestamp()) {
+				target.writeLong(record.getIngestionTimestamp());
 			}
 			typeSerializer.serialize(record.getValue(), target);
 		}
@@ -197,7 +213,21 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
 	@Override
 	public StreamElement deserialize(DataInputView source) throws IOException {
 		int tag = source.readByte();
-		if (tag == TAG_REC_WITH_TIMESTAMP) {
+		if ((tag & FLAG_INGESTION_TIMESTAMP) != 0) {
+			final StreamRecord<T> record;
+			if ((tag & ~FLAG_INGESTION_TIMESTAMP) == TAG_REC_WITH_TIMESTAMP) {
+				long timestamp = source.readLong();
+				long ingestionTimestamp = source.readLong();
+				record = new StreamRecord<T>(typeSerializer.deserialize(source), timestamp);
+				record.setIngestionTimestamp(ingestionTimestamp);
+			} else {
+				long ingestionTimestamp = source.readLong();
+				record = new StreamRecord<T>(typeSerializer.deserialize(source));
+				record.setIngestionTimestamp(ingestionTimestamp);
+			}
+			return record;
+		}
+		else if (tag == TAG_REC_WITH_TIMESTAMP) {
 			long timestamp = source.readLong();
 			return new StreamRecord<T>(typeSerializer.deserialize(source), timestamp);
 		}
@@ -221,17 +251,31 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
 	@Override
 	public StreamElement deserialize(StreamElement reuse, DataInputView source) throws IOException {
 		int tag = source.readByte();
-		if (tag == TAG_REC_WITH_TIMESTAMP) {
+		if ((tag & FLAG_INGESTION_TIMESTAMP) != 0) {
+			StreamRecord<T> reuseRecord = reuse.asRecord();
+			if ((tag & ~FLAG_INGESTION_TIMESTAMP) == TAG_REC_WITH_TIMESTAMP) {
+				long timestamp = source.readLong();
+				reuseRecord.setIngestionTimestamp(source.readLong());
+				reuseRecord.replace(typeSerializer.deserialize(source), timestamp);
+			} else {
+				reuseRecord.setIngestionTimestamp(source.readLong());
+				reuseRecord.replace(typeSerializer.deserialize(source));
+			}
+			return reuseRecord;
+		}
+		else if (tag == TAG_REC_WITH_TIMESTAMP) {
 			long timestamp = source.readLong();
 			T value = typeSerializer.deserialize(source);
 			StreamRecord<T> reuseRecord = reuse.asRecord();
 			reuseRecord.replace(value, timestamp);
+			reuseRecord.eraseIngestionTimestamp();
 			return reuseRecord;
 		}
 		else if (tag == TAG_REC_WITHOUT_TIMESTAMP) {
 			T value = typeSerializer.deserialize(source);
 			StreamRecord<T> reuseRecord = reuse.asRecord();
 			reuseRecord.replace(value);
+			reuseRecord.eraseIngestionTimestamp();
 			return reuseRecord;
 		}
 		else if (tag == TAG_WATERMARK) {
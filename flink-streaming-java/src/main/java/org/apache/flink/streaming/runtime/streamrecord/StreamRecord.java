@@ -36,6 +36,12 @@ public final class StreamRecord<T> extends StreamElement {
 	/** Flag whether the timestamp is actually set. */
 	private boolean hasTimestamp;
 
+	/** The wall clock time at which the record was ingested by a source, for sampled records. */
+	private long ingestionTimestamp;
+
+	/** Flag whether the ingestion timestamp is set, i.e., whether the latency of the record is tracked. */
+	private boolean hasIngestionTimestamp;
+
 	/**
 	 * Creates a new StreamRecord. The record does not have a timestamp.
 	 */
@@ -134,6 +140,30 @@ public final class StreamRecord<T> extends StreamElement {
 		this.hasTimestamp = false;
 	}
 
+	/**
+	 * Returns the wall clock time at which the record was ingested by a source. This is only set
+	 * for the sampled records whose latency is tracked, see {@link #hasIngestionTimestamp()}.
+	 */
+	public long getIngestionTimestamp() {
+		return ingestionTimestamp;
+	}
+
+	/**
+	 * Checks whether this record carries an ingestion timestamp, i.e., whether its latency is tracked.
+	 */
+	public boolean hasIngestionTimestamp() {
+		return hasIngestionTimestamp;
+	}
+
+	public void setIngestionTimestamp(long ingestionTimestamp) {
+		this.ingestionTimestamp = ingestionTimestamp;
+		this.hasIngestionTimestamp = true;
+	}
+
+	public void eraseIngestionTimestamp() {
+		this.hasIngestionTimestamp = false;
+	}
+
 	// ------------------------------------------------------------------------
 	//  Copying
 	// ------------------------------------------------------------------------
@@ -146,6 +176,8 @@ public final class StreamRecord<T> extends StreamElement {
 		StreamRecord<T> copy = new StreamRecord<>(valueCopy);
 		copy.timestamp = this.timestamp;
 		copy.hasTimestamp = this.hasTimestamp;
+		copy.ingestionTimestamp = this.ingestionTimestamp;
+		copy.hasIngestionTimestamp = this.hasIngestionTimestamp;
 		return copy;
 	}
 
@@ -157,6 +189,8 @@ public final class StreamRecord<T> extends StreamElement {
 		target.value = valueCopy;
 		target.timestamp = this.timestamp;
 		target.hasTimestamp = this.hasTimestamp;
+		target.ingestionTimestamp = this.ingestionTimestamp;
+		target.hasIngestionTimestamp = this.hasIngestionTimestamp;
 	}
 
 	// ------------------------------------------------------------------------
@@ -19,6 +19,7 @@ package org.apache.flink.streaming.runtime.tasks;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.functions.Function;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.metrics.Counter;
@@ -36,8 +37,12 @@ import org.apache.flink.runtime.plugable.SerializationDelegate;
 import org.apache.flink.streaming.api.collector.selector.CopyingDirectedOutput;
 import org.apache.flink.streaming.api.collector.selector.DirectedOutput;
 import org.apache.flink.streaming.api.collector.selector.OutputSelector;
+import org.apache.flink.streaming.api.functions.DoesNotRetainInput;
 import org.apache.flink.streaming.api.graph.StreamConfig;
 import org.apache.flink.streaming.api.graph.StreamEdge;
+import org.apache.flink.streaming.api.operators.AbstractUdfStreamOperator;
+import org.apache.flink.streaming.api.operators.BatchedOneInputStreamOperator;
+import org.apache.flink.streaming.api.operators.BatchingOutput;
 import org.apache.flink.streaming.api.operators.BoundedMultiInput;
 import org.apache.flink.streaming.api.operators.BoundedOneInput;
 import org.apache.flink.streaming.api.operators.InputSelection;
@@ -48,8 +53,10 @@ import org.apache.flink.streaming.api.operators.StreamOperatorFactory;
 import org.apache.flink.streaming.api.operators.TwoInputStreamOperator;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.io.RecordWriterOutput;
+import org.apache.flink.streaming.runtime.metrics.RecordLatencyTracker;
 import org.apache.flink.streaming.runtime.metrics.WatermarkGauge;
 import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
+import org.apache.flink.streaming.runtime.streamrecord.RecordBatch;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.streaming.runtime.streamstatus.StreamStatus;
 import org.apache.flink.streaming.runtime.streamstatus.StreamStatusMaintainer;
@@ -434,6 +441,10 @@ public class OperatorChain<OUT, OP extends StreamOperator<OUT>> implements Strea
 		if (containingTask.getExecutionConfig().isObjectReuseEnabled()) {
 			currentOperatorOutput = new ChainingOutput<>(chainedOperator, this, outputTag);
 		}
+		else if (operatorConfig.getDoesNotRetainInput() || !mayRetainInput(chainedOperator)) {
+			LOG.debug("Chaining operator {} without copying its input records.", operatorConfig.getOperatorName());
+			currentOperatorOutput = new ReusingChainingOutput<>(chainedOperator, this, outputTag);
+		}
 		else {
 			TypeSerializer<IN> inSerializer = operatorConfig.getTypeSerializerIn1(userCodeClassloader);
 			currentOperatorOutput = new CopyingChainingOutput<>(chainedOperator, inSerializer, outputTag, this);
@@ -446,6 +457,27 @@ public class OperatorChain<OUT, OP extends StreamOperator<OUT>> implements Strea
 		return currentOperatorOutput;
 	}
 
+	/**
+	 * Checks whether the given operator may keep references to or modify its input records, i.e.,
+	 * whether it needs copies of the records when object reuse is disabled. This is decided by the
+	 * {@link DoesNotRetainInput} annotation of the operator and, if the operator wraps a user
+	 * function, of that function. Operators whose functions cannot be annotated, e.g. lambdas, are
+	 * declared through {@link StreamConfig#getDoesNotRetainInput()} instead.
+	 */
+	@VisibleForTesting
+	static boolean mayRetainInput(StreamOperator<?> operator) {
+		if (!operator.getClass().isAnnotationPresent(DoesNotRetainInput.class)) {
+			return true;
+		}
+
+		if (operator instanceof AbstractUdfStreamOperator) {
+			Function userFunction = ((AbstractUdfStreamOperator<?, ?>) operator).getUserFunction();
+			return !userFunction.getClass().isAnnotationPresent(DoesNotRetainInput.class);
+		}
+
+		return false;
+	}
+
 	private RecordWriterOutput<OUT> createStreamOutput(
 			RecordWriter<SerializationDelegate<StreamRecord<OUT>>> recordWriter,
 			StreamEdge edge,
@@ -480,10 +512,11 @@ public class OperatorChain<OUT, OP extends StreamOperator<OUT>> implements Strea
 		Gauge<Long> getWatermarkGauge();
 	}
 
-	static class ChainingOutput<T> implements WatermarkGaugeExposingOutput<StreamRecord<T>> {
+	static class ChainingOutput<T> implements WatermarkGaugeExposingOutput<StreamRecord<T>>, BatchingOutput<T> {
 
 		protected final OneInputStreamOperator<T, ?> operator;
 		protected final Counter numRecordsIn;
+		protected final RecordLatencyTracker recordLatencyTracker;
 		protected final WatermarkGauge watermarkGauge = new WatermarkGauge();
 
 		protected final StreamStatusProvider streamStatusProvider;
@@ -509,6 +542,7 @@ public class OperatorChain<OUT, OP extends StreamOperator<OUT>> implements Strea
 				numRecordsIn = tmpNumRecordsIn;
 			}
 
+			this.recordLatencyTracker = new RecordLatencyTracker(operator.getMetricGroup());
 			this.streamStatusProvider = streamStatusProvider;
 			this.outputTag = outputTag;
 		}
@@ -542,6 +576,7 @@ public class OperatorChain<OUT, OP extends StreamOperator<OUT>> implements Strea
 				StreamRecord<T> castRecord = (StreamRecord<T>) record;
 
 				numRecordsIn.inc();
+				recordLatencyTracker.reportLatency(castRecord);
 				operator.setKeyContextElement1(castRecord);
 				operator.processElement(castRecord);
 			}
@@ -550,6 +585,33 @@ public class OperatorChain<OUT, OP extends StreamOperator<OUT>> implements Strea
 			}
 		}
 
+		@Override
+		public void collectBatch(RecordBatch<T> batch) {
+			if (this.outputTag != null) {
+				// we are only responsible for emitting to the main input
+				return;
+			}
+
+			pushBatchToOperator(batch);
+		}
+
+		protected void pushBatchToOperator(RecordBatch<T> batch) {
+			if (operator instanceof BatchedOneInputStreamOperator) {
+				try {
+					numRecordsIn.inc(batch.size());
+					recordLatencyTracker.reportLatency(batch);
+					((BatchedOneInputStreamOperator<T, ?>) operator).processElements(batch);
+				}
+				catch (Exception e) {
+					throw new ExceptionInChainedOperatorException(e);
+				}
+			} else {
+				for (int i = 0; i < batch.size(); i++) {
+					pushToOperator(batch.get(i));
+				}
+			}
+		}
+
 		@Override
 		public void emitWatermark(Watermark mark) {
 			try {
@@ -593,6 +655,9 @@ public class OperatorChain<OUT, OP extends StreamOperator<OUT>> implements Strea
 
 		private final TypeSerializer<T> serializer;
 
+		/** Batch for the copies of the records of batches, lazily created. */
+		private RecordBatch<T> copyBatch;
+
 		public CopyingChainingOutput(
 				OneInputStreamOperator<T, ?> operator,
 				TypeSerializer<T> serializer,
@@ -632,6 +697,7 @@ public class OperatorChain<OUT, OP extends StreamOperator<OUT>> implements Strea
 				StreamRecord<T> castRecord = (StreamRecord<T>) record;
 
 				numRecordsIn.inc();
+				recordLatencyTracker.reportLatency(castRecord);
 				StreamRecord<T> copy = castRecord.copy(serializer.copy(castRecord.getValue()));
 				operator.setKeyContextElement1(copy);
 				operator.processElement(copy);
@@ -655,6 +721,90 @@ public class OperatorChain<OUT, OP extends StreamOperator<OUT>> implements Strea
 			}
 
 		}
+
+		@Override
+		protected void pushBatchToOperator(RecordBatch<T> batch) {
+			if (!(operator instanceof BatchedOneInputStreamOperator)) {
+				super.pushBatchToOperator(batch);
+				return;
+			}
+
+			if (copyBatch == null || copyBatch.capacity() < batch.size()) {
+				copyBatch = new RecordBatch<>(batch.capacity());
+			}
+
+			try {
+				for (int i = 0; i < batch.size(); i++) {
+					StreamRecord<T> record = batch.get(i);
+					copyBatch.add(record.copy(serializer.copy(record.getValue())));
+				}
+				super.pushBatchToOperator(copyBatch);
+			} finally {
+				copyBatch.clear();
+			}
+		}
+	}
+
+	/**
+	 * A {@link ChainingOutput} for operators which neither keep references to nor modify their
+	 * input records, see {@link DoesNotRetainInput}. Instead of deep copies, it hands a reused
+	 * {@link StreamRecord} with the original value to the operator. The operator may still replace
+	 * the value of that record, which leaves the record of the emitting operator untouched.
+	 */
+	static final class ReusingChainingOutput<T> extends ChainingOutput<T> {
+
+		private final StreamRecord<T> reuse = new StreamRecord<>(null);
+
+		/** Batch and records for the batches handed to the operator, lazily created. */
+		private RecordBatch<T> reuseBatch;
+
+		private StreamRecord<T>[] reuseBatchRecords;
+
+		public ReusingChainingOutput(
+				OneInputStreamOperator<T, ?> operator,
+				StreamStatusProvider streamStatusProvider,
+				@Nullable OutputTag<T> outputTag) {
+			super(operator, streamStatusProvider, outputTag);
+		}
+
+		@Override
+		protected <X> void pushToOperator(StreamRecord<X> record) {
+			// we know that the given outputTag matches our OutputTag so the record
+			// must be of the type that our operator expects.
+			@SuppressWarnings("unchecked")
+			StreamRecord<T> castRecord = (StreamRecord<T>) record;
+
+			castRecord.copyTo(castRecord.getValue(), reuse);
+			super.pushToOperator(reuse);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected void pushBatchToOperator(RecordBatch<T> batch) {
+			if (!(operator instanceof BatchedOneInputStreamOperator)) {
+				super.pushBatchToOperator(batch);
+				return;
+			}
+
+			if (reuseBatch == null || reuseBatch.capacity() < batch.size()) {
+				reuseBatch = new RecordBatch<>(batch.capacity());
+				reuseBatchRecords = (StreamRecord<T>[]) new StreamRecord[batch.capacity()];
+				for (int i = 0; i < reuseBatchRecords.length; i++) {
+					reuseBatchRecords[i] = new StreamRecord<>(null);
+				}
+			}
+
+			try {
+				for (int i = 0; i < batch.size(); i++) {
+					StreamRecord<T> record = batch.get(i);
+					record.copyTo(record.getValue(), reuseBatchRecords[i]);
+					reuseBatch.add(reuseBatchRecords[i]);
+				}
+				super.pushBatchToOperator(reuseBatch);
+			} finally {
+				reuseBatch.clear();
+			}
+		}
 	}
 
 	static class BroadcastingOutputCollector<T> implements WatermarkGaugeExposingOutput<StreamRecord<T>> {
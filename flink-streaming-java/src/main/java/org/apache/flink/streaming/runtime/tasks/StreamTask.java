@@ -20,6 +20,7 @@ package org.apache.flink.streaming.runtime.tasks;
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.accumulators.Accumulator;
+import org.apache.flink.configuration.MetricOptions;
 import org.apache.flink.configuration.TaskManagerOptions;
 import org.apache.flink.core.fs.CloseableRegistry;
 import org.apache.flink.core.fs.FileSystemSafetyNet;
@@ -354,7 +355,9 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
 			LOG.debug("Invoking {}", getName());
 
 			// open mailbox
+			mailboxProcessor.registerMetrics(getEnvironment().getMetricGroup());
 			mailboxProcessor.open();
+			scheduleMailboxLatencyMeasurement();
 
 			// we need to make sure that any triggers scheduled in open() cannot be
 			// executed before all operators are opened
@@ -493,6 +496,18 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
 		return mailboxProcessor.getMailboxExecutor();
 	}
 
+	private void scheduleMailboxLatencyMeasurement() {
+		final long interval = getEnvironment().getTaskManagerInfo().getConfiguration()
+			.getLong(MetricOptions.MAILBOX_LATENCY_INTERVAL);
+
+		if (interval > 0) {
+			timerService.scheduleAtFixedRate(
+				timestamp -> mailboxProcessor.measureMailboxLatency(),
+				interval,
+				interval);
+		}
+	}
+
 	public final boolean isRunning() {
 		return isRunning;
 	}
@@ -56,7 +56,8 @@ public interface Mailbox extends MailboxReceiver, MailboxSender {
 	List<Runnable> close();
 
 	/**
-	 * Adds the given action to the head of the mailbox.
+	 * Adds the given action to the head of the mailbox, i.e. in front of all letters of the
+	 * {@link Priority#HIGH high priority} lane.
 	 *
 	 * @param priorityLetter action to enqueue to the head of the mailbox.
 	 * @throws MailboxStateException if the mailbox is quiesced or closed.
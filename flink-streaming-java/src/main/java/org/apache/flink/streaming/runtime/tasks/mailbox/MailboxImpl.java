@@ -36,6 +36,11 @@ import java.util.concurrent.locks.ReentrantLock;
 /**
  * Implementation of {@link Mailbox} inspired by {@link java.util.concurrent.ArrayBlockingQueue} and tailored towards
  * our use case with multiple writers, single reader and volatile reads instead of lock & read on {@link #count}.
+ *
+ * <p>Letters of the {@link Priority#DEFAULT default} lane are handed over to the reader in batches: whenever the
+ * reader has consumed all previously handed over letters, it swaps the complete default lane into its private
+ * {@link #batch} under a single lock acquisition. All following takes are served from the batch without locking, as
+ * long as there is no mail in the {@link Priority#HIGH high priority} lane, which is checked by a volatile read.
  */
 @ThreadSafe
 public class MailboxImpl implements Mailbox {
@@ -46,10 +51,22 @@ public class MailboxImpl implements Mailbox {
 	private final ReentrantLock lock;
 
 	/**
-	 * Internal queue of letters.
+	 * Internal queue of letters for the high priority lane.
 	 */
 	@GuardedBy("lock")
-	private final LinkedList<Runnable> queue;
+	private final LinkedList<Runnable> priorityQueue;
+
+	/**
+	 * Internal queue of letters for the default lane.
+	 */
+	@GuardedBy("lock")
+	private LinkedList<Runnable> queue;
+
+	/**
+	 * Letters of the default lane that have already been handed over to the reader. This must only be accessed by the
+	 * single reader thread, or when closing the mailbox while the reader is no longer taking letters.
+	 */
+	private LinkedList<Runnable> batch;
 
 	/**
 	 * Condition that is triggered when the mailbox is no longer empty.
@@ -58,11 +75,18 @@ public class MailboxImpl implements Mailbox {
 	private final Condition notEmpty;
 
 	/**
-	 * Number of letters in the mailbox. We track it separately from the queue#size to avoid locking on {@link #hasMail()}.
+	 * Number of letters in both lanes, excluding the {@link #batch}. We track it separately from the queue#size to
+	 * avoid locking on {@link #hasMail()}.
 	 */
 	@GuardedBy("lock")
 	private volatile int count;
 
+	/**
+	 * Number of letters in the high priority lane. Tracked separately to avoid locking for takes from the batch.
+	 */
+	@GuardedBy("lock")
+	private volatile int priorityCount;
+
 	/**
 	 * The state of the mailbox in the lifecycle of open, quiesced, and closed.
 	 */
@@ -73,10 +97,18 @@ public class MailboxImpl implements Mailbox {
 		this.lock = new ReentrantLock();
 		this.notEmpty = lock.newCondition();
 		this.state = State.CLOSED;
+		this.priorityQueue = new LinkedList<>();
 		this.queue = new LinkedList<>();
+		this.batch = new LinkedList<>();
 		this.count = 0;
+		this.priorityCount = 0;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Letters that were already handed over to the reader are only visible to the reader thread.
+	 */
 	@Override
 	public boolean hasMail() {
 		return !isEmpty();
@@ -84,6 +116,11 @@ public class MailboxImpl implements Mailbox {
 
 	@Override
 	public Optional<Runnable> tryTakeMail() throws MailboxStateException {
+		if (priorityCount == 0 && !batch.isEmpty()) {
+			checkTakeStateConditions();
+			return Optional.of(batch.pollFirst());
+		}
+
 		final ReentrantLock lock = this.lock;
 		lock.lock();
 		try {
@@ -113,10 +150,15 @@ public class MailboxImpl implements Mailbox {
 
 	@Override
 	public void putMail(@Nonnull Runnable letter) throws MailboxStateException {
+		putMail(letter, Priority.DEFAULT);
+	}
+
+	@Override
+	public void putMail(@Nonnull Runnable letter, @Nonnull Priority priority) throws MailboxStateException {
 		final ReentrantLock lock = this.lock;
 		lock.lock();
 		try {
-			putTailInternal(letter);
+			putTailInternal(letter, priority);
 		} finally {
 			lock.unlock();
 		}
@@ -140,15 +182,21 @@ public class MailboxImpl implements Mailbox {
 	private void putHeadInternal(Runnable newHead) throws MailboxStateException {
 		assert lock.isHeldByCurrentThread();
 		checkPutStateConditions();
-		queue.addFirst(newHead);
+		priorityQueue.addFirst(newHead);
+		++priorityCount;
 		incrementCountAndCheckOverflow();
 		notEmpty.signal();
 	}
 
-	private void putTailInternal(Runnable newTail) throws MailboxStateException {
+	private void putTailInternal(Runnable newTail, Priority priority) throws MailboxStateException {
 		assert lock.isHeldByCurrentThread();
 		checkPutStateConditions();
-		queue.addLast(newTail);
+		if (priority == Priority.HIGH) {
+			priorityQueue.addLast(newTail);
+			++priorityCount;
+		} else {
+			queue.addLast(newTail);
+		}
 		incrementCountAndCheckOverflow();
 		notEmpty.signal();
 	}
@@ -161,22 +209,44 @@ public class MailboxImpl implements Mailbox {
 	private Runnable takeHeadInternal() throws MailboxStateException {
 		assert lock.isHeldByCurrentThread();
 		checkTakeStateConditions();
-		Runnable oldHead = queue.pollFirst();
+		Runnable oldHead = priorityQueue.pollFirst();
 		if (oldHead != null) {
+			--priorityCount;
 			--count;
+			return oldHead;
 		}
-		return oldHead;
+		if (batch.isEmpty() && !queue.isEmpty()) {
+			swapQueueIntoBatch();
+		}
+		return batch.pollFirst();
+	}
+
+	/**
+	 * Hands over all letters of the default lane to the reader by swapping the (empty) batch with the queue.
+	 */
+	private void swapQueueIntoBatch() {
+		assert lock.isHeldByCurrentThread();
+		assert batch.isEmpty();
+		final LinkedList<Runnable> newBatch = queue;
+		queue = batch;
+		batch = newBatch;
+		count -= newBatch.size();
 	}
 
 	private void drainAllLetters(List<Runnable> drainInto) {
 		assert lock.isHeldByCurrentThread();
+		drainInto.addAll(priorityQueue);
+		drainInto.addAll(batch);
 		drainInto.addAll(queue);
+		priorityQueue.clear();
+		batch.clear();
 		queue.clear();
 		count = 0;
+		priorityCount = 0;
 	}
 
 	private boolean isEmpty() {
-		return count == 0;
+		return count == 0 && batch.isEmpty();
 	}
 
 	private boolean isPutAbleState() {
@@ -235,7 +305,7 @@ public class MailboxImpl implements Mailbox {
 			if (state == State.CLOSED) {
 				return Collections.emptyList();
 			}
-			ArrayList<Runnable> droppedLetters = new ArrayList<>(count);
+			ArrayList<Runnable> droppedLetters = new ArrayList<>(count + batch.size());
 			drainAllLetters(droppedLetters);
 			state = State.CLOSED;
 			// to unblock all
@@ -26,6 +26,19 @@ import javax.annotation.Nonnull;
  */
 public interface MailboxSender {
 
+	/**
+	 * The priority lanes of a mailbox. Letters of a higher priority lane are always taken before letters of a lower
+	 * priority lane, within a lane letters are taken in the order by which they were enqueued.
+	 */
+	enum Priority {
+
+		/** Lane for control letters and checkpoint related actions, which should not queue up behind other letters. */
+		HIGH,
+
+		/** Lane for all other letters, e.g. timer firing or async results. */
+		DEFAULT
+	}
+
 	/**
 	 * Enqueues the given letter to the mailbox and blocks until there is capacity for a successful put.
 	 *
@@ -33,4 +46,13 @@ public interface MailboxSender {
 	 * @throws MailboxStateException if the mailbox is quiesced or closed.
 	 */
 	void putMail(@Nonnull Runnable letter) throws  MailboxStateException;
+
+	/**
+	 * Enqueues the given letter to the tail of the given priority lane of the mailbox.
+	 *
+	 * @param letter the letter to enqueue.
+	 * @param priority the priority lane to enqueue the letter to.
+	 * @throws MailboxStateException if the mailbox is quiesced or closed.
+	 */
+	void putMail(@Nonnull Runnable letter, @Nonnull Priority priority) throws MailboxStateException;
 }
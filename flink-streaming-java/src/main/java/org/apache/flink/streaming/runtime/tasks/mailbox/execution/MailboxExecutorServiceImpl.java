@@ -42,19 +42,31 @@ public class MailboxExecutorServiceImpl extends AbstractExecutorService implemen
 	@Nonnull
 	private final Mailbox mailbox;
 
+	/** The priority lane of the mailbox to which submitted runnable objects are enqueued. */
+	@Nonnull
+	private final Mailbox.Priority priority;
+
 	public MailboxExecutorServiceImpl(@Nonnull Mailbox mailbox) {
 		this(mailbox, Thread.currentThread());
 	}
 
 	public MailboxExecutorServiceImpl(@Nonnull Mailbox mailbox, @Nonnull Thread taskMailboxThread) {
+		this(mailbox, taskMailboxThread, Mailbox.Priority.DEFAULT);
+	}
+
+	public MailboxExecutorServiceImpl(
+		@Nonnull Mailbox mailbox,
+		@Nonnull Thread taskMailboxThread,
+		@Nonnull Mailbox.Priority priority) {
 		this.mailbox = mailbox;
 		this.taskMailboxThread = taskMailboxThread;
+		this.priority = priority;
 	}
 
 	@Override
 	public void execute(@Nonnull Runnable command) {
 		try {
-			mailbox.putMail(command);
+			mailbox.putMail(command, priority);
 		} catch (MailboxStateException mbex) {
 			throw new RejectedExecutionException(mbex);
 		}
@@ -18,7 +18,14 @@
 
 package org.apache.flink.streaming.runtime.tasks.mailbox.execution;
 
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.MeterView;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.SimpleCounter;
 import org.apache.flink.runtime.concurrent.FutureUtils;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
 import org.apache.flink.streaming.runtime.tasks.mailbox.Mailbox;
 import org.apache.flink.streaming.runtime.tasks.mailbox.MailboxImpl;
 import org.apache.flink.streaming.runtime.tasks.mailbox.MailboxStateException;
@@ -50,6 +57,10 @@ import java.util.Optional;
  * the change is picked up. For control flag changes by all other threads, that must happen through mailbox actions,
  * this is automatically the case.
  *
+ * <p>Control letters of this class (e.g. poison letter, resume of the default action) are enqueued in front of the
+ * {@link Mailbox.Priority#HIGH high priority} lane of the mailbox. Client code can submit actions to either lane
+ * through {@link #getMailboxExecutor(Mailbox.Priority)}.
+ *
  * <p>This class has a open-prepareClose-close lifecycle that is connected with and maps to the lifecycle of the
  * encapsulated {@link Mailbox} (which is open-quiesce-close).
  */
@@ -57,12 +68,22 @@ public class MailboxProcessor {
 
 	private static final Logger LOG = LoggerFactory.getLogger(MailboxProcessor.class);
 
+	public static final String MAILBOX_THROUGHPUT = "mailboxMailsPerSecond";
+
+	public static final String MAILBOX_LATENCY = "mailboxLatencyUs";
+
+	/** The number of latency measurements that are kept for the mailbox latency histogram. */
+	private static final int MAILBOX_LATENCY_HISTORY_SIZE = 128;
+
 	/** The mailbox data-structure that manages request for special actions, like timers, checkpoints, ... */
 	private final Mailbox mailbox;
 
 	/** Executor-style facade for client code to submit actions to the mailbox. */
 	private final MailboxExecutorService mailboxExecutor;
 
+	/** Executor-style facade for client code to submit actions to the high priority lane of the mailbox. */
+	private final MailboxExecutorService priorityMailboxExecutor;
+
 	/** Action that is repeatedly executed if no action request is in the mailbox. Typically record processing. */
 	private final MailboxDefaultAction mailboxDefaultAction;
 
@@ -79,13 +100,23 @@ public class MailboxProcessor {
 	/** Special action that is used to terminate the mailbox loop. */
 	private final Runnable mailboxPoisonLetter;
 
+	/** Counts all letters that were executed by the mailbox loop. */
+	private final Counter numMailsProcessed;
+
+	/** Time in microseconds between enqueuing and executing the latency measurement letters. */
+	private final Histogram mailboxLatency;
+
 	public MailboxProcessor(MailboxDefaultAction mailboxDefaultAction) {
 		this.mailboxDefaultAction = Preconditions.checkNotNull(mailboxDefaultAction);
 		this.mailbox = new MailboxImpl();
-		this.mailboxExecutor = new MailboxExecutorServiceImpl(mailbox);
+		final Thread mailboxThread = Thread.currentThread();
+		this.mailboxExecutor = new MailboxExecutorServiceImpl(mailbox, mailboxThread, Mailbox.Priority.DEFAULT);
+		this.priorityMailboxExecutor = new MailboxExecutorServiceImpl(mailbox, mailboxThread, Mailbox.Priority.HIGH);
 		this.mailboxPoisonLetter = () -> mailboxLoopRunning = false;
 		this.mailboxLoopRunning = true;
 		this.suspendedDefaultAction = null;
+		this.numMailsProcessed = new SimpleCounter();
+		this.mailboxLatency = new DescriptiveStatisticsHistogram(MAILBOX_LATENCY_HISTORY_SIZE);
 	}
 
 	/**
@@ -95,6 +126,37 @@ public class MailboxProcessor {
 		return mailboxExecutor;
 	}
 
+	/**
+	 * Returns an executor service facade to submit actions to the given priority lane of the mailbox.
+	 */
+	public MailboxExecutorService getMailboxExecutor(Mailbox.Priority priority) {
+		return priority == Mailbox.Priority.HIGH ? priorityMailboxExecutor : mailboxExecutor;
+	}
+
+	/**
+	 * Registers the mailbox throughput and latency metrics with the given metric group. The latency histogram is
+	 * only updated through {@link #measureMailboxLatency()}.
+	 */
+	public void registerMetrics(MetricGroup metricGroup) {
+		metricGroup.meter(MAILBOX_THROUGHPUT, new MeterView(numMailsProcessed, 60));
+		metricGroup.histogram(MAILBOX_LATENCY, mailboxLatency);
+	}
+
+	/**
+	 * Enqueues a letter to the default lane of the mailbox that reports the time until its execution to the mailbox
+	 * latency histogram. This method can be called from any thread and does nothing if the mailbox is not open.
+	 */
+	public void measureMailboxLatency() {
+		final long enqueueTimeNanos = System.nanoTime();
+		try {
+			mailbox.putMail(
+				() -> mailboxLatency.update((System.nanoTime() - enqueueTimeNanos) / 1_000L),
+				Mailbox.Priority.DEFAULT);
+		} catch (MailboxStateException me) {
+			LOG.debug("Could not submit mailbox latency measurement letter to mailbox.", me);
+		}
+	}
+
 	/**
 	 * Lifecycle method to open the mailbox for action submission.
 	 */
@@ -182,11 +244,13 @@ public class MailboxProcessor {
 			return true;
 		}
 
-		// TODO consider batched draining into list and/or limit number of executed letters
-		// Take letters in a non-blockingly and execute them.
+		// Take letters in a non-blockingly and execute them. The mailbox hands over letters of the default lane in
+		// batches, so that only the first take of each batch (or a take of high priority mail) acquires the lock.
+		final Counter numMailsProcessed = this.numMailsProcessed;
 		Optional<Runnable> maybeLetter;
 		while (isMailboxLoopRunning() && (maybeLetter = mailbox.tryTakeMail()).isPresent()) {
 			maybeLetter.get().run();
+			numMailsProcessed.inc();
 		}
 
 		// If the default action is currently not available, we can run a blocking mailbox execution until the default
@@ -194,11 +258,22 @@ public class MailboxProcessor {
 		while (isDefaultActionUnavailable() && isMailboxLoopRunning()) {
 			Runnable letter = mailbox.takeMail();
 			letter.run();
+			numMailsProcessed.inc();
 		}
 
 		return isMailboxLoopRunning();
 	}
 
+	@VisibleForTesting
+	Counter getNumMailsProcessed() {
+		return numMailsProcessed;
+	}
+
+	@VisibleForTesting
+	Histogram getMailboxLatency() {
+		return mailboxLatency;
+	}
+
 	/**
 	 * Calling this method signals that the mailbox-thread should (temporarily) stop invoking the default action,
 	 * e.g. because there is currently no input available.
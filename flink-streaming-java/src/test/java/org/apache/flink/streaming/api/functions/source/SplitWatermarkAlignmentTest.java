@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.functions.source;
+
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
+import org.apache.flink.streaming.api.functions.source.GlobalAggregateWatermarkTracker.ParticipantWatermark;
+import org.apache.flink.streaming.api.functions.source.GlobalAggregateWatermarkTracker.WatermarkAggregateFunction;
+import org.apache.flink.streaming.api.functions.source.GlobalAggregateWatermarkTracker.WatermarkUpdate;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the watermark alignment of the {@link SplitWatermarkMultiplexer} and the
+ * {@link GlobalAggregateWatermarkTracker}.
+ */
+public class SplitWatermarkAlignmentTest extends TestLogger {
+
+	@Test
+	public void testPauseSplitsAheadOfGlobalWatermark() throws Exception {
+		WatermarkCollectingContext context = new WatermarkCollectingContext();
+		TestingWatermarkTracker tracker = new TestingWatermarkTracker();
+
+		SplitWatermarkMultiplexer<Long> multiplexer = new SplitWatermarkMultiplexer<>(context);
+		multiplexer.enableWatermarkAlignment(tracker, 100L, Runnable::run);
+
+		SplitWatermarkMultiplexer.SplitContext<Long> slowSplit = multiplexer.createSplitContext(null);
+		SplitWatermarkMultiplexer.SplitContext<Long> fastSplit = multiplexer.createSplitContext(null);
+
+		slowSplit.emitWatermark(new Watermark(1000L));
+		fastSplit.emitWatermark(new Watermark(1150L));
+
+		// another source holds back the global watermark
+		tracker.globalWatermark = 1000L;
+		multiplexer.emitPeriodicWatermark(0L);
+
+		assertEquals(1000L, tracker.reportedWatermark);
+		assertFalse(tracker.reportedIdle);
+		assertFalse(slowSplit.isPaused());
+		assertTrue(fastSplit.isPaused());
+
+		// the split is resumed once the global watermark catches up
+		tracker.globalWatermark = 1050L;
+		multiplexer.emitPeriodicWatermark(1L);
+		assertFalse(fastSplit.isPaused());
+
+		// paused splits are not considered idle, idle splits are never paused
+		multiplexer.setSplitIdleTimeout(10L);
+		tracker.globalWatermark = 1000L;
+		multiplexer.emitPeriodicWatermark(2L);
+		assertTrue(fastSplit.isPaused());
+		multiplexer.emitPeriodicWatermark(100L);
+		assertTrue(fastSplit.isPaused());
+
+		fastSplit.markAsTemporarilyIdle();
+		slowSplit.markAsTemporarilyIdle();
+		multiplexer.emitPeriodicWatermark(101L);
+		assertTrue(tracker.reportedIdle);
+		assertFalse(fastSplit.isPaused());
+
+		multiplexer.close();
+	}
+
+	@Test
+	public void testNoAlignmentWithoutGlobalWatermark() throws Exception {
+		WatermarkCollectingContext context = new WatermarkCollectingContext();
+		TestingWatermarkTracker tracker = new TestingWatermarkTracker();
+
+		SplitWatermarkMultiplexer<Long> multiplexer = new SplitWatermarkMultiplexer<>(context);
+		multiplexer.enableWatermarkAlignment(tracker, 0L, Runnable::run);
+
+		SplitWatermarkMultiplexer.SplitContext<Long> split = multiplexer.createSplitContext(null);
+		split.emitWatermark(new Watermark(1000L));
+
+		tracker.globalWatermark = Long.MIN_VALUE;
+		multiplexer.emitPeriodicWatermark(0L);
+
+		assertFalse(split.isPaused());
+		assertEquals(1000L, context.watermarks.get(context.watermarks.size() - 1).getTimestamp());
+	}
+
+	@Test
+	public void testGlobalAggregateWatermarkTracker() throws Exception {
+		TestingGlobalAggregateManager aggregateManager = new TestingGlobalAggregateManager();
+
+		GlobalWatermarkTracker first = new GlobalAggregateWatermarkTracker(aggregateManager, "alignment", "first", 60_000L);
+		GlobalWatermarkTracker second = new GlobalAggregateWatermarkTracker(aggregateManager, "alignment", "second", 60_000L);
+		GlobalWatermarkTracker other = new GlobalAggregateWatermarkTracker(aggregateManager, "other", "first", 60_000L);
+
+		assertEquals(Long.MIN_VALUE, first.updateWatermark(Long.MIN_VALUE, true));
+		assertEquals(200L, first.updateWatermark(200L, false));
+		assertEquals(100L, second.updateWatermark(100L, false));
+		assertEquals(100L, first.updateWatermark(300L, false));
+
+		// idle participants do not hold back the global watermark
+		assertEquals(300L, second.updateWatermark(100L, true));
+
+		// aggregates with different names are independent
+		assertEquals(50L, other.updateWatermark(50L, false));
+		assertEquals(300L, first.updateWatermark(300L, false));
+	}
+
+	@Test
+	public void testMergeWatermarkAccumulators() {
+		WatermarkAggregateFunction function = new WatermarkAggregateFunction(60_000L);
+
+		Map<String, ParticipantWatermark> a = function.createAccumulator();
+		function.add(new WatermarkUpdate("first", 300L, false), a);
+		function.add(new WatermarkUpdate("second", 200L, false), a);
+		function.add(new WatermarkUpdate("idle", 50L, true), a);
+
+		Map<String, ParticipantWatermark> b = function.createAccumulator();
+		function.add(new WatermarkUpdate("first", 100L, false), b);
+		function.add(new WatermarkUpdate("third", 400L, false), b);
+		function.add(new WatermarkUpdate("idle", 60L, true), b);
+
+		// the smaller watermark of a participant in both accumulators is kept
+		Map<String, ParticipantWatermark> merged = function.merge(a, b);
+		assertEquals(4, merged.size());
+		assertEquals(100L, (long) function.getResult(merged));
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static final class TestingWatermarkTracker implements GlobalWatermarkTracker {
+
+		private long globalWatermark = Long.MIN_VALUE;
+
+		private long reportedWatermark = Long.MIN_VALUE;
+
+		private boolean reportedIdle;
+
+		@Override
+		public long updateWatermark(long localWatermark, boolean idle) {
+			this.reportedWatermark = localWatermark;
+			this.reportedIdle = idle;
+			return globalWatermark;
+		}
+	}
+
+	/**
+	 * Applies the aggregate functions locally, like the JobManager does.
+	 */
+	private static final class TestingGlobalAggregateManager implements GlobalAggregateManager {
+
+		private final Map<String, Object> accumulators = new HashMap<>();
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <IN, ACC, OUT> OUT updateGlobalAggregate(
+				String aggregateName,
+				Object aggregand,
+				AggregateFunction<IN, ACC, OUT> aggregateFunction) {
+
+			ACC accumulator = (ACC) accumulators.computeIfAbsent(aggregateName, name -> aggregateFunction.createAccumulator());
+			accumulator = aggregateFunction.add((IN) aggregand, accumulator);
+			accumulators.put(aggregateName, accumulator);
+			return aggregateFunction.getResult(accumulator);
+		}
+	}
+
+	private static final class WatermarkCollectingContext implements SourceFunction.SourceContext<Long> {
+
+		private final Object lock = new Object();
+
+		private final List<Watermark> watermarks = new ArrayList<>();
+
+		@Override
+		public void collect(Long element) {}
+
+		@Override
+		public void collectWithTimestamp(Long element, long timestamp) {}
+
+		@Override
+		public void emitWatermark(Watermark mark) {
+			watermarks.add(mark);
+		}
+
+		@Override
+		public void markAsTemporarilyIdle() {}
+
+		@Override
+		public Object getCheckpointLock() {
+			return lock;
+		}
+
+		@Override
+		public void close() {}
+	}
+}
@@ -21,6 +21,7 @@ import org.apache.flink.api.common.functions.FilterFunction;
 import org.apache.flink.api.common.functions.RichFilterFunction;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamrecord.RecordBatch;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
 import org.apache.flink.streaming.util.TestHarnessUtil;
@@ -79,6 +80,31 @@ public class StreamFilterTest {
 		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
 	}
 
+	@Test
+	public void testFilterBatch() throws Exception {
+		StreamFilter<Integer> operator = new StreamFilter<Integer>(new MyFilter());
+
+		OneInputStreamOperatorTestHarness<Integer, Integer> testHarness = new OneInputStreamOperatorTestHarness<Integer, Integer>(operator);
+
+		long initialTime = 0L;
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<Object>();
+
+		testHarness.open();
+
+		RecordBatch<Integer> batch = new RecordBatch<>(8);
+		for (int i = 1; i <= 7; i++) {
+			batch.add(new StreamRecord<Integer>(i, initialTime + i));
+		}
+		operator.processElements(batch);
+
+		expectedOutput.add(new StreamRecord<Integer>(2, initialTime + 2));
+		expectedOutput.add(new StreamRecord<Integer>(4, initialTime + 4));
+		expectedOutput.add(new StreamRecord<Integer>(6, initialTime + 6));
+
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+		Assert.assertEquals(3, batch.size());
+	}
+
 	@Test
 	public void testOpenClose() throws Exception {
 		StreamFilter<String> operator = new StreamFilter<String>(new TestOpenCloseFilterFunction());
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.streaming.api.TimeCharacteristic;
+import org.apache.flink.streaming.api.functions.AscendingTimestampExtractor;
+import org.apache.flink.streaming.api.functions.source.SourceFunction;
+import org.apache.flink.streaming.api.functions.source.SplitWatermarkMultiplexer;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamrecord.StreamElement;
+import org.apache.flink.streaming.runtime.tasks.TestProcessingTimeService;
+import org.apache.flink.streaming.util.CollectorOutput;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the per-split watermark generation of the {@link SplitWatermarkMultiplexer} on the
+ * source contexts of {@link StreamSourceContexts}.
+ */
+public class StreamSourceContextSplitWatermarksTest extends TestLogger {
+
+	private static final long WATERMARK_INTERVAL = 100L;
+
+	private TestProcessingTimeService processingTimeService;
+
+	private MockStreamStatusMaintainer streamStatusMaintainer;
+
+	private List<StreamElement> output;
+
+	private SourceFunction.SourceContext<Long> context;
+
+	@Before
+	public void setup() throws Exception {
+		processingTimeService = new TestProcessingTimeService();
+		processingTimeService.setCurrentTime(0L);
+		streamStatusMaintainer = new MockStreamStatusMaintainer();
+		output = new ArrayList<>();
+
+		context = StreamSourceContexts.getSourceContext(
+			TimeCharacteristic.EventTime,
+			processingTimeService,
+			new Object(),
+			streamStatusMaintainer,
+			new CollectorOutput<Long>(output),
+			WATERMARK_INTERVAL,
+			-1);
+	}
+
+	@Test
+	public void testMinimumWatermarkOfSplits() throws Exception {
+		SplitWatermarkMultiplexer<Long> multiplexer = context.createSplitWatermarkMultiplexer();
+		SourceFunction.SourceContext<Long> fastSplit = multiplexer.createSplitContext(new IdentityTimestamps());
+		SourceFunction.SourceContext<Long> slowSplit = multiplexer.createSplitContext(new IdentityTimestamps());
+
+		fastSplit.collect(10L);
+		fastSplit.collect(20L);
+		slowSplit.collect(5L);
+
+		// the records got their timestamps from the assigners of the splits
+		assertEquals(3, output.size());
+		assertEquals(20L, output.get(1).asRecord().getTimestamp());
+
+		processingTimeService.setCurrentTime(WATERMARK_INTERVAL);
+		assertEquals(new Watermark(4L), lastElement());
+
+		slowSplit.collect(30L);
+		processingTimeService.setCurrentTime(2 * WATERMARK_INTERVAL);
+		assertEquals(new Watermark(19L), lastElement());
+
+		// the watermark does not advance without progress of the splits
+		output.clear();
+		processingTimeService.setCurrentTime(3 * WATERMARK_INTERVAL);
+		assertTrue(output.isEmpty());
+
+		// a finished split no longer holds back the watermark
+		fastSplit.close();
+		assertEquals(new Watermark(29L), lastElement());
+
+		context.close();
+	}
+
+	@Test
+	public void testExplicitSplitWatermarksAndIdleness() throws Exception {
+		SplitWatermarkMultiplexer<Long> multiplexer = context.createSplitWatermarkMultiplexer();
+		SourceFunction.SourceContext<Long> first = multiplexer.createSplitContext(null);
+		SourceFunction.SourceContext<Long> second = multiplexer.createSplitContext(null);
+
+		first.emitWatermark(new Watermark(10L));
+		assertTrue(output.isEmpty());
+
+		second.emitWatermark(new Watermark(5L));
+		assertEquals(new Watermark(5L), lastElement());
+
+		// the idle split no longer holds back the watermark
+		second.markAsTemporarilyIdle();
+		assertEquals(new Watermark(10L), lastElement());
+		assertTrue(streamStatusMaintainer.getStreamStatus().isActive());
+
+		// the source is idle once all splits are idle
+		first.markAsTemporarilyIdle();
+		assertTrue(streamStatusMaintainer.getStreamStatus().isIdle());
+
+		// a record activates its split and the source again
+		second.collectWithTimestamp(42L, 42L);
+		assertTrue(streamStatusMaintainer.getStreamStatus().isActive());
+		assertEquals(42L, lastElement().asRecord().getValue());
+
+		second.emitWatermark(new Watermark(20L));
+		assertEquals(new Watermark(20L), lastElement());
+
+		context.close();
+	}
+
+	@Test
+	public void testSplitIdleTimeout() throws Exception {
+		SplitWatermarkMultiplexer<Long> multiplexer = context.createSplitWatermarkMultiplexer();
+		multiplexer.setSplitIdleTimeout(2 * WATERMARK_INTERVAL);
+
+		SourceFunction.SourceContext<Long> activeSplit = multiplexer.createSplitContext(new IdentityTimestamps());
+		SourceFunction.SourceContext<Long> stalledSplit = multiplexer.createSplitContext(new IdentityTimestamps());
+
+		stalledSplit.collect(1L);
+		for (long i = 1; i <= 4; i++) {
+			activeSplit.collect(i * 100L);
+			processingTimeService.setCurrentTime(i * WATERMARK_INTERVAL);
+		}
+
+		// the stalled split is idle after two intervals without records
+		assertEquals(new Watermark(399L), lastElement());
+		assertTrue(streamStatusMaintainer.getStreamStatus().isActive());
+
+		// the source is idle once all splits are idle
+		processingTimeService.setCurrentTime(7 * WATERMARK_INTERVAL);
+		assertTrue(streamStatusMaintainer.getStreamStatus().isIdle());
+
+		context.close();
+	}
+
+	private StreamElement lastElement() {
+		return output.get(output.size() - 1);
+	}
+
+	private static class IdentityTimestamps extends AscendingTimestampExtractor<Long> {
+
+		@Override
+		public long extractAscendingTimestamp(Long element) {
+			return element;
+		}
+	}
+}
@@ -63,6 +63,9 @@ import org.apache.flink.streaming.runtime.tasks.ProcessingTimeCallback;
 import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
 import org.apache.flink.streaming.runtime.tasks.StreamTask;
 import org.apache.flink.streaming.runtime.tasks.TestProcessingTimeService;
+import org.apache.flink.streaming.runtime.tasks.mailbox.execution.DefaultActionContext;
+import org.apache.flink.streaming.runtime.tasks.mailbox.execution.MailboxProcessor;
+import org.apache.flink.streaming.runtime.tasks.mailbox.execution.TestMailboxExecutor;
 import org.apache.flink.streaming.util.MockStreamConfig;
 import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
 import org.apache.flink.streaming.util.TestHarnessUtil;
@@ -73,7 +76,6 @@ import org.apache.flink.util.TestLogger;
 import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.Test;
-import org.mockito.ArgumentCaptor;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
@@ -85,6 +87,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
@@ -755,55 +758,49 @@ public class AsyncWaitOperatorTest extends TestLogger {
 	}
 
 	/**
-	 * Test case for FLINK-5638: Tests that the async wait operator can be closed even if the
-	 * emitter is currently waiting on the checkpoint lock (e.g. in the case of two chained async
-	 * wait operators where the latter operator's queue is currently full).
-	 *
-	 * <p>Note that this test does not enforce the exact strict ordering because with the fix it is no
-	 * longer possible. However, it provokes the described situation without the fix.
+	 * Tests that the results are emitted by the mailbox thread of the containing task under the
+	 * checkpoint lock, and that the operator yields to the mailbox to emit the results if its queue
+	 * is full.
 	 */
 	@Test(timeout = 10000L)
-	public void testClosingWithBlockedEmitter() throws Exception {
+	public void testResultsAreEmittedByMailboxThread() throws Exception {
 		final Object lock = new Object();
 
-		ArgumentCaptor<Throwable> failureReason = ArgumentCaptor.forClass(Throwable.class);
-
 		MockEnvironment environment = createMockEnvironment();
 
+		MailboxProcessor mailboxProcessor = new MailboxProcessor(DefaultActionContext::allActionsCompleted);
+		mailboxProcessor.open();
+
 		StreamTask<?, ?> containingTask = mock(StreamTask.class);
 		when(containingTask.getEnvironment()).thenReturn(environment);
 		when(containingTask.getCheckpointLock()).thenReturn(lock);
 		when(containingTask.getProcessingTimeService()).thenReturn(new TestProcessingTimeService());
+		when(containingTask.getTaskMailboxExecutor()).thenReturn(mailboxProcessor.getMailboxExecutor());
 
 		StreamConfig streamConfig = new MockStreamConfig();
 		streamConfig.setTypeSerializerIn1(IntSerializer.INSTANCE);
 
-		final OneShotLatch closingLatch = new OneShotLatch();
-		final OneShotLatch outputLatch = new OneShotLatch();
+		final Thread mailboxThread = Thread.currentThread();
+		final List<Integer> outputValues = new ArrayList<>();
 
 		Output<StreamRecord<Integer>> output = mock(Output.class);
 		doAnswer(new Answer() {
 			@Override
 			public Object answer(InvocationOnMock invocation) throws Throwable {
-				assertTrue("Output should happen under the checkpoint lock.", Thread.currentThread().holdsLock(lock));
+				assertTrue("Output should happen under the checkpoint lock.", Thread.holdsLock(lock));
+				assertEquals("Output should happen in the mailbox thread.", mailboxThread, Thread.currentThread());
 
-				outputLatch.trigger();
-
-				// wait until we're in the closing method of the operator
-				while (!closingLatch.isTriggered()) {
-					lock.wait();
-				}
+				outputValues.add(((StreamRecord<Integer>) invocation.getArguments()[0]).getValue());
 
 				return null;
 			}
 		}).when(output).collect(any(StreamRecord.class));
 
-		AsyncWaitOperator<Integer, Integer> operator = new TestAsyncWaitOperator<>(
+		AsyncWaitOperator<Integer, Integer> operator = new AsyncWaitOperator<>(
 			new MyAsyncFunction(),
-			1000L,
+			TIMEOUT,
 			1,
-			AsyncDataStream.OutputMode.ORDERED,
-			closingLatch);
+			AsyncDataStream.OutputMode.ORDERED);
 
 		operator.setup(
 			containingTask,
@@ -813,43 +810,19 @@ public class AsyncWaitOperatorTest extends TestLogger {
 		operator.open();
 
 		synchronized (lock) {
-			operator.processElement(new StreamRecord<>(42));
+			// the second and third element have to wait until the previous element has been emitted
+			operator.processElement(new StreamRecord<>(1));
+			operator.processElement(new StreamRecord<>(2));
+			operator.processElement(new StreamRecord<>(3));
 		}
 
-		outputLatch.await();
-
 		synchronized (lock) {
 			operator.close();
 		}
-	}
 
-	/**
-	 * Testing async wait operator which introduces a latch to synchronize the execution with the
-	 * emitter.
-	 */
-	private static final class TestAsyncWaitOperator<IN, OUT> extends AsyncWaitOperator<IN, OUT> {
-
-		private static final long serialVersionUID = -8528791694746625560L;
-
-		private final transient OneShotLatch closingLatch;
-
-		public TestAsyncWaitOperator(
-				AsyncFunction<IN, OUT> asyncFunction,
-				long timeout,
-				int capacity,
-				AsyncDataStream.OutputMode outputMode,
-				OneShotLatch closingLatch) {
-			super(asyncFunction, timeout, capacity, outputMode);
-
-			this.closingLatch = Preconditions.checkNotNull(closingLatch);
-		}
+		mailboxProcessor.close();
 
-		@Override
-		public void close() throws Exception {
-			closingLatch.trigger();
-			checkpointingLock.notifyAll();
-			super.close();
-		}
+		assertEquals(Arrays.asList(2, 4, 6), outputValues);
 	}
 
 	/**
@@ -877,6 +850,7 @@ public class AsyncWaitOperatorTest extends TestLogger {
 		when(containingTask.getEnvironment()).thenReturn(environment);
 		when(containingTask.getCheckpointLock()).thenReturn(lock);
 		when(containingTask.getProcessingTimeService()).thenReturn(processingTimeService);
+		when(containingTask.getTaskMailboxExecutor()).thenReturn(new TestMailboxExecutor(lock));
 
 		StreamConfig streamConfig = new MockStreamConfig();
 		streamConfig.setTypeSerializerIn1(IntSerializer.INSTANCE);
@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators.async;
+
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.streaming.api.datastream.AsyncDataStream;
+import org.apache.flink.streaming.api.functions.async.BatchAsyncFunction;
+import org.apache.flink.streaming.api.functions.async.ResultFuture;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.streaming.util.TestHarnessUtil;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link BatchAsyncWaitOperator}.
+ */
+public class BatchAsyncWaitOperatorTest extends TestLogger {
+
+	private static final long TIMEOUT = 1000L;
+
+	private static final long MAX_BATCH_DELAY = 100L;
+
+	/**
+	 * Tests that the batch async function is invoked once the maximum batch size is reached and
+	 * that the remaining records are invoked when the input ends.
+	 */
+	@Test
+	public void testBatchIsInvokedWhenFull() throws Exception {
+		final CollectingBatchAsyncFunction function = new CollectingBatchAsyncFunction(true);
+
+		final OneInputStreamOperatorTestHarness<Integer, Integer> testHarness =
+			createTestHarness(function, AsyncDataStream.OutputMode.ORDERED, 3);
+
+		final ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+
+		testHarness.open();
+
+		try {
+			synchronized (testHarness.getCheckpointLock()) {
+				for (int i = 1; i <= 7; i++) {
+					testHarness.processElement(new StreamRecord<>(i, i));
+					expectedOutput.add(new StreamRecord<>(2 * i, i));
+				}
+			}
+
+			assertEquals(Arrays.asList(3, 3), function.batchSizes);
+
+			synchronized (testHarness.getCheckpointLock()) {
+				testHarness.endInput();
+			}
+
+			assertEquals(Arrays.asList(3, 3, 1), function.batchSizes);
+			TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+		} finally {
+			synchronized (testHarness.getCheckpointLock()) {
+				testHarness.close();
+			}
+		}
+	}
+
+	/**
+	 * Tests that the batch async function is invoked once the maximum batch delay has elapsed since
+	 * the first record of the batch arrived.
+	 */
+	@Test
+	public void testBatchIsInvokedAfterMaxDelay() throws Exception {
+		final CollectingBatchAsyncFunction function = new CollectingBatchAsyncFunction(true);
+
+		final OneInputStreamOperatorTestHarness<Integer, Integer> testHarness =
+			createTestHarness(function, AsyncDataStream.OutputMode.UNORDERED, 10);
+
+		testHarness.open();
+
+		try {
+			testHarness.setProcessingTime(0L);
+
+			synchronized (testHarness.getCheckpointLock()) {
+				testHarness.processElement(new StreamRecord<>(1, 1L));
+			}
+
+			testHarness.setProcessingTime(MAX_BATCH_DELAY / 2);
+
+			synchronized (testHarness.getCheckpointLock()) {
+				testHarness.processElement(new StreamRecord<>(2, 2L));
+			}
+
+			assertEquals(Collections.emptyList(), function.batchSizes);
+
+			testHarness.setProcessingTime(MAX_BATCH_DELAY);
+
+			assertEquals(Collections.singletonList(2), function.batchSizes);
+
+			// the next record starts a new batch with its own delay
+			synchronized (testHarness.getCheckpointLock()) {
+				testHarness.processElement(new StreamRecord<>(3, 3L));
+			}
+
+			testHarness.setProcessingTime(MAX_BATCH_DELAY + MAX_BATCH_DELAY / 2);
+
+			assertEquals(Collections.singletonList(2), function.batchSizes);
+
+			testHarness.setProcessingTime(2 * MAX_BATCH_DELAY);
+
+			assertEquals(Arrays.asList(2, 1), function.batchSizes);
+		} finally {
+			synchronized (testHarness.getCheckpointLock()) {
+				testHarness.close();
+			}
+		}
+	}
+
+	/**
+	 * Tests that records of an invoked batch time out individually.
+	 */
+	@Test
+	public void testRecordsOfBatchTimeOut() throws Exception {
+		final CollectingBatchAsyncFunction function = new CollectingBatchAsyncFunction(false);
+
+		final OneInputStreamOperatorTestHarness<Integer, Integer> testHarness = new OneInputStreamOperatorTestHarness<>(
+			new BatchAsyncWaitOperator<>(function, 2 * MAX_BATCH_DELAY, 10, AsyncDataStream.OutputMode.ORDERED, 2, MAX_BATCH_DELAY),
+			IntSerializer.INSTANCE);
+
+		final ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		expectedOutput.add(new StreamRecord<>(-1, 1L));
+		expectedOutput.add(new StreamRecord<>(4, 2L));
+
+		testHarness.open();
+
+		try {
+			testHarness.setProcessingTime(0L);
+
+			synchronized (testHarness.getCheckpointLock()) {
+				testHarness.processElement(new StreamRecord<>(1, 1L));
+				testHarness.processElement(new StreamRecord<>(2, 2L));
+			}
+
+			assertEquals(Collections.singletonList(2), function.batchSizes);
+
+			// complete only the second record of the batch
+			function.resultFutures.get(1).complete(Collections.singletonList(4));
+
+			testHarness.setProcessingTime(2 * MAX_BATCH_DELAY + 1L);
+
+			synchronized (testHarness.getCheckpointLock()) {
+				testHarness.endInput();
+			}
+
+			TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+		} finally {
+			synchronized (testHarness.getCheckpointLock()) {
+				testHarness.close();
+			}
+		}
+	}
+
+	/**
+	 * Tests that a timeout which would expire before the batch of a record is invoked is rejected.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testTimeoutNotLargerThanMaxBatchDelay() {
+		new BatchAsyncWaitOperator<>(
+			new CollectingBatchAsyncFunction(false),
+			MAX_BATCH_DELAY,
+			10,
+			AsyncDataStream.OutputMode.ORDERED,
+			2,
+			MAX_BATCH_DELAY);
+	}
+
+	/**
+	 * Tests that buffered records, for which the batch async function has not been invoked yet, are
+	 * part of the snapshot and are invoked after the restore.
+	 */
+	@Test
+	public void testBufferedRecordsAreRestored() throws Exception {
+		final CollectingBatchAsyncFunction function = new CollectingBatchAsyncFunction(true);
+
+		final OneInputStreamOperatorTestHarness<Integer, Integer> snapshotHarness =
+			createTestHarness(function, AsyncDataStream.OutputMode.ORDERED, 3);
+
+		snapshotHarness.open();
+
+		final OperatorSubtaskState snapshot;
+
+		try {
+			synchronized (snapshotHarness.getCheckpointLock()) {
+				snapshotHarness.processElement(new StreamRecord<>(1, 1L));
+				snapshotHarness.processElement(new StreamRecord<>(2, 2L));
+				snapshot = snapshotHarness.snapshot(0L, 0L);
+			}
+
+			assertEquals(Collections.emptyList(), function.batchSizes);
+		} finally {
+			synchronized (snapshotHarness.getCheckpointLock()) {
+				snapshotHarness.close();
+			}
+		}
+
+		final CollectingBatchAsyncFunction restoredFunction = new CollectingBatchAsyncFunction(true);
+
+		final OneInputStreamOperatorTestHarness<Integer, Integer> recoverHarness =
+			createTestHarness(restoredFunction, AsyncDataStream.OutputMode.ORDERED, 3);
+
+		final ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		expectedOutput.add(new StreamRecord<>(2, 1L));
+		expectedOutput.add(new StreamRecord<>(4, 2L));
+		expectedOutput.add(new StreamRecord<>(6, 3L));
+
+		recoverHarness.initializeState(snapshot);
+
+		synchronized (recoverHarness.getCheckpointLock()) {
+			recoverHarness.open();
+		}
+
+		try {
+			synchronized (recoverHarness.getCheckpointLock()) {
+				recoverHarness.processElement(new StreamRecord<>(3, 3L));
+				recoverHarness.endInput();
+			}
+
+			assertEquals(Collections.singletonList(3), restoredFunction.batchSizes);
+			TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, recoverHarness.getOutput());
+		} finally {
+			synchronized (recoverHarness.getCheckpointLock()) {
+				recoverHarness.close();
+			}
+		}
+	}
+
+	private static OneInputStreamOperatorTestHarness<Integer, Integer> createTestHarness(
+			BatchAsyncFunction<Integer, Integer> function,
+			AsyncDataStream.OutputMode outputMode,
+			int maxBatchSize) throws Exception {
+
+		return new OneInputStreamOperatorTestHarness<>(
+			new BatchAsyncWaitOperator<>(function, TIMEOUT, 10, outputMode, maxBatchSize, MAX_BATCH_DELAY),
+			IntSerializer.INSTANCE);
+	}
+
+	/**
+	 * {@link BatchAsyncFunction} which records the size of each batch and, if configured, completes each
+	 * record with its doubled value. On timeout, it completes a record with {@code -1}.
+	 */
+	private static class CollectingBatchAsyncFunction implements BatchAsyncFunction<Integer, Integer> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final boolean completeDirectly;
+
+		final List<Integer> batchSizes = new ArrayList<>();
+
+		final List<ResultFuture<Integer>> resultFutures = new ArrayList<>();
+
+		CollectingBatchAsyncFunction(boolean completeDirectly) {
+			this.completeDirectly = completeDirectly;
+		}
+
+		@Override
+		public void asyncInvokeBatch(List<Integer> inputs, List<ResultFuture<Integer>> resultFutures) {
+			batchSizes.add(inputs.size());
+			this.resultFutures.addAll(resultFutures);
+
+			if (completeDirectly) {
+				for (int i = 0; i < inputs.size(); i++) {
+					resultFutures.get(i).complete(Collections.singletonList(2 * inputs.get(i)));
+				}
+			}
+		}
+
+		@Override
+		public void timeout(Integer input, ResultFuture<Integer> resultFuture) {
+			resultFuture.complete(Collections.singletonList(-1));
+		}
+	}
+}
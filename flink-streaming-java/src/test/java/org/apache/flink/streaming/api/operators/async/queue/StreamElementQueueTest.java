@@ -31,6 +31,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -46,6 +47,7 @@ import static org.apache.flink.streaming.api.operators.async.queue.StreamElement
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -160,6 +162,42 @@ public class StreamElementQueueTest extends TestLogger {
 		verify(operatorActions, never()).failOperator(any(Exception.class));
 	}
 
+	/**
+	 * Tests that completed results are polled in batches and that the operator is notified about them.
+	 */
+	@Test
+	public void testPollCompleted() throws InterruptedException {
+		OperatorActions operatorActions = mock(OperatorActions.class);
+		StreamElementQueue queue = createStreamElementQueue(3, operatorActions);
+
+		StreamRecordQueueEntry<Integer> firstEntry = new StreamRecordQueueEntry<>(new StreamRecord<>(1, 1L));
+		StreamRecordQueueEntry<Integer> secondEntry = new StreamRecordQueueEntry<>(new StreamRecord<>(2, 2L));
+
+		queue.put(firstEntry);
+		queue.put(secondEntry);
+
+		List<AsyncResult> completedResults = new ArrayList<>();
+
+		Assert.assertEquals(0, queue.pollCompleted(completedResults));
+		Assert.assertTrue(completedResults.isEmpty());
+
+		firstEntry.complete(Collections.<Integer>emptyList());
+		verify(operatorActions, timeout(timeout)).notifyCompletedResults();
+
+		Assert.assertEquals(1, queue.pollCompleted(completedResults));
+		Assert.assertEquals(Collections.singletonList(firstEntry), completedResults);
+		Assert.assertEquals(1, queue.size());
+
+		secondEntry.complete(Collections.<Integer>emptyList());
+		verify(operatorActions, timeout(timeout).times(2)).notifyCompletedResults();
+
+		Assert.assertEquals(1, queue.pollCompleted(completedResults));
+		Assert.assertEquals(Arrays.asList(firstEntry, secondEntry), completedResults);
+		Assert.assertTrue(queue.isEmpty());
+
+		verify(operatorActions, never()).failOperator(any(Exception.class));
+	}
+
 	/**
 	 * Tests that a put operation blocks if the queue is full.
 	 */
@@ -19,6 +19,9 @@
 package org.apache.flink.streaming.runtime.operators;
 
 import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.functions.MapFunction;
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.api.java.tuple.Tuple1;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.runtime.execution.Environment;
 import org.apache.flink.runtime.jobgraph.JobGraph;
@@ -30,6 +33,7 @@ import org.apache.flink.streaming.api.collector.selector.OutputSelector;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.SplitStream;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.functions.DoesNotRetainInput;
 import org.apache.flink.streaming.api.functions.sink.SinkFunction;
 import org.apache.flink.streaming.api.graph.StreamConfig;
 import org.apache.flink.streaming.api.operators.StreamMap;
@@ -48,6 +52,9 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 /**
  * Tests for stream operator chaining behaviour.
@@ -59,6 +66,9 @@ public class StreamOperatorChainingTest {
 	private static List<String> sink1Results;
 	private static List<String> sink2Results;
 	private static List<String> sink3Results;
+	private static List<Tuple1<Integer>> emittedTuples;
+	private static List<Tuple1<Integer>> mappedTuples;
+	private static List<Tuple1<Integer>> sunkTuples;
 
 	@Test
 	public void testMultiChainingWithObjectReuse() throws Exception {
@@ -270,6 +280,146 @@ public class StreamOperatorChainingTest {
 		}
 	}
 
+	/**
+	 * Verify that records are handed to chained operators without copies if object reuse is
+	 * disabled but the operators do not retain their input, and with copies otherwise.
+	 */
+	@Test
+	public void testChainingWithoutCopiesForNonRetainingOperators() throws Exception {
+		StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+		env.getConfig().disableObjectReuse();
+
+		// set parallelism to 2 to avoid chaining with source in case when available processors is 1.
+		env.setParallelism(2);
+
+		emittedTuples = new ArrayList<>();
+		mappedTuples = new ArrayList<>();
+		sunkTuples = new ArrayList<>();
+
+		env.fromElements(1, 2, 3)
+			.map(new ToTupleMapper())
+			.map(new NonRetainingIdentityMapper())
+			.addSink(new SinkFunction<Tuple1<Integer>>() {
+
+				@Override
+				public void invoke(Tuple1<Integer> value, Context ctx) throws Exception {
+					sunkTuples.add(value);
+				}
+			});
+
+		processTwoElementsInChainedVertex(env);
+
+		assertEquals(2, sunkTuples.size());
+
+		for (int i = 0; i < sunkTuples.size(); i++) {
+			// the annotated mapper receives the emitted tuples, the sink receives copies
+			assertSame(emittedTuples.get(i), mappedTuples.get(i));
+			assertNotSame(mappedTuples.get(i), sunkTuples.get(i));
+			assertEquals(mappedTuples.get(i), sunkTuples.get(i));
+		}
+	}
+
+	/**
+	 * Verify that functions which cannot be annotated, i.e. lambdas and anonymous classes, receive
+	 * records without copies if their operations are declared not to retain the input.
+	 */
+	@Test
+	public void testChainingWithoutCopiesForLambdasDeclaredNotToRetainInput() throws Exception {
+		StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+		env.getConfig().disableObjectReuse();
+
+		// set parallelism to 2 to avoid chaining with source in case when available processors is 1.
+		env.setParallelism(2);
+
+		emittedTuples = new ArrayList<>();
+		mappedTuples = new ArrayList<>();
+		sunkTuples = new ArrayList<>();
+
+		env.fromElements(1, 2, 3)
+			.map(new ToTupleMapper())
+			.map((MapFunction<Tuple1<Integer>, Tuple1<Integer>>) value -> {
+				mappedTuples.add(value);
+				return value;
+			})
+			.returns(Types.TUPLE(Types.INT))
+			.doesNotRetainInput()
+			.addSink(new SinkFunction<Tuple1<Integer>>() {
+
+				@Override
+				public void invoke(Tuple1<Integer> value, Context ctx) throws Exception {
+					sunkTuples.add(value);
+				}
+			})
+			.doesNotRetainInput();
+
+		processTwoElementsInChainedVertex(env);
+
+		assertEquals(2, sunkTuples.size());
+
+		for (int i = 0; i < sunkTuples.size(); i++) {
+			// both functions are declared not to retain their input and receive the emitted tuples
+			assertSame(emittedTuples.get(i), mappedTuples.get(i));
+			assertSame(mappedTuples.get(i), sunkTuples.get(i));
+		}
+	}
+
+	/**
+	 * Runs the second, chained job vertex of the given environment on the elements {@code 1} and {@code 2}.
+	 */
+	private void processTwoElementsInChainedVertex(StreamExecutionEnvironment env) throws Exception {
+		JobGraph jobGraph = env.getStreamGraph().getJobGraph();
+
+		Assert.assertEquals(2, jobGraph.getVerticesSortedTopologicallyFromSources().size());
+
+		JobVertex chainedVertex = jobGraph.getVerticesSortedTopologicallyFromSources().get(1);
+
+		StreamConfig streamConfig = new StreamConfig(chainedVertex.getConfiguration());
+
+		StreamMap<Integer, Tuple1<Integer>> headOperator =
+				streamConfig.getStreamOperator(Thread.currentThread().getContextClassLoader());
+
+		try (MockEnvironment environment = createMockEnvironment(chainedVertex.getName())) {
+			StreamTask<Tuple1<Integer>, StreamMap<Integer, Tuple1<Integer>>> mockTask = new MockStreamTaskBuilder(environment)
+				.setConfig(streamConfig)
+				.setExecutionConfig(new ExecutionConfig().disableObjectReuse())
+				.build();
+			OperatorChain<Tuple1<Integer>, StreamMap<Integer, Tuple1<Integer>>> operatorChain =
+				createOperatorChain(streamConfig, environment, mockTask);
+
+			headOperator.setup(mockTask, streamConfig, operatorChain.getChainEntryPoint());
+
+			for (StreamOperator<?> operator : operatorChain.getAllOperators()) {
+				if (operator != null) {
+					operator.open();
+				}
+			}
+
+			headOperator.processElement(new StreamRecord<>(1));
+			headOperator.processElement(new StreamRecord<>(2));
+		}
+	}
+
+	private static class ToTupleMapper implements MapFunction<Integer, Tuple1<Integer>> {
+
+		@Override
+		public Tuple1<Integer> map(Integer value) {
+			Tuple1<Integer> tuple = Tuple1.of(value);
+			emittedTuples.add(tuple);
+			return tuple;
+		}
+	}
+
+	@DoesNotRetainInput
+	private static class NonRetainingIdentityMapper implements MapFunction<Tuple1<Integer>, Tuple1<Integer>> {
+
+		@Override
+		public Tuple1<Integer> map(Tuple1<Integer> value) {
+			// only the identity is recorded for the test, the tuple itself is not accessed later
+			mappedTuples.add(value);
+			return value;
+		}
+	}
+
 	private <IN, OT extends StreamOperator<IN>> OperatorChain<IN, OT> createOperatorChain(
 			StreamConfig streamConfig,
 			Environment environment,
@@ -145,6 +145,44 @@ public class StreamSourceOperatorLatencyMetricsTest extends TestLogger {
 		});
 	}
 
+	/**
+	 * Verifies that the configured fraction of records carries an ingestion timestamp.
+	 */
+	@Test
+	public void testRecordLatencySampling() throws Exception {
+		final List<StreamElement> output = new ArrayList<>();
+
+		final StreamSource<Long, CountingSource> operator = new StreamSource<>(new CountingSource(10));
+
+		Configuration tmConfig = new Configuration();
+		tmConfig.setDouble(MetricOptions.LATENCY_SAMPLING_FRACTION, 0.25);
+
+		Environment env = MockEnvironment.builder()
+			.setTaskManagerRuntimeInfo(new TestingTaskManagerRuntimeInfo(tmConfig))
+			.build();
+
+		setupSourceOperator(operator, new ExecutionConfig(), env, new TestProcessingTimeService());
+
+		OperatorChain<?, ?> operatorChain = new OperatorChain<>(
+			operator.getContainingTask(),
+			StreamTask.createRecordWriters(operator.getOperatorConfig(), new MockEnvironmentBuilder().build()));
+		try {
+			operator.run(new Object(), mock(StreamStatusMaintainer.class), new CollectorOutput<Long>(output), operatorChain);
+		} finally {
+			operatorChain.releaseOutputs();
+		}
+
+		// 10 records + the final watermark
+		assertEquals(11, output.size());
+
+		for (int i = 0; i < 10; i++) {
+			StreamRecord<Long> record = output.get(i).asRecord();
+			assertEquals(Long.valueOf(i), record.getValue());
+			// every fourth record is sampled
+			assertEquals(i % 4 == 3, record.hasIngestionTimestamp());
+		}
+	}
+
 	private interface OperatorSetupOperation {
 		void setupSourceOperator(
 			StreamSource<Long, ?> operator,
@@ -262,4 +300,23 @@ public class StreamSourceOperatorLatencyMetricsTest extends TestLogger {
 			cancelled = true;
 		}
 	}
+
+	private static final class CountingSource implements SourceFunction<Long> {
+
+		private final long numRecords;
+
+		private CountingSource(long numRecords) {
+			this.numRecords = numRecords;
+		}
+
+		@Override
+		public void run(SourceContext<Long> ctx) {
+			for (long i = 0; i < numRecords; i++) {
+				ctx.collect(i);
+			}
+		}
+
+		@Override
+		public void cancel() {}
+	}
 }
@@ -33,6 +33,7 @@ import java.io.IOException;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -95,6 +96,47 @@ public class StreamElementSerializerTest {
 		assertEquals(latencyMarker, serializeAndDeserialize(latencyMarker, serializer));
 	}
 
+	@Test
+	public void testSerializationOfIngestionTimestamps() throws Exception {
+		final StreamElementSerializer<String> serializer =
+				new StreamElementSerializer<String>(StringSerializer.INSTANCE);
+
+		StreamRecord<String> withoutTimestamp = new StreamRecord<>("sampled");
+		withoutTimestamp.setIngestionTimestamp(42L);
+
+		StreamRecord<String> deserializedWithoutTimestamp = serializeAndDeserialize(withoutTimestamp, serializer);
+		assertEquals(withoutTimestamp, deserializedWithoutTimestamp);
+		assertTrue(deserializedWithoutTimestamp.hasIngestionTimestamp());
+		assertEquals(42L, deserializedWithoutTimestamp.getIngestionTimestamp());
+
+		StreamRecord<String> withTimestamp = new StreamRecord<>("sampled", 77L);
+		withTimestamp.setIngestionTimestamp(Long.MAX_VALUE);
+
+		StreamRecord<String> deserializedWithTimestamp = serializeAndDeserialize(withTimestamp, serializer);
+		assertEquals(withTimestamp, deserializedWithTimestamp);
+		assertTrue(deserializedWithTimestamp.hasIngestionTimestamp());
+		assertEquals(Long.MAX_VALUE, deserializedWithTimestamp.getIngestionTimestamp());
+
+		StreamRecord<String> notSampled = new StreamRecord<>("not sampled", 77L);
+		assertFalse(serializeAndDeserialize(notSampled, serializer).hasIngestionTimestamp());
+
+		// a reused record must not keep the ingestion timestamp of a previous record
+		DataOutputSerializer output = new DataOutputSerializer(32);
+		serializer.serialize(withTimestamp, output);
+		serializer.serialize(notSampled, output);
+
+		DataInputDeserializer input = new DataInputDeserializer(output.getByteArray(), 0, output.length());
+		StreamRecord<String> reuse = serializer.createInstance();
+
+		serializer.deserialize(reuse, input);
+		assertTrue(reuse.hasIngestionTimestamp());
+		assertEquals(Long.MAX_VALUE, reuse.getIngestionTimestamp());
+
+		serializer.deserialize(reuse, input);
+		assertEquals(notSampled, reuse);
+		assertFalse(reuse.hasIngestionTimestamp());
+	}
+
 	@SuppressWarnings("unchecked")
 	private static <T, X extends StreamElement> X serializeAndDeserialize(
 			X record,
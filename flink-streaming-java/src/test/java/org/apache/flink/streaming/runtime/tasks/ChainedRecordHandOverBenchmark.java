@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.tasks;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeinfo.TypeHint;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.streaming.api.functions.sink.DiscardingSink;
+import org.apache.flink.streaming.api.operators.StreamSink;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamstatus.StreamStatus;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+
+/**
+ * Benchmark for handing records to a chained operator with object reuse disabled, either as deep
+ * copies ({@link OperatorChain.CopyingChainingOutput}) or without copies for operators that do not
+ * retain their input ({@link OperatorChain.ReusingChainingOutput}). It is executed by the external
+ * <a href="https://github.com/dataArtisans/flink-benchmarks">flink-benchmarks</a> project, which
+ * also reports the allocation rate of both variants.
+ */
+public class ChainedRecordHandOverBenchmark {
+
+	private OneInputStreamOperatorTestHarness<Tuple2<Long, String>, Object> harness;
+	private OperatorChain.ChainingOutput<Tuple2<Long, String>> output;
+
+	/**
+	 * Initializes the benchmark.
+	 *
+	 * @param copyRecords
+	 * 		whether the chained operator receives deep copies of the records, i.e. whether it may
+	 * 		retain its input
+	 */
+	public void setUp(boolean copyRecords) throws Exception {
+		TypeSerializer<Tuple2<Long, String>> serializer = TypeInformation
+			.of(new TypeHint<Tuple2<Long, String>>() {})
+			.createSerializer(new ExecutionConfig());
+
+		StreamSink<Tuple2<Long, String>> operator = new StreamSink<>(new DiscardingSink<>());
+		harness = new OneInputStreamOperatorTestHarness<>(operator, serializer);
+		harness.open();
+
+		output = copyRecords
+			? new OperatorChain.CopyingChainingOutput<>(operator, serializer, null, () -> StreamStatus.ACTIVE)
+			: new OperatorChain.ReusingChainingOutput<>(operator, () -> StreamStatus.ACTIVE, null);
+	}
+
+	/**
+	 * Hands the given number of records to the chained operator.
+	 */
+	public void executeBenchmark(long records) {
+		StreamRecord<Tuple2<Long, String>> record = new StreamRecord<>(Tuple2.of(0L, "benchmark record"));
+		for (long i = 0; i < records; i++) {
+			record.getValue().f0 = i;
+			output.collect(record);
+		}
+	}
+
+	public void tearDown() throws Exception {
+		if (harness != null) {
+			harness.close();
+		}
+	}
+}
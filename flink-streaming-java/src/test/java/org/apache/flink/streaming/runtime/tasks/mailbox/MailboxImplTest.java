@@ -28,6 +28,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.Optional;
 import java.util.Queue;
@@ -77,6 +78,74 @@ public class MailboxImplTest {
 		Assert.assertFalse(mailbox.tryTakeMail().isPresent());
 	}
 
+	@Test
+	public void testPriorityLanes() throws Exception {
+
+		Runnable instanceA = () -> {};
+		Runnable instanceB = () -> {};
+		Runnable instanceC = () -> {};
+		Runnable instanceD = () -> {};
+		Runnable instanceE = () -> {};
+
+		mailbox.putMail(instanceD);
+		mailbox.putMail(instanceB, Mailbox.Priority.HIGH);
+		mailbox.putMail(instanceE, Mailbox.Priority.DEFAULT);
+		mailbox.putMail(instanceC, Mailbox.Priority.HIGH);
+		mailbox.putFirst(instanceA);
+
+		Assert.assertSame(instanceA, mailbox.takeMail());
+		Assert.assertSame(instanceB, mailbox.takeMail());
+		Assert.assertSame(instanceC, mailbox.tryTakeMail().get());
+		Assert.assertSame(instanceD, mailbox.tryTakeMail().get());
+		Assert.assertSame(instanceE, mailbox.takeMail());
+
+		Assert.assertFalse(mailbox.hasMail());
+		Assert.assertFalse(mailbox.tryTakeMail().isPresent());
+	}
+
+	/**
+	 * Tests that high priority letters overtake default letters which were already handed over to the reader.
+	 */
+	@Test
+	public void testPriorityMailOvertakesBatchedMail() throws Exception {
+
+		Runnable instanceA = () -> {};
+		Runnable instanceB = () -> {};
+		Runnable instanceC = () -> {};
+		Runnable instanceD = () -> {};
+
+		mailbox.putMail(instanceA);
+		mailbox.putMail(instanceC);
+		mailbox.putMail(instanceD);
+
+		// hands over all default letters to the reader
+		Assert.assertSame(instanceA, mailbox.tryTakeMail().get());
+		mailbox.putMail(instanceB, Mailbox.Priority.HIGH);
+
+		Assert.assertTrue(mailbox.hasMail());
+		Assert.assertSame(instanceB, mailbox.tryTakeMail().get());
+		Assert.assertSame(instanceC, mailbox.tryTakeMail().get());
+		Assert.assertSame(instanceD, mailbox.takeMail());
+		Assert.assertFalse(mailbox.hasMail());
+	}
+
+	@Test
+	public void testCloseReturnsBatchedLetters() throws Exception {
+
+		Runnable instanceA = () -> {};
+		Runnable instanceB = () -> {};
+		Runnable instanceC = () -> {};
+		Runnable instanceD = () -> {};
+
+		mailbox.putMail(instanceA);
+		mailbox.putMail(instanceC);
+		Assert.assertSame(instanceA, mailbox.tryTakeMail().get());
+		mailbox.putMail(instanceD);
+		mailbox.putMail(instanceB, Mailbox.Priority.HIGH);
+
+		Assert.assertEquals(Arrays.asList(instanceB, instanceC, instanceD), mailbox.close());
+	}
+
 	@Test
 	public void testContracts() throws Exception {
 		final Queue<Runnable> testObjects = new LinkedList<>();
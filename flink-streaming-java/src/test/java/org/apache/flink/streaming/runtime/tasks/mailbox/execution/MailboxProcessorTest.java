@@ -19,10 +19,14 @@
 package org.apache.flink.streaming.runtime.tasks.mailbox.execution;
 
 import org.apache.flink.core.testutils.OneShotLatch;
+import org.apache.flink.streaming.runtime.tasks.mailbox.Mailbox;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -64,6 +68,28 @@ public class MailboxProcessorTest {
 		Assert.assertTrue(testRunnableFuture.isCancelled());
 	}
 
+	@Test
+	public void testPriorityLettersAndMetrics() throws Exception {
+		final List<String> executed = new ArrayList<>();
+		MailboxProcessor mailboxProcessor = new MailboxProcessor(DefaultActionContext::allActionsCompleted);
+		mailboxProcessor.open();
+
+		MailboxExecutor defaultExecutor = mailboxProcessor.getMailboxExecutor(Mailbox.Priority.DEFAULT);
+		MailboxExecutor priorityExecutor = mailboxProcessor.getMailboxExecutor(Mailbox.Priority.HIGH);
+		defaultExecutor.execute(() -> executed.add("timer-1"));
+		defaultExecutor.execute(() -> executed.add("timer-2"));
+		priorityExecutor.execute(() -> executed.add("checkpoint"));
+		mailboxProcessor.measureMailboxLatency();
+
+		mailboxProcessor.runMailboxLoop();
+		mailboxProcessor.close();
+
+		Assert.assertEquals(Arrays.asList("checkpoint", "timer-1", "timer-2"), executed);
+		// three submitted letters, the latency measurement, and the poison letter
+		Assert.assertEquals(5L, mailboxProcessor.getNumMailsProcessed().getCount());
+		Assert.assertEquals(1L, mailboxProcessor.getMailboxLatency().getCount());
+	}
+
 	@Test
 	public void testRunDefaultActionAndLetters() throws Exception {
 		AtomicBoolean stop = new AtomicBoolean(false);
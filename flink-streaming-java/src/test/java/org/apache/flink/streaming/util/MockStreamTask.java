@@ -76,6 +76,9 @@ public class MockStreamTask extends StreamTask {
 		this.processingTimeService = processingTimeService;
 		this.handleAsyncException = handleAsyncException;
 		this.accumulatorMap = accumulatorMap;
+
+		// the mock task is never invoked, so we open the mailbox right away to allow operators to submit actions
+		mailboxProcessor.open();
 	}
 
 	@Override
@@ -231,6 +231,24 @@ SqlDrop SqlDropTable(Span s, boolean replace) :
     }
 }
 
+/**
+* Parses an ANALYZE TABLE statement.
+*/
+SqlNode SqlAnalyzeTable() :
+{
+    SqlIdentifier tableName;
+    SqlParserPos pos;
+}
+{
+    <ANALYZE> { pos = getPos(); }
+    <TABLE>
+    tableName = CompoundIdentifier()
+    <COMPUTE> <STATISTICS>
+    {
+        return new SqlAnalyzeTable(pos, tableName);
+    }
+}
+
 /**
 * Parses an INSERT statement.
 */
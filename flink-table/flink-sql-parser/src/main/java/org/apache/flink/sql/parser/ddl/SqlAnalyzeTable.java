@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser.ddl;
+
+import org.apache.flink.sql.parser.ExtendedSqlNode;
+
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.SqlSpecialOperator;
+import org.apache.calcite.sql.SqlWriter;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.apache.calcite.util.ImmutableNullableList;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * ANALYZE TABLE sql call, which computes the table statistics and the column statistics
+ * of a table and stores them in its catalog.
+ */
+public class SqlAnalyzeTable extends SqlCall implements ExtendedSqlNode {
+	public static final SqlSpecialOperator OPERATOR =
+		new SqlSpecialOperator("ANALYZE TABLE", SqlKind.OTHER_DDL);
+
+	private final SqlIdentifier tableName;
+
+	public SqlAnalyzeTable(SqlParserPos pos, SqlIdentifier tableName) {
+		super(pos);
+		this.tableName = requireNonNull(tableName, "Table name is missing");
+	}
+
+	@Override
+	public SqlOperator getOperator() {
+		return OPERATOR;
+	}
+
+	@Override
+	public List<SqlNode> getOperandList() {
+		return ImmutableNullableList.of(tableName);
+	}
+
+	public SqlIdentifier getTableName() {
+		return tableName;
+	}
+
+	@Override
+	public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+		writer.keyword("ANALYZE");
+		writer.keyword("TABLE");
+		tableName.unparse(writer, leftPrec, rightPrec);
+		writer.keyword("COMPUTE");
+		writer.keyword("STATISTICS");
+	}
+
+	public void validate() {
+		// no-op
+	}
+
+	public String[] fullTableName() {
+		return tableName.names.toArray(new String[0]);
+	}
+}
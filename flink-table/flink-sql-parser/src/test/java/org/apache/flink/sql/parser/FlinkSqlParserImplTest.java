@@ -472,6 +472,12 @@ public class FlinkSqlParserImplTest extends SqlParserTest {
 		check(sql, "DROP TABLE IF EXISTS `CATALOG1`.`DB1`.`TBL1`");
 	}
 
+	@Test
+	public void testAnalyzeTable() {
+		String sql = "analyze table catalog1.db1.tbl1 compute statistics";
+		check(sql, "ANALYZE TABLE `CATALOG1`.`DB1`.`TBL1` COMPUTE STATISTICS");
+	}
+
 	@Test
 	public void testInsertPartitionSpecs() {
 		conformance0 = FlinkSqlConformance.HIVE;
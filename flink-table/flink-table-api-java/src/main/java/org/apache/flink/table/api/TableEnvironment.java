@@ -411,6 +411,13 @@ public interface TableEnvironment {
 	 * </pre></blockquote>
 	 * This code snippet creates a job to read data from Kafka source into a CSV sink.
 	 *
+	 * <p>The statistics of a non-partitioned catalog table can be computed in batch mode,
+	 * which executes a job immediately and stores the row count and the column statistics
+	 * in the catalog of the table:
+	 * <blockquote><pre>
+	 *    tEnv.sqlUpdate("ANALYZE TABLE sourceTable COMPUTE STATISTICS");
+	 * </pre></blockquote>
+	 *
 	 * @param stmt The SQL statement to evaluate.
 	 */
 	void sqlUpdate(String stmt);
@@ -40,6 +40,20 @@ public class ExecutionConfigOptions {
 				"tasks to advance their watermarks without the need to wait for " +
 				"watermarks from this source while it is idle.");
 
+	public static final ConfigOption<Boolean> TABLE_EXEC_SOURCE_INFER_PARALLELISM_ENABLED =
+		key("table.exec.source.infer-parallelism.enabled")
+			.defaultValue(false)
+			.withDescription("Whether sources which can infer their parallelism from the data they read, " +
+				"e.g. from the number and size of their input splits, run with the inferred parallelism " +
+				"instead of the default parallelism. Note: the inference happens while the query is " +
+				"translated, so such sources may enumerate their input splits on the client as well as " +
+				"at runtime.");
+
+	public static final ConfigOption<Integer> TABLE_EXEC_SOURCE_INFER_PARALLELISM_MAX =
+		key("table.exec.source.infer-parallelism.max")
+			.defaultValue(1000)
+			.withDescription("The maximum parallelism which is inferred for a source.");
+
 	// ------------------------------------------------------------------------
 	//  Sort Options
 	// ------------------------------------------------------------------------
@@ -123,6 +137,40 @@ public class ExecutionConfigOptions {
 			.defaultValue(100 * 1000)
 			.withDescription("Sets the window elements buffer size limit used in group window agg operator.");
 
+	public static final ConfigOption<Boolean> TABLE_EXEC_WINDOW_AGG_SLICING_ENABLED =
+		key("table.exec.window-agg.slicing-enabled")
+			.defaultValue(false)
+			.withDescription("Whether to aggregate hopping time windows on slices in streaming group window aggregates. " +
+				"If enabled, an input record is only accumulated into the slice of gcd(size, slide) it belongs to, " +
+				"and the slices of a window are merged when the window fires, so the cost of a record does not " +
+				"grow with the ratio of window size and slide. It only applies to windows which fire once at " +
+				"the end of the window without allowed lateness. Note: the sliced state layout differs from " +
+				"the one of the regular window operator, so a job can not be restored from a savepoint which " +
+				"was taken with a different value of this option.");
+
+	public static final ConfigOption<Boolean> TABLE_EXEC_LOCAL_HASH_AGG_ADAPTIVE_ENABLED =
+		key("table.exec.local-hash-agg.adaptive.enabled")
+			.defaultValue(false)
+			.withDescription("Whether to let the local hash aggregate of a batch job stop aggregating when it does " +
+				"not reduce its input. If enabled, a task of the local aggregate samples the ratio of distinct group " +
+				"keys in its first 'table.exec.local-hash-agg.adaptive.sampling-threshold' records. If the ratio " +
+				"exceeds 'table.exec.local-hash-agg.adaptive.distinct-value-rate-threshold', it outputs the " +
+				"aggregated records and passes each of the following records to the global aggregate directly. " +
+				"The decision is made only once, right after the sampled records, and is not revised for the rest " +
+				"of the input.");
+
+	public static final ConfigOption<Long> TABLE_EXEC_LOCAL_HASH_AGG_ADAPTIVE_SAMPLING_THRESHOLD =
+		key("table.exec.local-hash-agg.adaptive.sampling-threshold")
+			.defaultValue(500000L)
+			.withDescription("The number of records a task of the local hash aggregate samples to decide whether " +
+				"to aggregate the rest of its input.");
+
+	public static final ConfigOption<Double> TABLE_EXEC_LOCAL_HASH_AGG_ADAPTIVE_DISTINCT_VALUE_RATE_THRESHOLD =
+		key("table.exec.local-hash-agg.adaptive.distinct-value-rate-threshold")
+			.defaultValue(0.5d)
+			.withDescription("The ratio of distinct group keys in the sampled records above which the local hash " +
+				"aggregate passes its input through.");
+
 	// ------------------------------------------------------------------------
 	//  Async Lookup Options
 	// ------------------------------------------------------------------------
@@ -136,6 +184,67 @@ public class ExecutionConfigOptions {
 			.defaultValue("3 min")
 			.withDescription("The async timeout for the asynchronous operation to complete.");
 
+	// ------------------------------------------------------------------------
+	//  Lookup Cache Options
+	// ------------------------------------------------------------------------
+	public static final ConfigOption<Boolean> TABLE_EXEC_LOOKUP_CACHE_ENABLED =
+		key("table.exec.lookup.cache.enabled")
+			.defaultValue(false)
+			.withDescription("Whether to cache the rows fetched by lookup joins. If enabled, the rows fetched " +
+				"for the lookup keys of an input row, including an empty result, are cached in the join operator, " +
+				"so that input rows with the same lookup keys do not access the external system again until " +
+				"the cached rows are evicted or expired. The rows of the lookup table may be stale for at most " +
+				"'table.exec.lookup.cache.ttl'.");
+
+	public static final ConfigOption<String> TABLE_EXEC_LOOKUP_CACHE_MAX_MEMORY =
+		key("table.exec.lookup.cache.max-memory")
+			.defaultValue("64 mb")
+			.withDescription("The max size of the rows cached by a parallel instance of a lookup join. " +
+				"The least recently used rows are evicted first when the cache is full.");
+
+	public static final ConfigOption<String> TABLE_EXEC_LOOKUP_CACHE_TTL =
+		key("table.exec.lookup.cache.ttl")
+			.defaultValue("10 min")
+			.withDescription("The time after which the cached rows of a lookup key expire since they were fetched.");
+
+	// ------------------------------------------------------------------------
+	//  Dynamic Partition Pruning Options
+	// ------------------------------------------------------------------------
+	public static final ConfigOption<Integer> TABLE_EXEC_DYNAMIC_PARTITION_PRUNING_MAX_VALUES =
+		key("table.exec.dynamic-partition-pruning.max-values")
+			.defaultValue(10000)
+			.withDescription("The maximum number of distinct join keys a task of the dimension side of a join " +
+				"collects for dynamic partition pruning. If a task has more, no partitions are pruned.");
+
+	public static final ConfigOption<String> TABLE_EXEC_DYNAMIC_PARTITION_PRUNING_WAIT_TIMEOUT =
+		key("table.exec.dynamic-partition-pruning.wait-timeout")
+			.defaultValue("10 s")
+			.withDescription("The maximum time a task of a partitioned source waits for the join keys of the " +
+				"dimension side before it reads its first partition. If the keys are not available by then, " +
+				"e.g. because the dimension side could not be scheduled yet, all partitions are read.");
+
+	// ------------------------------------------------------------------------
+	//  Runtime Filter Options
+	// ------------------------------------------------------------------------
+	public static final ConfigOption<Integer> TABLE_EXEC_RUNTIME_FILTER_MAX_BUILD_ROWS =
+		key("table.exec.runtime-filter.max-build-rows")
+			.defaultValue(1000000)
+			.withDescription("The maximum number of rows a task of the build side of a hash join adds to the " +
+				"runtime filter, which determines the size of the bloom filter. If a task has more rows, the " +
+				"filter is disabled, because it would not be selective.");
+
+	public static final ConfigOption<Double> TABLE_EXEC_RUNTIME_FILTER_FPP =
+		key("table.exec.runtime-filter.fpp")
+			.defaultValue(0.05)
+			.withDescription("The false positive probability of the bloom filter of a runtime filter.");
+
+	public static final ConfigOption<Integer> TABLE_EXEC_RUNTIME_FILTER_CHECK_INTERVAL =
+		key("table.exec.runtime-filter.check-interval")
+			.defaultValue(10000)
+			.withDescription("The number of probe rows after which a task of the probe side of a hash join " +
+				"asks again whether the runtime filter of the build side is complete. The rows are not " +
+				"filtered before.");
+
 	// ------------------------------------------------------------------------
 	//  MiniBatch Options
 	// ------------------------------------------------------------------------
@@ -166,6 +275,15 @@ public class ExecutionConfigOptions {
 				"NOTE: MiniBatch only works for non-windowed aggregations currently. If " + TABLE_EXEC_MINIBATCH_ENABLED.key() +
 				" is set true, its value must be positive.");
 
+	public static final ConfigOption<String> TABLE_EXEC_MINIBATCH_MEMORY =
+		key("table.exec.mini-batch.memory")
+			.defaultValue("0 mb")
+			.withDescription("Sets the managed memory size used to buffer the MiniBatch of local aggregations. " +
+				"If positive, the bundle of a local aggregation whose accumulators are all of fixed length " +
+				"is kept in binary form in managed memory instead of in a Java heap map, and is flushed " +
+				"early when that memory is exhausted. If zero, which is the default, the bundle is kept on heap. " +
+				"NOTE: its value must be zero or greater than 1 mb.");
+
 	// ------------------------------------------------------------------------
 	//  Other Exec Options
 	// ------------------------------------------------------------------------
@@ -65,6 +65,29 @@ public class OptimizerConfigOptions {
 				"The number is used in the first level aggregation to calculate a bucket key " +
 				"'hash_code(distinct_key) % BUCKET_NUM' which is used as an additional group key after splitting.");
 
+	public static final ConfigOption<Boolean> TABLE_OPTIMIZER_SKEW_AGG_SPLIT_ENABLED =
+		key("table.optimizer.skew-agg.split.enabled")
+			.defaultValue(false)
+			.withDescription("Tells the optimizer whether to split streaming group aggregations without " +
+				"distinct aggregates on append-only inputs into two level, to spread hot group keys. " +
+				"The first aggregation is grouped by an additional salt which is 0 for cold keys, while " +
+				"the records of a hot key are salted round-robin over 'table.optimizer.skew-agg.split.bucket-num' " +
+				"buckets. The hot keys are detected at runtime by a count-min sketch in front of the first " +
+				"aggregation, and the second aggregation merges the results of the salts of a key. " +
+				"Only COUNT, SUM, AVG, MIN and MAX are supported. Default is false.");
+
+	public static final ConfigOption<Integer> TABLE_OPTIMIZER_SKEW_AGG_SPLIT_BUCKET_NUM =
+		key("table.optimizer.skew-agg.split.bucket-num")
+			.defaultValue(16)
+			.withDescription("Configure the number of buckets a hot group key is spread over when splitting " +
+				"skewed aggregations.");
+
+	public static final ConfigOption<Double> TABLE_OPTIMIZER_SKEW_AGG_HOT_KEY_RATIO =
+		key("table.optimizer.skew-agg.hot-key-ratio")
+			.defaultValue(0.01)
+			.withDescription("A group key is hot when it accounts for at least this ratio of the recent " +
+				"input records of an instance of the first level aggregation.");
+
 	public static final ConfigOption<Boolean> TABLE_OPTIMIZER_REUSE_SUB_PLAN_ENABLED =
 		key("table.optimizer.reuse-sub-plan-enabled")
 			.defaultValue(true)
@@ -86,4 +109,46 @@ public class OptimizerConfigOptions {
 		key("table.optimizer.join-reorder-enabled")
 			.defaultValue(false)
 			.withDescription("Enables join reorder in optimizer. Default is disabled.");
+
+	public static final ConfigOption<Boolean> TABLE_OPTIMIZER_JOIN_REORDER_COST_BASED_ENABLED =
+		key("table.optimizer.join-reorder.cost-based-enabled")
+			.defaultValue(false)
+			.withDescription("When it is true and join reorder is enabled, the optimizer reorders inner joins " +
+				"by the estimated size of their intermediate results, which are derived from the row counts, " +
+				"the numbers of distinct values and the null counts in the statistics of the joined tables. " +
+				"Bushy join orders are enumerated by dynamic programming up to the number of inputs specified " +
+				"by table.optimizer.join-reorder.dp-threshold, larger joins are reordered greedily. " +
+				"The statistics of non-partitioned catalog tables, e.g. the ones computed by ANALYZE TABLE, " +
+				"are only handed to the optimizer when this is enabled. Default is disabled.");
+
+	public static final ConfigOption<Integer> TABLE_OPTIMIZER_JOIN_REORDER_DP_THRESHOLD =
+		key("table.optimizer.join-reorder.dp-threshold")
+			.defaultValue(10)
+			.withDescription("The maximum number of inputs of a multi-way inner join whose join order is " +
+				"enumerated by dynamic programming when cost based join reorder is enabled. " +
+				"Joins with more inputs are reordered greedily. The cost of the enumeration grows as 3^n " +
+				"with the number of inputs, so values above 12 are treated as 12.");
+
+	public static final ConfigOption<Boolean> TABLE_OPTIMIZER_DYNAMIC_PARTITION_PRUNING_ENABLED =
+		key("table.optimizer.dynamic-partition-pruning-enabled")
+			.defaultValue(false)
+			.withDescription("Enables dynamic partition pruning of batch joins. If enabled, a join of a partitioned " +
+				"table source which supports dynamic partition pruning with a filtered dimension side on the " +
+				"partition fields collects the distinct join keys of the dimension side at runtime, and the " +
+				"partitioned source only reads the partitions with these keys. Default is disabled.");
+
+	public static final ConfigOption<Boolean> TABLE_OPTIMIZER_RUNTIME_FILTER_ENABLED =
+		key("table.optimizer.runtime-filter-enabled")
+			.defaultValue(false)
+			.withDescription("Enables runtime filters of batch hash joins. If enabled, the build side of an inner " +
+				"or semi hash join whose probe side is shuffled builds a bloom filter of its join keys at runtime, " +
+				"and the probe side drops the rows which fail the filter before the shuffle. Default is disabled.");
+
+	public static final ConfigOption<Boolean> TABLE_OPTIMIZER_MULTI_JOIN_ENABLED =
+		key("table.optimizer.multi-join-enabled")
+			.defaultValue(false)
+			.withDescription("Enables multi-way joins of streaming jobs. If enabled, a left-deep chain of regular " +
+				"inner joins whose inputs are all joined on the same key is executed by a single operator, which " +
+				"keeps every input in state once instead of keeping the result of every join of the chain in " +
+				"state. Default is disabled.");
 }
@@ -23,6 +23,7 @@ import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.JobExecutionResult;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.dag.Transformation;
+import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.table.api.CatalogNotExistException;
 import org.apache.flink.table.api.EnvironmentSettings;
 import org.apache.flink.table.api.Table;
@@ -33,6 +34,8 @@ import org.apache.flink.table.api.ValidationException;
 import org.apache.flink.table.catalog.Catalog;
 import org.apache.flink.table.catalog.CatalogBaseTable;
 import org.apache.flink.table.catalog.CatalogManager;
+import org.apache.flink.table.catalog.CatalogTable;
+import org.apache.flink.table.catalog.CatalogView;
 import org.apache.flink.table.catalog.ConnectorCatalogTable;
 import org.apache.flink.table.catalog.ExternalCatalog;
 import org.apache.flink.table.catalog.FunctionCatalog;
@@ -41,6 +44,8 @@ import org.apache.flink.table.catalog.ObjectPath;
 import org.apache.flink.table.catalog.QueryOperationCatalogView;
 import org.apache.flink.table.catalog.exceptions.DatabaseNotExistException;
 import org.apache.flink.table.catalog.exceptions.TableNotExistException;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatistics;
+import org.apache.flink.table.catalog.stats.CatalogTableStatistics;
 import org.apache.flink.table.delegation.Executor;
 import org.apache.flink.table.delegation.ExecutorFactory;
 import org.apache.flink.table.delegation.Planner;
@@ -51,6 +56,7 @@ import org.apache.flink.table.descriptors.TableDescriptor;
 import org.apache.flink.table.expressions.TableReferenceExpression;
 import org.apache.flink.table.factories.ComponentFactoryService;
 import org.apache.flink.table.functions.ScalarFunction;
+import org.apache.flink.table.operations.AnalyzeTableOperation;
 import org.apache.flink.table.operations.CatalogQueryOperation;
 import org.apache.flink.table.operations.CatalogSinkModifyOperation;
 import org.apache.flink.table.operations.ModifyOperation;
@@ -86,6 +92,8 @@ public class TableEnvironmentImpl implements TableEnvironment {
 	private final CatalogManager catalogManager;
 	private final OperationTreeBuilder operationTreeBuilder;
 	private final List<ModifyOperation> bufferedModifyOperations = new ArrayList<>();
+	// Flag that tells if the current planner should work in a batch or streaming mode.
+	private final boolean isStreamingMode;
 
 	protected final TableConfig tableConfig;
 	protected final Executor execEnv;
@@ -101,6 +109,7 @@ public class TableEnvironmentImpl implements TableEnvironment {
 			boolean isStreamingMode) {
 		this.catalogManager = catalogManager;
 		this.execEnv = executor;
+		this.isStreamingMode = isStreamingMode;
 
 		this.tableConfig = tableConfig;
 
@@ -337,7 +346,7 @@ public class TableEnvironmentImpl implements TableEnvironment {
 		if (operations.size() != 1) {
 			throw new TableException(
 				"Unsupported SQL query! sqlUpdate() only accepts a single SQL statement of type " +
-					"INSERT, CREATE TABLE, DROP TABLE");
+					"INSERT, CREATE TABLE, DROP TABLE, ANALYZE TABLE");
 		}
 
 		Operation operation = operations.get(0);
@@ -371,10 +380,12 @@ public class TableEnvironmentImpl implements TableEnvironment {
 					throw new TableException(e.getMessage());
 				}
 			}
+		} else if (operation instanceof AnalyzeTableOperation) {
+			analyzeTable((AnalyzeTableOperation) operation);
 		} else {
 			throw new TableException(
 				"Unsupported SQL query! sqlUpdate() only accepts a single SQL statements of " +
-					"type INSERT, CREATE TABLE, DROP TABLE");
+					"type INSERT, CREATE TABLE, DROP TABLE, ANALYZE TABLE");
 		}
 	}
 
@@ -445,6 +456,51 @@ public class TableEnvironmentImpl implements TableEnvironment {
 		bufferedModifyOperations.addAll(modifyOperations);
 	}
 
+	/**
+	 * Computes the statistics of a table by executing the statistics operation immediately and
+	 * stores them in the catalog of the table. The file count, the total size and the raw data
+	 * size of the table are kept as they are.
+	 */
+	private void analyzeTable(AnalyzeTableOperation operation) {
+		if (isStreamingMode) {
+			throw new TableException("ANALYZE TABLE is only supported in batch mode.");
+		}
+		String[] fullName = catalogManager.getFullTablePath(Arrays.asList(operation.getTableName()));
+		Catalog catalog = getCatalog(fullName[0]).orElseThrow(() ->
+			new TableException("Catalog " + fullName[0] + " does not exist."));
+		ObjectPath objectPath = new ObjectPath(fullName[1], fullName[2]);
+		try {
+			CatalogBaseTable table = catalog.getTable(objectPath);
+			if (table instanceof CatalogView) {
+				throw new TableException(
+					"ANALYZE TABLE does not support views, but " + objectPath.getFullName() + " is a view.");
+			}
+			if (!(table instanceof CatalogTable) || ((CatalogTable) table).isPartitioned()) {
+				throw new TableException(
+					"ANALYZE TABLE only supports non-partitioned tables, but " + objectPath.getFullName() + " is not.");
+			}
+
+			execEnv.apply(planner.translate(Collections.singletonList(operation.getStatisticsOperation())));
+			JobExecutionResult result = execEnv.execute("Analyze table " + objectPath.getFullName());
+			Tuple2<Long, CatalogColumnStatistics> statistics = operation.extractStatistics(result);
+
+			CatalogTableStatistics oldStatistics = catalog.getTableStatistics(objectPath);
+			catalog.alterTableStatistics(
+				objectPath,
+				new CatalogTableStatistics(
+					statistics.f0,
+					oldStatistics.getFileCount(),
+					oldStatistics.getTotalSize(),
+					oldStatistics.getRawDataSize()),
+				false);
+			catalog.alterTableColumnStatistics(objectPath, statistics.f1, false);
+		} catch (TableException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new TableException("Could not analyze table " + objectPath.getFullName(), e);
+		}
+	}
+
 	/**
 	 * Registers a {@link CatalogBaseTable} under a given object path. The {@code path} could be
 	 * 3 formats:
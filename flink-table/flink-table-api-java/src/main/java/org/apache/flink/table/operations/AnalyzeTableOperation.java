@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.operations;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.JobExecutionResult;
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatistics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Operation to describe an ANALYZE TABLE statement. The statistics of the table are computed
+ * by executing the given {@link ModifyOperation}, the row count and the column statistics are
+ * extracted from the result of that job.
+ */
+@Internal
+public class AnalyzeTableOperation implements Operation {
+	private final String[] tableName;
+	private final ModifyOperation statisticsOperation;
+	private final Function<JobExecutionResult, Tuple2<Long, CatalogColumnStatistics>> statisticsExtractor;
+
+	public AnalyzeTableOperation(
+			String[] tableName,
+			ModifyOperation statisticsOperation,
+			Function<JobExecutionResult, Tuple2<Long, CatalogColumnStatistics>> statisticsExtractor) {
+		this.tableName = tableName;
+		this.statisticsOperation = statisticsOperation;
+		this.statisticsExtractor = statisticsExtractor;
+	}
+
+	public String[] getTableName() {
+		return tableName;
+	}
+
+	public ModifyOperation getStatisticsOperation() {
+		return statisticsOperation;
+	}
+
+	/**
+	 * Extracts the row count and the column statistics of the table from the result of the job
+	 * which executed the statistics operation.
+	 */
+	public Tuple2<Long, CatalogColumnStatistics> extractStatistics(JobExecutionResult result) {
+		return statisticsExtractor.apply(result);
+	}
+
+	@Override
+	public String asSummaryString() {
+		Map<String, Object> params = new LinkedHashMap<>();
+		params.put("tableName", tableName);
+
+		return OperationUtils.formatWithChildren(
+			"ANALYZE TABLE",
+			params,
+			Collections.singletonList(statisticsOperation),
+			Operation::asSummaryString);
+	}
+}
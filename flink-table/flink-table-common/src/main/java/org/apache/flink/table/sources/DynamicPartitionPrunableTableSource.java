@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.sources;
+
+import org.apache.flink.annotation.Experimental;
+
+import java.util.List;
+
+/**
+ * An interface for {@link PartitionableTableSource}s which can skip partitions at runtime,
+ * depending on the result of another part of the job.
+ *
+ * <p>For a join of a partitioned fact table with a filtered dimension table on the partition
+ * fields, a planner evaluates the dimension side first and publishes the distinct values of its
+ * join keys under a name. The source then only reads the partitions whose values of the given
+ * partition fields are among the published values, instead of all partitions which remain
+ * after {@link #applyPartitionPruning(List) static partition pruning}.
+ *
+ * <p>How the values are published and received depends on the runtime of the planner.
+ */
+@Experimental
+public interface DynamicPartitionPrunableTableSource extends PartitionableTableSource {
+
+	/**
+	 * Applies dynamic partition pruning to the table source.
+	 *
+	 * @param valuesName The name under which the values of the partition fields are published.
+	 * @param partitionFieldNames The partition fields whose values are published, in the order of
+	 *                            the published values.
+	 * @param waitTimeoutMillis The maximum time to wait for the values. All partitions are read
+	 *                          if the values are not published by then.
+	 * @return A new cloned instance of {@link TableSource} which prunes its partitions at runtime.
+	 */
+	TableSource applyDynamicPartitionPruning(String valuesName, List<String> partitionFieldNames, long waitTimeoutMillis);
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.sources;
+
+import org.apache.flink.annotation.Experimental;
+import org.apache.flink.configuration.Configuration;
+
+/**
+ * An interface for {@link TableSource}s which can infer the parallelism to read their data with.
+ *
+ * <p>The parallelism is inferred from the data the source will actually read, e.g., from the
+ * number and size of the files of the remaining partitions of a partitioned table, so that small
+ * reads are not spread over many idle tasks and large reads get enough tasks. A planner may use
+ * the inferred parallelism instead of the default parallelism for the source.
+ */
+@Experimental
+public interface ParallelismInferableTableSource {
+
+	/**
+	 * Infers the parallelism of the source.
+	 *
+	 * <p>This method is called while the query is translated, so any work needed to infer the
+	 * parallelism, e.g. listing the input splits, happens on the client in addition to the work
+	 * done at runtime.
+	 *
+	 * @param configuration The configuration of the table environment, which may contain
+	 *                      source specific options for the inference.
+	 * @param maxParallelism The maximum parallelism which may be returned.
+	 * @return The inferred parallelism between 1 and {@code maxParallelism}, or a value smaller
+	 *         than 1 if no parallelism can be inferred.
+	 */
+	int inferParallelism(Configuration configuration, int maxParallelism);
+}
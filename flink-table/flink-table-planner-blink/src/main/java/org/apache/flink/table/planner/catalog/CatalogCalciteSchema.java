@@ -19,6 +19,7 @@
 package org.apache.flink.table.planner.catalog;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.api.TableConfig;
 import org.apache.flink.table.catalog.Catalog;
 
 import org.apache.calcite.linq4j.tree.Expression;
@@ -42,11 +43,17 @@ public class CatalogCalciteSchema extends FlinkSchema {
 	private final Catalog catalog;
 	// Flag that tells if the current planner should work in a batch or streaming mode.
 	private final boolean isStreamingMode;
+	private final TableConfig tableConfig;
 
-	public CatalogCalciteSchema(String catalogName, Catalog catalog, boolean isStreamingMode) {
+	public CatalogCalciteSchema(
+			String catalogName,
+			Catalog catalog,
+			boolean isStreamingMode,
+			TableConfig tableConfig) {
 		this.catalogName = catalogName;
 		this.catalog = catalog;
 		this.isStreamingMode = isStreamingMode;
+		this.tableConfig = tableConfig;
 	}
 
 	/**
@@ -58,7 +65,7 @@ public class CatalogCalciteSchema extends FlinkSchema {
 	@Override
 	public Schema getSubSchema(String schemaName) {
 		if (catalog.databaseExists(schemaName)) {
-			return new DatabaseCalciteSchema(schemaName, catalogName, catalog, isStreamingMode);
+			return new DatabaseCalciteSchema(schemaName, catalogName, catalog, isStreamingMode, tableConfig);
 		} else {
 			return null;
 		}
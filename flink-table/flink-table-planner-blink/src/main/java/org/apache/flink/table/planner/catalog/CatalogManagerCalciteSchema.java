@@ -19,6 +19,7 @@
 package org.apache.flink.table.planner.catalog;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.api.TableConfig;
 import org.apache.flink.table.api.TableException;
 import org.apache.flink.table.catalog.Catalog;
 import org.apache.flink.table.catalog.CatalogManager;
@@ -48,10 +49,15 @@ public class CatalogManagerCalciteSchema extends FlinkSchema {
 	private final CatalogManager catalogManager;
 	// Flag that tells if the current planner should work in a batch or streaming mode.
 	private final boolean isStreamingMode;
+	private final TableConfig tableConfig;
 
-	public CatalogManagerCalciteSchema(CatalogManager catalogManager, boolean isStreamingMode) {
+	public CatalogManagerCalciteSchema(
+			CatalogManager catalogManager,
+			boolean isStreamingMode,
+			TableConfig tableConfig) {
 		this.catalogManager = catalogManager;
 		this.isStreamingMode = isStreamingMode;
+		this.tableConfig = tableConfig;
 	}
 
 	@Override
@@ -67,7 +73,7 @@ public class CatalogManagerCalciteSchema extends FlinkSchema {
 	@Override
 	public Schema getSubSchema(String name) {
 		Schema schema = catalogManager.getCatalog(name)
-			.map(catalog -> new CatalogCalciteSchema(name, catalog, isStreamingMode))
+			.map(catalog -> new CatalogCalciteSchema(name, catalog, isStreamingMode, tableConfig))
 			.orElse(null);
 
 		if (schema == null && catalogManager.getExternalCatalog(name).isPresent()) {
@@ -18,7 +18,9 @@
 
 package org.apache.flink.table.planner.catalog;
 
+import org.apache.flink.table.api.TableConfig;
 import org.apache.flink.table.api.TableException;
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
 import org.apache.flink.table.catalog.Catalog;
 import org.apache.flink.table.catalog.CatalogBaseTable;
 import org.apache.flink.table.catalog.CatalogTable;
@@ -69,12 +71,19 @@ class DatabaseCalciteSchema extends FlinkSchema {
 	private final Catalog catalog;
 	// Flag that tells if the current planner should work in a batch or streaming mode.
 	private final boolean isStreamingMode;
-
-	public DatabaseCalciteSchema(String databaseName, String catalogName, Catalog catalog, boolean isStreamingMode) {
+	private final TableConfig tableConfig;
+
+	public DatabaseCalciteSchema(
+			String databaseName,
+			String catalogName,
+			Catalog catalog,
+			boolean isStreamingMode,
+			TableConfig tableConfig) {
 		this.databaseName = databaseName;
 		this.catalogName = catalogName;
 		this.catalog = catalog;
 		this.isStreamingMode = isStreamingMode;
+		this.tableConfig = tableConfig;
 	}
 
 	@Override
@@ -133,17 +142,10 @@ class DatabaseCalciteSchema extends FlinkSchema {
 				throw new TableException("Only bounded StreamTableSource can be used in batch mode.");
 			}
 
-			TableStats tableStats = TableStats.UNKNOWN;
-			// TODO supports stats for partitionable table
-			if (!table.isPartitioned()) {
-				CatalogTableStatistics tableStatistics = catalog.getTableStatistics(tablePath);
-				CatalogColumnStatistics columnStatistics = catalog.getTableColumnStatistics(tablePath);
-				tableStats = convertToTableStats(tableStatistics, columnStatistics);
-			}
 			return new TableSourceTable<>(
 					tableSource,
 					isStreamingMode,
-					FlinkStatistic.builder().tableStats(tableStats).build());
+					getStatistic(tablePath, table.isPartitioned()));
 		} else {
 			Optional<TableSinkTable> tableSinkTable = table.getTableSink()
 				.map(tableSink -> new TableSinkTable<>(
@@ -158,7 +160,9 @@ class DatabaseCalciteSchema extends FlinkSchema {
 		}
 	}
 
-	private Table convertCatalogTable(ObjectPath tablePath, CatalogTable table) {
+	private Table convertCatalogTable(
+			ObjectPath tablePath,
+			CatalogTable table) throws TableNotExistException {
 		TableSource<?> tableSource;
 		Optional<TableFactory> tableFactory = catalog.getTableFactory();
 		if (tableFactory.isPresent()) {
@@ -177,13 +181,32 @@ class DatabaseCalciteSchema extends FlinkSchema {
 			throw new TableException("Catalog tables support only StreamTableSource and InputFormatTableSource");
 		}
 
+		// the statistics of catalog tables are only used by the cost based join reorder so far,
+		// so that the plans of other queries, e.g. on Hive tables, do not change
+		FlinkStatistic statistic = FlinkStatistic.UNKNOWN();
+		if (tableConfig.getConfiguration().getBoolean(
+				OptimizerConfigOptions.TABLE_OPTIMIZER_JOIN_REORDER_COST_BASED_ENABLED)) {
+			statistic = getStatistic(tablePath, table.isPartitioned());
+		}
 		return new TableSourceTable<>(
 			tableSource,
 			!((StreamTableSource<?>) tableSource).isBounded(),
-			FlinkStatistic.UNKNOWN()
+			statistic
 		);
 	}
 
+	private FlinkStatistic getStatistic(
+			ObjectPath tablePath,
+			boolean isPartitioned) throws TableNotExistException {
+		TableStats tableStats = TableStats.UNKNOWN;
+		if (!isPartitioned) {
+			CatalogTableStatistics tableStatistics = catalog.getTableStatistics(tablePath);
+			CatalogColumnStatistics columnStatistics = catalog.getTableColumnStatistics(tablePath);
+			tableStats = convertToTableStats(tableStatistics, columnStatistics);
+		}
+		return FlinkStatistic.builder().tableStats(tableStats).build();
+	}
+
 	@Override
 	public Set<String> getTableNames() {
 		try {
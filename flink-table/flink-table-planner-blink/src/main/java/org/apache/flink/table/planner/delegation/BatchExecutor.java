@@ -29,6 +29,7 @@ import org.apache.flink.runtime.jobgraph.ScheduleMode;
 import org.apache.flink.streaming.api.TimeCharacteristic;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 import org.apache.flink.streaming.api.graph.StreamGraph;
+import org.apache.flink.streaming.api.graph.StreamGraphGenerator;
 import org.apache.flink.streaming.api.transformations.ShuffleMode;
 import org.apache.flink.table.api.config.ExecutionConfigOptions;
 import org.apache.flink.table.delegation.Executor;
@@ -52,6 +53,9 @@ public class BatchExecutor extends ExecutorBase {
 	public JobExecutionResult execute(String jobName) throws Exception {
 		StreamExecutionEnvironment execEnv = getExecutionEnvironment();
 		StreamGraph streamGraph = generateStreamGraph(jobName);
+		// the applied transformations must not be executed again by the next job,
+		// e.g. the one of an ANALYZE TABLE statement
+		transformations.clear();
 		return execEnv.execute(streamGraph);
 	}
 
@@ -73,9 +77,20 @@ public class BatchExecutor extends ExecutorBase {
 	public StreamGraph generateStreamGraph(List<Transformation<?>> transformations, String jobName) {
 		StreamExecutionEnvironment execEnv = getExecutionEnvironment();
 		setBatchProperties(execEnv);
-		transformations.forEach(execEnv::addOperator);
-		StreamGraph streamGraph;
-		streamGraph = execEnv.getStreamGraph(getNonEmptyJobName(jobName));
+		if (transformations.isEmpty()) {
+			throw new IllegalStateException("No operators defined in streaming topology. Cannot execute.");
+		}
+		// the transformations are not added to the execution environment,
+		// so they are not executed again by a later job
+		StreamGraph streamGraph = new StreamGraphGenerator(
+				transformations, execEnv.getConfig(), execEnv.getCheckpointConfig())
+			.setStateBackend(execEnv.getStateBackend())
+			.setChaining(execEnv.isChainingEnabled())
+			.setUserArtifacts(execEnv.getCachedFiles())
+			.setTimeCharacteristic(execEnv.getStreamTimeCharacteristic())
+			.setDefaultBufferTimeout(execEnv.getBufferTimeout())
+			.setJobName(getNonEmptyJobName(jobName))
+			.generate();
 		// All transformations should set managed memory size.
 		ResourceSpec managedResourceSpec = NodeResourceUtil.fromManagedMem(0);
 		streamGraph.getStreamNodes().forEach(sn -> {
@@ -18,7 +18,11 @@
 
 package org.apache.flink.table.planner.operations;
 
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.accumulators.SerializedListAccumulator;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.sql.parser.SqlProperty;
+import org.apache.flink.sql.parser.ddl.SqlAnalyzeTable;
 import org.apache.flink.sql.parser.ddl.SqlCreateTable;
 import org.apache.flink.sql.parser.ddl.SqlDropTable;
 import org.apache.flink.sql.parser.ddl.SqlTableColumn;
@@ -27,14 +31,20 @@ import org.apache.flink.table.api.TableException;
 import org.apache.flink.table.api.TableSchema;
 import org.apache.flink.table.catalog.CatalogTable;
 import org.apache.flink.table.catalog.CatalogTableImpl;
+import org.apache.flink.table.operations.AnalyzeTableOperation;
 import org.apache.flink.table.operations.CatalogSinkModifyOperation;
 import org.apache.flink.table.operations.Operation;
+import org.apache.flink.table.operations.UnregisteredSinkModifyOperation;
 import org.apache.flink.table.operations.ddl.CreateTableOperation;
 import org.apache.flink.table.operations.ddl.DropTableOperation;
 import org.apache.flink.table.planner.calcite.FlinkPlannerImpl;
 import org.apache.flink.table.planner.calcite.FlinkTypeFactory;
 import org.apache.flink.table.planner.calcite.FlinkTypeSystem;
+import org.apache.flink.table.planner.sinks.CollectRowTableSink;
+import org.apache.flink.table.planner.sinks.CollectTableSink;
 import org.apache.flink.table.runtime.types.LogicalTypeDataTypeConverter;
+import org.apache.flink.types.Row;
+import org.apache.flink.util.AbstractID;
 
 import org.apache.calcite.rel.RelRoot;
 import org.apache.calcite.rel.type.RelDataType;
@@ -43,6 +53,7 @@ import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlNodeList;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -85,6 +96,8 @@ public class SqlToOperationConverter {
 			return converter.convertCreateTable((SqlCreateTable) validated);
 		} if (validated instanceof SqlDropTable) {
 			return converter.convertDropTable((SqlDropTable) validated);
+		} else if (validated instanceof SqlAnalyzeTable) {
+			return converter.convertAnalyzeTable((SqlAnalyzeTable) validated);
 		} else if (validated instanceof RichSqlInsert) {
 			return converter.convertSqlInsert((RichSqlInsert) validated);
 		} else if (validated.getKind().belongsTo(SqlKind.QUERY)) {
@@ -145,6 +158,45 @@ public class SqlToOperationConverter {
 		return new DropTableOperation(sqlDropTable.fullTableName(), sqlDropTable.getIfExists());
 	}
 
+	/**
+	 * Convert ANALYZE TABLE statement. The statistics are computed by a query over the table
+	 * whose single result row is collected into an accumulator of the job.
+	 */
+	private Operation convertAnalyzeTable(SqlAnalyzeTable sqlAnalyzeTable) {
+		String tableName = sqlAnalyzeTable.getTableName().names
+			.stream()
+			.map(TableStatisticsQuery::quote)
+			.collect(Collectors.joining("."));
+		TableSchema tableSchema =
+			((PlannerQueryOperation) convert(flinkPlanner, flinkPlanner.parse("SELECT * FROM " + tableName)))
+				.getTableSchema();
+		TableStatisticsQuery statisticsQuery = new TableStatisticsQuery(tableName, tableSchema);
+		PlannerQueryOperation queryOperation =
+			(PlannerQueryOperation) convert(flinkPlanner, flinkPlanner.parse(statisticsQuery.getQuery()));
+
+		TableSchema resultSchema = queryOperation.getTableSchema();
+		@SuppressWarnings("unchecked")
+		CollectTableSink<Row> sink = (CollectTableSink<Row>) new CollectRowTableSink()
+			.configure(resultSchema.getFieldNames(), resultSchema.getFieldTypes());
+		TypeSerializer<Row> serializer = sink.getOutputType().createSerializer(new ExecutionConfig());
+		String accumulatorId = new AbstractID().toString();
+		sink.init(serializer, accumulatorId);
+
+		return new AnalyzeTableOperation(
+			sqlAnalyzeTable.fullTableName(),
+			new UnregisteredSinkModifyOperation<>(sink, queryOperation),
+			result -> {
+				List<Row> rows;
+				try {
+					ArrayList<byte[]> accumulatorResult = result.getAccumulatorResult(accumulatorId);
+					rows = SerializedListAccumulator.deserializeList(accumulatorResult, serializer);
+				} catch (IOException | ClassNotFoundException e) {
+					throw new TableException("Could not collect the statistics of table " + tableName, e);
+				}
+				return statisticsQuery.toStatistics(rows.get(0));
+			});
+	}
+
 	/** Convert insert into statement. */
 	private Operation convertSqlInsert(RichSqlInsert insert) {
 		// get name of sink table
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.operations;
+
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.table.api.TableSchema;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatistics;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBase;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBoolean;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDate;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDouble;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataLong;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataString;
+import org.apache.flink.table.catalog.stats.Date;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.types.Row;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The query of an ANALYZE TABLE statement, which computes the row count of a table and the
+ * statistics of its columns in a single aggregation.
+ *
+ * <p>For every column of a supported type the query computes the number of non-null values and,
+ * depending on the type, the number of distinct values, the minimum and maximum value, the number
+ * of true values or the maximum and average length. Columns of other types are not analyzed.
+ */
+class TableStatisticsQuery {
+
+	private final String[] columnNames;
+	private final LogicalType[] columnTypes;
+
+	/** The index of the first aggregate of every column in the result, -1 if it is not analyzed. */
+	private final int[] columnOffsets;
+
+	private final String query;
+
+	TableStatisticsQuery(String tableName, TableSchema schema) {
+		this.columnNames = schema.getFieldNames();
+		this.columnTypes = Arrays.stream(schema.getFieldDataTypes())
+			.map(DataType::getLogicalType)
+			.toArray(LogicalType[]::new);
+		this.columnOffsets = new int[columnNames.length];
+
+		List<String> aggregates = new ArrayList<>();
+		aggregates.add("COUNT(1)");
+		for (int i = 0; i < columnNames.length; i++) {
+			List<String> columnAggregates = aggregatesOf(columnTypes[i], quote(columnNames[i]));
+			if (columnAggregates.isEmpty()) {
+				columnOffsets[i] = -1;
+			} else {
+				columnOffsets[i] = aggregates.size();
+				aggregates.addAll(columnAggregates);
+			}
+		}
+		this.query = "SELECT " + String.join(", ", aggregates) + " FROM " + tableName;
+	}
+
+	String getQuery() {
+		return query;
+	}
+
+	/**
+	 * Converts the result row of the query to the row count and the column statistics of the table.
+	 */
+	Tuple2<Long, CatalogColumnStatistics> toStatistics(Row result) {
+		long rowCount = (Long) result.getField(0);
+		Map<String, CatalogColumnStatisticsDataBase> columnStatistics = new HashMap<>();
+		for (int i = 0; i < columnNames.length; i++) {
+			int offset = columnOffsets[i];
+			if (offset < 0) {
+				continue;
+			}
+			long nullCount = rowCount - (Long) result.getField(offset);
+			CatalogColumnStatisticsDataBase statistics = null;
+			switch (columnTypes[i].getTypeRoot()) {
+				case BOOLEAN:
+					long trueCount = (Long) result.getField(offset + 1);
+					statistics = new CatalogColumnStatisticsDataBoolean(
+						trueCount, rowCount - nullCount - trueCount, nullCount);
+					break;
+				case CHAR:
+				case VARCHAR:
+					Number maxLength = (Number) result.getField(offset + 2);
+					Number avgLength = (Number) result.getField(offset + 3);
+					statistics = new CatalogColumnStatisticsDataString(
+						maxLength == null ? 0L : maxLength.longValue(),
+						avgLength == null ? 0.0 : avgLength.doubleValue(),
+						(Long) result.getField(offset + 1),
+						nullCount);
+					break;
+				case TINYINT:
+				case SMALLINT:
+				case INTEGER:
+				case BIGINT:
+					if (result.getField(offset + 2) != null) {
+						statistics = new CatalogColumnStatisticsDataLong(
+							((Number) result.getField(offset + 2)).longValue(),
+							((Number) result.getField(offset + 3)).longValue(),
+							(Long) result.getField(offset + 1),
+							nullCount);
+					}
+					break;
+				case FLOAT:
+				case DOUBLE:
+				case DECIMAL:
+					if (result.getField(offset + 2) != null) {
+						statistics = new CatalogColumnStatisticsDataDouble(
+							((Number) result.getField(offset + 2)).doubleValue(),
+							((Number) result.getField(offset + 3)).doubleValue(),
+							(Long) result.getField(offset + 1),
+							nullCount);
+					}
+					break;
+				case DATE:
+					if (result.getField(offset + 2) != null) {
+						statistics = new CatalogColumnStatisticsDataDate(
+							new Date(toEpochDay(result.getField(offset + 2))),
+							new Date(toEpochDay(result.getField(offset + 3))),
+							(Long) result.getField(offset + 1),
+							nullCount);
+					}
+					break;
+				default:
+					throw new IllegalStateException("Unexpected type: " + columnTypes[i]);
+			}
+			// min and max are unknown if all values are null
+			if (statistics != null) {
+				columnStatistics.put(columnNames[i], statistics);
+			}
+		}
+		return Tuple2.of(rowCount, new CatalogColumnStatistics(columnStatistics));
+	}
+
+	/**
+	 * Quotes an identifier for the SQL parser.
+	 */
+	static String quote(String identifier) {
+		return "`" + identifier.replace("`", "``") + "`";
+	}
+
+	private static List<String> aggregatesOf(LogicalType type, String column) {
+		switch (type.getTypeRoot()) {
+			case BOOLEAN:
+				return Arrays.asList(
+					"COUNT(" + column + ")",
+					"COUNT(CASE WHEN " + column + " THEN 1 END)");
+			case CHAR:
+			case VARCHAR:
+				return Arrays.asList(
+					"COUNT(" + column + ")",
+					"COUNT(DISTINCT " + column + ")",
+					"MAX(CHAR_LENGTH(" + column + "))",
+					"AVG(CAST(CHAR_LENGTH(" + column + ") AS DOUBLE))");
+			case TINYINT:
+			case SMALLINT:
+			case INTEGER:
+			case BIGINT:
+			case FLOAT:
+			case DOUBLE:
+			case DECIMAL:
+			case DATE:
+				return Arrays.asList(
+					"COUNT(" + column + ")",
+					"COUNT(DISTINCT " + column + ")",
+					"MIN(" + column + ")",
+					"MAX(" + column + ")");
+			default:
+				return new ArrayList<>();
+		}
+	}
+
+	private static long toEpochDay(Object date) {
+		if (date instanceof LocalDate) {
+			return ((LocalDate) date).toEpochDay();
+		}
+		return ((java.sql.Date) date).toLocalDate().toEpochDay();
+	}
+}
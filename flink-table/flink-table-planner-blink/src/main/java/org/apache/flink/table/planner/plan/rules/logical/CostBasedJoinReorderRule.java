@@ -0,0 +1,458 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.rules.logical;
+
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
+import org.apache.flink.table.planner.plan.metadata.FlinkRelMetadataQuery;
+import org.apache.flink.table.planner.plan.utils.FlinkRelOptUtil;
+
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.core.RelFactories;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rel.rules.MultiJoin;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.tools.RelBuilder;
+import org.apache.calcite.tools.RelBuilderFactory;
+import org.apache.calcite.util.ImmutableBitSet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Planner rule that reorders the inputs of a {@link MultiJoin} which only consists of inner joins
+ * by the estimated size of the intermediate results.
+ *
+ * <p>The cardinality of a set of joined inputs is the product of the row counts of the inputs and
+ * the selectivities of the join conditions between them. The selectivity of an equi-join condition
+ * {@code a = b} is {@code (1 - nullFraction(a)) * (1 - nullFraction(b)) / max(ndv(a), ndv(b))},
+ * where the number of distinct values and the null counts come from the column statistics of the
+ * inputs, other conditions use the default selectivity guess of Calcite.
+ *
+ * <p>The cost of a join tree is the sum of the cardinalities of all its joins. If the number of
+ * inputs does not exceed {@link OptimizerConfigOptions#TABLE_OPTIMIZER_JOIN_REORDER_DP_THRESHOLD},
+ * capped at {@link #MAX_DP_INPUTS}, the cheapest bushy join tree is found by dynamic programming over
+ * all subsets of the inputs, cross products are only considered for subsets which cannot be joined
+ * by any join condition. Otherwise the join tree is built greedily by repeatedly joining the two
+ * trees with the smallest connected result.
+ *
+ * <p>MultiJoins which contain outer joins are left to {@link org.apache.calcite.rel.rules.LoptOptimizeJoinRule}.
+ */
+public class CostBasedJoinReorderRule extends RelOptRule {
+
+	public static final CostBasedJoinReorderRule INSTANCE =
+			new CostBasedJoinReorderRule(RelFactories.LOGICAL_BUILDER);
+
+	/** The inputs of a join are represented as bits of a long. */
+	private static final int MAX_INPUTS = Long.SIZE - 1;
+
+	/**
+	 * The maximum number of inputs enumerated by dynamic programming, which visits every split of
+	 * every subset of the inputs, i.e. O(3^n) pairs, regardless of the configured threshold.
+	 */
+	static final int MAX_DP_INPUTS = 12;
+
+	public CostBasedJoinReorderRule(RelBuilderFactory relBuilderFactory) {
+		super(operand(MultiJoin.class, any()), relBuilderFactory, "CostBasedJoinReorderRule");
+	}
+
+	@Override
+	public boolean matches(RelOptRuleCall call) {
+		MultiJoin multiJoin = call.rel(0);
+		if (multiJoin.isFullOuterJoin() || multiJoin.getInputs().size() > MAX_INPUTS) {
+			return false;
+		}
+		for (JoinRelType joinType : multiJoin.getJoinTypes()) {
+			if (joinType != JoinRelType.INNER) {
+				return false;
+			}
+		}
+		for (RexNode outerJoinCondition : multiJoin.getOuterJoinConditions()) {
+			if (outerJoinCondition != null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void onMatch(RelOptRuleCall call) {
+		MultiJoin multiJoin = call.rel(0);
+		int dpThreshold = Math.min(
+				MAX_DP_INPUTS,
+				FlinkRelOptUtil.getTableConfigFromContext(multiJoin).getConfiguration()
+						.getInteger(OptimizerConfigOptions.TABLE_OPTIMIZER_JOIN_REORDER_DP_THRESHOLD));
+		FlinkRelMetadataQuery mq = FlinkRelMetadataQuery.reuseOrCreate(call.getMetadataQuery());
+		RelBuilder relBuilder = call.builder();
+
+		JoinGraph graph = new JoinGraph(multiJoin, mq, relBuilder);
+		JoinTree tree = graph.size() <= dpThreshold ? graph.enumerateBushy() : graph.enumerateGreedily();
+		call.transformTo(graph.build(tree, multiJoin, relBuilder));
+	}
+
+	// --------------------------------------------------------------------------------------------
+
+	/**
+	 * A join tree over a set of inputs with the accumulated size of its intermediate results.
+	 */
+	private static final class JoinTree {
+
+		private final long inputs;
+		private final JoinTree left;
+		private final JoinTree right;
+		private final double cost;
+
+		private JoinTree(long inputs, JoinTree left, JoinTree right, double cost) {
+			this.inputs = inputs;
+			this.left = left;
+			this.right = right;
+			this.cost = cost;
+		}
+
+		private boolean isLeaf() {
+			return left == null;
+		}
+	}
+
+	/**
+	 * The inputs of a {@link MultiJoin} and the conditions between them.
+	 */
+	private static final class JoinGraph {
+
+		private final FlinkRelMetadataQuery mq;
+
+		/** The inputs of the join with their local filters. */
+		private final List<RelNode> inputs = new ArrayList<>();
+		private final int[] fieldStarts;
+		private final double[] rowCounts;
+
+		/** The conditions which reference at least two inputs. */
+		private final List<RexNode> conditions = new ArrayList<>();
+		private final List<Long> conditionInputs = new ArrayList<>();
+		private final List<Double> selectivities = new ArrayList<>();
+
+		/** The conditions which do not reference any input. */
+		private final List<RexNode> constantConditions = new ArrayList<>();
+
+		private final Map<Long, Double> cardinalities = new HashMap<>();
+
+		private JoinGraph(MultiJoin multiJoin, FlinkRelMetadataQuery mq, RelBuilder relBuilder) {
+			this.mq = mq;
+			int numInputs = multiJoin.getInputs().size();
+			this.fieldStarts = new int[numInputs + 1];
+			for (int i = 0; i < numInputs; i++) {
+				fieldStarts[i + 1] = fieldStarts[i] + multiJoin.getInputs().get(i).getRowType().getFieldCount();
+			}
+
+			List<List<RexNode>> localConditions = new ArrayList<>();
+			for (int i = 0; i < numInputs; i++) {
+				localConditions.add(new ArrayList<>());
+			}
+			List<RexNode> joinConditions = new ArrayList<>();
+			for (RexNode condition : RelOptUtil.conjunctions(multiJoin.getJoinFilter())) {
+				if (condition.isAlwaysTrue()) {
+					continue;
+				}
+				long referencedInputs = inputsOf(condition);
+				if (referencedInputs == 0) {
+					constantConditions.add(condition);
+				} else if (Long.bitCount(referencedInputs) == 1) {
+					int input = Long.numberOfTrailingZeros(referencedInputs);
+					localConditions.get(input).add(RexUtil.shift(condition, -fieldStarts[input]));
+				} else {
+					joinConditions.add(condition);
+					conditionInputs.add(referencedInputs);
+				}
+			}
+
+			this.rowCounts = new double[numInputs];
+			for (int i = 0; i < numInputs; i++) {
+				RelNode input = relBuilder
+						.push(multiJoin.getInputs().get(i))
+						.filter(localConditions.get(i))
+						.build();
+				inputs.add(input);
+				Double rowCount = mq.getRowCount(input);
+				rowCounts[i] = rowCount == null ? 1.0 : Math.max(rowCount, 1.0);
+			}
+
+			for (RexNode condition : joinConditions) {
+				conditions.add(condition);
+				selectivities.add(estimateSelectivity(condition));
+			}
+		}
+
+		private int size() {
+			return inputs.size();
+		}
+
+		/**
+		 * Finds the cheapest bushy join tree by dynamic programming over all subsets of inputs.
+		 * As every proper subset of a set of inputs is numerically smaller than the set, the best
+		 * trees of its subsets are already known when a set is visited.
+		 */
+		private JoinTree enumerateBushy() {
+			Map<Long, JoinTree> bestTrees = new HashMap<>();
+			for (int i = 0; i < size(); i++) {
+				bestTrees.put(1L << i, new JoinTree(1L << i, null, null, 0.0));
+			}
+			long all = (1L << size()) - 1;
+			for (long set = 1; set <= all; set++) {
+				if (Long.bitCount(set) < 2) {
+					continue;
+				}
+				JoinTree bestConnected = null;
+				JoinTree bestCrossProduct = null;
+				for (long left = (set - 1) & set; left > 0; left = (left - 1) & set) {
+					long right = set & ~left;
+					if (left < right) {
+						// every split is visited twice, the order of the sides is decided by join()
+						continue;
+					}
+					JoinTree tree = join(bestTrees.get(left), bestTrees.get(right));
+					if (isConnected(left, right)) {
+						if (bestConnected == null || tree.cost < bestConnected.cost) {
+							bestConnected = tree;
+						}
+					} else if (bestCrossProduct == null || tree.cost < bestCrossProduct.cost) {
+						bestCrossProduct = tree;
+					}
+				}
+				bestTrees.put(set, bestConnected != null ? bestConnected : bestCrossProduct);
+			}
+			return bestTrees.get(all);
+		}
+
+		/**
+		 * Builds a join tree by repeatedly joining the two trees with the smallest result,
+		 * preferring trees which are connected by a join condition.
+		 */
+		private JoinTree enumerateGreedily() {
+			List<JoinTree> trees = new ArrayList<>();
+			for (int i = 0; i < size(); i++) {
+				trees.add(new JoinTree(1L << i, null, null, 0.0));
+			}
+			while (trees.size() > 1) {
+				int bestLeft = -1;
+				int bestRight = -1;
+				boolean bestConnected = false;
+				double bestCardinality = Double.POSITIVE_INFINITY;
+				for (int i = 0; i < trees.size(); i++) {
+					for (int j = i + 1; j < trees.size(); j++) {
+						long left = trees.get(i).inputs;
+						long right = trees.get(j).inputs;
+						boolean connected = isConnected(left, right);
+						double cardinality = cardinality(left | right);
+						if (bestLeft < 0 ||
+								(connected && !bestConnected) ||
+								(connected == bestConnected && cardinality < bestCardinality)) {
+							bestLeft = i;
+							bestRight = j;
+							bestConnected = connected;
+							bestCardinality = cardinality;
+						}
+					}
+				}
+				JoinTree tree = join(trees.get(bestLeft), trees.get(bestRight));
+				trees.remove(bestRight);
+				trees.remove(bestLeft);
+				trees.add(tree);
+			}
+			return trees.get(0);
+		}
+
+		/**
+		 * Joins two trees, the larger side becomes the left input.
+		 */
+		private JoinTree join(JoinTree a, JoinTree b) {
+			long set = a.inputs | b.inputs;
+			double cost = a.cost + b.cost + cardinality(set);
+			if (cardinality(a.inputs) >= cardinality(b.inputs)) {
+				return new JoinTree(set, a, b, cost);
+			} else {
+				return new JoinTree(set, b, a, cost);
+			}
+		}
+
+		private boolean isConnected(long left, long right) {
+			for (long referencedInputs : conditionInputs) {
+				if ((referencedInputs & ~(left | right)) == 0 &&
+						(referencedInputs & left) != 0 &&
+						(referencedInputs & right) != 0) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private double cardinality(long set) {
+			Double cardinality = cardinalities.get(set);
+			if (cardinality == null) {
+				double result = 1.0;
+				for (int i = 0; i < size(); i++) {
+					if ((set & (1L << i)) != 0) {
+						result *= rowCounts[i];
+					}
+				}
+				for (int i = 0; i < conditions.size(); i++) {
+					if ((conditionInputs.get(i) & ~set) == 0) {
+						result *= selectivities.get(i);
+					}
+				}
+				cardinality = Math.max(result, 1.0);
+				cardinalities.put(set, cardinality);
+			}
+			return cardinality;
+		}
+
+		private double estimateSelectivity(RexNode condition) {
+			if (condition.isA(SqlKind.EQUALS)) {
+				List<RexNode> operands = ((RexCall) condition).getOperands();
+				if (operands.get(0) instanceof RexInputRef && operands.get(1) instanceof RexInputRef) {
+					int leftField = ((RexInputRef) operands.get(0)).getIndex();
+					int rightField = ((RexInputRef) operands.get(1)).getIndex();
+					int leftInput = inputOf(leftField);
+					int rightInput = inputOf(rightField);
+					double maxNdv = Math.max(
+							distinctCount(leftInput, leftField - fieldStarts[leftInput]),
+							distinctCount(rightInput, rightField - fieldStarts[rightInput]));
+					double selectivity = (1.0 - nullFraction(leftInput, leftField - fieldStarts[leftInput])) *
+							(1.0 - nullFraction(rightInput, rightField - fieldStarts[rightInput])) / maxNdv;
+					return Math.min(Math.max(selectivity, 0.0), 1.0);
+				}
+			}
+			return RelMdUtil.guessSelectivity(condition);
+		}
+
+		private double distinctCount(int input, int field) {
+			Double ndv = mq.getDistinctRowCount(inputs.get(input), ImmutableBitSet.of(field), null);
+			if (ndv == null) {
+				return rowCounts[input];
+			}
+			return Math.max(Math.min(ndv, rowCounts[input]), 1.0);
+		}
+
+		private double nullFraction(int input, int field) {
+			Double nullCount = mq.getColumnNullCount(inputs.get(input), field);
+			if (nullCount == null) {
+				return 0.0;
+			}
+			return Math.min(Math.max(nullCount / rowCounts[input], 0.0), 1.0);
+		}
+
+		private int inputOf(int field) {
+			for (int i = 0; i < size(); i++) {
+				if (field < fieldStarts[i + 1]) {
+					return i;
+				}
+			}
+			throw new IllegalArgumentException("Field " + field + " does not belong to any input.");
+		}
+
+		private long inputsOf(RexNode condition) {
+			long result = 0;
+			for (int field : RelOptUtil.InputFinder.bits(condition)) {
+				result |= 1L << inputOf(field);
+			}
+			return result;
+		}
+
+		/**
+		 * Builds the joins of the tree and restores the field order of the {@link MultiJoin}.
+		 */
+		private RelNode build(JoinTree tree, MultiJoin multiJoin, RelBuilder relBuilder) {
+			List<Integer> fields = new ArrayList<>();
+			RelNode joined = build(tree, fields, relBuilder);
+			int[] positions = positionsOf(fields);
+
+			List<RexNode> projects = new ArrayList<>();
+			List<String> names = new ArrayList<>();
+			for (RelDataTypeField field : multiJoin.getRowType().getFieldList()) {
+				projects.add(new RexInputRef(positions[field.getIndex()], field.getType()));
+				names.add(field.getName());
+			}
+			List<RexNode> topConditions = new ArrayList<>(constantConditions);
+			if (multiJoin.getPostJoinFilter() != null) {
+				topConditions.add(multiJoin.getPostJoinFilter());
+			}
+			return relBuilder
+					.push(joined)
+					.project(projects, names)
+					.filter(topConditions)
+					.build();
+		}
+
+		/**
+		 * Builds the joins of the tree and appends the fields of the {@link MultiJoin} which are
+		 * produced by it in their output order to the given list, which must be empty.
+		 */
+		private RelNode build(JoinTree tree, List<Integer> fields, RelBuilder relBuilder) {
+			if (tree.isLeaf()) {
+				int input = Long.numberOfTrailingZeros(tree.inputs);
+				for (int i = fieldStarts[input]; i < fieldStarts[input + 1]; i++) {
+					fields.add(i);
+				}
+				return inputs.get(input);
+			}
+			RelNode left = build(tree.left, fields, relBuilder);
+			List<Integer> rightFields = new ArrayList<>();
+			RelNode right = build(tree.right, rightFields, relBuilder);
+			fields.addAll(rightFields);
+			int[] positions = positionsOf(fields);
+
+			List<RexNode> joinConditions = new ArrayList<>();
+			for (int i = 0; i < conditions.size(); i++) {
+				long referencedInputs = conditionInputs.get(i);
+				if ((referencedInputs & ~tree.inputs) == 0 &&
+						(referencedInputs & ~tree.left.inputs) != 0 &&
+						(referencedInputs & ~tree.right.inputs) != 0) {
+					joinConditions.add(conditions.get(i).accept(new RexShuttle() {
+						@Override
+						public RexNode visitInputRef(RexInputRef inputRef) {
+							return new RexInputRef(positions[inputRef.getIndex()], inputRef.getType());
+						}
+					}));
+				}
+			}
+			return relBuilder
+					.push(left)
+					.push(right)
+					.join(JoinRelType.INNER, joinConditions)
+					.build();
+		}
+
+		private int[] positionsOf(List<Integer> fields) {
+			int[] positions = new int[fieldStarts[size()]];
+			for (int i = 0; i < fields.size(); i++) {
+				positions[fields.get(i)] = i;
+			}
+			return positions;
+		}
+	}
+}
@@ -19,9 +19,10 @@
 package org.apache.flink.table.planner.codegen.agg.batch
 
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator
+import org.apache.flink.table.api.config.ExecutionConfigOptions
 import org.apache.flink.table.dataformat.{BaseRow, BinaryRow, GenericRow, JoinedRow}
 import org.apache.flink.table.functions.UserDefinedFunction
-import org.apache.flink.table.planner.codegen.{CodeGenUtils, CodeGeneratorContext, ProjectionCodeGenerator}
+import org.apache.flink.table.planner.codegen.{CodeGenUtils, CodeGeneratorContext, OperatorCodeGenerator, ProjectionCodeGenerator}
 import org.apache.flink.table.planner.functions.aggfunctions.DeclarativeAggregateFunction
 import org.apache.flink.table.planner.plan.utils.AggregateInfoList
 import org.apache.flink.table.runtime.generated.GeneratedOperator
@@ -60,6 +61,12 @@ class HashAggCodeGenerator(
     AggCodeGenHelper.getAggBufferTypes(inputType, auxGrouping, aggregates)
   private lazy val aggBufferRowType = RowType.of(aggBufferTypes.flatten, aggBufferNames.flatten)
 
+  // the local phase may pass its input through when it does not reduce the input
+  private lazy val isAdaptiveLocalAgg = !isMerge && !isFinal &&
+    ctx.tableConfig.getConfiguration.getBoolean(
+      ExecutionConfigOptions.TABLE_EXEC_LOCAL_HASH_AGG_ADAPTIVE_ENABLED)
+  private lazy val numDistinctKeysTerm = CodeGenUtils.newName("numDistinctKeys")
+
   def genWithKeys(reservedManagedMemory: Long)
     : GeneratedOperator[OneInputStreamOperator[BaseRow, BaseRow]] = {
     val inputTerm = CodeGenUtils.DEFAULT_INPUT1_TERM
@@ -112,6 +119,12 @@ class HashAggCodeGenerator(
 
     val currentAggBufferTerm = ctx.addReusableLocalVariable(
       classOf[BinaryRow].getName, "currentAggBuffer")
+    val countDistinctKeyCode = if (isAdaptiveLocalAgg) {
+      ctx.addReusableMember(s"private long $numDistinctKeysTerm = 0L;")
+      s"$numDistinctKeysTerm++;"
+    } else {
+      ""
+    }
     val (initedAggBuffer, aggregate, outputExpr) = HashAggCodeGenHelper.genHashAggCodes(
       isMerge,
       isFinal,
@@ -171,7 +184,7 @@ class HashAggCodeGenerator(
       ""
     }
 
-    val processCode =
+    val aggregateCode =
       s"""
          | // input field access for group key projection and aggregate buffer update
          |${ctx.reuseInputUnboxingCode(inputTerm)}
@@ -190,6 +203,7 @@ class HashAggCodeGenerator(
          |  } catch (java.io.EOFException exp) {
          |    $dealWithAggHashMapOOM
          |  }
+         |  $countDistinctKeyCode
          |}
          | // aggregate buffer fields access
          |${ctx.reuseInputUnboxingCode(currentAggBufferTerm)}
@@ -197,6 +211,24 @@ class HashAggCodeGenerator(
          |${aggregate.code}
          |""".stripMargin.trim
 
+    val processCode = if (isAdaptiveLocalAgg) {
+      genAdaptiveLocalAggProcessCode(
+        inputTerm,
+        aggregateCode,
+        keyProjectionCode,
+        currentKeyTerm,
+        currentAggBufferTerm,
+        lazyInitAggBufferCode,
+        initedAggBuffer.resultTerm,
+        aggregate.code,
+        outputTerm,
+        aggregateMapTerm,
+        outputResultFromMap,
+        logTerm)
+    } else {
+      aggregateCode
+    }
+
     val endInputCode = if (isFinal) {
       val memPoolTypeTerm = classOf[BytesHashMapSpillMemorySegmentPool].getName
       s"""
@@ -227,4 +259,73 @@ class HashAggCodeGenerator(
       endInputCode,
       inputType)
   }
+
+  /**
+    * Generates the process code of a local aggregate which samples the ratio of distinct keys in
+    * its first records. If the ratio exceeds the threshold, the aggregate does not reduce its
+    * input, so it outputs the aggregate map and emits the accumulated buffer of every following
+    * record directly, without looking up the map.
+    */
+  private def genAdaptiveLocalAggProcessCode(
+      inputTerm: String,
+      aggregateCode: String,
+      keyProjectionCode: String,
+      currentKeyTerm: String,
+      currentAggBufferTerm: String,
+      lazyInitAggBufferCode: String,
+      initedAggBufferTerm: String,
+      accumulateCode: String,
+      outputTerm: String,
+      aggregateMapTerm: String,
+      outputResultFromMap: String,
+      logTerm: String): String = {
+    val conf = ctx.tableConfig.getConfiguration
+    val samplingThreshold = conf.getLong(
+      ExecutionConfigOptions.TABLE_EXEC_LOCAL_HASH_AGG_ADAPTIVE_SAMPLING_THRESHOLD)
+    val distinctValueRateThreshold = conf.getDouble(
+      ExecutionConfigOptions.TABLE_EXEC_LOCAL_HASH_AGG_ADAPTIVE_DISTINCT_VALUE_RATE_THRESHOLD)
+
+    val numInputTerm = CodeGenUtils.newName("numInputRecords")
+    val passThroughTerm = CodeGenUtils.newName("passThrough")
+    val passThroughBufferTerm = CodeGenUtils.newName("passThroughAggBuffer")
+    val binaryRow = classOf[BinaryRow].getName
+    ctx.addReusableMember(s"private long $numInputTerm = 0L;")
+    ctx.addReusableMember(s"private boolean $passThroughTerm = false;")
+    ctx.addReusableMember(
+      s"private transient $binaryRow $passThroughBufferTerm = " +
+        s"new $binaryRow(${aggBufferRowType.getFieldCount});")
+
+    val logPassThrough = CodeGenUtils.genLogInfo(
+      logTerm,
+      s"Local hash aggregate found {} distinct keys in {} records, pass through the input.",
+      s"$numDistinctKeysTerm, $numInputTerm")
+
+    s"""
+       |if ($passThroughTerm) {
+       |  // input field access for group key projection and aggregate buffer update
+       |  ${ctx.reuseInputUnboxingCode(inputTerm)}
+       |  // project key from input
+       |  $keyProjectionCode
+       |  $lazyInitAggBufferCode
+       |  // accumulate the record into an empty agg buffer and output it
+       |  $passThroughBufferTerm = $initedAggBufferTerm.copy($passThroughBufferTerm);
+       |  $currentAggBufferTerm = $passThroughBufferTerm;
+       |  ${ctx.reuseInputUnboxingCode(currentAggBufferTerm)}
+       |  $accumulateCode
+       |  $outputTerm.replace($currentKeyTerm, $currentAggBufferTerm);
+       |  ${OperatorCodeGenerator.generateCollect(outputTerm)}
+       |} else {
+       |  $aggregateCode
+       |  // decide only once after sampling, the input is not aggregated again afterwards
+       |  if (++$numInputTerm == ${samplingThreshold}L &&
+       |      $numDistinctKeysTerm > ${distinctValueRateThreshold}d * $numInputTerm) {
+       |    $logPassThrough
+       |    $passThroughTerm = true;
+       |    // output what has been aggregated, the map is not used any more
+       |    $outputResultFromMap
+       |    $aggregateMapTerm.reset();
+       |  }
+       |}
+       |""".stripMargin.trim
+  }
 }
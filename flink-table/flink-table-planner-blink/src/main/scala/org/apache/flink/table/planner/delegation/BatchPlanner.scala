@@ -25,7 +25,7 @@ import org.apache.flink.table.delegation.Executor
 import org.apache.flink.table.operations.{ModifyOperation, Operation, QueryOperation}
 import org.apache.flink.table.planner.plan.`trait`.FlinkRelDistributionTraitDef
 import org.apache.flink.table.planner.plan.nodes.exec.{BatchExecNode, ExecNode}
-import org.apache.flink.table.planner.plan.nodes.process.DAGProcessContext
+import org.apache.flink.table.planner.plan.nodes.process.{DAGProcessContext, DynamicPartitionPruningProcessor, RuntimeFilterProcessor}
 import org.apache.flink.table.planner.plan.optimize.{BatchCommonSubGraphBasedOptimizer, Optimizer}
 import org.apache.flink.table.planner.plan.reuse.DeadlockBreakupProcessor
 import org.apache.flink.table.planner.plan.utils.{ExecNodePlanDumper, FlinkRelOptUtil}
@@ -59,8 +59,12 @@ class BatchPlanner(
       optimizedRelNodes: Seq[RelNode]): util.List[ExecNode[_, _]] = {
     val execNodePlan = super.translateToExecNodePlan(optimizedRelNodes)
     val context = new DAGProcessContext(this)
+    // prune the partitions of the fact tables of joins at runtime
+    val prunedExecNodePlan = new DynamicPartitionPruningProcessor().process(execNodePlan, context)
+    // filter the probe sides of hash joins by the keys of their build sides at runtime
+    val filteredExecNodePlan = new RuntimeFilterProcessor().process(prunedExecNodePlan, context)
     // breakup deadlock
-    new DeadlockBreakupProcessor().process(execNodePlan, context)
+    new DeadlockBreakupProcessor().process(filteredExecNodePlan, context)
   }
 
   override protected def translateToPlan(
@@ -87,7 +87,7 @@ abstract class PlannerBase(
     new PlannerContext(
       config,
       functionCatalog,
-      asRootSchema(new CatalogManagerCalciteSchema(catalogManager, isStreamingMode)),
+      asRootSchema(new CatalogManagerCalciteSchema(catalogManager, isStreamingMode, config)),
       getTraitDefs.toList
     )
 
@@ -25,11 +25,13 @@ import org.apache.flink.table.delegation.Executor
 import org.apache.flink.table.operations.{ModifyOperation, Operation, QueryOperation}
 import org.apache.flink.table.planner.plan.`trait`._
 import org.apache.flink.table.planner.plan.nodes.exec.{ExecNode, StreamExecNode}
+import org.apache.flink.table.planner.plan.nodes.process.{DAGProcessContext, MultiJoinProcessor}
 import org.apache.flink.table.planner.plan.optimize.{Optimizer, StreamCommonSubGraphBasedOptimizer}
 import org.apache.flink.table.planner.plan.utils.{ExecNodePlanDumper, FlinkRelOptUtil}
 import org.apache.flink.table.planner.utils.PlanUtil
 
 import org.apache.calcite.plan.{ConventionTraitDef, RelTrait, RelTraitDef}
+import org.apache.calcite.rel.RelNode
 import org.apache.calcite.sql.SqlExplainLevel
 
 import java.util
@@ -54,6 +56,14 @@ class StreamPlanner(
 
   override protected def getOptimizer: Optimizer = new StreamCommonSubGraphBasedOptimizer(this)
 
+  override private[flink] def translateToExecNodePlan(
+      optimizedRelNodes: Seq[RelNode]): util.List[ExecNode[_, _]] = {
+    val execNodePlan = super.translateToExecNodePlan(optimizedRelNodes)
+    val context = new DAGProcessContext(this)
+    // merge chains of inner joins on the same key into multi-way joins
+    new MultiJoinProcessor().process(execNodePlan, context)
+  }
+
   override protected def translateToPlan(
       execNodes: util.List[ExecNode[_, _]]): util.List[Transformation[_]] = {
     overrideEnvParallelism()
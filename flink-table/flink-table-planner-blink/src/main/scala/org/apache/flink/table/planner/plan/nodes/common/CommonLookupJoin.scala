@@ -20,6 +20,7 @@ package org.apache.flink.table.planner.plan.nodes.common
 import org.apache.flink.api.common.typeinfo.TypeInformation
 import org.apache.flink.api.dag.Transformation
 import org.apache.flink.api.java.typeutils.{GenericTypeInfo, RowTypeInfo, TypeExtractor}
+import org.apache.flink.configuration.MemorySize
 import org.apache.flink.streaming.api.datastream.AsyncDataStream.OutputMode
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment
 import org.apache.flink.streaming.api.operators.ProcessOperator
@@ -35,9 +36,9 @@ import org.apache.flink.table.planner.codegen.{CodeGeneratorContext, LookupJoinC
 import org.apache.flink.table.planner.functions.utils.UserDefinedFunctionUtils.{getParamClassesConsiderVarArgs, getUserDefinedMethod, signatureToString, signaturesToString}
 import org.apache.flink.table.planner.plan.nodes.FlinkRelNode
 import org.apache.flink.table.planner.plan.utils.LookupJoinUtil._
-import org.apache.flink.table.planner.plan.utils.{JoinTypeUtil, RelExplainUtil}
+import org.apache.flink.table.planner.plan.utils.{JoinTypeUtil, KeySelectorUtil, RelExplainUtil}
 import org.apache.flink.table.planner.utils.TableConfigUtils.getMillisecondFromConfigDuration
-import org.apache.flink.table.runtime.operators.join.lookup.{AsyncLookupJoinRunner, AsyncLookupJoinWithCalcRunner, LookupJoinRunner, LookupJoinWithCalcRunner}
+import org.apache.flink.table.runtime.operators.join.lookup.{AsyncLookupJoinRunner, AsyncLookupJoinWithCalcRunner, LookupCache, LookupJoinRunner, LookupJoinWithCalcRunner}
 import org.apache.flink.table.runtime.types.ClassLogicalTypeConverter
 import org.apache.flink.table.runtime.types.ClassLogicalTypeConverter.getInternalClassForType
 import org.apache.flink.table.runtime.types.LogicalTypeDataTypeConverter.fromDataTypeToLogicalType
@@ -185,6 +186,7 @@ abstract class CommonLookupJoin(
 
     val lookupableTableSource = tableSource.asInstanceOf[LookupableTableSource[_]]
     val leftOuterJoin = joinType == JoinRelType.LEFT
+    val cache = createLookupCache(config, inputRowType, tableSourceRowType)
 
     val operator = if (lookupableTableSource.isAsyncEnabled) {
       val asyncBufferCapacity= config.getConfiguration
@@ -246,7 +248,8 @@ abstract class CommonLookupJoin(
           producedTypeInfo,
           BaseRowTypeInfo.of(rightRowType),
           leftOuterJoin,
-          asyncBufferCapacity)
+          asyncBufferCapacity,
+          cache)
       } else {
         // right type is the same as table source row type, because no calc after temporal table
         val rightRowType = tableSourceRowType
@@ -262,7 +265,8 @@ abstract class CommonLookupJoin(
           producedTypeInfo,
           BaseRowTypeInfo.of(rightRowType),
           leftOuterJoin,
-          asyncBufferCapacity)
+          asyncBufferCapacity,
+          cache)
       }
 
       // force ORDERED output mode currently, optimize it to UNORDERED
@@ -321,7 +325,8 @@ abstract class CommonLookupJoin(
           generatedCalc,
           generatedCollector,
           leftOuterJoin,
-          rightRowType.getFieldCount)
+          rightRowType.getFieldCount,
+          cache)
       } else {
         // right type is the same as table source row type, because no calc after temporal table
         val rightRowType = tableSourceRowType
@@ -336,7 +341,8 @@ abstract class CommonLookupJoin(
           generatedFetcher,
           generatedCollector,
           leftOuterJoin,
-          rightRowType.getFieldCount)
+          rightRowType.getFieldCount,
+          cache)
       }
       new ProcessOperator(processFunc)
     }
@@ -349,6 +355,35 @@ abstract class CommonLookupJoin(
       inputTransformation.getParallelism)
   }
 
+  /**
+    * Creates the cache of the fetched rows if it is enabled, which caches the rows of the table
+    * source by the input fields of the lookup keys. Constant lookup keys are the same for all
+    * input rows, so they are not part of the cache key.
+    */
+  private def createLookupCache(
+      config: TableConfig,
+      inputRowType: RowType,
+      tableSourceRowType: RowType): LookupCache = {
+    val conf = config.getConfiguration
+    if (!conf.getBoolean(ExecutionConfigOptions.TABLE_EXEC_LOOKUP_CACHE_ENABLED)) {
+      return null
+    }
+    val keyFields = allLookupKeys.toList.sortBy(_._1).collect {
+      case (_, FieldRefLookupKey(index)) => index
+    }.toArray
+    val keySelector = KeySelectorUtil.getBaseRowSelector(
+      keyFields, BaseRowTypeInfo.of(inputRowType))
+    val maxBytes = MemorySize.parse(conf.getString(
+      ExecutionConfigOptions.TABLE_EXEC_LOOKUP_CACHE_MAX_MEMORY)).getBytes
+    val ttl = getMillisecondFromConfigDuration(config,
+      ExecutionConfigOptions.TABLE_EXEC_LOOKUP_CACHE_TTL)
+    new LookupCache(
+      keySelector,
+      tableSourceRowType.getChildren.asScala.toArray,
+      maxBytes,
+      ttl)
+  }
+
   private def rowTypeEquals(expected: TypeInformation[_], actual: TypeInformation[_]): Boolean = {
     // check internal and external type, cause we will auto convert external class to internal
     // class (eg: Row => BaseRow).
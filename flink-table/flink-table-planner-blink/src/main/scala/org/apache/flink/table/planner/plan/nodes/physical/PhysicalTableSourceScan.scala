@@ -20,9 +20,11 @@ package org.apache.flink.table.planner.plan.nodes.physical
 
 import org.apache.flink.api.dag.Transformation
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment
+import org.apache.flink.table.api.TableConfig
+import org.apache.flink.table.api.config.ExecutionConfigOptions
 import org.apache.flink.table.planner.calcite.FlinkTypeFactory
 import org.apache.flink.table.planner.plan.schema.{FlinkRelOptTable, TableSourceTable}
-import org.apache.flink.table.sources.{StreamTableSource, TableSource}
+import org.apache.flink.table.sources.{ParallelismInferableTableSource, StreamTableSource, TableSource}
 
 import org.apache.calcite.plan.{RelOptCluster, RelTraitSet}
 import org.apache.calcite.rel.RelWriter
@@ -58,11 +60,32 @@ abstract class PhysicalTableSourceScan(
   }
 
   def getSourceTransformation(
-      streamEnv: StreamExecutionEnvironment): Transformation[_] = {
+      streamEnv: StreamExecutionEnvironment,
+      config: TableConfig): Transformation[_] = {
     if (sourceTransform == null) {
       sourceTransform = tableSource.asInstanceOf[StreamTableSource[_]].
         getDataStream(streamEnv).getTransformation
+      inferSourceParallelism(sourceTransform, config)
     }
     sourceTransform
   }
+
+  /**
+    * Sets the parallelism inferred by a [[ParallelismInferableTableSource]] on its
+    * transformation, instead of the default parallelism of the environment.
+    */
+  private def inferSourceParallelism(
+      transformation: Transformation[_],
+      config: TableConfig): Unit = tableSource match {
+    case source: ParallelismInferableTableSource
+      if config.getConfiguration.getBoolean(
+        ExecutionConfigOptions.TABLE_EXEC_SOURCE_INFER_PARALLELISM_ENABLED) =>
+      val maxParallelism = config.getConfiguration.getInteger(
+        ExecutionConfigOptions.TABLE_EXEC_SOURCE_INFER_PARALLELISM_MAX)
+      val parallelism = source.inferParallelism(config.getConfiguration, maxParallelism)
+      if (parallelism > 0) {
+        transformation.setParallelism(Math.min(parallelism, maxParallelism))
+      }
+    case _ => // keep the parallelism of the source
+  }
 }
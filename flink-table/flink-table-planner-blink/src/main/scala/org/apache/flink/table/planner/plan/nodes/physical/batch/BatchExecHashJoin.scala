@@ -20,7 +20,9 @@ package org.apache.flink.table.planner.plan.nodes.physical.batch
 import org.apache.flink.api.dag.Transformation
 import org.apache.flink.runtime.operators.DamBehavior
 import org.apache.flink.streaming.api.operators.SimpleOperatorFactory
-import org.apache.flink.streaming.api.transformations.TwoInputTransformation
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator
+import org.apache.flink.streaming.api.transformations.{OneInputTransformation, PartitionTransformation, TwoInputTransformation}
+import org.apache.flink.table.api.TableConfig
 import org.apache.flink.table.api.config.ExecutionConfigOptions
 import org.apache.flink.table.dataformat.BaseRow
 import org.apache.flink.table.planner.calcite.FlinkTypeFactory
@@ -33,6 +35,7 @@ import org.apache.flink.table.planner.plan.nodes.exec.ExecNode
 import org.apache.flink.table.planner.plan.nodes.resource.NodeResourceUtil
 import org.apache.flink.table.planner.plan.nodes.{ExpressionFormat, FlinkConventions}
 import org.apache.flink.table.planner.plan.utils.{FlinkRelMdUtil, JoinUtil}
+import org.apache.flink.table.runtime.operators.join.runtimefilter.{RuntimeFilterBuilderOperator, RuntimeFilterOperator, RuntimeFilterUtil}
 import org.apache.flink.table.runtime.operators.join.{HashJoinOperator, HashJoinType}
 import org.apache.flink.table.runtime.typeutils.{BaseRowTypeInfo, BinaryRowSerializer}
 import org.apache.flink.table.types.logical.RowType
@@ -69,6 +72,19 @@ class BatchExecHashJoin(
     JoinUtil.checkAndGetJoinKeys(keyPairs, getLeft, getRight, allowEmptyKey = true)
   val (buildKeys, probeKeys) = if (leftIsBuild) (leftKeys, rightKeys) else (rightKeys, leftKeys)
 
+  /**
+    * The name of the runtime filter of the build keys, if the probe rows are filtered by the build
+    * keys before they are shuffled. See
+    * [[org.apache.flink.table.planner.plan.nodes.process.RuntimeFilterProcessor]].
+    */
+  private var runtimeFilterName: Option[String] = None
+
+  def enableRuntimeFilter(filterName: String): Unit = {
+    runtimeFilterName = Some(filterName)
+  }
+
+  def isRuntimeFilterEnabled: Boolean = runtimeFilterName.isDefined
+
   // Inputs could be changed. See [[BiRel.replaceInput]].
   def buildRel: RelNode = if (leftIsBuild) getLeft else getRight
   def probeRel: RelNode = if (leftIsBuild) getRight else getLeft
@@ -100,10 +116,11 @@ class BatchExecHashJoin(
   }
 
   override def explainTerms(pw: RelWriter): RelWriter = {
-    super.explainTerms(pw)
+    explainDynamicPartitionPruning(super.explainTerms(pw)
       .itemIf("isBroadcast", "true", isBroadcast)
       .item("build", if (leftIsBuild) "left" else "right")
       .itemIf("tryDistinctBuildRow", "true", tryDistinctBuildRow)
+      .itemIf("runtimeFilter", "true", runtimeFilterName.isDefined))
   }
 
   override def computeSelfCost(planner: RelOptPlanner, mq: RelMetadataQuery): RelOptCost = {
@@ -191,10 +208,14 @@ class BatchExecHashJoin(
       planner: BatchPlanner): Transformation[BaseRow] = {
     val config = planner.getTableConfig
 
-    val lInput = getInputNodes.get(0).translateToPlan(planner)
-        .asInstanceOf[Transformation[BaseRow]]
-    val rInput = getInputNodes.get(1).translateToPlan(planner)
-        .asInstanceOf[Transformation[BaseRow]]
+    val lInput = translateDynamicPartitionPruning(
+      getInputNodes.get(0).translateToPlan(planner).asInstanceOf[Transformation[BaseRow]],
+      0,
+      config)
+    val rInput = translateDynamicPartitionPruning(
+      getInputNodes.get(1).translateToPlan(planner).asInstanceOf[Transformation[BaseRow]],
+      1,
+      config)
 
     // get type
     val lType = lInput.getOutputType.asInstanceOf[BaseRowTypeInfo].toRowType
@@ -214,12 +235,18 @@ class BatchExecHashJoin(
     val rProj = generateProjection(
       CodeGeneratorContext(config), "HashJoinRightProjection", rType, keyType, rightKeys)
 
-    val (build, probe, bProj, pProj, bType, pType, reverseJoin) =
+    val (unfilteredBuild, unfilteredProbe, bProj, pProj, bType, pType, reverseJoin) =
       if (leftIsBuild) {
         (lInput, rInput, lProj, rProj, lType, rType, false)
       } else {
         (rInput, lInput, rProj, lProj, rType, lType, true)
       }
+    val (build, probe) = runtimeFilterName match {
+      case Some(filterName) =>
+        translateRuntimeFilter(
+          config, filterName, unfilteredBuild, unfilteredProbe, keyType, bType, pType)
+      case None => (unfilteredBuild, unfilteredProbe)
+    }
     val mq = getCluster.getMetadataQuery
 
     val buildRowSize = Util.first(mq.getAverageRowSize(buildRel), 24).toInt
@@ -274,6 +301,70 @@ class BatchExecHashJoin(
     ret
   }
 
+  /**
+    * Adds the builder of the runtime filter to the build input and the runtime filter to the probe
+    * input. Both are placed in front of the shuffle of their input, so that each build key is
+    * added once and the probe rows are filtered before they are sent over the network.
+    */
+  private def translateRuntimeFilter(
+      config: TableConfig,
+      filterName: String,
+      build: Transformation[BaseRow],
+      probe: Transformation[BaseRow],
+      keyType: RowType,
+      buildType: RowType,
+      probeType: RowType): (Transformation[BaseRow], Transformation[BaseRow]) = {
+    val rangeKeyType = if (keyType.getFieldCount == 1 &&
+        RuntimeFilterUtil.supportsRange(keyType.getTypeAt(0))) {
+      keyType.getTypeAt(0)
+    } else {
+      null
+    }
+    // both projections must produce equal binary keys, like the projections of the join
+    val buildKeyProjection = generateProjection(
+      CodeGeneratorContext(config), "RuntimeFilterBuildProjection", buildType, keyType, buildKeys)
+    val probeKeyProjection = generateProjection(
+      CodeGeneratorContext(config), "RuntimeFilterProbeProjection", probeType, keyType, probeKeys)
+
+    val builder = new RuntimeFilterBuilderOperator(
+      filterName,
+      buildKeyProjection,
+      rangeKeyType,
+      config.getConfiguration.getInteger(
+        ExecutionConfigOptions.TABLE_EXEC_RUNTIME_FILTER_MAX_BUILD_ROWS),
+      config.getConfiguration.getDouble(ExecutionConfigOptions.TABLE_EXEC_RUNTIME_FILTER_FPP))
+    val filter = new RuntimeFilterOperator(
+      filterName,
+      probeKeyProjection,
+      rangeKeyType,
+      config.getConfiguration.getInteger(
+        ExecutionConfigOptions.TABLE_EXEC_RUNTIME_FILTER_CHECK_INTERVAL))
+
+    (addBeforeShuffle(build, builder, s"RuntimeFilterBuilder($filterName)"),
+      addBeforeShuffle(probe, filter, s"RuntimeFilter($filterName)"))
+  }
+
+  private def addBeforeShuffle(
+      input: Transformation[BaseRow],
+      operator: OneInputStreamOperator[BaseRow, BaseRow],
+      name: String): Transformation[BaseRow] = input match {
+    case partition: PartitionTransformation[BaseRow] =>
+      val shuffleInput = partition.getInput
+      val transformation = new OneInputTransformation(
+        shuffleInput,
+        name,
+        operator,
+        shuffleInput.getOutputType,
+        shuffleInput.getParallelism)
+      val newPartition = new PartitionTransformation(
+        transformation, partition.getPartitioner, partition.getShuffleMode)
+      newPartition.setOutputType(partition.getOutputType)
+      newPartition.setParallelism(partition.getParallelism)
+      newPartition
+    case _ =>
+      new OneInputTransformation(input, name, operator, input.getOutputType, input.getParallelism)
+  }
+
   private def getOperatorName: String = {
     val joinExpressionStr = if (getCondition != null) {
       val inFields = inputRowType.getFieldNames.toList
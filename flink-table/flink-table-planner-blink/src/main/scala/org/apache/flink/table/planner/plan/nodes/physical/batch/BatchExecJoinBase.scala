@@ -17,19 +17,24 @@
  */
 package org.apache.flink.table.planner.plan.nodes.physical.batch
 
+import org.apache.flink.api.dag.Transformation
+import org.apache.flink.streaming.api.transformations.OneInputTransformation
 import org.apache.flink.table.api.TableConfig
+import org.apache.flink.table.api.config.ExecutionConfigOptions
 import org.apache.flink.table.dataformat.BaseRow
 import org.apache.flink.table.planner.codegen.{CodeGeneratorContext, ExprCodeGenerator, FunctionCodeGenerator}
 import org.apache.flink.table.planner.plan.`trait`.{FlinkRelDistribution, FlinkRelDistributionTraitDef}
 import org.apache.flink.table.planner.plan.nodes.common.CommonPhysicalJoin
 import org.apache.flink.table.planner.plan.nodes.exec.BatchExecNode
 import org.apache.flink.table.runtime.generated.GeneratedJoinCondition
+import org.apache.flink.table.runtime.operators.join.partitionpruning.PartitionValuesCollectorOperator
+import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo
 import org.apache.flink.table.types.logical.RowType
 
 import org.apache.calcite.plan.{RelOptCluster, RelOptRule, RelTraitSet}
 import org.apache.calcite.rel.RelDistribution.Type.{HASH_DISTRIBUTED, RANGE_DISTRIBUTED}
 import org.apache.calcite.rel.core.{Join, JoinRelType}
-import org.apache.calcite.rel.{RelCollations, RelNode}
+import org.apache.calcite.rel.{RelCollations, RelNode, RelWriter}
 import org.apache.calcite.rex.RexNode
 import org.apache.calcite.util.ImmutableIntList
 
@@ -50,6 +55,62 @@ abstract class BatchExecJoinBase(
   with BatchPhysicalRel
   with BatchExecNode[BaseRow] {
 
+  /**
+    * The name of the values of the dynamic partition pruning, the index of the dimension input
+    * and the fields of the dimension input whose values are collected, if the join keys of the
+    * dimension input prune the partitions of the other input.
+    */
+  private var dynamicPartitionPruning: Option[(String, Int, Array[Int])] = None
+
+  /**
+    * Collects the distinct values of the given fields of the dimension input at runtime, and
+    * publishes them under the given name for the partitioned source of the other input.
+    * See [[org.apache.flink.table.planner.plan.nodes.process.DynamicPartitionPruningProcessor]].
+    */
+  def enableDynamicPartitionPruning(
+      valuesName: String,
+      dimensionInputIndex: Int,
+      dimensionKeys: Array[Int]): Unit = {
+    dynamicPartitionPruning = Some((valuesName, dimensionInputIndex, dimensionKeys))
+  }
+
+  /**
+    * Explains the fields of the dimension input whose values are collected, if the dynamic
+    * partition pruning is enabled for this join.
+    */
+  protected def explainDynamicPartitionPruning(pw: RelWriter): RelWriter =
+    dynamicPartitionPruning match {
+      case Some((_, dimensionInputIndex, dimensionKeys)) =>
+        val fieldNames = getInput(dimensionInputIndex).getRowType.getFieldNames
+        pw.item("dynamicPartitionPruning", dimensionKeys.map(fieldNames.get).mkString(", "))
+      case _ => pw
+    }
+
+  /**
+    * Adds the collector of the values of the dynamic partition pruning after the translated
+    * input, if it is the dimension input.
+    */
+  protected def translateDynamicPartitionPruning(
+      input: Transformation[BaseRow],
+      inputIndex: Int,
+      config: TableConfig): Transformation[BaseRow] = dynamicPartitionPruning match {
+    case Some((valuesName, `inputIndex`, keys)) =>
+      val inputType = input.getOutputType.asInstanceOf[BaseRowTypeInfo].toRowType
+      val operator = new PartitionValuesCollectorOperator(
+        valuesName,
+        keys,
+        keys.map(inputType.getTypeAt),
+        config.getConfiguration.getInteger(
+          ExecutionConfigOptions.TABLE_EXEC_DYNAMIC_PARTITION_PRUNING_MAX_VALUES))
+      new OneInputTransformation(
+        input,
+        s"PartitionValuesCollector($valuesName)",
+        operator,
+        input.getOutputType,
+        input.getParallelism)
+    case _ => input
+  }
+
   private[flink] def generateCondition(
       config: TableConfig,
       leftType: RowType,
@@ -77,9 +77,9 @@ class BatchExecNestedLoopJoin(
   }
 
   override def explainTerms(pw: RelWriter): RelWriter = {
-    super.explainTerms(pw)
+    explainDynamicPartitionPruning(super.explainTerms(pw)
       .item("build", if (leftIsBuild) "left" else "right")
-      .itemIf("singleRowJoin", singleRowJoin, singleRowJoin)
+      .itemIf("singleRowJoin", singleRowJoin, singleRowJoin))
   }
 
   override def computeSelfCost(planner: RelOptPlanner, mq: RelMetadataQuery): RelOptCost = {
@@ -131,10 +131,14 @@ class BatchExecNestedLoopJoin(
 
   override protected def translateToPlanInternal(
       planner: BatchPlanner): Transformation[BaseRow] = {
-    val lInput = getInputNodes.get(0).translateToPlan(planner)
-        .asInstanceOf[Transformation[BaseRow]]
-    val rInput = getInputNodes.get(1).translateToPlan(planner)
-        .asInstanceOf[Transformation[BaseRow]]
+    val lInput = translateDynamicPartitionPruning(
+      getInputNodes.get(0).translateToPlan(planner).asInstanceOf[Transformation[BaseRow]],
+      0,
+      planner.getTableConfig)
+    val rInput = translateDynamicPartitionPruning(
+      getInputNodes.get(1).translateToPlan(planner).asInstanceOf[Transformation[BaseRow]],
+      1,
+      planner.getTableConfig)
 
     // get type
     val lType = lInput.getOutputType.asInstanceOf[BaseRowTypeInfo].toRowType
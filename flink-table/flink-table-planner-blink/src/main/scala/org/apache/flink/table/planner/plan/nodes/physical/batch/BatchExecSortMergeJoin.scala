@@ -92,9 +92,9 @@ class BatchExecSortMergeJoin(
   }
 
   override def explainTerms(pw: RelWriter): RelWriter =
-    super.explainTerms(pw)
+    explainDynamicPartitionPruning(super.explainTerms(pw)
       .itemIf("leftSorted", leftSorted, leftSorted)
-      .itemIf("rightSorted", rightSorted, rightSorted)
+      .itemIf("rightSorted", rightSorted, rightSorted))
 
   override def computeSelfCost(planner: RelOptPlanner, mq: RelMetadataQuery): RelOptCost = {
     val leftRowCnt = mq.getRowCount(getLeft)
@@ -202,10 +202,14 @@ class BatchExecSortMergeJoin(
   override protected def translateToPlanInternal(
       planner: BatchPlanner): Transformation[BaseRow] = {
     val config = planner.getTableConfig
-    val leftInput = getInputNodes.get(0).translateToPlan(planner)
-        .asInstanceOf[Transformation[BaseRow]]
-    val rightInput = getInputNodes.get(1).translateToPlan(planner)
-        .asInstanceOf[Transformation[BaseRow]]
+    val leftInput = translateDynamicPartitionPruning(
+      getInputNodes.get(0).translateToPlan(planner).asInstanceOf[Transformation[BaseRow]],
+      0,
+      config)
+    val rightInput = translateDynamicPartitionPruning(
+      getInputNodes.get(1).translateToPlan(planner).asInstanceOf[Transformation[BaseRow]],
+      1,
+      config)
 
     val leftType = leftInput.getOutputType.asInstanceOf[BaseRowTypeInfo].toRowType
     val rightType = rightInput.getOutputType.asInstanceOf[BaseRowTypeInfo].toRowType
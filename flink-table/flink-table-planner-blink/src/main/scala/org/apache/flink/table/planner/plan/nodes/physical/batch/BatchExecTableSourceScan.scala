@@ -83,7 +83,7 @@ class BatchExecTableSourceScan(
   override protected def translateToPlanInternal(
       planner: BatchPlanner): Transformation[BaseRow] = {
     val config = planner.getTableConfig
-    val inputTransform = getSourceTransformation(planner.getExecEnv)
+    val inputTransform = getSourceTransformation(planner.getExecEnv, config)
 
     val fieldIndexes = TableSourceUtil.computeIndexMapping(
       tableSource,
@@ -19,7 +19,9 @@
 package org.apache.flink.table.planner.plan.nodes.physical.stream
 
 import org.apache.flink.api.dag.Transformation
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator
 import org.apache.flink.streaming.api.transformations.OneInputTransformation
+import org.apache.flink.table.api.config.ExecutionConfigOptions
 import org.apache.flink.table.api.{TableConfig, TableException}
 import org.apache.flink.table.dataformat.BaseRow
 import org.apache.flink.table.planner.calcite.FlinkRelBuilder.PlannerNamedWindowProperty
@@ -31,9 +33,10 @@ import org.apache.flink.table.planner.plan.logical._
 import org.apache.flink.table.planner.plan.nodes.exec.{ExecNode, StreamExecNode}
 import org.apache.flink.table.planner.plan.rules.physical.stream.StreamExecRetractionRules
 import org.apache.flink.table.planner.plan.utils.AggregateUtil.{hasRowIntervalType, hasTimeIntervalType, isProctimeAttribute, isRowtimeAttribute, toDuration, toLong, transformToStreamAggregateInfoList}
-import org.apache.flink.table.planner.plan.utils.{AggregateInfoList, KeySelectorUtil, RelExplainUtil, WindowEmitStrategy}
+import org.apache.flink.table.planner.plan.utils.{AggregateInfoList, FlinkRelOptUtil, KeySelectorUtil, RelExplainUtil, WindowEmitStrategy}
 import org.apache.flink.table.runtime.generated.{GeneratedNamespaceAggsHandleFunction, GeneratedRecordEqualiser}
-import org.apache.flink.table.runtime.operators.window.{CountWindow, TimeWindow, WindowOperator, WindowOperatorBuilder}
+import org.apache.flink.table.runtime.operators.window.assigners.SlidingWindowAssigner
+import org.apache.flink.table.runtime.operators.window.{CountWindow, SlicingWindowOperator, TimeWindow, WindowOperator, WindowOperatorBuilder}
 import org.apache.flink.table.runtime.types.LogicalTypeDataTypeConverter.fromDataTypeToLogicalType
 import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo
 import org.apache.flink.table.types.logical.LogicalType
@@ -119,6 +122,7 @@ class StreamExecGroupWindowAggregate(
         aggCalls,
         namedProperties))
       .itemIf("emit", emitStrategy, !emitStrategy.toString.isEmpty)
+      .itemIf("slicing", "true", isSlicingWindow(FlinkRelOptUtil.getTableConfigFromContext(this)))
   }
 
   //~ ExecNode methods -----------------------------------------------------------
@@ -208,15 +212,19 @@ class StreamExecGroupWindowAggregate(
 
     val aggValueTypes = aggInfoList.getActualValueTypes.map(fromDataTypeToLogicalType)
     val accTypes = aggInfoList.getAccTypes.map(fromDataTypeToLogicalType)
-    val operator = createWindowOperator(
-      config,
-      aggsHandler,
-      equaliser,
-      accTypes,
-      windowPropertyTypes,
-      aggValueTypes,
-      inputRowTypeInfo.getLogicalTypes,
-      timeIdx)
+    val operator: OneInputStreamOperator[BaseRow, BaseRow] = if (isSlicingWindow(config)) {
+      createSlicingWindowOperator(aggsHandler, accTypes, timeIdx)
+    } else {
+      createWindowOperator(
+        config,
+        aggsHandler,
+        equaliser,
+        accTypes,
+        windowPropertyTypes,
+        aggValueTypes,
+        inputRowTypeInfo.getLogicalTypes,
+        timeIdx)
+    }
 
     val operatorName = if (grouping.nonEmpty) {
       s"window: ($window), " +
@@ -287,6 +295,37 @@ class StreamExecGroupWindowAggregate(
       windowClass)
   }
 
+  /**
+    * Whether the window is a hopping time window which is aggregated on slices, see
+    * [[SlicingWindowOperator]]. Windows with early or late firing are left to the
+    * [[WindowOperator]].
+    */
+  private def isSlicingWindow(config: TableConfig): Boolean = window match {
+    case SlidingGroupWindow(_, _, size, _) if hasTimeIntervalType(size) =>
+      config.getConfiguration.getBoolean(
+        ExecutionConfigOptions.TABLE_EXEC_WINDOW_AGG_SLICING_ENABLED) &&
+        !emitStrategy.produceUpdates &&
+        emitStrategy.getAllowLateness == 0
+    case _ => false
+  }
+
+  private def createSlicingWindowOperator(
+      aggsHandler: GeneratedNamespaceAggsHandleFunction[_],
+      accTypes: Array[LogicalType],
+      timeIdx: Int): SlicingWindowOperator[_] = {
+    val windowAssigner = window match {
+      case SlidingGroupWindow(_, timeField, size, slide) if isRowtimeAttribute(timeField) =>
+        SlidingWindowAssigner.of(toDuration(size), toDuration(slide)).withEventTime()
+      case SlidingGroupWindow(_, _, size, slide) =>
+        SlidingWindowAssigner.of(toDuration(size), toDuration(slide)).withProcessingTime()
+    }
+    new SlicingWindowOperator[BaseRow](
+      aggsHandler.asInstanceOf[GeneratedNamespaceAggsHandleFunction[TimeWindow]],
+      windowAssigner,
+      accTypes,
+      timeIdx)
+  }
+
   private def createWindowOperator(
       config: TableConfig,
       aggsHandler: GeneratedNamespaceAggsHandleFunction[_],
@@ -210,7 +210,10 @@ class StreamExecJoin(
     ret
   }
 
-  private def analyzeJoinInput(input: RelNode): JoinInputSideSpec = {
+  /**
+    * Analyzes how the records of the given input are kept in the state of the join.
+    */
+  def analyzeJoinInput(input: RelNode): JoinInputSideSpec = {
     val uniqueKeys = cluster.getMetadataQuery.getUniqueKeys(input)
     if (uniqueKeys == null || uniqueKeys.isEmpty) {
       JoinInputSideSpec.withoutUniqueKey()
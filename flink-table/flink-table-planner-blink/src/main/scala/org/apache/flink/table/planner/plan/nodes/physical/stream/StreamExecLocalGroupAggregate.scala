@@ -19,7 +19,10 @@ package org.apache.flink.table.planner.plan.nodes.physical.stream
 
 import org.apache.flink.api.dag.Transformation
 import org.apache.flink.api.java.functions.KeySelector
+import org.apache.flink.configuration.MemorySize
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator
 import org.apache.flink.streaming.api.transformations.OneInputTransformation
+import org.apache.flink.table.api.config.ExecutionConfigOptions
 import org.apache.flink.table.dataformat.BaseRow
 import org.apache.flink.table.planner.calcite.FlinkTypeFactory
 import org.apache.flink.table.planner.codegen.CodeGeneratorContext
@@ -27,10 +30,11 @@ import org.apache.flink.table.planner.codegen.agg.AggsHandlerCodeGenerator
 import org.apache.flink.table.planner.delegation.StreamPlanner
 import org.apache.flink.table.planner.plan.PartialFinalType
 import org.apache.flink.table.planner.plan.nodes.exec.{ExecNode, StreamExecNode}
+import org.apache.flink.table.planner.plan.nodes.resource.NodeResourceUtil
 import org.apache.flink.table.planner.plan.rules.physical.stream.StreamExecRetractionRules
 import org.apache.flink.table.planner.plan.utils.{KeySelectorUtil, _}
-import org.apache.flink.table.runtime.operators.aggregate.MiniBatchLocalGroupAggFunction
-import org.apache.flink.table.runtime.operators.bundle.MapBundleOperator
+import org.apache.flink.table.runtime.operators.aggregate.{MiniBatchLocalBinaryGroupAggFunction, MiniBatchLocalGroupAggFunction}
+import org.apache.flink.table.runtime.operators.bundle.{BinaryMapBundleOperator, MapBundleOperator}
 import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo
 
 import org.apache.calcite.plan.{RelOptCluster, RelTraitSet}
@@ -134,15 +138,32 @@ class StreamExecLocalGroupAggregate(
     }
 
     val aggsHandler = generator.generateAggsHandler("GroupAggsHandler", aggInfoList)
-    val aggFunction = new MiniBatchLocalGroupAggFunction(aggsHandler)
 
     val inputTypeInfo = inputTransformation.getOutputType.asInstanceOf[BaseRowTypeInfo]
     val selector = KeySelectorUtil.getBaseRowSelector(grouping, inputTypeInfo)
-
-    val operator = new MapBundleOperator(
-      aggFunction,
-      AggregateUtil.createMiniBatchTrigger(planner.getTableConfig),
-      selector.asInstanceOf[KeySelector[BaseRow, BaseRow]])
+    val trigger = AggregateUtil.createMiniBatchTrigger(planner.getTableConfig)
+
+    // the local aggregate result consists of the grouping keys followed by the accumulators
+    val accTypes = outRowType.getChildren.drop(grouping.length).toArray
+    val memText = planner.getTableConfig.getConfiguration.getString(
+      ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_MEMORY)
+    val managedMemoryInMB = MemorySize.parse(memText).getMebiBytes
+    val useManagedMemory = managedMemoryInMB > 0 && grouping.nonEmpty &&
+      BinaryMapBundleOperator.isFixedLength(accTypes)
+
+    val operator: OneInputStreamOperator[BaseRow, BaseRow] = if (useManagedMemory) {
+      new BinaryMapBundleOperator(
+        new MiniBatchLocalBinaryGroupAggFunction(aggsHandler),
+        trigger,
+        selector,
+        accTypes,
+        managedMemoryInMB * NodeResourceUtil.SIZE_IN_MB)
+    } else {
+      new MapBundleOperator(
+        new MiniBatchLocalGroupAggFunction(aggsHandler),
+        trigger,
+        selector.asInstanceOf[KeySelector[BaseRow, BaseRow]])
+    }
 
     val transformation = new OneInputTransformation(
       inputTransformation,
@@ -151,6 +172,11 @@ class StreamExecLocalGroupAggregate(
       BaseRowTypeInfo.of(outRowType),
       inputTransformation.getParallelism)
 
+    if (useManagedMemory) {
+      val resource = NodeResourceUtil.fromManagedMem(managedMemoryInMB)
+      transformation.setResources(resource, resource)
+    }
+
     if (inputsContainSingleton()) {
       transformation.setParallelism(1)
       transformation.setMaxParallelism(1)
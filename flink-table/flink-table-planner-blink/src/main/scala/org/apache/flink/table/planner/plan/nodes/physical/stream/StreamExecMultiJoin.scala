@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.physical.stream
+
+import org.apache.flink.api.common.ExecutionConfig
+import org.apache.flink.api.dag.Transformation
+import org.apache.flink.runtime.state.KeyGroupRangeAssignment.DEFAULT_LOWER_BOUND_MAX_PARALLELISM
+import org.apache.flink.streaming.api.transformations.{OneInputTransformation, PartitionTransformation, UnionTransformation}
+import org.apache.flink.streaming.runtime.partitioner.{KeyGroupStreamPartitioner, StreamPartitioner}
+import org.apache.flink.table.dataformat.BaseRow
+import org.apache.flink.table.planner.calcite.FlinkTypeFactory
+import org.apache.flink.table.planner.delegation.StreamPlanner
+import org.apache.flink.table.planner.plan.nodes.exec.{ExecNode, StreamExecNode}
+import org.apache.flink.table.planner.plan.utils.{JoinUtil, KeySelectorUtil, RelExplainUtil}
+import org.apache.flink.table.runtime.keyselector.MultiJoinKeySelector
+import org.apache.flink.table.runtime.operators.join.FlinkJoinType
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec
+import org.apache.flink.table.runtime.operators.join.stream.{MultiJoinInputLayout, MultiJoinInputTagOperator, StreamingMultiJoinOperator}
+import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo
+
+import org.apache.calcite.plan.{RelOptCluster, RelTraitSet}
+import org.apache.calcite.rel.`type`.RelDataType
+import org.apache.calcite.rel.{AbstractRelNode, RelNode, RelWriter}
+
+import java.util
+
+import scala.collection.JavaConversions._
+
+/**
+  * Stream physical RelNode for a left-deep chain of regular inner joins whose inputs are all
+  * joined on the same key, see [[StreamingMultiJoinOperator]]. It is created from a chain of
+  * [[StreamExecJoin]]s by the
+  * [[org.apache.flink.table.planner.plan.nodes.process.MultiJoinProcessor]].
+  *
+  * The inputs are the hash exchanges of the inputs of the chain. `joins(i)` is the join of the
+  * chain which joins the result of the inputs `0` to `i` with the input `i + 1`, and `inputKeys(i)`
+  * are the join key fields of input `i`, in the same order for all inputs.
+  */
+class StreamExecMultiJoin(
+    cluster: RelOptCluster,
+    traitSet: RelTraitSet,
+    inputRels: util.List[RelNode],
+    val joins: Seq[StreamExecJoin],
+    val inputKeys: Seq[Array[Int]],
+    outputRowType: RelDataType)
+  extends AbstractRelNode(cluster, traitSet)
+  with StreamPhysicalRel
+  with StreamExecNode[BaseRow] {
+
+  require(inputRels.size() == joins.size + 1 && inputRels.size() == inputKeys.size)
+
+  private val inputs: util.List[RelNode] = new util.ArrayList[RelNode](inputRels)
+
+  override def producesUpdates: Boolean = false
+
+  override def needsUpdatesAsRetraction(input: RelNode): Boolean = true
+
+  override def consumesRetractions: Boolean = false
+
+  override def producesRetractions: Boolean = false
+
+  override def requireWatermark: Boolean = false
+
+  override def deriveRowType(): RelDataType = outputRowType
+
+  override def getInputs: util.List[RelNode] = inputs
+
+  override def replaceInput(ordinalInParent: Int, p: RelNode): Unit = {
+    inputs.set(ordinalInParent, p)
+    recomputeDigest()
+  }
+
+  override def copy(traitSet: RelTraitSet, inputs: util.List[RelNode]): RelNode = {
+    new StreamExecMultiJoin(cluster, traitSet, inputs, joins, inputKeys, outputRowType)
+  }
+
+  override def explainTerms(pw: RelWriter): RelWriter = {
+    inputs.zipWithIndex.foreach { case (input, i) => pw.input(s"input#$i", input) }
+    pw.item("joinType", FlinkJoinType.INNER.toString)
+      .item("where", getConditionString)
+      .item("select", getRowType.getFieldNames.mkString(", "))
+      .item("inputSpecs", getInputSideSpecs.mkString(", "))
+  }
+
+  /**
+    * Every input is kept in state as in the join of the chain which it was an input of.
+    */
+  private def getInputSideSpecs: Seq[JoinInputSideSpec] = {
+    joins.head.analyzeJoinInput(inputs.head) +:
+      inputs.tail.zip(joins).map { case (input, join) => join.analyzeJoinInput(input) }
+  }
+
+  private def getConditionString: String = {
+    joins.map { join =>
+      RelExplainUtil.expressionToString(join.getCondition, join.getRowType, getExpressionString)
+    }.mkString(", ")
+  }
+
+  //~ ExecNode methods -----------------------------------------------------------
+
+  override def getInputNodes: util.List[ExecNode[StreamPlanner, _]] = {
+    getInputs.map(_.asInstanceOf[ExecNode[StreamPlanner, _]])
+  }
+
+  override def replaceInputNode(
+      ordinalInParent: Int,
+      newInputNode: ExecNode[StreamPlanner, _]): Unit = {
+    replaceInput(ordinalInParent, newInputNode.asInstanceOf[RelNode])
+  }
+
+  override protected def translateToPlanInternal(
+      planner: StreamPlanner): Transformation[BaseRow] = {
+
+    val tableConfig = planner.getTableConfig
+    val returnType = BaseRowTypeInfo.of(FlinkTypeFactory.toLogicalRowType(getRowType))
+
+    // the records are tagged with their input before they are shuffled, so the hash exchanges
+    // of the inputs are translated here and only their inputs are translated by themselves
+    val inputTransforms = getInputNodes.map { input =>
+      input.getInputNodes.get(0).translateToPlan(planner).asInstanceOf[Transformation[BaseRow]]
+    }
+    val inputTypes = inputTransforms.map(_.getOutputType.asInstanceOf[BaseRowTypeInfo]).toArray
+    val inputLayout = new MultiJoinInputLayout(inputTypes)
+    val unionType = inputLayout.getUnionType
+
+    val inputSelectors = inputKeys.zip(inputTypes).map {
+      case (keys, inputType) => KeySelectorUtil.getBaseRowSelector(keys, inputType)
+    }
+    val keySelector = new MultiJoinKeySelector(inputLayout, inputSelectors.toArray)
+
+    val shuffledTransforms = inputTransforms.zipWithIndex.map { case (inputTransform, i) =>
+      val tagTransform = new OneInputTransformation[BaseRow, BaseRow](
+        inputTransform,
+        s"MultiJoinInput(index=[$i])",
+        new MultiJoinInputTagOperator(i),
+        unionType,
+        inputTransform.getParallelism)
+      val partitioner = new KeyGroupStreamPartitioner(keySelector,
+        DEFAULT_LOWER_BOUND_MAX_PARALLELISM)
+      val partitionTransform = new PartitionTransformation(
+        tagTransform,
+        partitioner.asInstanceOf[StreamPartitioner[BaseRow]])
+      partitionTransform.setParallelism(ExecutionConfig.PARALLELISM_DEFAULT)
+      partitionTransform.asInstanceOf[Transformation[BaseRow]]
+    }
+    val unionTransform = new UnionTransformation(shuffledTransforms)
+
+    val generatedConditions = joins.map { join =>
+      JoinUtil.generateConditionFunction(
+        tableConfig,
+        cluster.getRexBuilder,
+        join.getJoinInfo,
+        FlinkTypeFactory.toLogicalRowType(join.getLeft.getRowType),
+        FlinkTypeFactory.toLogicalRowType(join.getRight.getRowType))
+    }.toArray
+
+    val operator = new StreamingMultiJoinOperator(
+      inputLayout,
+      generatedConditions,
+      getInputSideSpecs.toArray,
+      Array.fill(inputKeys.head.length)(true),
+      tableConfig.getMinIdleStateRetentionTime)
+
+    val ret = new OneInputTransformation[BaseRow, BaseRow](
+      unionTransform,
+      getOperatorName,
+      operator,
+      returnType,
+      unionTransform.getParallelism)
+
+    // set KeyType and Selector for state
+    ret.setStateKeySelector(keySelector)
+    ret.setStateKeyType(keySelector.getProducedType)
+    ret
+  }
+
+  private def getOperatorName: String = {
+    val select = getRowType.getFieldNames.mkString(", ")
+    val inputSpecs = getInputSideSpecs.mkString(", ")
+    s"MultiJoin(where: ($getConditionString), select: ($select), inputSpecs: ($inputSpecs))"
+  }
+}
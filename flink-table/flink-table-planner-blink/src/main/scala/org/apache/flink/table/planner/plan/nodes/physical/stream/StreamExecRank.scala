@@ -23,7 +23,7 @@ import org.apache.flink.configuration.ConfigOption
 import org.apache.flink.configuration.ConfigOptions.key
 import org.apache.flink.streaming.api.operators.KeyedProcessOperator
 import org.apache.flink.streaming.api.transformations.OneInputTransformation
-import org.apache.flink.table.api.TableException
+import org.apache.flink.table.api.{TableConfig, TableException}
 import org.apache.flink.table.dataformat.BaseRow
 import org.apache.flink.table.planner.calcite.FlinkTypeFactory
 import org.apache.flink.table.planner.codegen.EqualiserCodeGenerator
@@ -34,14 +34,14 @@ import org.apache.flink.table.planner.plan.nodes.exec.{ExecNode, StreamExecNode}
 import org.apache.flink.table.planner.plan.rules.physical.stream.StreamExecRetractionRules
 import org.apache.flink.table.planner.plan.utils.{KeySelectorUtil, _}
 import org.apache.flink.table.runtime.operators.rank._
-import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo
+import org.apache.flink.table.runtime.typeutils.{BaseRowTypeInfo, SortKeySerializer}
 
 import org.apache.calcite.plan.{RelOptCluster, RelTraitSet}
 import org.apache.calcite.rel._
 import org.apache.calcite.rel.`type`.RelDataTypeField
 import org.apache.calcite.util.ImmutableBitSet
 
-import java.lang.{Long => JLong}
+import java.lang.{Boolean => JBoolean, Long => JLong}
 import java.util
 
 import scala.collection.JavaConversions._
@@ -192,17 +192,34 @@ class StreamExecRank(
         val equaliserCodeGen = new EqualiserCodeGenerator(inputRowTypeInfo.getLogicalTypes)
         val generatedEqualiser = equaliserCodeGen.generateRecordEqualiser("RankValueEqualiser")
 
-        new RetractableTopNFunction(
-          minIdleStateRetentionTime,
-          maxIdleStateRetentionTime,
-          inputRowTypeInfo,
-          sortKeyComparator,
-          sortKeySelector,
-          rankType,
-          rankRange,
-          generatedEqualiser,
-          generateRetraction,
-          outputRankNumber)
+        if (StreamExecRank.isSortedStateEnabled(tableConfig, sortKeyType)) {
+          new IncrementalTopNFunction(
+            minIdleStateRetentionTime,
+            maxIdleStateRetentionTime,
+            inputRowTypeInfo,
+            sortKeyComparator,
+            sortKeySelector,
+            sortDirections,
+            nullsIsLast,
+            rankType,
+            rankRange,
+            generatedEqualiser,
+            generateRetraction,
+            outputRankNumber,
+            cacheSize)
+        } else {
+          new RetractableTopNFunction(
+            minIdleStateRetentionTime,
+            maxIdleStateRetentionTime,
+            inputRowTypeInfo,
+            sortKeyComparator,
+            sortKeySelector,
+            rankType,
+            rankRange,
+            generatedEqualiser,
+            generateRetraction,
+            outputRankNumber)
+        }
     }
     val rankOpName = getOperatorName
     val operator = new KeyedProcessOperator(processFunction)
@@ -252,4 +269,20 @@ object StreamExecRank {
       .defaultValue(JLong.valueOf(10000L))
       .withDescription("TopN operator has a cache which caches partial state contents to reduce" +
           " state access. Cache size is the number of records in each TopN task.")
+
+  // It is a experimental config, will may be removed later.
+  @Experimental
+  val TABLE_EXEC_TOPN_SORTED_STATE_ENABLED: ConfigOption[JBoolean] =
+  key("table.exec.topn.sorted-state.enabled")
+      .defaultValue(JBoolean.valueOf(false))
+      .withDescription("Whether a TopN operator on an updating input keeps its records in state" +
+          " ordered by the sort key, so that the RocksDB state backend only reads and writes the" +
+          " records around the rank end for each input record instead of the sort keys of the" +
+          " whole partition. Only applies if all sort keys are of primitive, string, binary or" +
+          " compact decimal types.")
+
+  def isSortedStateEnabled(tableConfig: TableConfig, sortKeyType: BaseRowTypeInfo): Boolean = {
+    tableConfig.getConfiguration.getBoolean(TABLE_EXEC_TOPN_SORTED_STATE_ENABLED) &&
+      SortKeySerializer.isSupported(sortKeyType.getLogicalTypes)
+  }
 }
@@ -95,7 +95,7 @@ class StreamExecTableSourceScan(
   override protected def translateToPlanInternal(
       planner: StreamPlanner): Transformation[BaseRow] = {
     val config = planner.getTableConfig
-    val inputTransform = getSourceTransformation(planner.getExecEnv)
+    val inputTransform = getSourceTransformation(planner.getExecEnv, config)
 
     val fieldIndexes = TableSourceUtil.computeIndexMapping(
       tableSource,
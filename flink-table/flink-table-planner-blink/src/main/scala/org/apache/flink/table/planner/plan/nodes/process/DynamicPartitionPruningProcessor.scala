@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.table.planner.plan.nodes.process
+
+import org.apache.flink.table.api.config.{ExecutionConfigOptions, OptimizerConfigOptions}
+import org.apache.flink.table.planner.calcite.FlinkTypeFactory
+import org.apache.flink.table.planner.delegation.BatchPlanner
+import org.apache.flink.table.planner.plan.nodes.exec.{ExecNode, ExecNodeVisitorImpl}
+import org.apache.flink.table.planner.plan.nodes.physical.batch._
+import org.apache.flink.table.planner.plan.schema.{FlinkRelOptTable, TableSourceTable}
+import org.apache.flink.table.planner.utils.TableConfigUtils.getMillisecondFromConfigDuration
+import org.apache.flink.table.runtime.operators.join.partitionpruning.PartitionValues
+import org.apache.flink.table.sources.{DynamicPartitionPrunableTableSource, FilterableTableSource, TableSource}
+
+import com.google.common.collect.{Maps, Sets}
+import org.apache.calcite.rel.core.JoinRelType
+import org.apache.calcite.rex.RexInputRef
+
+import java.util
+
+import scala.collection.JavaConversions._
+import scala.collection.mutable
+
+/**
+  * A DynamicPartitionPruningProcessor that lets the partitioned fact table of a batch join only
+  * read the partitions which join with the filtered dimension table, e.g. for
+  * {{{
+  *   SELECT * FROM fact JOIN dim ON fact.dt = dim.dt WHERE dim.flag = 1
+  * }}}
+  *
+  * Static partition pruning cannot prune the partitions of the fact table here, because the
+  * values of `dt` are only known after the dimension table has been read. This processor
+  *  - lets the join collect the distinct join keys of the dimension input at runtime and
+  *    publish them, see [[BatchExecJoinBase#enableDynamicPartitionPruning]], and
+  *  - replaces the source of the fact table with a source which only reads the partitions of
+  *    the published keys, see [[DynamicPartitionPrunableTableSource]].
+  *
+  * A join is only rewritten if
+  *  - it drops the fact rows without join partner, i.e. it is an inner join, or a semi join with
+  *    the fact table on the left,
+  *  - the fact input reads a [[DynamicPartitionPrunableTableSource]] through exchanges and calcs
+  *    which forward the partition fields unchanged, and which are not reused by other nodes,
+  *  - some of the join keys of the fact input are partition fields of types whose values can be
+  *    collected, see [[PartitionValues#isSupported]],
+  *  - the dimension input is filtered, as all partitions would join otherwise, and
+  *  - the dimension input is read before the fact input, i.e. it is the build side of hash joins
+  *    and nested loop joins, so that the source of the fact table does not wait for the keys in
+  *    vain.
+  */
+class DynamicPartitionPruningProcessor extends DAGProcessor {
+
+  override def process(
+      rootNodes: util.List[ExecNode[_, _]],
+      context: DAGProcessContext): util.List[ExecNode[_, _]] = {
+    val config = context.getPlanner.getTableConfig
+    if (!config.getConfiguration.getBoolean(
+        OptimizerConfigOptions.TABLE_OPTIMIZER_DYNAMIC_PARTITION_PRUNING_ENABLED)) {
+      return rootNodes
+    }
+    val waitTimeout = getMillisecondFromConfigDuration(
+      config, ExecutionConfigOptions.TABLE_EXEC_DYNAMIC_PARTITION_PRUNING_WAIT_TIMEOUT)
+    val consumerCounter = new ConsumerCounter()
+    rootNodes.foreach(consumerCounter.visit)
+    val rewriter = new JoinRewriter(consumerCounter, waitTimeout)
+    rootNodes.foreach(rewriter.visit)
+    rootNodes
+  }
+
+  /**
+    * Counts the consumers of each node, i.e. how often the node is an input of other nodes.
+    */
+  class ConsumerCounter extends ExecNodeVisitorImpl {
+    private val visitedNodes = Sets.newIdentityHashSet[ExecNode[_, _]]()
+    private val numConsumers = Maps.newIdentityHashMap[ExecNode[_, _], Integer]()
+
+    def getNumConsumers(node: ExecNode[_, _]): Int = numConsumers.getOrDefault(node, 0)
+
+    override def visit(node: ExecNode[_, _]): Unit = {
+      if (visitedNodes.add(node)) {
+        node.getInputNodes.foreach(input => numConsumers.put(input, getNumConsumers(input) + 1))
+        super.visit(node)
+      }
+    }
+  }
+
+  class JoinRewriter(consumerCounter: ConsumerCounter, waitTimeout: Long)
+    extends ExecNodeVisitorImpl {
+
+    private val visitedNodes = Sets.newIdentityHashSet[ExecNode[_, _]]()
+
+    override def visit(node: ExecNode[_, _]): Unit = {
+      if (visitedNodes.add(node)) {
+        super.visit(node)
+        node match {
+          case join: BatchExecJoinBase =>
+            val factInputs = join.getJoinType match {
+              case JoinRelType.INNER => Seq(0, 1)
+              case JoinRelType.SEMI => Seq(0)
+              case _ => Seq()
+            }
+            factInputs.exists(factInput =>
+              isDimensionReadFirst(join, factInput) && rewriteJoin(join, factInput))
+          case _ => // do nothing
+        }
+      }
+    }
+
+    private def isDimensionReadFirst(join: BatchExecJoinBase, factInput: Int): Boolean = {
+      join match {
+        case hashJoin: BatchExecHashJoin => hashJoin.leftIsBuild == (factInput == 1)
+        case nestedLoopJoin: BatchExecNestedLoopJoin =>
+          nestedLoopJoin.leftIsBuild == (factInput == 1)
+        // both inputs are read concurrently, to sort them
+        case _: BatchExecSortMergeJoin => true
+        case _ => false
+      }
+    }
+
+    private def rewriteJoin(join: BatchExecJoinBase, factInput: Int): Boolean = {
+      val dimensionInput = 1 - factInput
+      val joinInfo = join.getJoinInfo
+      val (factKeys, dimensionKeys) = if (factInput == 0) {
+        (joinInfo.leftKeys, joinInfo.rightKeys)
+      } else {
+        (joinInfo.rightKeys, joinInfo.leftKeys)
+      }
+      if (!isFiltered(join.getInputNodes.get(dimensionInput))) {
+        return false
+      }
+
+      val factFieldCount = join.getInput(factInput).getRowType.getFieldCount
+      findScan(join, factInput, Array.range(0, factFieldCount)) match {
+        case Some((parent, ordinalInParent, scan, fieldMapping)) =>
+          val source = scan.tableSource match {
+            case s: DynamicPartitionPrunableTableSource => s
+            case _ => return false
+          }
+          val partitionFields = source.getPartitionFieldNames
+          val scanFields = scan.getRowType.getFieldList
+          val dimensionFields = join.getInput(dimensionInput).getRowType.getFieldList
+          // the dimension key of each partition field, in the order of the join keys
+          val prunedFields = mutable.LinkedHashMap[String, Int]()
+          factKeys.zip(dimensionKeys).foreach { case (factKey, dimensionKey) =>
+            val scanField = fieldMapping(factKey)
+            if (scanField >= 0) {
+              val field = scanFields.get(scanField)
+              val factType = FlinkTypeFactory.toLogicalType(field.getType)
+              val dimensionType = FlinkTypeFactory.toLogicalType(
+                dimensionFields.get(dimensionKey).getType)
+              if (partitionFields.contains(field.getName) &&
+                  !prunedFields.contains(field.getName) &&
+                  PartitionValues.isSupported(factType) &&
+                  factType.getTypeRoot == dimensionType.getTypeRoot) {
+                prunedFields.put(field.getName, dimensionKey)
+              }
+            }
+          }
+          if (prunedFields.isEmpty) {
+            return false
+          }
+
+          val valuesName = s"dynamic-partition-pruning-${join.getId}"
+          val newSource = source.applyDynamicPartitionPruning(
+            valuesName, prunedFields.keys.toList, waitTimeout)
+          val relOptTable = scan.getTable.asInstanceOf[FlinkRelOptTable]
+          val table = relOptTable.unwrap(classOf[TableSourceTable[_]])
+          val newTable = new TableSourceTable(
+            newSource.asInstanceOf[TableSource[Any]],
+            table.isStreamingMode,
+            table.statistic,
+            table.selectedFields)
+          val newScan = new BatchExecTableSourceScan(
+            scan.getCluster, scan.getTraitSet, relOptTable.copy(newTable, scan.getRowType))
+          parent.asInstanceOf[ExecNode[BatchPlanner, _]].replaceInputNode(ordinalInParent, newScan)
+          join.enableDynamicPartitionPruning(
+            valuesName, dimensionInput, prunedFields.values.toArray)
+          true
+        case None => false
+      }
+    }
+
+    /**
+      * Finds the table source scan which the given input of the given node reads through
+      * exchanges and calcs that are not reused.
+      *
+      * @param fieldMapping The field of the input of the node which each field of the node
+      *                     forwards, or -1 if it is computed.
+      * @return The parent of the scan, the index of the scan among the inputs of the parent,
+      *         the scan, and the field of the scan which each field of the node forwards, or -1.
+      */
+    private def findScan(
+        node: ExecNode[_, _],
+        inputIndex: Int,
+        fieldMapping: Array[Int])
+      : Option[(ExecNode[_, _], Int, BatchExecTableSourceScan, Array[Int])] = {
+      val input = node.getInputNodes.get(inputIndex)
+      if (consumerCounter.getNumConsumers(input) != 1) {
+        return None
+      }
+      input match {
+        case scan: BatchExecTableSourceScan => Some((node, inputIndex, scan, fieldMapping))
+        case _: BatchExecExchange => findScan(input, 0, fieldMapping)
+        case calc: BatchExecCalc =>
+          val program = calc.getProgram
+          val projects = program.getProjectList.map(program.expandLocalRef)
+          val inputMapping = fieldMapping.map { field =>
+            if (field < 0) {
+              -1
+            } else {
+              projects(field) match {
+                case ref: RexInputRef => ref.getIndex
+                case _ => -1
+              }
+            }
+          }
+          findScan(input, 0, inputMapping)
+        case _ => None
+      }
+    }
+
+    /**
+      * Returns whether the rows of the given node are filtered, so that not all partitions of
+      * the fact table find a join partner.
+      */
+    private def isFiltered(node: ExecNode[_, _]): Boolean = node match {
+      case calc: BatchExecCalc if calc.getProgram.getCondition != null => true
+      case scan: BatchExecTableSourceScan =>
+        scan.tableSource match {
+          case source: FilterableTableSource[_] => source.isFilterPushedDown
+          case _ => false
+        }
+      case _ => node.getInputNodes.exists(isFiltered)
+    }
+  }
+}
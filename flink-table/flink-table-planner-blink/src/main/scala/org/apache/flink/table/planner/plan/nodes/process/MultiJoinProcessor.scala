@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.table.planner.plan.nodes.process
+package org.apache.flink.table.planner.plan.nodes.process
+
+import org.apache.flink.table.api.config.OptimizerConfigOptions
+import org.apache.flink.table.planner.calcite.FlinkTypeFactory
+import org.apache.flink.table.planner.delegation.StreamPlanner
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNode
+import org.apache.flink.table.planner.plan.nodes.physical.stream.{StreamExecExchange, StreamExecJoin, StreamExecMultiJoin}
+import org.apache.flink.table.types.logical.LogicalType
+
+import org.apache.calcite.rel.core.JoinRelType
+import org.apache.calcite.rel.{RelDistribution, RelNode}
+
+import java.util
+
+import scala.collection.JavaConversions._
+import scala.collection.mutable
+
+/**
+  * A MultiJoinProcessor that replaces left-deep chains of regular inner joins whose inputs are
+  * all joined on the same key by a single [[StreamExecMultiJoin]].
+  *
+  * A chain of joins is replaced if
+  *  - every join of the chain is an inner join with join keys that filter nulls,
+  *  - the left input of every join but the lowest one is a hash exchange of the next lower join,
+  *    and neither the exchange nor that join has another consumer,
+  *  - the left keys of every join but the lowest one are equal to the keys of the lower joins
+  *    in the same order, so that all inputs are joined on the same key, and
+  *  - the keys of all inputs have the same types.
+  */
+class MultiJoinProcessor extends DAGProcessor {
+
+  override def process(
+      rootNodes: util.List[ExecNode[_, _]],
+      context: DAGProcessContext): util.List[ExecNode[_, _]] = {
+    val config = context.getPlanner.getTableConfig
+    if (!config.getConfiguration.getBoolean(
+        OptimizerConfigOptions.TABLE_OPTIMIZER_MULTI_JOIN_ENABLED)) {
+      return rootNodes
+    }
+    val numConsumers = countConsumers(rootNodes)
+    val rewrittenNodes = new util.IdentityHashMap[ExecNode[_, _], ExecNode[_, _]]()
+
+    def rewrite(node: ExecNode[_, _]): ExecNode[_, _] = {
+      val rewritten = rewrittenNodes.get(node)
+      if (rewritten != null) {
+        return rewritten
+      }
+      val newNode = node match {
+        case join: StreamExecJoin => createMultiJoin(join, numConsumers).getOrElse(join)
+        case _ => node
+      }
+      rewrittenNodes.put(node, newNode)
+      newNode.getInputNodes.toList.zipWithIndex.foreach { case (input, i) =>
+        val newInput = rewrite(input)
+        if (newInput ne input) {
+          newNode.asInstanceOf[ExecNode[StreamPlanner, _]].replaceInputNode(
+            i, newInput.asInstanceOf[ExecNode[StreamPlanner, _]])
+        }
+      }
+      newNode
+    }
+
+    val newRootNodes = new util.ArrayList[ExecNode[_, _]]()
+    rootNodes.foreach(node => newRootNodes.add(rewrite(node)))
+    newRootNodes
+  }
+
+  private def countConsumers(
+      rootNodes: util.List[ExecNode[_, _]]): util.IdentityHashMap[ExecNode[_, _], Integer] = {
+    val numConsumers = new util.IdentityHashMap[ExecNode[_, _], Integer]()
+    val visitedNodes = new util.IdentityHashMap[ExecNode[_, _], Boolean]()
+
+    def visit(node: ExecNode[_, _]): Unit = {
+      if (visitedNodes.put(node, true) == null) {
+        node.getInputNodes.foreach { input =>
+          val num = numConsumers.get(input)
+          numConsumers.put(input, if (num == null) 1 else num + 1)
+          visit(input)
+        }
+      }
+    }
+
+    rootNodes.foreach(visit)
+    numConsumers
+  }
+
+  /**
+    * Creates a [[StreamExecMultiJoin]] for the longest chain of joins that ends with the given
+    * join, or returns None if the given join has no lower join to be merged with.
+    */
+  private def createMultiJoin(
+      top: StreamExecJoin,
+      numConsumers: util.IdentityHashMap[ExecNode[_, _], Integer]): Option[StreamExecMultiJoin] = {
+    if (!isInnerEquiJoin(top)) {
+      return None
+    }
+    // collect the chain from the top to the bottom
+    val chain = mutable.ArrayBuffer[StreamExecJoin](top)
+    var lowerJoin = getLowerJoin(top, numConsumers)
+    while (lowerJoin.isDefined) {
+      chain += lowerJoin.get
+      lowerJoin = getLowerJoin(lowerJoin.get, numConsumers)
+    }
+    // the lowest join from which the whole chain up to the top is joined on the same key
+    (chain.length - 1 until 0 by -1).toStream
+      .map(bottom => chain.take(bottom + 1).reverse)
+      .flatMap(joins => mergeJoins(joins))
+      .headOption
+  }
+
+  private def getLowerJoin(
+      join: StreamExecJoin,
+      numConsumers: util.IdentityHashMap[ExecNode[_, _], Integer]): Option[StreamExecJoin] = {
+    join.getLeft match {
+      case exchange: StreamExecExchange if numConsumers.get(exchange) == 1 =>
+        exchange.getInput match {
+          case lower: StreamExecJoin if numConsumers.get(lower) == 1 && isInnerEquiJoin(lower) =>
+            Some(lower)
+          case _ => None
+        }
+      case _ => None
+    }
+  }
+
+  private def isInnerEquiJoin(join: StreamExecJoin): Boolean = {
+    join.getJoinType == JoinRelType.INNER &&
+      join.keyPairs.nonEmpty &&
+      join.filterNulls.forall(filterNull => filterNull)
+  }
+
+  /**
+    * Creates a [[StreamExecMultiJoin]] for the given joins, from the bottom to the top, or returns
+    * None if their inputs are not all joined on the same key.
+    */
+  private def mergeJoins(joins: Seq[StreamExecJoin]): Option[StreamExecMultiJoin] = {
+    val bottom = joins.head
+    val numKeys = bottom.keyPairs.length
+    // the fields of the joined inputs which are equal to each key field
+    val equalFields = bottom.keyPairs.map { pair =>
+      mutable.Set(pair.source, pair.target + bottom.getLeft.getRowType.getFieldCount)
+    }
+    val inputs = mutable.ArrayBuffer[RelNode](bottom.getLeft, bottom.getRight)
+    val inputKeys = mutable.ArrayBuffer[Array[Int]](
+      bottom.keyPairs.map(_.source).toArray, bottom.keyPairs.map(_.target).toArray)
+
+    val isSameKey = joins.tail.forall { join =>
+      val leftFieldCount = join.getLeft.getRowType.getFieldCount
+      val keyPairs = join.keyPairs
+      val keyFields = keyPairs.zip(equalFields)
+      if (keyPairs.length == numKeys &&
+          keyFields.forall { case (pair, fields) => fields.contains(pair.source) }) {
+        keyFields.foreach { case (pair, fields) => fields += pair.target + leftFieldCount }
+        inputs += join.getRight
+        inputKeys += keyPairs.map(_.target).toArray
+        true
+      } else {
+        false
+      }
+    }
+
+    if (!isSameKey ||
+        !inputs.zip(inputKeys).forall { case (input, keys) => isShuffledByKeys(input, keys) } ||
+        !inputs.zip(inputKeys).map { case (input, keys) => getKeyTypes(input, keys) }
+          .forall(_ == getKeyTypes(inputs.head, inputKeys.head))) {
+      return None
+    }
+
+    val top = joins.last
+    Some(new StreamExecMultiJoin(
+      top.getCluster,
+      top.getTraitSet,
+      inputs,
+      joins,
+      inputKeys,
+      top.getRowType))
+  }
+
+  private def isShuffledByKeys(input: RelNode, keys: Array[Int]): Boolean = {
+    input match {
+      case exchange: StreamExecExchange =>
+        val distribution = exchange.getDistribution
+        distribution.getType == RelDistribution.Type.HASH_DISTRIBUTED &&
+          distribution.getKeys.map(_.intValue()) == keys.toSeq
+      case _ => false
+    }
+  }
+
+  private def getKeyTypes(input: RelNode, keys: Array[Int]): Seq[LogicalType] = {
+    val fieldTypes = FlinkTypeFactory.toLogicalRowType(input.getRowType).getChildren
+    keys.map(key => fieldTypes.get(key).copy(true)).toSeq
+  }
+}
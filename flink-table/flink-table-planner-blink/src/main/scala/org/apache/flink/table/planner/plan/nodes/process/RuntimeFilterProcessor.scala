@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.table.planner.plan.nodes.process
+
+import org.apache.flink.table.api.config.OptimizerConfigOptions
+import org.apache.flink.table.planner.plan.nodes.exec.{ExecNode, ExecNodeVisitorImpl}
+import org.apache.flink.table.planner.plan.nodes.physical.batch.{BatchExecExchange, BatchExecHashJoin}
+
+import com.google.common.collect.Sets
+import org.apache.calcite.rel.RelDistribution
+import org.apache.calcite.rel.core.JoinRelType
+
+import java.util
+
+import scala.collection.JavaConversions._
+
+/**
+  * A RuntimeFilterProcessor that lets batch hash joins filter the rows of their probe side by the
+  * join keys of their build side before the probe rows are shuffled, see
+  * [[org.apache.flink.table.runtime.operators.join.runtimefilter.RuntimeFilterOperator]].
+  *
+  * A hash join gets a runtime filter if
+  *  - it drops the probe rows without join partner, i.e. it is an inner join, or a semi join
+  *    whose probe side is the left input,
+  *  - it has join keys, and
+  *  - its probe input is hash distributed by an exchange, so that the filter saves the shuffle
+  *    of the dropped rows.
+  *
+  * The size of the build side is not estimated here. A build task with more rows than
+  * `table.exec.runtime-filter.max-build-rows` disables the filter at runtime.
+  */
+class RuntimeFilterProcessor extends DAGProcessor {
+
+  override def process(
+      rootNodes: util.List[ExecNode[_, _]],
+      context: DAGProcessContext): util.List[ExecNode[_, _]] = {
+    val config = context.getPlanner.getTableConfig
+    if (!config.getConfiguration.getBoolean(
+        OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_ENABLED)) {
+      return rootNodes
+    }
+    val visitor = new RuntimeFilterVisitor()
+    rootNodes.foreach(visitor.visit)
+    rootNodes
+  }
+
+  class RuntimeFilterVisitor extends ExecNodeVisitorImpl {
+
+    private val visitedNodes = Sets.newIdentityHashSet[ExecNode[_, _]]()
+
+    override def visit(node: ExecNode[_, _]): Unit = {
+      if (visitedNodes.add(node)) {
+        super.visit(node)
+        node match {
+          case join: BatchExecHashJoin if isApplicable(join) =>
+            join.enableRuntimeFilter(s"runtime-filter-${join.getId}")
+          case _ => // do nothing
+        }
+      }
+    }
+
+    private def isApplicable(join: BatchExecHashJoin): Boolean = {
+      val dropsUnmatchedProbeRows = join.getJoinType match {
+        case JoinRelType.INNER => true
+        case JoinRelType.SEMI => !join.leftIsBuild
+        case _ => false
+      }
+      val probeInput = join.getInputNodes.get(if (join.leftIsBuild) 1 else 0)
+      val isProbeShuffled = probeInput match {
+        case exchange: BatchExecExchange =>
+          exchange.getDistribution.getType == RelDistribution.Type.HASH_DISTRIBUTED
+        case _ => false
+      }
+      dropsUnmatchedProbeRows && !join.isBroadcast && join.probeKeys.nonEmpty && isProbeShuffled
+    }
+  }
+}
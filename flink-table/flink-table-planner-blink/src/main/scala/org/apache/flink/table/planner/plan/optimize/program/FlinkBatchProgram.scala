@@ -138,6 +138,12 @@ object FlinkBatchProgram {
 
     // join reorder
     if (config.getBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_JOIN_REORDER_ENABLED)) {
+      val joinReorderRules = if (config.getBoolean(
+        OptimizerConfigOptions.TABLE_OPTIMIZER_JOIN_REORDER_COST_BASED_ENABLED)) {
+        FlinkBatchRuleSets.COST_BASED_JOIN_REORDER_RULES
+      } else {
+        FlinkBatchRuleSets.JOIN_REORDER_RULES
+      }
       chainedProgram.addLast(
         JOIN_REORDER,
         FlinkGroupProgramBuilder.newBuilder[BatchOptimizeContext]
@@ -149,7 +155,7 @@ object FlinkBatchProgram {
           .addProgram(FlinkHepRuleSetProgramBuilder.newBuilder
             .setHepRulesExecutionType(HEP_RULES_EXECUTION_TYPE.RULE_SEQUENCE)
             .setHepMatchOrder(HepMatchOrder.BOTTOM_UP)
-            .add(FlinkBatchRuleSets.JOIN_REORDER_RULES)
+            .add(joinReorderRules)
             .build(), "do join reorder")
           .build())
     }
@@ -237,6 +237,15 @@ object FlinkBatchRuleSets {
     LoptOptimizeJoinRule.INSTANCE
   )
 
+  val COST_BASED_JOIN_REORDER_RULES: RuleSet = RuleSets.ofList(
+    // equi-join predicates transfer
+    RewriteMultiJoinConditionRule.INSTANCE,
+    // join reorder of inner joins based on statistics
+    CostBasedJoinReorderRule.INSTANCE,
+    // join reorder of the remaining MultiJoins which contain outer joins
+    LoptOptimizeJoinRule.INSTANCE
+  )
+
   /**
     * RuleSet to do logical optimize.
     * This RuleSet is a sub-set of [[LOGICAL_OPT_RULES]].
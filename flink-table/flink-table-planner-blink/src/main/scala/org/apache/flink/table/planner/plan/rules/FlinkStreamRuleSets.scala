@@ -332,6 +332,8 @@ object FlinkStreamRuleSets {
     RankNumberColumnRemoveRule.INSTANCE,
     // split distinct aggregate to reduce data skew
     SplitAggregateRule.INSTANCE,
+    // split aggregate on hot group keys to reduce data skew
+    SplitSkewedAggregateRule.INSTANCE,
     // transpose calc past snapshot
     CalcSnapshotTransposeRule.INSTANCE,
     // merge calc after calc transpose
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.rules.logical
+
+import org.apache.flink.table.api.config.OptimizerConfigOptions
+import org.apache.flink.table.planner.calcite.{FlinkContext, FlinkLogicalRelFactories, FlinkRelBuilder, FlinkTypeFactory}
+import org.apache.flink.table.planner.functions.sql.FlinkSqlOperatorTable
+import org.apache.flink.table.planner.functions.utils.UserDefinedFunctionUtils.createScalarSqlFunction
+import org.apache.flink.table.planner.plan.PartialFinalType
+import org.apache.flink.table.planner.plan.nodes.FlinkRelNode
+import org.apache.flink.table.planner.plan.nodes.logical.{FlinkLogicalAggregate, FlinkLogicalJoin, FlinkLogicalRank, FlinkLogicalSort}
+import org.apache.flink.table.runtime.functions.HotKeySaltFunction
+
+import com.google.common.collect.ImmutableList
+import org.apache.calcite.plan.RelOptRule.{any, operand}
+import org.apache.calcite.plan.hep.HepRelVertex
+import org.apache.calcite.plan.volcano.RelSubset
+import org.apache.calcite.plan.{RelOptRule, RelOptRuleCall}
+import org.apache.calcite.rel.RelNode
+import org.apache.calcite.rel.core.{Aggregate, AggregateCall, JoinRelType}
+import org.apache.calcite.rex.{RexInputRef, RexNode}
+import org.apache.calcite.sql.SqlKind
+import org.apache.calcite.sql.fun.SqlStdOperatorTable
+import org.apache.calcite.util.{ImmutableBitSet, ImmutableIntList}
+
+import java.util
+
+import scala.collection.JavaConversions._
+
+/**
+  * Planner rule that splits a group aggregation without distinct aggregates into partial
+  * aggregations and final aggregations, to spread the records of hot group keys.
+  *
+  * The partial aggregation is additionally grouped by a salt, which is computed by a
+  * [[HotKeySaltFunction]] from the hash of the group keys. The function detects the hot keys
+  * of its input at runtime with a count-min sketch. The salt of a cold key is always 0, while
+  * the records of a hot key are salted round-robin over several buckets, so that they are
+  * aggregated by several instances of the partial aggregation. The final aggregation merges
+  * the results of the salts of a key, like the final aggregation of [[SplitAggregateRule]].
+  * The hot keys are counted by the hash of the group keys, so keys with the same hash are
+  * counted as one key and are salted together, which spreads a cold key whose hash collides
+  * with a hot key but does not change the results.
+  *
+  * Examples:
+  *
+  * MyTable: a: BIGINT, b: INT, c: VARCHAR
+  *
+  * SQL:
+  * SELECT a, SUM(b), AVG(b) FROM MyTable GROUP BY a
+  *
+  * flink logical plan:
+  * {{{
+  * FlinkLogicalCalc(select=[a, $f1, CAST(/($f2, $f3)) AS $f2])
+  * +- FlinkLogicalAggregate(group=[{0}], agg#0=[SUM($2)], agg#1=[$SUM0($3)], agg#2=[$SUM0($4)])
+  *    +- FlinkLogicalAggregate(group=[{0, 3}], agg#0=[SUM($1)], agg#1=[$SUM0($1)],
+  *           agg#2=[COUNT($1)])
+  *       +- FlinkLogicalCalc(select=[a, b, c, HOT_KEY_SALT(HASH_CODE(a)) AS $f3])
+  *          +- FlinkLogicalTableSourceScan(table=[[MyTable,
+  *                 source: [TestTableSource(a, b, c)]]], fields=[a, b, c])
+  * }}}
+  *
+  * A record of the input may be salted differently than a previous record with the same
+  * values, so a retraction may not reach the partial aggregation of the record it retracts.
+  * Therefore the rule only applies to append-only inputs, and only to the aggregate functions
+  * whose results do not depend on the order of the records.
+  *
+  * NOTES: this rule is only used for Stream now.
+  */
+class SplitSkewedAggregateRule extends RelOptRule(
+  operand(classOf[FlinkLogicalAggregate],
+    operand(classOf[FlinkRelNode], any)),
+  FlinkLogicalRelFactories.FLINK_LOGICAL_REL_BUILDER,
+  "SplitSkewedAggregateRule") {
+
+  override def matches(call: RelOptRuleCall): Boolean = {
+    val tableConfig = call.getPlanner.getContext.asInstanceOf[FlinkContext].getTableConfig
+    val agg: FlinkLogicalAggregate = call.rel(0)
+    val input: FlinkRelNode = call.rel(1)
+
+    val splitSkewedAggEnabled = tableConfig.getConfiguration.getBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_AGG_SPLIT_ENABLED)
+
+    splitSkewedAggEnabled &&
+      agg.partialFinalType == PartialFinalType.NONE &&
+      agg.getGroupType == Aggregate.Group.SIMPLE &&
+      agg.getGroupCount > 0 &&
+      agg.getAggCallList.nonEmpty &&
+      !agg.containsDistinctCall() &&
+      agg.getAggCallList.forall(SplitSkewedAggregateRule.isSupported) &&
+      SplitSkewedAggregateRule.isAppendOnly(input)
+  }
+
+  override def onMatch(call: RelOptRuleCall): Unit = {
+    val tableConfig = call.getPlanner.getContext.asInstanceOf[FlinkContext].getTableConfig
+    val originalAggregate: FlinkLogicalAggregate = call.rel(0)
+    val aggCalls = originalAggregate.getAggCallList
+    val input: FlinkRelNode = call.rel(1)
+    val relBuilder = call.builder().asInstanceOf[FlinkRelBuilder]
+    val typeFactory = originalAggregate.getCluster.getTypeFactory.asInstanceOf[FlinkTypeFactory]
+    relBuilder.push(input)
+    val aggGroupSet = originalAggregate.getGroupSet.toArray
+
+    // STEP 1: add the salt of the group keys
+    val buckets = tableConfig.getConfiguration.getInteger(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_AGG_SPLIT_BUCKET_NUM)
+    val hotKeyRatio = tableConfig.getConfiguration.getDouble(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_AGG_HOT_KEY_RATIO)
+    // hash(k1) * 31 + hash(k2) ...
+    val keyHash = aggGroupSet
+      .map(i => relBuilder.call(FlinkSqlOperatorTable.HASH_CODE, relBuilder.field(i)))
+      .reduce[RexNode] { (hash, fieldHash) =>
+        relBuilder.call(
+          SqlStdOperatorTable.PLUS,
+          relBuilder.call(SqlStdOperatorTable.MULTIPLY, hash, relBuilder.literal(31)),
+          fieldHash)
+      }
+    val saltFunction = createScalarSqlFunction(
+      "HOT_KEY_SALT",
+      "HOT_KEY_SALT",
+      new HotKeySaltFunction(buckets, hotKeyRatio),
+      typeFactory)
+    val projects = new util.ArrayList[RexNode](relBuilder.fields)
+    val saltIndex = projects.size()
+    projects.add(relBuilder.call(saltFunction, keyHash))
+    relBuilder.project(projects)
+
+    // STEP 2: construct partial aggregates grouped by the group keys and the salt
+    val partialGroupSet = ImmutableBitSet.of(aggGroupSet: _*).set(saltIndex)
+    val partialAggCalls = new util.ArrayList[AggregateCall]
+    aggCalls.foreach { aggCall =>
+      val (partialAggFunctions, _) = SplitAggregateRule.PARTIAL_FINAL_MAP(aggCall.getAggregation)
+      partialAggFunctions.foreach { aggFunc =>
+        partialAggCalls.add(AggregateCall.create(
+          aggFunc, false, aggCall.isApproximate, aggCall.getArgList, aggCall.filterArg,
+          partialGroupSet.cardinality, relBuilder.peek(), null, null))
+      }
+    }
+    relBuilder.aggregate(
+      relBuilder.groupKey(partialGroupSet, ImmutableList.of[ImmutableBitSet](partialGroupSet)),
+      partialAggCalls)
+    relBuilder.peek().asInstanceOf[FlinkLogicalAggregate]
+      .setPartialFinalType(PartialFinalType.PARTIAL)
+
+    // STEP 3: construct final aggregates grouped by the group keys,
+    // which are the leading fields of the partial aggregates
+    val finalAggInputOffset = partialGroupSet.cardinality
+    var x: Int = 0
+    val finalAggCalls = new util.ArrayList[AggregateCall]
+    var needMergeFinalAggOutput: Boolean = false
+    aggCalls.foreach { aggCall =>
+      val (_, finalAggFunctions) = SplitAggregateRule.PARTIAL_FINAL_MAP(aggCall.getAggregation)
+      finalAggFunctions.foreach { aggFunction =>
+        val newArgList = ImmutableIntList.of(finalAggInputOffset + x)
+        x += 1
+        finalAggCalls.add(AggregateCall.create(
+          aggFunction, false, aggCall.isApproximate, newArgList, -1,
+          originalAggregate.getGroupCount, relBuilder.peek(), null, null))
+      }
+      if (finalAggFunctions.size > 1) {
+        needMergeFinalAggOutput = true
+      }
+    }
+    val finalGroupSet = ImmutableBitSet.range(originalAggregate.getGroupCount)
+    relBuilder.aggregate(
+      relBuilder.groupKey(finalGroupSet, ImmutableList.of[ImmutableBitSet](finalGroupSet)),
+      finalAggCalls)
+    val finalAggregate = relBuilder.peek().asInstanceOf[FlinkLogicalAggregate]
+    finalAggregate.setPartialFinalType(PartialFinalType.FINAL)
+
+    // STEP 4: convert final aggregation output to the original aggregation output,
+    // e.g. AVG is computed from the final SUM0 and COUNT
+    if (needMergeFinalAggOutput) {
+      val aggGroupCount = finalAggregate.getGroupCount
+      val nodes = new util.ArrayList[RexNode]
+      (0 until aggGroupCount).foreach { index =>
+        nodes.add(RexInputRef.of(index, finalAggregate.getRowType))
+      }
+
+      var avgAggCount: Int = 0
+      aggCalls.zipWithIndex.foreach { case (aggCall, index) =>
+        val newNode = if (aggCall.getAggregation.getKind == SqlKind.AVG) {
+          val sumInputRef = RexInputRef.of(
+            aggGroupCount + index + avgAggCount,
+            finalAggregate.getRowType)
+          val countInputRef = RexInputRef.of(
+            aggGroupCount + index + avgAggCount + 1,
+            finalAggregate.getRowType)
+          avgAggCount += 1
+          relBuilder.call(FlinkSqlOperatorTable.DIVIDE, sumInputRef, countInputRef)
+        } else {
+          RexInputRef.of(aggGroupCount + index + avgAggCount, finalAggregate.getRowType)
+        }
+        nodes.add(newNode)
+      }
+      relBuilder.project(nodes)
+    }
+
+    relBuilder.convert(originalAggregate.getRowType, false)
+
+    val newRel = relBuilder.build()
+    call.transformTo(newRel)
+  }
+}
+
+object SplitSkewedAggregateRule {
+  val INSTANCE: RelOptRule = new SplitSkewedAggregateRule
+
+  /** The aggregate functions whose results do not depend on the order of the records. */
+  private val SUPPORTED_AGG_KINDS = Set(
+    SqlKind.COUNT, SqlKind.SUM, SqlKind.SUM0, SqlKind.AVG, SqlKind.MIN, SqlKind.MAX)
+
+  private def isSupported(aggCall: AggregateCall): Boolean = {
+    SUPPORTED_AGG_KINDS.contains(aggCall.getAggregation.getKind) &&
+      SplitAggregateRule.PARTIAL_FINAL_MAP.contains(aggCall.getAggregation)
+  }
+
+  /**
+    * Returns true if the node only produces appended records. The logical nodes which may
+    * produce updates in streaming are aggregations, ranks, sorts and outer joins.
+    */
+  private def isAppendOnly(node: RelNode): Boolean = node match {
+    case hep: HepRelVertex => isAppendOnly(hep.getCurrentRel)
+    case subset: RelSubset => isAppendOnly(subset.getOriginal)
+    case _: FlinkLogicalAggregate | _: FlinkLogicalRank | _: FlinkLogicalSort => false
+    case join: FlinkLogicalJoin if join.getJoinType != JoinRelType.INNER => false
+    case _ => node.getInputs.forall(isAppendOnly)
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.delegation;
+
+import org.apache.flink.api.common.JobExecutionResult;
+import org.apache.flink.api.dag.Transformation;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.functions.sink.DiscardingSink;
+import org.apache.flink.streaming.api.graph.StreamGraph;
+import org.apache.flink.table.api.TableConfig;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link BatchExecutor}.
+ */
+public class BatchExecutorTest {
+
+	@Test
+	public void testExecuteClearsTransformations() throws Exception {
+		TestingStreamExecutionEnvironment env = new TestingStreamExecutionEnvironment();
+		BatchExecutor executor = new BatchExecutor(env);
+		executor.setTableConfig(new TableConfig());
+
+		executor.apply(Collections.singletonList(createTransformation("first")));
+		executor.execute("first job");
+		executor.apply(Collections.singletonList(createTransformation("second")));
+		executor.execute("second job");
+
+		assertEquals(2, env.executedGraphs.size());
+		assertEquals(Collections.singletonList("Source: first"), getSourceNames(env.executedGraphs.get(0)));
+		// the second job must not contain the transformations of the first one
+		assertEquals(Collections.singletonList("Source: second"), getSourceNames(env.executedGraphs.get(1)));
+	}
+
+	@Test
+	public void testGenerateStreamGraphKeepsAppliedTransformations() throws Exception {
+		TestingStreamExecutionEnvironment env = new TestingStreamExecutionEnvironment();
+		BatchExecutor executor = new BatchExecutor(env);
+		executor.setTableConfig(new TableConfig());
+
+		executor.apply(Collections.singletonList(createTransformation("source")));
+		// e.g. explaining the plan must not drop the transformations to execute
+		assertEquals(Collections.singletonList("Source: source"), getSourceNames(executor.generateStreamGraph("job")));
+		// the transformations are not registered in the execution environment
+		assertTrue(env.getTransformations().isEmpty());
+		executor.execute("job");
+
+		assertEquals(1, env.executedGraphs.size());
+		assertEquals(Collections.singletonList("Source: source"), getSourceNames(env.executedGraphs.get(0)));
+	}
+
+	private static Transformation<?> createTransformation(String sourceName) {
+		return new TestingStreamExecutionEnvironment()
+			.fromElements(1, 2, 3)
+			.name(sourceName)
+			.addSink(new DiscardingSink<>())
+			.getTransformation();
+	}
+
+	private static List<String> getSourceNames(StreamGraph streamGraph) {
+		return streamGraph.getSourceIDs().stream()
+			.map(id -> streamGraph.getStreamNode(id).getOperatorName())
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * A {@link StreamExecutionEnvironment} that records the executed stream graphs.
+	 */
+	private static class TestingStreamExecutionEnvironment extends StreamExecutionEnvironment {
+
+		private final List<StreamGraph> executedGraphs = new ArrayList<>();
+
+		@Override
+		public JobExecutionResult execute(StreamGraph streamGraph) {
+			executedGraphs.add(streamGraph);
+			return null;
+		}
+
+		private List<Transformation<?>> getTransformations() {
+			return transformations;
+		}
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.operations;
+
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.api.TableSchema;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatistics;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBase;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBoolean;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDate;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDouble;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataLong;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataString;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.types.Row;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests for {@link TableStatisticsQuery}.
+ */
+public class TableStatisticsQueryTest {
+
+	private final TableSchema tableSchema = TableSchema.builder().fields(
+		new String[] { "b", "s", "l", "d", "dt", "ts" },
+		new DataType[] { DataTypes.BOOLEAN(), DataTypes.STRING(), DataTypes.BIGINT(), DataTypes.DOUBLE(),
+			DataTypes.DATE(), DataTypes.TIMESTAMP(3) }
+	).build();
+
+	@Test
+	public void testGetQuery() {
+		TableSchema schema = TableSchema.builder().fields(
+			new String[] { "a", "ts", "my`col" },
+			new DataType[] { DataTypes.INT(), DataTypes.TIMESTAMP(3), DataTypes.BOOLEAN() }
+		).build();
+		TableStatisticsQuery query = new TableStatisticsQuery("`cat`.`db`.`T`", schema);
+		// the timestamp column is not analyzed
+		assertEquals(
+			"SELECT COUNT(1), COUNT(`a`), COUNT(DISTINCT `a`), MIN(`a`), MAX(`a`), " +
+				"COUNT(`my``col`), COUNT(CASE WHEN `my``col` THEN 1 END) FROM `cat`.`db`.`T`",
+			query.getQuery());
+	}
+
+	@Test
+	public void testToStatistics() {
+		TableStatisticsQuery query = new TableStatisticsQuery("T", tableSchema);
+		Row result = Row.of(
+			10L,
+			// b
+			8L, 3L,
+			// s
+			9L, 4L, 6, 3.5,
+			// l
+			10L, 7L, -5L, 100L,
+			// d
+			6L, 6L, -1.5, 2.5,
+			// dt
+			5L, 3L, LocalDate.ofEpochDay(1L), LocalDate.ofEpochDay(17923L));
+
+		Tuple2<Long, CatalogColumnStatistics> statistics = query.toStatistics(result);
+		assertEquals(10L, statistics.f0.longValue());
+
+		Map<String, CatalogColumnStatisticsDataBase> columnStatistics =
+			statistics.f1.getColumnStatisticsData();
+		assertEquals(5, columnStatistics.size());
+		assertFalse(columnStatistics.containsKey("ts"));
+
+		CatalogColumnStatisticsDataBoolean booleanStatistics =
+			(CatalogColumnStatisticsDataBoolean) columnStatistics.get("b");
+		assertEquals(3L, booleanStatistics.getTrueCount().longValue());
+		assertEquals(5L, booleanStatistics.getFalseCount().longValue());
+		assertEquals(2L, booleanStatistics.getNullCount());
+
+		CatalogColumnStatisticsDataString stringStatistics =
+			(CatalogColumnStatisticsDataString) columnStatistics.get("s");
+		assertEquals(6L, stringStatistics.getMaxLength());
+		assertEquals(3.5, stringStatistics.getAvgLength(), 0.0);
+		assertEquals(4L, stringStatistics.getNdv());
+		assertEquals(1L, stringStatistics.getNullCount());
+
+		CatalogColumnStatisticsDataLong longStatistics =
+			(CatalogColumnStatisticsDataLong) columnStatistics.get("l");
+		assertEquals(-5L, longStatistics.getMin());
+		assertEquals(100L, longStatistics.getMax());
+		assertEquals(7L, longStatistics.getNdv());
+		assertEquals(0L, longStatistics.getNullCount());
+
+		CatalogColumnStatisticsDataDouble doubleStatistics =
+			(CatalogColumnStatisticsDataDouble) columnStatistics.get("d");
+		assertEquals(-1.5, doubleStatistics.getMin(), 0.0);
+		assertEquals(2.5, doubleStatistics.getMax(), 0.0);
+		assertEquals(6L, doubleStatistics.getNdv());
+		assertEquals(4L, doubleStatistics.getNullCount());
+
+		CatalogColumnStatisticsDataDate dateStatistics =
+			(CatalogColumnStatisticsDataDate) columnStatistics.get("dt");
+		assertEquals(1L, dateStatistics.getMin().getDaysSinceEpoch());
+		assertEquals(17923L, dateStatistics.getMax().getDaysSinceEpoch());
+		assertEquals(3L, dateStatistics.getNdv());
+		assertEquals(5L, dateStatistics.getNullCount());
+	}
+
+	@Test
+	public void testToStatisticsOfAllNullColumns() {
+		TableStatisticsQuery query = new TableStatisticsQuery("T", tableSchema);
+		Row result = Row.of(
+			4L,
+			// b
+			0L, 0L,
+			// s
+			0L, 0L, null, null,
+			// l
+			0L, 0L, null, null,
+			// d
+			0L, 0L, null, null,
+			// dt
+			0L, 0L, null, null);
+
+		Tuple2<Long, CatalogColumnStatistics> statistics = query.toStatistics(result);
+		assertEquals(4L, statistics.f0.longValue());
+
+		// min and max of the numeric and date columns are unknown, so they have no statistics
+		Map<String, CatalogColumnStatisticsDataBase> columnStatistics =
+			statistics.f1.getColumnStatisticsData();
+		assertEquals(2, columnStatistics.size());
+
+		CatalogColumnStatisticsDataBoolean booleanStatistics =
+			(CatalogColumnStatisticsDataBoolean) columnStatistics.get("b");
+		assertEquals(0L, booleanStatistics.getTrueCount().longValue());
+		assertEquals(0L, booleanStatistics.getFalseCount().longValue());
+		assertEquals(4L, booleanStatistics.getNullCount());
+
+		CatalogColumnStatisticsDataString stringStatistics =
+			(CatalogColumnStatisticsDataString) columnStatistics.get("s");
+		assertEquals(0L, stringStatistics.getMaxLength());
+		assertEquals(0.0, stringStatistics.getAvgLength(), 0.0);
+		assertEquals(0L, stringStatistics.getNdv());
+		assertEquals(4L, stringStatistics.getNullCount());
+	}
+
+	@Test
+	public void testToStatisticsOfEmptyTable() {
+		TableStatisticsQuery query = new TableStatisticsQuery("T", tableSchema);
+		Row result = Row.of(
+			0L,
+			0L, 0L,
+			0L, 0L, null, null,
+			0L, 0L, null, null,
+			0L, 0L, null, null,
+			0L, 0L, null, null);
+
+		Tuple2<Long, CatalogColumnStatistics> statistics = query.toStatistics(result);
+		assertEquals(0L, statistics.f0.longValue());
+		assertEquals(2, statistics.f1.getColumnStatisticsData().size());
+		assertEquals(
+			0L,
+			((CatalogColumnStatisticsDataString) statistics.f1.getColumnStatisticsData().get("s")).getNullCount());
+	}
+}
@@ -69,7 +69,7 @@ public class SqlToOperationConverterTest {
 	private final PlannerContext plannerContext =
 		new PlannerContext(tableConfig,
 			functionCatalog,
-			asRootSchema(new CatalogManagerCalciteSchema(catalogManager, false)),
+			asRootSchema(new CatalogManagerCalciteSchema(catalogManager, false, tableConfig)),
 			new ArrayList<>());
 
 	@Before
@@ -20,15 +20,18 @@ package org.apache.flink.table.api
 
 import org.apache.flink.api.scala._
 import org.apache.flink.streaming.api.environment.LocalStreamEnvironment
+import org.apache.flink.streaming.api.functions.sink.DiscardingSink
 import org.apache.flink.streaming.api.scala.StreamExecutionEnvironment
 import org.apache.flink.table.api.scala.{StreamTableEnvironment, _}
 import org.apache.flink.table.planner.utils.TableTestUtil
 
 import org.apache.calcite.plan.RelOptUtil
-import org.junit.Assert.assertEquals
+import org.junit.Assert.{assertEquals, assertTrue}
 import org.junit.rules.ExpectedException
 import org.junit.{Rule, Test}
 
+import scala.collection.JavaConverters._
+
 
 class TableEnvironmentTest {
 
@@ -75,4 +78,16 @@ class TableEnvironmentTest {
       "  LogicalTableScan(table=[[default_catalog, default_database, MyTable]])\n"
     assertEquals(expected, actual)
   }
+
+  @Test
+  def testExplainKeepsDataStreamPipelines(): Unit = {
+    env.fromElements[Int](1, 2, 3).addSink(new DiscardingSink[Int]).name("MySink")
+    val table = env.fromElements[(Int, Long, String, Boolean)]().toTable(tableEnv, 'a, 'b, 'c, 'd)
+    tableEnv.registerTable("MyTable", table)
+    tableEnv.explain(tableEnv.sqlQuery("SELECT a, c, d FROM MyTable"))
+
+    // explaining a query must not drop the pipelines pending in the shared environment
+    val operatorNames = env.getStreamGraph.getStreamNodes.asScala.map(_.getOperatorName)
+    assertTrue(operatorNames.contains("Sink: MySink"))
+  }
 }
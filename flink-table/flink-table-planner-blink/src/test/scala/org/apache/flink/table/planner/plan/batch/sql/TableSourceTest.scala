@@ -20,16 +20,22 @@ package org.apache.flink.table.planner.plan.batch.sql
 
 import org.apache.flink.api.common.typeinfo.{BasicTypeInfo, LocalTimeTypeInfo, TypeInformation}
 import org.apache.flink.api.java.typeutils.RowTypeInfo
+import org.apache.flink.streaming.api.transformations.SourceTransformation
+import org.apache.flink.table.api.config.ExecutionConfigOptions
 import org.apache.flink.table.api.{DataTypes, TableSchema, Types, ValidationException}
 import org.apache.flink.table.planner.expressions.utils.Func1
-import org.apache.flink.table.planner.utils.{DateTimeTestUtil, TableTestBase, TestFilterableTableSource, TestNestedProjectableTableSource, TestPartitionableTableSource, TestProjectableTableSource, TestTableSource}
+import org.apache.flink.table.planner.utils.{DateTimeTestUtil, TableTestBase, TestFilterableTableSource, TestNestedProjectableTableSource, TestParallelismInferableTableSource, TestPartitionableTableSource, TestProjectableTableSource, TestTableSource, TestingTableEnvironment}
 import org.apache.flink.table.runtime.types.TypeInfoDataTypeConverter
 import org.apache.flink.table.sources.TableSource
 import org.apache.flink.table.types.DataType
+import org.apache.flink.table.types.logical.{BigIntType, IntType, LogicalType}
 import org.apache.flink.types.Row
 
+import org.junit.Assert.{assertEquals, assertNull}
 import org.junit.{Before, Test}
 
+import scala.collection.JavaConversions._
+
 class TableSourceTest extends TableTestBase {
 
   private val util = batchTestUtil()
@@ -220,4 +226,56 @@ class TableSourceTest extends TableTestBase {
       """.stripMargin
     util.verifyPlan(sqlQuery)
   }
+
+  @Test
+  def testInferSourceParallelism(): Unit = {
+    val config = util.tableEnv.getConfig.getConfiguration
+    config.setBoolean(ExecutionConfigOptions.TABLE_EXEC_SOURCE_INFER_PARALLELISM_ENABLED, true)
+    config.setString("test.source.option", "value")
+    val source = new TestParallelismInferableTableSource(true, tableSchema, 3)
+    assertEquals(3, translateSourceParallelism(source))
+    // the source reads its options from the configuration of the table environment
+    assertEquals("value", source.inferConfiguration.getString("test.source.option", null))
+  }
+
+  @Test
+  def testInferSourceParallelismWithMax(): Unit = {
+    val config = util.tableEnv.getConfig.getConfiguration
+    config.setBoolean(ExecutionConfigOptions.TABLE_EXEC_SOURCE_INFER_PARALLELISM_ENABLED, true)
+    config.setInteger(ExecutionConfigOptions.TABLE_EXEC_SOURCE_INFER_PARALLELISM_MAX, 2)
+    val source = new TestParallelismInferableTableSource(true, tableSchema, 3)
+    assertEquals(2, translateSourceParallelism(source))
+  }
+
+  @Test
+  def testInferSourceParallelismUnknown(): Unit = {
+    util.tableEnv.getConfig.getConfiguration.setBoolean(
+      ExecutionConfigOptions.TABLE_EXEC_SOURCE_INFER_PARALLELISM_ENABLED, true)
+    // a source which can not infer its parallelism keeps the parallelism it was created with
+    val source = new TestParallelismInferableTableSource(true, tableSchema, -1)
+    assertEquals(1, translateSourceParallelism(source))
+  }
+
+  @Test
+  def testInferSourceParallelismDisabledByDefault(): Unit = {
+    val source = new TestParallelismInferableTableSource(true, tableSchema, 3)
+    assertEquals(1, translateSourceParallelism(source))
+    assertNull(source.inferConfiguration)
+  }
+
+  /**
+    * Translates a query on the given source and returns the parallelism of the source
+    * transformation.
+    */
+  private def translateSourceParallelism(source: TableSource[_]): Int = {
+    util.tableEnv.registerTableSource("InferableTable", source)
+    val sink = util.createCollectTableSink(
+      Array("a", "b"), Array[LogicalType](new IntType(), new BigIntType()))
+    util.writeToSink(util.tableEnv.sqlQuery("SELECT a, b FROM InferableTable"), sink, "sink")
+    val transformations = util.getPlanner.translate(
+      util.tableEnv.asInstanceOf[TestingTableEnvironment].getBufferedOperations)
+    transformations.flatMap(_.getTransitivePredecessors).collectFirst {
+      case t: SourceTransformation[_] => t.getParallelism
+    }.get
+  }
 }
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.batch.sql.join
+
+import org.apache.flink.table.api.config.OptimizerConfigOptions
+import org.apache.flink.table.planner.plan.common.JoinReorderTestBase
+import org.apache.flink.table.planner.plan.optimize.program.FlinkBatchProgram
+import org.apache.flink.table.planner.utils.{BatchTableTestUtil, TableTestUtil}
+
+import org.junit.{Before, Test}
+
+/**
+  * Tests for [[org.apache.flink.table.planner.plan.rules.logical.CostBasedJoinReorderRule]].
+  *
+  * <p>The plans are verified right after the join reorder, so that they only show the join order
+  * and not the physical join operators.
+  */
+class CostBasedJoinReorderTest extends JoinReorderTestBase {
+
+  override protected def getTableTestUtil: TableTestUtil = batchTestUtil()
+
+  private def batchUtil: BatchTableTestUtil = util.asInstanceOf[BatchTableTestUtil]
+
+  @Before
+  def before(): Unit = {
+    util.getTableEnv.getConfig.getConfiguration.setBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_JOIN_REORDER_COST_BASED_ENABLED, true)
+    batchUtil.buildBatchProgram(FlinkBatchProgram.JOIN_REWRITE)
+  }
+
+  @Test
+  def testGreedyJoinReorder(): Unit = {
+    // the number of inputs exceeds the threshold, so the join tree is built greedily
+    util.getTableEnv.getConfig.getConfiguration.setInteger(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_JOIN_REORDER_DP_THRESHOLD, 4)
+    val sql =
+      s"""
+         |SELECT * FROM T1, T2, T3, T4, T5
+         |WHERE a1 = a2 AND a1 = a3 AND a1 = a4 AND a1 = a5
+         """.stripMargin
+    util.verifyPlan(sql)
+  }
+
+  @Test
+  def testCrossJoin(): Unit = {
+    // T2 and T3 can only be joined by a cross product
+    val sql =
+      s"""
+         |SELECT * FROM T1, T2, T3, T4
+         |WHERE a1 = a2 AND a3 = a4
+         """.stripMargin
+    util.verifyPlan(sql)
+  }
+
+  @Test
+  def testPostJoinFilter(): Unit = {
+    // without predicate push down the filter is kept on top of the MultiJoin
+    val joinReorder = batchUtil.getBatchProgram().get(FlinkBatchProgram.JOIN_REORDER).get
+    batchUtil.buildBatchProgram(FlinkBatchProgram.PREDICATE_PUSHDOWN)
+    batchUtil.getBatchProgram().addLast(FlinkBatchProgram.JOIN_REORDER, joinReorder)
+    val sql =
+      s"""
+         |SELECT * FROM T1
+         |   JOIN T2 ON a1 = a2
+         |   JOIN T3 ON a2 = a3
+         |WHERE b1 + b2 > b3
+         """.stripMargin
+    util.verifyPlan(sql)
+  }
+}
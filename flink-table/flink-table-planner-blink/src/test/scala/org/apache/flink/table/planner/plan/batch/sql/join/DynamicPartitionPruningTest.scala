@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.batch.sql.join
+
+import org.apache.flink.api.common.typeinfo.TypeInformation
+import org.apache.flink.table.api.Types
+import org.apache.flink.table.api.config.{ExecutionConfigOptions, OptimizerConfigOptions}
+import org.apache.flink.table.plan.stats.TableStats
+import org.apache.flink.table.planner.plan.stats.FlinkStatistic
+import org.apache.flink.table.planner.utils.{TableTestBase, TestDynamicPartitionPrunableTableSource}
+
+import org.junit.{Before, Test}
+
+/**
+  * Tests for
+  * [[org.apache.flink.table.planner.plan.nodes.process.DynamicPartitionPruningProcessor]].
+  */
+class DynamicPartitionPruningTest extends TableTestBase {
+
+  private val util = batchTestUtil()
+
+  @Before
+  def before(): Unit = {
+    // 'part1' and 'part2' are partition fields
+    util.addTableSource(
+      "Fact",
+      new TestDynamicPartitionPrunableTableSource(true),
+      FlinkStatistic.builder().tableStats(new TableStats(1000000L)).build())
+    val types = Array[TypeInformation[_]](Types.STRING, Types.INT, Types.INT)
+    util.addTableSource("Dim", types, Array("x", "y", "z"),
+      FlinkStatistic.builder().tableStats(new TableStats(100L)).build())
+    util.addTableSource("BigDim", types, Array("x", "y", "z"),
+      FlinkStatistic.builder().tableStats(new TableStats(1000000000L)).build())
+    util.tableEnv.getConfig.getConfiguration.setBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_DYNAMIC_PARTITION_PRUNING_ENABLED, true)
+    util.tableEnv.getConfig.getConfiguration.setLong(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_BROADCAST_JOIN_THRESHOLD, -1L)
+    util.tableEnv.getConfig.getConfiguration.setString(
+      ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS,
+      "SortMergeJoin, NestedLoopJoin, BroadcastHashJoin")
+  }
+
+  @Test
+  def testDynamicPartitionPruning(): Unit = {
+    // the dimension side is the build side, so the fact scan prunes its partitions
+    util.verifyPlan("SELECT id, name, y FROM Fact, Dim WHERE part1 = x AND z > 10")
+  }
+
+  @Test
+  def testDisabled(): Unit = {
+    util.tableEnv.getConfig.getConfiguration.setBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_DYNAMIC_PARTITION_PRUNING_ENABLED, false)
+    util.verifyPlan("SELECT id, name, y FROM Fact, Dim WHERE part1 = x AND z > 10")
+  }
+
+  @Test
+  def testDimensionNotFiltered(): Unit = {
+    // all partitions would find a join partner
+    util.verifyPlan("SELECT id, name, y FROM Fact, Dim WHERE part1 = x")
+  }
+
+  @Test
+  def testDimensionOnProbeSide(): Unit = {
+    // the fact table is the build side, so it would be read before the keys are known
+    util.verifyPlan("SELECT id, name, y FROM Fact, BigDim WHERE part1 = x AND z > 10")
+  }
+
+  @Test
+  def testSharedExchange(): Unit = {
+    // the fact input of both joins is reused, and must read all partitions for the other join
+    util.tableEnv.getConfig.getConfiguration.setBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_REUSE_SOURCE_ENABLED, false)
+    val sqlQuery =
+      """
+        |SELECT id, y FROM Fact, Dim WHERE part1 = x AND z > 10
+        |UNION ALL
+        |SELECT id, y FROM Fact, Dim WHERE part1 = x AND z < 5
+      """.stripMargin
+    util.verifyPlan(sqlQuery)
+  }
+
+  @Test
+  def testCalcNotForwardingPartitionField(): Unit = {
+    // the join key is computed from the partition field
+    util.verifyPlan("SELECT id, y FROM Fact, Dim WHERE part2 + 1 = y AND z > 10")
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.table.planner.plan.batch.sql.join
+
+import org.apache.flink.api.scala._
+import org.apache.flink.table.api.config.{ExecutionConfigOptions, OptimizerConfigOptions}
+import org.apache.flink.table.api.scala._
+import org.apache.flink.table.planner.utils.TableTestBase
+
+import org.junit.{Before, Test}
+
+/**
+  * Tests for [[org.apache.flink.table.planner.plan.nodes.process.RuntimeFilterProcessor]].
+  */
+class RuntimeFilterTest extends TableTestBase {
+
+  private val util = batchTestUtil()
+
+  @Before
+  def before(): Unit = {
+    util.addTableSource[(Int, Long, String)]("MyTable1", 'a, 'b, 'c)
+    util.addTableSource[(Int, Long, Int, String, Long)]("MyTable2", 'd, 'e, 'f, 'g, 'h)
+    util.tableEnv.getConfig.getConfiguration.setBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_ENABLED, true)
+    util.tableEnv.getConfig.getConfiguration.setString(
+      ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS,
+      "SortMergeJoin, NestedLoopJoin, BroadcastHashJoin")
+  }
+
+  @Test
+  def testInnerJoin(): Unit = {
+    util.verifyPlan("SELECT c, g FROM MyTable1, MyTable2 WHERE a = d")
+  }
+
+  @Test
+  def testInnerJoinWithBuildLeft(): Unit = {
+    util.verifyPlan("SELECT c, g FROM MyTable2, MyTable1 WHERE a = d AND d < 2")
+  }
+
+  @Test
+  def testInnerJoinWithMultipleKeys(): Unit = {
+    util.verifyPlan("SELECT c, g FROM MyTable2 INNER JOIN MyTable1 ON a = d AND b = e")
+  }
+
+  @Test
+  def testLeftOuterJoin(): Unit = {
+    // the probe side keeps the rows without join partner
+    util.verifyPlan("SELECT c, g FROM MyTable1 LEFT OUTER JOIN MyTable2 ON b = e")
+  }
+
+  @Test
+  def testBroadcastJoin(): Unit = {
+    // the probe side is not shuffled
+    util.tableEnv.getConfig.getConfiguration.setLong(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_BROADCAST_JOIN_THRESHOLD, Long.MaxValue)
+    util.tableEnv.getConfig.getConfiguration.setString(
+      ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS,
+      "SortMergeJoin, NestedLoopJoin, ShuffleHashJoin")
+    util.verifyPlan("SELECT c, g FROM MyTable1, MyTable2 WHERE a = d")
+  }
+
+  @Test
+  def testDisabled(): Unit = {
+    util.tableEnv.getConfig.getConfiguration.setBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_ENABLED, false)
+    util.verifyPlan("SELECT c, g FROM MyTable1, MyTable2 WHERE a = d")
+  }
+}
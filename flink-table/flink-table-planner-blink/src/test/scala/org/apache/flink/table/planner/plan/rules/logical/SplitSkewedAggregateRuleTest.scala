@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.rules.logical
+
+import org.apache.flink.api.scala._
+import org.apache.flink.table.api.config.OptimizerConfigOptions
+import org.apache.flink.table.api.scala._
+import org.apache.flink.table.planner.plan.optimize.program.FlinkStreamProgram
+import org.apache.flink.table.planner.utils.TableTestBase
+
+import org.junit.Test
+
+/**
+  * Test for [[SplitSkewedAggregateRule]].
+  */
+class SplitSkewedAggregateRuleTest extends TableTestBase {
+  private val util = streamTestUtil()
+  util.addTableSource[(Long, Int, String)]("MyTable", 'a, 'b, 'c)
+  util.buildStreamProgram(FlinkStreamProgram.PHYSICAL)
+  util.tableEnv.getConfig.getConfiguration.setBoolean(
+    OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_AGG_SPLIT_ENABLED, true)
+
+  @Test
+  def testSingleSumAgg(): Unit = {
+    util.verifyPlan("SELECT a, SUM(b) FROM MyTable GROUP BY a")
+  }
+
+  @Test
+  def testAvgAndCountAgg(): Unit = {
+    util.verifyPlan("SELECT a, AVG(b), COUNT(c) FROM MyTable GROUP BY a")
+  }
+
+  @Test
+  def testFirstValueAgg(): Unit = {
+    // FIRST_VALUE depends on the order of the records, can not be split
+    util.verifyPlan("SELECT a, FIRST_VALUE(c) FROM MyTable GROUP BY a")
+  }
+
+  @Test
+  def testAggOnUpdatingInput(): Unit = {
+    // the inner aggregate is split, while the outer one consumes retractions and is not split
+    val sqlQuery =
+      """
+        |SELECT cnt, COUNT(*)
+        |FROM (SELECT a, COUNT(b) AS cnt FROM MyTable GROUP BY a)
+        |GROUP BY cnt
+      """.stripMargin
+    util.verifyPlan(sqlQuery)
+  }
+}
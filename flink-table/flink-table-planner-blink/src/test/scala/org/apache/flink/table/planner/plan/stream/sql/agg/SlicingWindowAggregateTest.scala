@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.flink.table.planner.plan.stream.sql.agg
+
+import org.apache.flink.api.scala._
+import org.apache.flink.table.api.config.ExecutionConfigOptions
+import org.apache.flink.table.api.scala._
+import org.apache.flink.table.planner.plan.utils.WindowEmitStrategy.{TABLE_EXEC_EMIT_EARLY_FIRE_DELAY, TABLE_EXEC_EMIT_EARLY_FIRE_ENABLED}
+import org.apache.flink.table.planner.utils.TableTestBase
+
+import org.junit.Test
+
+/**
+  * Tests for the sliced translation of hopping group window aggregates.
+  */
+class SlicingWindowAggregateTest extends TableTestBase {
+
+  private val util = streamTestUtil()
+  util.addDataStream[(Int, String, Long)](
+    "MyTable", 'a, 'b, 'c, 'proctime.proctime, 'rowtime.rowtime)
+
+  private val hopSql =
+    "SELECT b, COUNT(a) AS cnt FROM MyTable " +
+      "GROUP BY b, HOP(rowtime, INTERVAL '5' SECOND, INTERVAL '15' SECOND)"
+
+  private def enableSlicing(): Unit = {
+    util.tableEnv.getConfig.getConfiguration.setBoolean(
+      ExecutionConfigOptions.TABLE_EXEC_WINDOW_AGG_SLICING_ENABLED, true)
+  }
+
+  @Test
+  def testHopWindowSliced(): Unit = {
+    enableSlicing()
+    util.verifyPlan(hopSql)
+  }
+
+  @Test
+  def testHopWindowNotSlicedByDefault(): Unit = {
+    util.verifyPlan(hopSql)
+  }
+
+  @Test
+  def testTumbleWindowNotSliced(): Unit = {
+    enableSlicing()
+    util.verifyPlan(
+      "SELECT b, COUNT(a) AS cnt FROM MyTable GROUP BY b, TUMBLE(rowtime, INTERVAL '5' SECOND)")
+  }
+
+  @Test
+  def testHopWindowWithEarlyFireNotSliced(): Unit = {
+    enableSlicing()
+    val configuration = util.tableEnv.getConfig.getConfiguration
+    configuration.setBoolean(TABLE_EXEC_EMIT_EARLY_FIRE_ENABLED, true)
+    configuration.setString(TABLE_EXEC_EMIT_EARLY_FIRE_DELAY, "500 ms")
+    util.verifyPlan(hopSql)
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.stream.sql.join
+
+import org.apache.flink.api.scala._
+import org.apache.flink.table.api.config.OptimizerConfigOptions
+import org.apache.flink.table.api.scala._
+import org.apache.flink.table.planner.utils.{StreamTableTestUtil, TableTestBase}
+
+import org.junit.{Before, Test}
+
+/**
+  * Tests for [[org.apache.flink.table.planner.plan.nodes.process.MultiJoinProcessor]].
+  */
+class MultiJoinTest extends TableTestBase {
+
+  private val util: StreamTableTestUtil = streamTestUtil()
+
+  @Before
+  def before(): Unit = {
+    util.addTableSource[(Int, Long, Long)]("A", 'a1, 'a2, 'a3)
+    util.addTableSource[(Int, Long, Long)]("B", 'b1, 'b2, 'b3)
+    util.addTableSource[(Int, Long, Long)]("C", 'c1, 'c2, 'c3)
+    util.addTableSource[(Int, Long, Long)]("D", 'd1, 'd2, 'd3)
+    util.tableEnv.getConfig.getConfiguration.setBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_MULTI_JOIN_ENABLED, true)
+  }
+
+  @Test
+  def testThreeWayJoin(): Unit = {
+    util.verifyPlan("SELECT * FROM A JOIN B ON a1 = b1 JOIN C ON a1 = c1")
+  }
+
+  @Test
+  def testJoinOnTransitiveKey(): Unit = {
+    util.verifyPlan("SELECT * FROM A JOIN B ON a1 = b1 JOIN C ON b1 = c1")
+  }
+
+  @Test
+  def testFourWayJoin(): Unit = {
+    util.verifyPlan(
+      "SELECT * FROM A JOIN B ON a1 = b1 JOIN C ON b1 = c1 JOIN D ON a1 = d1")
+  }
+
+  @Test
+  def testJoinWithNonEquiCondition(): Unit = {
+    util.verifyPlan("SELECT * FROM A JOIN B ON a1 = b1 JOIN C ON a1 = c1 AND a2 < c2")
+  }
+
+  @Test
+  def testJoinOnDifferentKey(): Unit = {
+    util.verifyPlan("SELECT * FROM A JOIN B ON a1 = b1 JOIN C ON a2 = c2")
+  }
+
+  @Test
+  def testJoinWithOuterJoin(): Unit = {
+    util.verifyPlan("SELECT * FROM A LEFT JOIN B ON a1 = b1 JOIN C ON a1 = c1")
+  }
+
+  @Test
+  def testDisabled(): Unit = {
+    util.tableEnv.getConfig.getConfiguration.setBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_MULTI_JOIN_ENABLED, false)
+    util.verifyPlan("SELECT * FROM A JOIN B ON a1 = b1 JOIN C ON a1 = c1")
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.runtime.batch.sql
+
+import org.apache.flink.table.api.{DataTypes, EnvironmentSettings, TableEnvironment, TableException, TableSchema}
+import org.apache.flink.table.catalog.stats.{CatalogColumnStatisticsDataBoolean, CatalogColumnStatisticsDataLong, CatalogColumnStatisticsDataString, CatalogTableStatistics}
+import org.apache.flink.table.catalog.{ConnectorCatalogTable, GenericInMemoryCatalog, ObjectPath}
+import org.apache.flink.table.planner.runtime.utils.BatchTestBase
+import org.apache.flink.table.planner.runtime.utils.BatchTestBase.row
+import org.apache.flink.table.planner.utils.TestInputFormatTableSource
+
+import org.junit.Assert.{assertEquals, assertFalse}
+import org.junit.rules.ExpectedException
+import org.junit.{Before, Rule, Test}
+
+/**
+  * Tests for ANALYZE TABLE against a [[GenericInMemoryCatalog]].
+  */
+class AnalyzeTableITCase extends BatchTestBase {
+
+  private val catalog = new GenericInMemoryCatalog("analyze_catalog")
+  private val tablePath = new ObjectPath(GenericInMemoryCatalog.DEFAULT_DB, "MyTable")
+
+  private val _expectedException = ExpectedException.none
+
+  @Rule
+  def expectedEx: ExpectedException = _expectedException
+
+  private val tableSchema = TableSchema.builder().fields(
+    Array("a", "b", "c", "d"),
+    Array(DataTypes.INT(), DataTypes.STRING(), DataTypes.BOOLEAN(), DataTypes.DOUBLE())).build()
+
+  private val data = Seq(
+    row(1, "Hi", true, null),
+    row(2, "Hello", false, null),
+    row(2, null, true, null),
+    row(null, "Hi", null, null),
+    row(3, "Hello world", true, null))
+
+  @Before
+  override def before(): Unit = {
+    super.before()
+    val tableSource = new TestInputFormatTableSource(tableSchema, tableSchema.toRowType, data)
+    catalog.createTable(tablePath, ConnectorCatalogTable.source(tableSource, true), false)
+    tEnv.registerCatalog("analyze_catalog", catalog)
+  }
+
+  @Test
+  def testAnalyzeTable(): Unit = {
+    // the file count and the sizes are not computed by ANALYZE TABLE and must be kept
+    catalog.alterTableStatistics(tablePath, new CatalogTableStatistics(1, 2, 300L, 400L), false)
+
+    tEnv.sqlUpdate("ANALYZE TABLE analyze_catalog.`default`.MyTable COMPUTE STATISTICS")
+
+    val tableStatistics = catalog.getTableStatistics(tablePath)
+    assertEquals(5L, tableStatistics.getRowCount)
+    assertEquals(2, tableStatistics.getFileCount)
+    assertEquals(300L, tableStatistics.getTotalSize)
+    assertEquals(400L, tableStatistics.getRawDataSize)
+
+    val columnStatistics = catalog.getTableColumnStatistics(tablePath).getColumnStatisticsData
+
+    val a = columnStatistics.get("a").asInstanceOf[CatalogColumnStatisticsDataLong]
+    assertEquals(3L, a.getNdv)
+    assertEquals(1L, a.getNullCount)
+    assertEquals(1L, a.getMin)
+    assertEquals(3L, a.getMax)
+
+    val b = columnStatistics.get("b").asInstanceOf[CatalogColumnStatisticsDataString]
+    assertEquals(3L, b.getNdv)
+    assertEquals(1L, b.getNullCount)
+    assertEquals(11L, b.getMaxLength)
+    assertEquals(5.0, b.getAvgLength, 0.0)
+
+    val c = columnStatistics.get("c").asInstanceOf[CatalogColumnStatisticsDataBoolean]
+    assertEquals(3L, c.getTrueCount.longValue())
+    assertEquals(1L, c.getFalseCount.longValue())
+    assertEquals(1L, c.getNullCount)
+
+    // min and max of a column with only null values are unknown
+    assertFalse(columnStatistics.containsKey("d"))
+  }
+
+  @Test
+  def testAnalyzeTableTwice(): Unit = {
+    tEnv.sqlUpdate("ANALYZE TABLE analyze_catalog.`default`.MyTable COMPUTE STATISTICS")
+    // the second job must not run the statistics query of the first one again
+    tEnv.sqlUpdate("ANALYZE TABLE analyze_catalog.`default`.MyTable COMPUTE STATISTICS")
+
+    assertEquals(5L, catalog.getTableStatistics(tablePath).getRowCount)
+    val a = catalog.getTableColumnStatistics(tablePath).getColumnStatisticsData
+      .get("a").asInstanceOf[CatalogColumnStatisticsDataLong]
+    assertEquals(3L, a.getNdv)
+    assertEquals(1L, a.getNullCount)
+  }
+
+  @Test
+  def testAnalyzeView(): Unit = {
+    val view = tEnv.sqlQuery("SELECT a, b FROM analyze_catalog.`default`.MyTable")
+    tEnv.registerTable("MyView", view)
+    expectedEx.expect(classOf[TableException])
+    expectedEx.expectMessage("ANALYZE TABLE does not support views")
+    tEnv.sqlUpdate("ANALYZE TABLE MyView COMPUTE STATISTICS")
+  }
+
+  @Test(expected = classOf[TableException])
+  def testAnalyzeTableInStreamingMode(): Unit = {
+    val settings = EnvironmentSettings.newInstance().useBlinkPlanner().inStreamingMode().build()
+    val streamTableEnv = TableEnvironment.create(settings)
+    streamTableEnv.registerCatalog("analyze_catalog", catalog)
+    streamTableEnv.sqlUpdate("ANALYZE TABLE analyze_catalog.`default`.MyTable COMPUTE STATISTICS")
+  }
+}
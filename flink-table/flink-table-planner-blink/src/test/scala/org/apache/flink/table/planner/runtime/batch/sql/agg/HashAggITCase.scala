@@ -18,7 +18,10 @@
 
 package org.apache.flink.table.planner.runtime.batch.sql.agg
 
-import org.apache.flink.table.api.config.ExecutionConfigOptions
+import org.apache.flink.table.api.config.{ExecutionConfigOptions, OptimizerConfigOptions}
+import org.apache.flink.table.planner.runtime.utils.BatchTestBase.row
+
+import org.junit.Test
 
 /**
   * AggregateITCase using HashAgg Operator.
@@ -30,4 +33,23 @@ class HashAggITCase
     tEnv.getConfig.getConfiguration.setString(
       ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS, "SortAgg")
   }
+
+  @Test
+  def testAdaptiveLocalHashAggPassThrough(): Unit = {
+    val conf = tEnv.getConfig.getConfiguration
+    conf.setString(OptimizerConfigOptions.TABLE_OPTIMIZER_AGG_PHASE_STRATEGY, "TWO_PHASE")
+    conf.setBoolean(ExecutionConfigOptions.TABLE_EXEC_LOCAL_HASH_AGG_ADAPTIVE_ENABLED, true)
+    // the local hash aggregate passes the input through after the first record
+    conf.setLong(ExecutionConfigOptions.TABLE_EXEC_LOCAL_HASH_AGG_ADAPTIVE_SAMPLING_THRESHOLD, 1L)
+    conf.setDouble(
+      ExecutionConfigOptions.TABLE_EXEC_LOCAL_HASH_AGG_ADAPTIVE_DISTINCT_VALUE_RATE_THRESHOLD, 0d)
+    checkResult(
+      "SELECT sum(d), avg(d), count(g), min(e), h FROM Table5 GROUP BY h",
+      Seq(
+        row(16, 16.0 / 5, 5, 1L, 1),
+        row(26, 26.0 / 7, 7, 2L, 2),
+        row(13, 13.0 / 3, 3, 6L, 3)
+      )
+    )
+  }
 }
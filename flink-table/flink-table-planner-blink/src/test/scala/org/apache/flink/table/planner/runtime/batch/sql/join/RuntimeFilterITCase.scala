@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.table.planner.runtime.batch.sql.join
+
+import org.apache.flink.table.api.config.{ExecutionConfigOptions, OptimizerConfigOptions}
+import org.apache.flink.table.planner.runtime.batch.sql.join.JoinType.HashJoin
+import org.apache.flink.table.planner.runtime.utils.BatchTestBase
+import org.apache.flink.table.planner.runtime.utils.BatchTestBase.row
+import org.apache.flink.table.planner.runtime.utils.TestData._
+
+import org.junit.{Before, Test}
+
+import scala.collection.Seq
+
+/**
+  * Integration tests for the runtime filters of hash joins.
+  */
+class RuntimeFilterITCase extends BatchTestBase {
+
+  @Before
+  override def before(): Unit = {
+    super.before()
+    registerCollection("SmallTable3", smallData3, type3, "a, b, c", nullablesOfSmallData3)
+    registerCollection("Table5", data5, type5, "d, e, f, g, h", nullablesOfData5)
+    JoinITCaseHelper.disableOtherJoinOpForJoin(tEnv, HashJoin)
+    tEnv.getConfig.getConfiguration.setBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_ENABLED, true)
+    // ask for the filter with every probe row
+    tEnv.getConfig.getConfiguration.setInteger(
+      ExecutionConfigOptions.TABLE_EXEC_RUNTIME_FILTER_CHECK_INTERVAL, 1)
+  }
+
+  @Test
+  def testInnerJoin(): Unit = {
+    checkResult(
+      "SELECT c, g FROM SmallTable3, Table5 WHERE b = e",
+      Seq(
+        row("Hi", "Hallo"),
+        row("Hello", "Hallo Welt"),
+        row("Hello world", "Hallo Welt")
+      ))
+  }
+
+  @Test
+  def testInnerJoinWithMultipleKeys(): Unit = {
+    checkResult(
+      "SELECT c, g FROM SmallTable3, Table5 WHERE a = d AND b = e",
+      Seq(
+        row("Hi", "Hallo"),
+        row("Hello", "Hallo Welt")
+      ))
+  }
+
+  @Test
+  def testSemiJoin(): Unit = {
+    checkResult(
+      "SELECT a, b FROM SmallTable3 WHERE a IN (SELECT d FROM Table5 WHERE e > 3)",
+      Seq(row(3, 2L)))
+  }
+
+  @Test
+  def testFilterDisabledByBuildSize(): Unit = {
+    tEnv.getConfig.getConfiguration.setInteger(
+      ExecutionConfigOptions.TABLE_EXEC_RUNTIME_FILTER_MAX_BUILD_ROWS, 1)
+    checkResult(
+      "SELECT c, g FROM SmallTable3, Table5 WHERE b = e",
+      Seq(
+        row("Hi", "Hallo"),
+        row("Hello", "Hallo Welt"),
+        row("Hello world", "Hallo Welt")
+      ))
+  }
+}
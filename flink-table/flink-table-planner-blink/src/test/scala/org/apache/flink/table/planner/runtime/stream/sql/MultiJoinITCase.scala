@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.runtime.stream.sql
+
+import org.apache.flink.api.scala._
+import org.apache.flink.table.api.config.OptimizerConfigOptions
+import org.apache.flink.table.api.scala._
+import org.apache.flink.table.planner.runtime.utils.StreamingWithStateTestBase.StateBackendMode
+import org.apache.flink.table.planner.runtime.utils.{StreamingWithStateTestBase, TestingAppendSink, TestingRetractSink}
+import org.apache.flink.types.Row
+
+import org.junit.Assert._
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+
+/**
+  * Tests for chains of inner joins on the same key which are executed as multi-way joins.
+  * The expected results are those of the chains of binary joins.
+  */
+@RunWith(classOf[Parameterized])
+class MultiJoinITCase(state: StateBackendMode) extends StreamingWithStateTestBase(state) {
+
+  override def before(): Unit = {
+    super.before()
+    val data1 = List((1, 1L, "a1"), (1, 2L, "a2"), (2, 3L, "a3"), (3, 4L, "a4"))
+    val data2 = List((1, 1L, "b1"), (2, 2L, "b2"), (2, 3L, "b3"), (4, 4L, "b4"))
+    val data3 = List((1, 1L, "c1"), (2, 6L, "c2"), (3, 7L, "c3"), (1, 8L, "c4"))
+    tEnv.registerTable("T1", failingDataSource(data1).toTable(tEnv, 'a1, 'b1, 'c1))
+    tEnv.registerTable("T2", failingDataSource(data2).toTable(tEnv, 'a2, 'b2, 'c2))
+    tEnv.registerTable("T3", failingDataSource(data3).toTable(tEnv, 'a3, 'b3, 'c3))
+    tEnv.getConfig.getConfiguration.setBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_MULTI_JOIN_ENABLED, true)
+  }
+
+  @Test
+  def testThreeWayJoin(): Unit = {
+    val sqlQuery = "SELECT * FROM T1 JOIN T2 ON a1 = a2 JOIN T3 ON a2 = a3"
+    val table = tEnv.sqlQuery(sqlQuery)
+    assertTrue(tEnv.explain(table).contains("MultiJoin("))
+
+    val sink = new TestingAppendSink
+    table.toAppendStream[Row].addSink(sink)
+    env.execute()
+
+    val expected = List(
+      "1,1,a1,1,1,b1,1,1,c1",
+      "1,1,a1,1,1,b1,1,8,c4",
+      "1,2,a2,1,1,b1,1,1,c1",
+      "1,2,a2,1,1,b1,1,8,c4",
+      "2,3,a3,2,2,b2,2,6,c2",
+      "2,3,a3,2,3,b3,2,6,c2")
+    assertEquals(expected.sorted, sink.getAppendResults.sorted)
+  }
+
+  @Test
+  def testThreeWayJoinWithNonEquiCondition(): Unit = {
+    val sqlQuery =
+      """
+        |SELECT *
+        |FROM T1 JOIN T2 ON a1 = a2 JOIN T3 ON a1 = a3 AND b1 < b3
+        |""".stripMargin
+    val table = tEnv.sqlQuery(sqlQuery)
+    assertTrue(tEnv.explain(table).contains("MultiJoin("))
+
+    val sink = new TestingAppendSink
+    table.toAppendStream[Row].addSink(sink)
+    env.execute()
+
+    val expected = List(
+      "1,1,a1,1,1,b1,1,8,c4",
+      "1,2,a2,1,1,b1,1,8,c4",
+      "2,3,a3,2,2,b2,2,6,c2",
+      "2,3,a3,2,3,b3,2,6,c2")
+    assertEquals(expected.sorted, sink.getAppendResults.sorted)
+  }
+
+  @Test
+  def testThreeWayJoinWithRetraction(): Unit = {
+    val sqlQuery =
+      """
+        |SELECT *
+        |FROM T1 JOIN T2 ON a1 = a2
+        |JOIN (SELECT a3, COUNT(*) AS cnt FROM T3 GROUP BY a3) ON a1 = a3
+        |""".stripMargin
+    val table = tEnv.sqlQuery(sqlQuery)
+    assertTrue(tEnv.explain(table).contains("MultiJoin("))
+
+    val sink = new TestingRetractSink
+    table.toRetractStream[Row].addSink(sink).setParallelism(1)
+    env.execute()
+
+    val expected = List(
+      "1,1,a1,1,1,b1,1,2",
+      "1,2,a2,1,1,b1,1,2",
+      "2,3,a3,2,2,b2,2,1",
+      "2,3,a3,2,3,b3,2,1")
+    assertEquals(expected.sorted, sink.getRetractResults.sorted)
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.runtime.stream.sql
+
+import org.apache.flink.api.scala._
+import org.apache.flink.table.api.config.OptimizerConfigOptions
+import org.apache.flink.table.api.scala._
+import org.apache.flink.table.planner.runtime.utils.StreamingWithAggTestBase.{AggMode, LocalGlobalOff, LocalGlobalOn}
+import org.apache.flink.table.planner.runtime.utils.StreamingWithMiniBatchTestBase.{MiniBatchMode, MiniBatchOff, MiniBatchOn}
+import org.apache.flink.table.planner.runtime.utils.StreamingWithStateTestBase.{HEAP_BACKEND, StateBackendMode}
+import org.apache.flink.table.planner.runtime.utils.{StreamingWithAggTestBase, TestingRetractSink}
+import org.apache.flink.types.Row
+
+import org.junit.Assert.assertEquals
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+import org.junit.{Before, Test}
+
+import java.util
+
+import scala.collection.JavaConversions._
+import scala.collection.Seq
+
+/**
+  * Tests that the group aggregations which are split on hot keys produce the same results as
+  * the aggregations which are not split.
+  */
+@RunWith(classOf[Parameterized])
+class SplitSkewedAggregateITCase(
+    aggMode: AggMode,
+    miniBatch: MiniBatchMode,
+    backend: StateBackendMode)
+  extends StreamingWithAggTestBase(aggMode, miniBatch, backend) {
+
+  // most records have the key 1, so that it is detected as a hot key by every instance
+  private val data = (0 until 8000).map { i =>
+    val a = if (i % 10 < 7) 1L else (i % 10).toLong
+    (a, i % 100, s"Hello ${i % 13}")
+  }
+
+  @Before
+  override def before(): Unit = {
+    super.before()
+    tEnv.getConfig.getConfiguration.setInteger(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_AGG_SPLIT_BUCKET_NUM, 4)
+    tEnv.getConfig.getConfiguration.setDouble(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_AGG_HOT_KEY_RATIO, 0.2)
+
+    val t = failingDataSource(data).toTable(tEnv, 'a, 'b, 'c)
+    tEnv.registerTable("T", t)
+  }
+
+  @Test
+  def testAggOnHotKey(): Unit = {
+    val (splitResults, results) = executeWithAndWithoutSplit(
+      "SELECT a, COUNT(*), SUM(b), AVG(b), MIN(c), MAX(c) FROM T GROUP BY a")
+
+    val expected = data.groupBy(_._1).map { case (a, records) =>
+      val bs = records.map(_._2)
+      val cs = records.map(_._3)
+      s"$a,${records.size},${bs.sum},${bs.sum / bs.size},${cs.min},${cs.max}"
+    }.toList
+    assertEquals(expected.sorted, results)
+    assertEquals(results, splitResults)
+  }
+
+  @Test
+  def testAggOnUpdatingInput(): Unit = {
+    val (splitResults, results) = executeWithAndWithoutSplit(
+      """
+        |SELECT cnt, COUNT(*)
+        |FROM (SELECT a, COUNT(b) AS cnt FROM T GROUP BY a)
+        |GROUP BY cnt
+      """.stripMargin)
+
+    val expected = data.groupBy(_._1).values.map(_.size).groupBy(identity)
+      .map { case (cnt, counts) => s"$cnt,${counts.size}" }.toList
+    assertEquals(expected.sorted, results)
+    assertEquals(results, splitResults)
+  }
+
+  /**
+    * Translates the query once with and once without splitting skewed aggregations, and
+    * executes both in one job. Returns the results of the split and of the unsplit query.
+    */
+  private def executeWithAndWithoutSplit(sqlQuery: String): (Seq[String], Seq[String]) = {
+    val configuration = tEnv.getConfig.getConfiguration
+    configuration.setBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_AGG_SPLIT_ENABLED, true)
+    val splitSink = new TestingRetractSink
+    tEnv.sqlQuery(sqlQuery).toRetractStream[Row].addSink(splitSink).setParallelism(1)
+
+    configuration.setBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_AGG_SPLIT_ENABLED, false)
+    val sink = new TestingRetractSink
+    tEnv.sqlQuery(sqlQuery).toRetractStream[Row].addSink(sink).setParallelism(1)
+
+    env.execute()
+    (splitSink.getRetractResults.sorted, sink.getRetractResults.sorted)
+  }
+}
+
+object SplitSkewedAggregateITCase {
+
+  @Parameterized.Parameters(name = "LocalGlobal={0}, MiniBatch={1}, StateBackend={2}")
+  def parameters(): util.Collection[Array[java.lang.Object]] = {
+    Seq[Array[AnyRef]](
+      Array(LocalGlobalOff, MiniBatchOff, HEAP_BACKEND),
+      Array(LocalGlobalOff, MiniBatchOn, HEAP_BACKEND),
+      Array(LocalGlobalOn, MiniBatchOn, HEAP_BACKEND))
+  }
+}
@@ -23,6 +23,7 @@ import org.apache.flink.api.common.io.InputFormat
 import org.apache.flink.api.common.typeinfo.{BasicTypeInfo, TypeInformation}
 import org.apache.flink.api.java.io.CollectionInputFormat
 import org.apache.flink.api.java.typeutils.RowTypeInfo
+import org.apache.flink.configuration.Configuration
 import org.apache.flink.core.io.InputSplit
 import org.apache.flink.streaming.api.datastream.DataStream
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment
@@ -604,6 +605,66 @@ class TestPartitionableTableSource(
   override def getTableSchema: TableSchema = new TableSchema(fieldNames, fieldTypes)
 }
 
+/**
+  * A [[TestPartitionableTableSource]] which also supports dynamic partition pruning. It only
+  * explains the partition fields which are pruned dynamically, and still reads all remaining
+  * partitions.
+  *
+  * @param bounded whether this is a bounded source
+  * @param remaining remaining partitions after partition pruning
+  * @param dynamicPruningFields partition fields which are pruned at runtime
+  */
+class TestDynamicPartitionPrunableTableSource(
+    bounded: Boolean,
+    remaining: JList[JMap[String, String]] = null,
+    dynamicPruningFields: JList[String] = null)
+  extends TestPartitionableTableSource(bounded, remaining)
+  with DynamicPartitionPrunableTableSource {
+
+  override def applyPartitionPruning(
+      remainingPartitions: JList[JMap[String, String]]): TableSource[_] = {
+    new TestDynamicPartitionPrunableTableSource(bounded, remainingPartitions, dynamicPruningFields)
+  }
+
+  override def applyDynamicPartitionPruning(
+      valuesName: String,
+      partitionFieldNames: JList[String],
+      waitTimeoutMillis: Long): TableSource[_] = {
+    new TestDynamicPartitionPrunableTableSource(bounded, remaining, partitionFieldNames)
+  }
+
+  override def explainSource(): String = {
+    val explain = super.explainSource()
+    if (dynamicPruningFields != null) {
+      val dynamicPruning = s"dynamicPruning=[${dynamicPruningFields.mkString(", ")}]"
+      if (explain.isEmpty) dynamicPruning else s"$explain, $dynamicPruning"
+    } else {
+      explain
+    }
+  }
+}
+
+/**
+  * A [[TestTableSource]] which infers a fixed parallelism and records the configuration it
+  * was asked to infer the parallelism with.
+  *
+  * @param inferredParallelism the parallelism returned by [[inferParallelism]]
+  */
+class TestParallelismInferableTableSource(
+    isBounded: Boolean,
+    schema: TableSchema,
+    inferredParallelism: Int)
+  extends TestTableSource(isBounded, schema)
+  with ParallelismInferableTableSource {
+
+  var inferConfiguration: Configuration = _
+
+  override def inferParallelism(configuration: Configuration, maxParallelism: Int): Int = {
+    inferConfiguration = configuration
+    inferredParallelism
+  }
+}
+
 class TestInputFormatTableSource[T](
     tableSchema: TableSchema,
     returnType: TypeInformation[T],
@@ -41,6 +41,19 @@ public class VectorizedColumnBatch implements Serializable {
 	private int numRows;
 	public final ColumnVector[] columns;
 
+	/**
+	 * The ids of the selected rows, in ascending order. Only the first {@link #getNumRows()} ids
+	 * are valid, and only if {@link #selectedInUse} is set. Filters select rows by compacting this
+	 * array instead of copying the values of the columns.
+	 */
+	private int[] selected;
+
+	/**
+	 * Whether the rows of the batch are given by {@link #selected}. Otherwise, the rows are
+	 * {@code 0} to {@code getNumRows() - 1}.
+	 */
+	private boolean selectedInUse;
+
 	public VectorizedColumnBatch(ColumnVector[] vectors) {
 		this.columns = vectors;
 	}
@@ -53,16 +66,92 @@ public class VectorizedColumnBatch implements Serializable {
 			column.reset();
 		}
 		this.numRows = 0;
+		this.selectedInUse = false;
 	}
 
 	public void setNumRows(int numRows) {
 		this.numRows = numRows;
 	}
 
+	/**
+	 * Returns the number of rows of the batch, i.e., the number of selected rows if
+	 * {@link #isSelectedInUse()}. Readers access the rows through {@link #getRowId(int)}.
+	 */
 	public int getNumRows() {
 		return numRows;
 	}
 
+	/**
+	 * Returns the id of the row at the given position, taking the selection into account.
+	 */
+	public int getRowId(int position) {
+		return selectedInUse ? selected[position] : position;
+	}
+
+	/**
+	 * Returns whether the rows of the batch are given by {@link #getSelected()}. Otherwise, the
+	 * rows are {@code 0} to {@code getNumRows() - 1}.
+	 */
+	public boolean isSelectedInUse() {
+		return selectedInUse;
+	}
+
+	/**
+	 * Returns the ids of the selected rows in ascending order. Only the first {@link #getNumRows()}
+	 * ids are valid, and only if {@link #isSelectedInUse()}. The array must not be modified, see
+	 * {@link #getSelectedForWrite(int)}.
+	 */
+	public int[] getSelected() {
+		return selected;
+	}
+
+	/**
+	 * Returns an array of this batch for at least the given number of row ids, which is filled and
+	 * then handed to {@link #setSelected(int[], int)}. If {@link #isSelectedInUse()}, the array
+	 * holds the current selection, so that filters can compact it in place.
+	 */
+	public int[] getSelectedForWrite(int capacity) {
+		if (selected == null || selected.length < capacity) {
+			int[] newSelected = new int[Math.max(capacity, DEFAULT_SIZE)];
+			if (selectedInUse) {
+				System.arraycopy(selected, 0, newSelected, 0, numRows);
+			}
+			selected = newSelected;
+		}
+		return selected;
+	}
+
+	/**
+	 * Restricts the rows of the batch to the given ids, which must be in ascending order.
+	 *
+	 * @param selected The ids of the selected rows, the array may be shared with other batches.
+	 * @param numSelected The number of valid ids in {@code selected}.
+	 */
+	public void setSelected(int[] selected, int numSelected) {
+		this.selected = selected;
+		this.selectedInUse = true;
+		this.numRows = numSelected;
+	}
+
+	/**
+	 * Drops the selection, i.e., the rows of the batch are {@code 0} to {@code getNumRows() - 1}
+	 * again.
+	 */
+	public void clearSelected() {
+		this.selectedInUse = false;
+	}
+
+	/**
+	 * Returns the number of physical rows that the columns of this batch must hold, i.e., one more
+	 * than the largest id of a row of the batch.
+	 */
+	public int getPhysicalNumRows() {
+		if (numRows == 0) {
+			return 0;
+		}
+		return selectedInUse ? selected[numRows - 1] + 1 : numRows;
+	}
+
 	public int getArity() {
 		return columns.length;
 	}
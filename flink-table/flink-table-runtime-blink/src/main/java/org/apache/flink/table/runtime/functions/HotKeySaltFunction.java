@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.functions;
+
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.table.functions.ScalarFunction;
+import org.apache.flink.table.runtime.util.CountMinSketch;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A function which returns the salt of a group key to aggregate it on, given the hash of the key.
+ *
+ * <p>The function tracks the recent frequencies of the keys with a {@link CountMinSketch}.
+ * A key which accounts for at least the given ratio of the recent records is hot: its records
+ * are salted round-robin with {@code [0, bucketNum)}, so that they are aggregated by several
+ * instances of the partial aggregate. The salt of a cold key is always 0, so a cold key is
+ * still aggregated by a single instance.
+ *
+ * <p>The sketch counts the 32-bit hashes of the keys rather than the keys themselves, so keys
+ * with the same hash are counted as one key. A cold key whose hash collides with the hash of a
+ * hot key is salted like the hot key. This does not change the results, because the final
+ * aggregate merges all salts of a key, but the records of such a cold key are spread over
+ * several instances of the partial aggregate as well.
+ *
+ * <p>The salt does not depend on the record only, so the function is not deterministic.
+ * Every instance of the function detects the hot keys of its own input.
+ */
+public class HotKeySaltFunction extends ScalarFunction {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The number of counters in a row of the sketch, bounds the error of the estimations. */
+	private static final int SKETCH_WIDTH = 2048;
+
+	private static final int SKETCH_DEPTH = 4;
+
+	/** The counts of the sketch are halved after this number of records. */
+	private static final long DECAY_INTERVAL = 100_000L;
+
+	/** No key is hot before this number of records, as the ratios of the keys are not stable. */
+	private static final long MIN_RECORDS = 1_000L;
+
+	private final int bucketNum;
+
+	private final double hotKeyRatio;
+
+	private transient CountMinSketch sketch;
+
+	private transient long numHotRecords;
+
+	public HotKeySaltFunction(int bucketNum, double hotKeyRatio) {
+		checkArgument(bucketNum > 0, "The number of buckets must be positive.");
+		checkArgument(hotKeyRatio > 0 && hotKeyRatio <= 1, "The ratio of a hot key must be in (0, 1].");
+		this.bucketNum = bucketNum;
+		this.hotKeyRatio = hotKeyRatio;
+	}
+
+	@Override
+	public void open(FunctionContext context) throws Exception {
+		super.open(context);
+		this.sketch = new CountMinSketch(SKETCH_WIDTH, SKETCH_DEPTH);
+		this.numHotRecords = 0L;
+	}
+
+	public int eval(Integer keyHash) {
+		int hash = keyHash == null ? 0 : keyHash;
+		long count = sketch.add(hash);
+		long total = sketch.getTotalCount();
+		int salt = 0;
+		if (total >= MIN_RECORDS && count >= hotKeyRatio * total) {
+			salt = (int) (numHotRecords++ % bucketNum);
+		}
+		if (total >= DECAY_INTERVAL) {
+			sketch.decay();
+		}
+		return salt;
+	}
+
+	@Override
+	public boolean isDeterministic() {
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return "HOT_KEY_SALT";
+	}
+}
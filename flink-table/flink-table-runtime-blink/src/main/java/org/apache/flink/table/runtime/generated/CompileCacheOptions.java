@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.generated;
+
+import org.apache.flink.configuration.ConfigOption;
+
+import static org.apache.flink.configuration.ConfigOptions.key;
+
+/**
+ * Options of the cache of compiled generated code, see {@link CompileUtils}. The options are read
+ * per job from the table config, and default to the configuration of the TaskManager. Jobs with
+ * the same options share the cache of a TaskManager.
+ */
+public class CompileCacheOptions {
+
+	public static final ConfigOption<String> TABLE_EXEC_CODEGEN_CACHE_SIZE =
+		key("table.exec.codegen.cache.size")
+			.defaultValue("64 mb")
+			.withDescription("The maximum total size of the bytecode of generated classes which is cached " +
+				"in memory by a TaskManager. Tasks which generate the same code load the cached bytecode " +
+				"instead of compiling the code again.");
+
+	public static final ConfigOption<String> TABLE_EXEC_CODEGEN_CACHE_DIR =
+		key("table.exec.codegen.cache.dir")
+			.noDefaultValue()
+			.withDescription("A local directory in which the bytecode of generated classes is persisted, so " +
+				"that it is loaded instead of compiled again after a restart of the TaskManager or the job. " +
+				"The directory may be shared by several TaskManagers of the same host, and must only be " +
+				"writable by Flink. Persisted bytecode with a wrong checksum is compiled again. If not set, the " +
+				"bytecode is only cached in memory.");
+}
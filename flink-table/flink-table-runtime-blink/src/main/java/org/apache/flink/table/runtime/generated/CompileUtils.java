@@ -18,26 +18,82 @@
 
 package org.apache.flink.table.runtime.generated;
 
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.ExecutionConfig;
 import org.apache.flink.api.common.InvalidProgramException;
 import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.MemorySize;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.execution.Environment;
+import org.apache.flink.runtime.util.EnvironmentInformation;
+import org.apache.flink.util.StringUtils;
 
 import org.apache.flink.shaded.guava18.com.google.common.cache.Cache;
 import org.apache.flink.shaded.guava18.com.google.common.cache.CacheBuilder;
 
+import org.codehaus.janino.ClassLoaderIClassLoader;
+import org.codehaus.janino.Java;
+import org.codehaus.janino.Parser;
+import org.codehaus.janino.Scanner;
 import org.codehaus.janino.SimpleCompiler;
+import org.codehaus.janino.UnitCompiler;
+import org.codehaus.janino.util.ClassFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
 /**
  * Utilities to compile a generated code to a Class.
+ *
+ * <p>Besides the classes compiled for every ClassLoader, the bytecode of the generated code is
+ * cached by the hash of the code. The bytecode cache is shared by all tasks of the process whose
+ * jobs use the same {@link CompileCacheOptions}, so a task which generates the same code as another
+ * task only loads the bytecode instead of compiling the code. The bytecode can also be persisted to
+ * a local directory to survive restarts. Persisted bytecode carries a checksum, and is compiled
+ * again if the checksum does not match.
+ *
+ * <p>The bytecode of a generated code depends on the classes it was compiled against, so the hash
+ * also covers the Flink version, the class path of the process and the path, size and modification
+ * time of the jars of the user code ClassLoader.
  */
 public final class CompileUtils {
 
 	// used for logging the generated codes to a same place
 	private static final Logger CODE_LOG = LoggerFactory.getLogger(CompileUtils.class);
 
+	private static final String BYTECODE_FILE_SUFFIX = ".bytecode";
+
+	private static final int CHECKSUM_LENGTH = 32;
+
 	/**
 	 * Cache of compile, Janino generates a new Class Loader and a new Class file every compile
 	 * (guaranteeing that the class name will not be repeated). This leads to multiple tasks of
@@ -50,6 +106,83 @@ public final class CompileUtils {
 		.maximumSize(100)   // estimated cache size
 		.build();
 
+	/**
+	 * The bytecode caches of the user code ClassLoaders of the jobs, see {@link #initialize(Environment)}.
+	 */
+	private static final Map<ClassLoader, BytecodeCache> JOB_BYTECODE_CACHES =
+		Collections.synchronizedMap(new WeakHashMap<>());
+
+	/**
+	 * The bytecode caches by their size and directory, so that jobs with the same options share a cache.
+	 */
+	private static final Map<Tuple2<Long, String>, BytecodeCache> BYTECODE_CACHES =
+		Collections.synchronizedMap(new HashMap<>());
+
+	/**
+	 * The bytecode cache of ClassLoaders which belong to no initialized job.
+	 */
+	private static volatile BytecodeCache defaultBytecodeCache;
+
+	private static final AtomicLong NUM_COMPILED_CLASSES = new AtomicLong();
+	private static final AtomicLong COMPILE_TIME_MILLIS = new AtomicLong();
+	private static final AtomicLong NUM_BYTECODE_CACHE_HITS = new AtomicLong();
+	private static final AtomicBoolean METRICS_REGISTERED = new AtomicBoolean();
+
+	/**
+	 * The fingerprints of the classes the generated code is compiled against, per ClassLoader.
+	 */
+	private static final Map<ClassLoader, String> CLASSPATH_FINGERPRINTS =
+		Collections.synchronizedMap(new WeakHashMap<>());
+
+	static {
+		// the bytecode of code which is not compiled by a task is only cached in memory
+		configure(new Configuration());
+	}
+
+	/**
+	 * Configures the bytecode cache of the job of the given task environment, and registers the
+	 * metrics of the cache to the metric group of the TaskManager. The options are read from the
+	 * global job parameters, which hold the table config, and default to the configuration of the
+	 * TaskManager. The cache is kept per user code ClassLoader, so every job uses its own options.
+	 */
+	public static void initialize(Environment environment) {
+		if (METRICS_REGISTERED.compareAndSet(false, true)) {
+			registerMetrics(environment.getMetricGroup().parent().parent());
+		}
+
+		Configuration config = new Configuration(environment.getTaskManagerInfo().getConfiguration());
+		ExecutionConfig.GlobalJobParameters jobParameters = environment.getExecutionConfig().getGlobalJobParameters();
+		if (jobParameters != null) {
+			jobParameters.toMap().forEach(config::setString);
+		}
+		JOB_BYTECODE_CACHES.put(environment.getUserClassLoader(), getBytecodeCache(config));
+	}
+
+	private static BytecodeCache getBytecodeCache(Configuration config) {
+		long cacheSize = MemorySize.parse(
+			config.getString(CompileCacheOptions.TABLE_EXEC_CODEGEN_CACHE_SIZE)).getBytes();
+		String dir = config.getString(CompileCacheOptions.TABLE_EXEC_CODEGEN_CACHE_DIR);
+		return BYTECODE_CACHES.computeIfAbsent(Tuple2.of(cacheSize, dir), key -> new BytecodeCache(cacheSize, dir));
+	}
+
+	/**
+	 * Configures the bytecode cache of ClassLoaders which belong to no job, all cached bytecode is
+	 * dropped.
+	 */
+	@VisibleForTesting
+	static void configure(Configuration config) {
+		BYTECODE_CACHES.clear();
+		JOB_BYTECODE_CACHES.clear();
+		defaultBytecodeCache = getBytecodeCache(config);
+	}
+
+	private static void registerMetrics(MetricGroup taskManagerMetricGroup) {
+		MetricGroup group = taskManagerMetricGroup.addGroup("codegen");
+		group.gauge("numCompiledClasses", (Gauge<Long>) NUM_COMPILED_CLASSES::get);
+		group.gauge("compileTimeMs", (Gauge<Long>) COMPILE_TIME_MILLIS::get);
+		group.gauge("numBytecodeCacheHits", (Gauge<Long>) NUM_BYTECODE_CACHE_HITS::get);
+	}
+
 	/**
 	 * Compiles a generated code to a Class.
 	 * @param cl the ClassLoader used to load the class
@@ -71,21 +204,253 @@ public final class CompileUtils {
 
 	private static <T> Class<T> doCompile(ClassLoader cl, String name, String code) {
 		checkNotNull(cl, "Classloader must not be null.");
-		CODE_LOG.debug("Compiling: %s \n\n Code:\n%s", name, code);
+		Map<String, byte[]> classes = getBytecode(cl, name, code);
 		SimpleCompiler compiler = new SimpleCompiler();
 		compiler.setParentClassLoader(cl);
+		compiler.cook(classes);
+		try {
+			//noinspection unchecked
+			return (Class<T>) compiler.getClassLoader().loadClass(name);
+		} catch (ClassNotFoundException e) {
+			throw new RuntimeException("Can not load class " + name, e);
+		}
+	}
+
+	/**
+	 * Returns the bytecode of all classes of the generated code, from the cache in memory, from
+	 * the persisted bytecode, or by compiling the code.
+	 */
+	private static Map<String, byte[]> getBytecode(ClassLoader cl, String name, String code) {
+		String hash = hash(getClasspathFingerprint(cl), name, code);
+		BytecodeCache bytecodeCache = JOB_BYTECODE_CACHES.getOrDefault(cl, defaultBytecodeCache);
+		Map<String, byte[]> classes = bytecodeCache.cache.getIfPresent(hash);
+		if (classes == null) {
+			classes = readBytecode(bytecodeCache.dir, hash);
+			if (classes == null) {
+				classes = compileToBytecode(cl, name, code);
+				writeBytecode(bytecodeCache.dir, hash, classes);
+			} else {
+				NUM_BYTECODE_CACHE_HITS.incrementAndGet();
+			}
+			bytecodeCache.cache.put(hash, classes);
+		} else {
+			NUM_BYTECODE_CACHE_HITS.incrementAndGet();
+		}
+		return classes;
+	}
+
+	private static Map<String, byte[]> compileToBytecode(ClassLoader cl, String name, String code) {
+		CODE_LOG.debug("Compiling: %s \n\n Code:\n%s", name, code);
+		long start = System.currentTimeMillis();
+		ClassFile[] classFiles;
 		try {
-			compiler.cook(code);
+			Java.CompilationUnit unit = new Parser(new Scanner(null, new StringReader(code))).parseCompilationUnit();
+			classFiles = new UnitCompiler(unit, new ClassLoaderIClassLoader(cl)).compileUnit(false, true, false);
 		} catch (Throwable t) {
 			System.out.println(addLineNumber(code));
 			throw new InvalidProgramException(
 				"Table program cannot be compiled. This is a bug. Please file an issue.", t);
 		}
+		Map<String, byte[]> classes = new HashMap<>();
+		for (ClassFile classFile : classFiles) {
+			classes.put(classFile.getThisClassName(), classFile.toByteArray());
+		}
+		NUM_COMPILED_CLASSES.incrementAndGet();
+		COMPILE_TIME_MILLIS.addAndGet(System.currentTimeMillis() - start);
+		return classes;
+	}
+
+	/**
+	 * Reads the persisted bytecode of the code with the given hash. The file holds the hash, the
+	 * classes and the SHA-256 checksum of both. Null is returned if the file does not exist or does
+	 * not match its checksum or the hash, so that the code is compiled again.
+	 */
+	@Nullable
+	private static Map<String, byte[]> readBytecode(@Nullable File dir, String hash) {
+		if (dir == null) {
+			return null;
+		}
+		File file = new File(dir, hash + BYTECODE_FILE_SUFFIX);
+		if (!file.exists()) {
+			return null;
+		}
 		try {
-			//noinspection unchecked
-			return (Class<T>) compiler.getClassLoader().loadClass(name);
-		} catch (ClassNotFoundException e) {
-			throw new RuntimeException("Can not load class " + name, e);
+			byte[] content = Files.readAllBytes(file.toPath());
+			int length = content.length - CHECKSUM_LENGTH;
+			if (length < 0 || !MessageDigest.isEqual(
+					checksum(content, length), Arrays.copyOfRange(content, length, content.length))) {
+				CODE_LOG.warn("The persisted bytecode {} does not match its checksum, compile the code again.", file);
+				return null;
+			}
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(content, 0, length));
+			if (!hash.equals(in.readUTF())) {
+				CODE_LOG.warn("The persisted bytecode {} belongs to other code, compile the code again.", file);
+				return null;
+			}
+			int numClasses = in.readInt();
+			Map<String, byte[]> classes = new HashMap<>(numClasses);
+			for (int i = 0; i < numClasses; i++) {
+				String className = in.readUTF();
+				byte[] bytes = new byte[in.readInt()];
+				in.readFully(bytes);
+				classes.put(className, bytes);
+			}
+			return classes;
+		} catch (IOException e) {
+			CODE_LOG.warn("Could not read the persisted bytecode " + file + ", compile the code again.", e);
+			return null;
+		}
+	}
+
+	private static void writeBytecode(@Nullable File dir, String hash, Map<String, byte[]> classes) {
+		if (dir == null) {
+			return;
+		}
+		// write to a temporary file first, so that readers never see a partial file
+		File tmpFile = new File(dir, hash + "." + UUID.randomUUID() + ".tmp");
+		File file = new File(dir, hash + BYTECODE_FILE_SUFFIX);
+		try {
+			ByteArrayOutputStream content = new ByteArrayOutputStream();
+			try (DataOutputStream out = new DataOutputStream(content)) {
+				out.writeUTF(hash);
+				out.writeInt(classes.size());
+				for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+					out.writeUTF(entry.getKey());
+					out.writeInt(entry.getValue().length);
+					out.write(entry.getValue());
+				}
+			}
+			byte[] bytes = content.toByteArray();
+			try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tmpFile.toPath()))) {
+				out.write(bytes);
+				out.write(checksum(bytes, bytes.length));
+			}
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			CODE_LOG.warn("Could not persist the bytecode to " + file + ".", e);
+			//noinspection ResultOfMethodCallIgnored
+			tmpFile.delete();
+		}
+	}
+
+	private static byte[] checksum(byte[] bytes, int length) {
+		MessageDigest digest = newDigest();
+		digest.update(bytes, 0, length);
+		return digest.digest();
+	}
+
+	private static String hash(String classpathFingerprint, String name, String code) {
+		MessageDigest digest = newDigest();
+		digest.update(classpathFingerprint.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(name.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(code.getBytes(StandardCharsets.UTF_8));
+		return StringUtils.byteToHexString(digest.digest());
+	}
+
+	/**
+	 * Returns the fingerprint of the classes a generated code loaded by the given ClassLoader is
+	 * compiled against. The classes of Flink and of the class path of the process are identified by
+	 * the Flink version and the class path, the jars of the user code ClassLoader, which is every
+	 * ClassLoader between the given one and the one of Flink, by their path, size and modification
+	 * time.
+	 */
+	static String getClasspathFingerprint(ClassLoader cl) {
+		return CLASSPATH_FINGERPRINTS.computeIfAbsent(cl, CompileUtils::computeClasspathFingerprint);
+	}
+
+	private static String computeClasspathFingerprint(ClassLoader cl) {
+		MessageDigest digest = newDigest();
+		digest.update(EnvironmentInformation.getVersion().getBytes(StandardCharsets.UTF_8));
+		digest.update(EnvironmentInformation.getRevisionInformation().commitId.getBytes(StandardCharsets.UTF_8));
+		digest.update(System.getProperty("java.class.path", "").getBytes(StandardCharsets.UTF_8));
+		ClassLoader flinkClassLoader = CompileUtils.class.getClassLoader();
+		for (ClassLoader loader = cl; loader != null && loader != flinkClassLoader; loader = loader.getParent()) {
+			if (loader instanceof URLClassLoader) {
+				for (URL url : ((URLClassLoader) loader).getURLs()) {
+					File file = toFile(url);
+					if (file == null || !file.exists()) {
+						CODE_LOG.debug("The user code {} is no local file, the bytecode compiled against it " +
+							"is not shared.", url);
+						// a fingerprint which no other ClassLoader has
+						return UUID.randomUUID().toString();
+					}
+					digest.update(file.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+					digest.update(Long.toString(file.length()).getBytes(StandardCharsets.UTF_8));
+					digest.update(Long.toString(file.lastModified()).getBytes(StandardCharsets.UTF_8));
+				}
+			} else {
+				digest.update(loader.toString().getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		return StringUtils.byteToHexString(digest.digest());
+	}
+
+	@Nullable
+	private static File toFile(URL url) {
+		if (!"file".equals(url.getProtocol())) {
+			return null;
+		}
+		try {
+			return new File(url.toURI());
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("SHA-256 is not supported.", e);
+		}
+	}
+
+	static long getNumCompiledClasses() {
+		return NUM_COMPILED_CLASSES.get();
+	}
+
+	static long getNumBytecodeCacheHits() {
+		return NUM_BYTECODE_CACHE_HITS.get();
+	}
+
+	/**
+	 * The bytecode of all classes of generated code, keyed by the hash of the code, and the
+	 * directory the bytecode is persisted to.
+	 */
+	private static final class BytecodeCache {
+
+		private final Cache<String, Map<String, byte[]>> cache;
+
+		/**
+		 * The directory the bytecode is persisted to, null if it is not persisted.
+		 */
+		@Nullable
+		private final File dir;
+
+		private BytecodeCache(long cacheSize, @Nullable String dir) {
+			this.cache = CacheBuilder
+				.newBuilder()
+				.maximumWeight(cacheSize)
+				.weigher((String hash, Map<String, byte[]> classes) ->
+					classes.values().stream().mapToInt(bytes -> bytes.length).sum())
+				.build();
+			this.dir = createDirectory(dir);
+		}
+
+		@Nullable
+		private static File createDirectory(@Nullable String dir) {
+			if (dir == null) {
+				return null;
+			}
+			File file = new File(dir);
+			if (file.isDirectory() || file.mkdirs()) {
+				return file;
+			}
+			CODE_LOG.warn("Could not create the directory {} of the compile cache, " +
+				"the bytecode is not persisted.", dir);
+			return null;
 		}
 	}
 
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.keyselector;
+
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.runtime.operators.join.stream.MultiJoinInputLayout;
+import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A KeySelector which extracts the join key of union rows of a multi-way join, see
+ * {@link MultiJoinInputLayout}. The key of every union row is extracted by the key selector of
+ * the input it comes from, all of which produce keys of the same type.
+ */
+public class MultiJoinKeySelector implements BaseRowKeySelector {
+
+	private static final long serialVersionUID = 1L;
+
+	private final BaseRowKeySelector[] inputKeySelectors;
+
+	public MultiJoinKeySelector(MultiJoinInputLayout inputLayout, BaseRowKeySelector[] inputKeySelectors) {
+		checkArgument(inputLayout.getNumInputs() == inputKeySelectors.length);
+		this.inputKeySelectors = inputKeySelectors;
+	}
+
+	@Override
+	public BaseRow getKey(BaseRow value) throws Exception {
+		int inputIndex = MultiJoinInputLayout.getInputIndex(value);
+		return inputKeySelectors[inputIndex].getKey(MultiJoinInputLayout.getInputRow(value));
+	}
+
+	@Override
+	public BaseRowTypeInfo getProducedType() {
+		return inputKeySelectors[0].getProducedType();
+	}
+}
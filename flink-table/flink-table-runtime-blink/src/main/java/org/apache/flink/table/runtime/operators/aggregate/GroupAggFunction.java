@@ -29,7 +29,7 @@ import org.apache.flink.table.runtime.generated.AggsHandleFunction;
 import org.apache.flink.table.runtime.generated.GeneratedAggsHandleFunction;
 import org.apache.flink.table.runtime.generated.GeneratedRecordEqualiser;
 import org.apache.flink.table.runtime.generated.RecordEqualiser;
-import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo;
+import org.apache.flink.table.runtime.typeutils.BaseRowStateSerializer;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.util.Collector;
 
@@ -83,6 +83,9 @@ public class GroupAggFunction extends KeyedProcessFunctionWithCleanupState<BaseR
 	// stores the accumulators
 	private transient ValueState<BaseRow> accState = null;
 
+	// serializer of the accumulators in state
+	private transient BaseRowStateSerializer accSerializer = null;
+
 	/**
 	 * Creates a {@link GroupAggFunction}.
 	 *
@@ -121,8 +124,8 @@ public class GroupAggFunction extends KeyedProcessFunctionWithCleanupState<BaseR
 		// instantiate equaliser
 		equaliser = genRecordEqualiser.newInstance(getRuntimeContext().getUserCodeClassLoader());
 
-		BaseRowTypeInfo accTypeInfo = new BaseRowTypeInfo(accTypes);
-		ValueStateDescriptor<BaseRow> accDesc = new ValueStateDescriptor<>("accState", accTypeInfo);
+		accSerializer = new BaseRowStateSerializer(getRuntimeContext().getExecutionConfig(), accTypes);
+		ValueStateDescriptor<BaseRow> accDesc = new ValueStateDescriptor<>("accState", accSerializer);
 		accState = getRuntimeContext().getState(accDesc);
 
 		initCleanupTimeState("GroupAggregateCleanupTime");
@@ -170,7 +173,7 @@ public class GroupAggFunction extends KeyedProcessFunctionWithCleanupState<BaseR
 			// we aggregated at least one record for this key
 
 			// update the state
-			accState.update(accumulators);
+			accState.update(accSerializer.toCompactRow(accumulators));
 
 			// if this was not the first row and we have to emit retractions
 			if (!firstRow) {
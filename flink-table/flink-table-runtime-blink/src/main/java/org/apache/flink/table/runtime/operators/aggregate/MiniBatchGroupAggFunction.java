@@ -31,7 +31,7 @@ import org.apache.flink.table.runtime.generated.GeneratedRecordEqualiser;
 import org.apache.flink.table.runtime.generated.RecordEqualiser;
 import org.apache.flink.table.runtime.operators.bundle.MapBundleFunction;
 import org.apache.flink.table.runtime.types.InternalSerializers;
-import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo;
+import org.apache.flink.table.runtime.typeutils.BaseRowStateSerializer;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.util.Collector;
@@ -102,6 +102,9 @@ public class MiniBatchGroupAggFunction extends MapBundleFunction<BaseRow, List<B
 	// stores the accumulators
 	private transient ValueState<BaseRow> accState = null;
 
+	// serializer of the accumulators in state
+	private transient BaseRowStateSerializer accSerializer = null;
+
 	/**
 	 * Creates a {@link MiniBatchGroupAggFunction}.
 	 *
@@ -138,8 +141,8 @@ public class MiniBatchGroupAggFunction extends MapBundleFunction<BaseRow, List<B
 		// instantiate equaliser
 		equaliser = genRecordEqualiser.newInstance(ctx.getRuntimeContext().getUserCodeClassLoader());
 
-		BaseRowTypeInfo accTypeInfo = new BaseRowTypeInfo(accTypes);
-		ValueStateDescriptor<BaseRow> accDesc = new ValueStateDescriptor<>("accState", accTypeInfo);
+		accSerializer = new BaseRowStateSerializer(ctx.getRuntimeContext().getExecutionConfig(), accTypes);
+		ValueStateDescriptor<BaseRow> accDesc = new ValueStateDescriptor<>("accState", accSerializer);
 		accState = ctx.getRuntimeContext().getState(accDesc);
 
 		//noinspection unchecked
@@ -202,7 +205,7 @@ public class MiniBatchGroupAggFunction extends MapBundleFunction<BaseRow, List<B
 				// we aggregated at least one record for this key
 
 				// update acc to state
-				accState.update(acc);
+				accState.update(accSerializer.toCompactRow(acc));
 
 				// if this was not the first row and we have to emit retractions
 				if (!firstRow) {
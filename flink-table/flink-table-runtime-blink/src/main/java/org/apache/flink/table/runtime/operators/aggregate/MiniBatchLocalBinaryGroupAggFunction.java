@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.aggregate;
+
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.BinaryRow;
+import org.apache.flink.table.dataformat.JoinedRow;
+import org.apache.flink.table.runtime.context.ExecutionContext;
+import org.apache.flink.table.runtime.dataview.PerKeyStateDataViewStore;
+import org.apache.flink.table.runtime.generated.AggsHandleFunction;
+import org.apache.flink.table.runtime.generated.GeneratedAggsHandleFunction;
+import org.apache.flink.table.runtime.operators.bundle.BinaryMapBundleFunction;
+import org.apache.flink.util.Collector;
+
+import static org.apache.flink.table.dataformat.util.BaseRowUtil.isAccumulateMsg;
+
+/**
+ * Aggregate Function used for the local groupby (without window) aggregate in miniBatch mode,
+ * whose accumulators are all of fixed length and buffered in managed memory.
+ *
+ * @see MiniBatchLocalGroupAggFunction
+ */
+public class MiniBatchLocalBinaryGroupAggFunction extends BinaryMapBundleFunction {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The code generated function used to handle aggregates.
+	 */
+	private final GeneratedAggsHandleFunction genAggsHandler;
+
+	/**
+	 * Reused output row.
+	 */
+	private transient JoinedRow resultRow = new JoinedRow();
+
+	// function used to handle all aggregates
+	private transient AggsHandleFunction function = null;
+
+	public MiniBatchLocalBinaryGroupAggFunction(GeneratedAggsHandleFunction genAggsHandler) {
+		this.genAggsHandler = genAggsHandler;
+	}
+
+	@Override
+	public void open(ExecutionContext ctx) throws Exception {
+		super.open(ctx);
+		// instantiate function
+		function = genAggsHandler.newInstance(ctx.getRuntimeContext().getUserCodeClassLoader());
+		function.open(new PerKeyStateDataViewStore(ctx.getRuntimeContext()));
+
+		resultRow = new JoinedRow();
+	}
+
+	@Override
+	public BaseRow createValue() throws Exception {
+		return function.createAccumulators();
+	}
+
+	@Override
+	public BaseRow addInput(BinaryRow previousAcc, BaseRow input) throws Exception {
+		function.setAccumulators(previousAcc);
+		if (isAccumulateMsg(input)) {
+			function.accumulate(input);
+		} else {
+			function.retract(input);
+		}
+		// return the updated accumulators
+		return function.getAccumulators();
+	}
+
+	@Override
+	public void finishBundle(BinaryRow currentKey, BinaryRow currentAcc, Collector<BaseRow> out) throws Exception {
+		resultRow.replace(currentKey, currentAcc);
+		out.collect(resultRow);
+	}
+
+	@Override
+	public void close() throws Exception {
+		if (function != null) {
+			function.close();
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.bundle;
+
+import org.apache.flink.api.common.functions.Function;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.BinaryRow;
+import org.apache.flink.table.runtime.context.ExecutionContext;
+import org.apache.flink.util.Collector;
+import org.apache.flink.util.Preconditions;
+
+/**
+ * Basic interface for map bundle processing whose bundle is kept in binary form
+ * by a {@link BinaryMapBundleOperator}.
+ *
+ * <p>The values of the bundle are fixed-length {@link BinaryRow}s that live in managed memory,
+ * they are only valid until the bundle is finished.
+ */
+public abstract class BinaryMapBundleFunction implements Function {
+
+	private static final long serialVersionUID = 1L;
+
+	protected transient ExecutionContext ctx;
+
+	public void open(ExecutionContext ctx) throws Exception {
+		this.ctx = Preconditions.checkNotNull(ctx);
+	}
+
+	/**
+	 * Creates the value of a key which is added to the bundle for the first time.
+	 */
+	public abstract BaseRow createValue() throws Exception;
+
+	/**
+	 * Adds the given input to the given value, returning the new bundle value. The returned value
+	 * is written back into the bundle if it is not the given value itself.
+	 *
+	 * @param value the existing bundle value, not null
+	 * @param input the given input, not null
+	 */
+	public abstract BaseRow addInput(BinaryRow value, BaseRow input) throws Exception;
+
+	/**
+	 * Called for every entry of a finished bundle. Transform the entry to zero, one, or more output
+	 * elements.
+	 */
+	public abstract void finishBundle(BinaryRow key, BinaryRow value, Collector<BaseRow> out) throws Exception;
+
+	public void close() throws Exception {}
+}
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.bundle;
+
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.BinaryRow;
+import org.apache.flink.table.runtime.context.ExecutionContextImpl;
+import org.apache.flink.table.runtime.keyselector.BaseRowKeySelector;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+import org.apache.flink.table.runtime.operators.aggregate.BytesHashMap;
+import org.apache.flink.table.runtime.operators.bundle.trigger.BundleTrigger;
+import org.apache.flink.table.runtime.operators.bundle.trigger.BundleTriggerCallback;
+import org.apache.flink.table.runtime.typeutils.BaseRowSerializer;
+import org.apache.flink.table.runtime.util.SegmentsUtil;
+import org.apache.flink.table.runtime.util.StreamRecordCollector;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.util.Collector;
+import org.apache.flink.util.MutableObjectIterator;
+
+import java.io.EOFException;
+import java.util.Arrays;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The {@link BinaryMapBundleOperator} buffers the input elements in a {@link BytesHashMap} in
+ * managed memory instead of a java Map on heap, see {@link AbstractMapBundleOperator}. The keys
+ * and the fixed-length values of the bundle are kept in binary form and the values are updated
+ * in place, so a bundle does not create any garbage and is not limited by the heap size.
+ *
+ * <p>Besides the {@link BundleTrigger}, the bundle is also finished when the managed memory is
+ * exhausted, after which the element which did not fit is added to the new bundle.
+ */
+public class BinaryMapBundleOperator extends TableStreamOperator<BaseRow>
+		implements OneInputStreamOperator<BaseRow, BaseRow>, BundleTriggerCallback {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The function used to process when receiving element. */
+	private final BinaryMapBundleFunction function;
+
+	/** The trigger that determines how many elements should be put into a bundle. */
+	private final BundleTrigger<BaseRow> bundleTrigger;
+
+	/** KeySelector is used to extract key for bundle map. */
+	private final BaseRowKeySelector keySelector;
+
+	private final LogicalType[] valueTypes;
+
+	private final long memorySize;
+
+	/** The map in managed memory to store elements. */
+	private transient BytesHashMap bundle;
+
+	private transient BaseRowSerializer keySerializer;
+	private transient BaseRowSerializer valueSerializer;
+
+	private transient BinaryRow reuseKey;
+	private transient BinaryRow reuseValue;
+	private transient BytesHashMap.Entry reuseEntry;
+	private transient byte[] reuseBytes;
+
+	/** Output for stream records. */
+	private transient Collector<BaseRow> collector;
+
+	private transient int numOfElements = 0;
+
+	private transient long numOfEarlyFlushes = 0;
+
+	public BinaryMapBundleOperator(
+			BinaryMapBundleFunction function,
+			BundleTrigger<BaseRow> bundleTrigger,
+			BaseRowKeySelector keySelector,
+			LogicalType[] valueTypes,
+			long memorySize) {
+		this.function = checkNotNull(function, "function is null");
+		this.bundleTrigger = checkNotNull(bundleTrigger, "bundleTrigger is null");
+		this.keySelector = checkNotNull(keySelector, "keySelector is null");
+		checkArgument(keySelector.getProducedType().getArity() > 0, "The bundle needs a key.");
+		checkArgument(isFixedLength(valueTypes), "The values of the bundle must be of fixed length.");
+		this.valueTypes = valueTypes;
+		this.memorySize = memorySize;
+	}
+
+	/**
+	 * Whether values of the given types can be buffered by this operator.
+	 */
+	public static boolean isFixedLength(LogicalType[] valueTypes) {
+		return valueTypes.length > 0 && Arrays.stream(valueTypes).allMatch(BinaryRow::isInFixedLengthPart);
+	}
+
+	@Override
+	public void open() throws Exception {
+		super.open();
+		function.open(new ExecutionContextImpl(this, getRuntimeContext()));
+
+		LogicalType[] keyTypes = keySelector.getProducedType().getLogicalTypes();
+		this.bundle = new BytesHashMap(
+				this, getContainingTask().getEnvironment().getMemoryManager(), memorySize, keyTypes, valueTypes);
+		this.keySerializer = new BaseRowSerializer(getExecutionConfig(), keyTypes);
+		this.valueSerializer = new BaseRowSerializer(getExecutionConfig(), valueTypes);
+		this.reuseKey = new BinaryRow(keyTypes.length);
+		this.reuseValue = new BinaryRow(valueTypes.length);
+		this.reuseEntry = new BytesHashMap.Entry(reuseKey, reuseValue);
+
+		this.numOfElements = 0;
+		this.numOfEarlyFlushes = 0;
+		this.collector = new StreamRecordCollector<>(output);
+
+		bundleTrigger.registerCallback(this);
+		// reset trigger
+		bundleTrigger.reset();
+		LOG.info("BundleOperator's trigger info: " + bundleTrigger.explain());
+
+		// counter metric to get the size of bundle
+		getRuntimeContext().getMetricGroup().gauge("bundleSize", (Gauge<Integer>) () -> numOfElements);
+		getRuntimeContext().getMetricGroup().gauge("bundleRatio", (Gauge<Double>) () -> {
+			long numOfKeys = bundle.getNumElements();
+			if (numOfKeys == 0) {
+				return 0.0;
+			} else {
+				return 1.0 * numOfElements / numOfKeys;
+			}
+		});
+		getMetricGroup().gauge("memoryUsedSizeInBytes", (Gauge<Long>) bundle::getUsedMemoryInBytes);
+		getMetricGroup().gauge("numEarlyFlushes", (Gauge<Long>) () -> numOfEarlyFlushes);
+	}
+
+	@Override
+	public void processElement(StreamRecord<BaseRow> element) throws Exception {
+		final BaseRow input = element.getValue();
+		final BinaryRow bundleKey = keySerializer.toBinaryRow(keySelector.getKey(input));
+
+		BytesHashMap.LookupInfo lookupInfo = bundle.lookup(bundleKey);
+		BinaryRow bundleValue = lookupInfo.getValue();
+		if (!lookupInfo.isFound()) {
+			BinaryRow initialValue = valueSerializer.toBinaryRow(function.createValue());
+			try {
+				bundleValue = bundle.append(lookupInfo, initialValue);
+			} catch (EOFException e) {
+				// the managed memory is exhausted, finish the bundle and start a new one
+				numOfEarlyFlushes++;
+				finishBundle();
+				lookupInfo = bundle.lookup(bundleKey);
+				try {
+					bundleValue = bundle.append(lookupInfo, initialValue);
+				} catch (EOFException e1) {
+					throw new RuntimeException(
+							"The managed memory of the bundle can not hold a single key, memory size: " + memorySize, e1);
+				}
+			}
+		}
+
+		// update the value of the bundle in place
+		final BaseRow newBundleValue = function.addInput(bundleValue, input);
+		if (newBundleValue != bundleValue) {
+			writeValue(bundleValue, valueSerializer.toBinaryRow(newBundleValue));
+		}
+
+		numOfElements++;
+		bundleTrigger.onElement(input);
+	}
+
+	/**
+	 * Overwrites the value in the bundle with the given value, both are of the same fixed length.
+	 */
+	private void writeValue(BinaryRow target, BinaryRow source) {
+		int sizeInBytes = source.getSizeInBytes();
+		if (target.getSegments().length == 1 && source.getSegments().length == 1) {
+			source.getSegments()[0].copyTo(
+					source.getOffset(), target.getSegments()[0], target.getOffset(), sizeInBytes);
+		} else {
+			if (reuseBytes == null || reuseBytes.length < sizeInBytes) {
+				reuseBytes = new byte[sizeInBytes];
+			}
+			SegmentsUtil.copyToBytes(source.getSegments(), source.getOffset(), reuseBytes, 0, sizeInBytes);
+			SegmentsUtil.copyFromBytes(target.getSegments(), target.getOffset(), reuseBytes, 0, sizeInBytes);
+		}
+	}
+
+	@Override
+	public void finishBundle() throws Exception {
+		if (bundle.getNumElements() > 0) {
+			numOfElements = 0;
+			MutableObjectIterator<BytesHashMap.Entry> iterator = bundle.getEntryIterator();
+			while (iterator.next(reuseEntry) != null) {
+				function.finishBundle(reuseKey, reuseValue, collector);
+			}
+			bundle.reset();
+		}
+		bundleTrigger.reset();
+	}
+
+	@Override
+	public void processWatermark(Watermark mark) throws Exception {
+		finishBundle();
+		super.processWatermark(mark);
+	}
+
+	@Override
+	public void prepareSnapshotPreBarrier(long checkpointId) throws Exception {
+		finishBundle();
+	}
+
+	@Override
+	public void close() throws Exception {
+		try {
+			if (bundle != null) {
+				finishBundle();
+			}
+		} finally {
+			Exception exception = null;
+
+			try {
+				super.close();
+				function.close();
+			} catch (InterruptedException interrupted) {
+				exception = interrupted;
+
+				Thread.currentThread().interrupt();
+			} catch (Exception e) {
+				exception = e;
+			}
+
+			if (bundle != null) {
+				bundle.free();
+				bundle = null;
+			}
+
+			if (exception != null) {
+				LOG.warn("Errors occurred while closing the BundleOperator.", exception);
+			}
+		}
+	}
+}
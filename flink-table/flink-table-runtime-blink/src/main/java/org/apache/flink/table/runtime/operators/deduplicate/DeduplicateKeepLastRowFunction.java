@@ -23,6 +23,7 @@ import org.apache.flink.api.common.state.ValueStateDescriptor;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.table.dataformat.BaseRow;
 import org.apache.flink.table.runtime.functions.KeyedProcessFunctionWithCleanupState;
+import org.apache.flink.table.runtime.typeutils.BaseRowStateSerializer;
 import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo;
 import org.apache.flink.util.Collector;
 
@@ -57,7 +58,9 @@ public class DeduplicateKeepLastRowFunction
 		if (generateRetraction) {
 			// state stores complete row if need generate retraction, otherwise do not need a state
 			initCleanupTimeState("DeduplicateFunctionKeepLastRow");
-			ValueStateDescriptor<BaseRow> stateDesc = new ValueStateDescriptor<>("preRowState", rowTypeInfo);
+			ValueStateDescriptor<BaseRow> stateDesc = new ValueStateDescriptor<>(
+				"preRowState",
+				new BaseRowStateSerializer(getRuntimeContext().getExecutionConfig(), rowTypeInfo.getLogicalTypes()));
 			state = getRuntimeContext().getState(stateDesc);
 		}
 	}
@@ -24,6 +24,7 @@ import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.table.dataformat.BaseRow;
 import org.apache.flink.table.runtime.context.ExecutionContext;
 import org.apache.flink.table.runtime.operators.bundle.MapBundleFunction;
+import org.apache.flink.table.runtime.typeutils.BaseRowStateSerializer;
 import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo;
 import org.apache.flink.util.Collector;
 
@@ -58,7 +59,9 @@ public class MiniBatchDeduplicateKeepLastRowFunction
 	@Override
 	public void open(ExecutionContext ctx) throws Exception {
 		super.open(ctx);
-		ValueStateDescriptor<BaseRow> stateDesc = new ValueStateDescriptor<>("preRowState", rowTypeInfo);
+		ValueStateDescriptor<BaseRow> stateDesc = new ValueStateDescriptor<>(
+			"preRowState",
+			new BaseRowStateSerializer(ctx.getRuntimeContext().getExecutionConfig(), rowTypeInfo.getLogicalTypes()));
 		state = ctx.getRuntimeContext().getState(stateDesc);
 	}
 
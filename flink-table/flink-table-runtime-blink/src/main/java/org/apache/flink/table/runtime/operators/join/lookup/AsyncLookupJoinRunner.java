@@ -59,6 +59,8 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<BaseRow, BaseRow> {
 	private final int asyncBufferCapacity;
 	private final TypeInformation<?> fetcherReturnType;
 	private final BaseRowTypeInfo rightRowTypeInfo;
+	@Nullable
+	private final LookupCache cache;
 
 	private transient AsyncFunction<BaseRow, Object> fetcher;
 
@@ -82,12 +84,25 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<BaseRow, BaseRow> {
 			BaseRowTypeInfo rightRowTypeInfo,
 			boolean isLeftOuterJoin,
 			int asyncBufferCapacity) {
+		this(generatedFetcher, generatedResultFuture, fetcherReturnType,
+			rightRowTypeInfo, isLeftOuterJoin, asyncBufferCapacity, null);
+	}
+
+	public AsyncLookupJoinRunner(
+			GeneratedFunction<AsyncFunction<BaseRow, Object>> generatedFetcher,
+			GeneratedResultFuture<TableFunctionResultFuture<BaseRow>> generatedResultFuture,
+			TypeInformation<?> fetcherReturnType,
+			BaseRowTypeInfo rightRowTypeInfo,
+			boolean isLeftOuterJoin,
+			int asyncBufferCapacity,
+			@Nullable LookupCache cache) {
 		this.generatedFetcher = generatedFetcher;
 		this.generatedResultFuture = generatedResultFuture;
 		this.isLeftOuterJoin = isLeftOuterJoin;
 		this.asyncBufferCapacity = asyncBufferCapacity;
 		this.fetcherReturnType = fetcherReturnType;
 		this.rightRowTypeInfo = rightRowTypeInfo;
+		this.cache = cache;
 	}
 
 	@Override
@@ -100,6 +115,10 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<BaseRow, BaseRow> {
 		// try to compile the generated ResultFuture, fail fast if the code is corrupt.
 		generatedResultFuture.compile(getRuntimeContext().getUserCodeClassLoader());
 
+		if (cache != null) {
+			cache.open(getRuntimeContext().getMetricGroup());
+		}
+
 		// row converter is stateless which is thread-safe
 		RowConverter rowConverter;
 		if (fetcherReturnType instanceof RowTypeInfo) {
@@ -121,6 +140,7 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<BaseRow, BaseRow> {
 				resultFutureBuffer,
 				createFetcherResultFuture(parameters),
 				rowConverter,
+				cache,
 				isLeftOuterJoin,
 				rightRowTypeInfo.getArity());
 			// add will throw exception immediately if the queue is full which should never happen
@@ -132,8 +152,20 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<BaseRow, BaseRow> {
 	@Override
 	public void asyncInvoke(BaseRow input, ResultFuture<BaseRow> resultFuture) throws Exception {
 		JoinedRowResultFuture outResultFuture = resultFutureBuffer.take();
-		// the input row is copied when object reuse in AsyncWaitOperator
-		outResultFuture.reset(input, resultFuture);
+		if (cache != null) {
+			BaseRow key = cache.getKey(input);
+			List<BaseRow> cachedRows = cache.get(key);
+			if (cachedRows != null) {
+				outResultFuture.reset(input, resultFuture, null);
+				outResultFuture.completeRows(cachedRows);
+				return;
+			}
+			// the fetched rows will be put into the cache when the result future completes
+			outResultFuture.reset(input, resultFuture, key);
+		} else {
+			// the input row is copied when object reuse in AsyncWaitOperator
+			outResultFuture.reset(input, resultFuture, null);
+		}
 
 		// fetcher has copied the input field when object reuse is enabled
 		fetcher.asyncInvoke(input, outResultFuture);
@@ -156,6 +188,9 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<BaseRow, BaseRow> {
 		for (JoinedRowResultFuture rf : allResultFutures) {
 			rf.close();
 		}
+		if (cache != null) {
+			cache.close();
+		}
 	}
 
 	/**
@@ -180,6 +215,7 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<BaseRow, BaseRow> {
 		private final BlockingQueue<JoinedRowResultFuture> resultFutureBuffer;
 		private final TableFunctionResultFuture<BaseRow> joinConditionResultFuture;
 		private final RowConverter rowConverter;
+		private final LookupCache cache;
 		private final boolean isLeftOuterJoin;
 
 		private final DelegateResultFuture delegate;
@@ -187,24 +223,35 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<BaseRow, BaseRow> {
 
 		private BaseRow leftRow;
 		private ResultFuture<BaseRow> realOutput;
+		private BaseRow cacheKey;
+		private long fetchStartNanos;
 
 		private JoinedRowResultFuture(
 				BlockingQueue<JoinedRowResultFuture> resultFutureBuffer,
 				TableFunctionResultFuture<BaseRow> joinConditionResultFuture,
 				@Nullable RowConverter rowConverter,
+				@Nullable LookupCache cache,
 				boolean isLeftOuterJoin,
 				int rightArity) {
 			this.resultFutureBuffer = resultFutureBuffer;
 			this.joinConditionResultFuture = joinConditionResultFuture;
 			this.rowConverter = rowConverter;
+			this.cache = cache;
 			this.isLeftOuterJoin = isLeftOuterJoin;
 			this.delegate = new DelegateResultFuture();
 			this.nullRow = new GenericRow(rightArity);
 		}
 
-		public void reset(BaseRow row, ResultFuture<BaseRow> realOutput) {
+		/**
+		 * Resets the future for the given input row.
+		 *
+		 * @param cacheKey The key to cache the fetched rows with, or null if they are not cached.
+		 */
+		public void reset(BaseRow row, ResultFuture<BaseRow> realOutput, @Nullable BaseRow cacheKey) {
 			this.realOutput = realOutput;
 			this.leftRow = row;
+			this.cacheKey = cacheKey;
+			this.fetchStartNanos = cacheKey == null ? 0L : System.nanoTime();
 			joinConditionResultFuture.setInput(row);
 			joinConditionResultFuture.setResultFuture(delegate);
 			delegate.reset();
@@ -213,7 +260,18 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<BaseRow, BaseRow> {
 		@Override
 		public void complete(Collection<Object> result) {
 			Collection<BaseRow> baseRows;
-			if (rowConverter == null) {
+			if (cacheKey != null) {
+				// an empty result is cached as well, the lookup function may complete with null
+				List<BaseRow> cachedRows = new ArrayList<>();
+				if (result != null) {
+					for (Object element : result) {
+						BaseRow row = rowConverter == null ? (BaseRow) element : rowConverter.toInternal((Row) element);
+						cachedRows.add(cache.copy(row));
+					}
+				}
+				cache.put(cacheKey, cachedRows, System.nanoTime() - fetchStartNanos);
+				baseRows = cachedRows;
+			} else if (rowConverter == null) {
 				// result is BaseRow Collection
 				//noinspection unchecked
 				baseRows = (Collection) result;
@@ -224,7 +282,14 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<BaseRow, BaseRow> {
 					baseRows.add(rowConverter.toInternal(row));
 				}
 			}
+			completeRows(baseRows);
+		}
 
+		/**
+		 * Joins the left row with the fetched rows of the lookup table, which are either converted
+		 * from the result of the lookup function or read from the {@link LookupCache}.
+		 */
+		void completeRows(Collection<BaseRow> baseRows) {
 			// call condition collector first,
 			// the filtered result will be routed to the delegateCollector
 			try {
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.BinaryRow;
+import org.apache.flink.table.runtime.keyselector.BaseRowKeySelector;
+import org.apache.flink.table.runtime.typeutils.BaseRowSerializer;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import org.apache.flink.shaded.guava18.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava18.com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A cache of the rows fetched by a lookup join, shared by all lookup table sources.
+ *
+ * <p>The rows are cached per lookup key of the input row, including the empty result of a key
+ * which does not exist in the table. The rows are copied into {@link BinaryRow}s, so that the
+ * cache is bounded by the bytes of the cached keys and rows, and the least recently used entries
+ * are evicted first. An entry expires after the configured time since it was fetched.
+ *
+ * <p>The cache is created by the join runner in {@link #open(MetricGroup)}. It registers the
+ * metrics of hits, misses and the average time to fetch the rows of a missing key. The fetched
+ * rows may be put from the threads of an asynchronous lookup function, while the key of an input
+ * row is only extracted in the task thread.
+ */
+public class LookupCache implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Extracts the lookup keys of an input row. */
+	private final BaseRowKeySelector keySelector;
+
+	/** The types of the fetched rows. */
+	private final LogicalType[] rowTypes;
+
+	private final long maxBytes;
+
+	private final long expireAfterWriteMillis;
+
+	private transient Cache<BaseRow, List<BaseRow>> cache;
+
+	private transient BaseRowSerializer rowSerializer;
+
+	private transient AtomicLong numLoads;
+
+	private transient AtomicLong totalLoadTimeNanos;
+
+	public LookupCache(
+			BaseRowKeySelector keySelector,
+			LogicalType[] rowTypes,
+			long maxBytes,
+			long expireAfterWriteMillis) {
+		checkArgument(maxBytes > 0, "The size of the lookup cache must be positive.");
+		checkArgument(expireAfterWriteMillis > 0, "The expiration time of the lookup cache must be positive.");
+		this.keySelector = checkNotNull(keySelector);
+		this.rowTypes = checkNotNull(rowTypes);
+		this.maxBytes = maxBytes;
+		this.expireAfterWriteMillis = expireAfterWriteMillis;
+	}
+
+	public void open(MetricGroup metricGroup) {
+		this.cache = CacheBuilder.newBuilder()
+			.maximumWeight(maxBytes)
+			.weigher(LookupCache::weigh)
+			.expireAfterWrite(expireAfterWriteMillis, TimeUnit.MILLISECONDS)
+			.recordStats()
+			.build();
+		this.rowSerializer = new BaseRowSerializer(new ExecutionConfig(), rowTypes);
+		this.numLoads = new AtomicLong();
+		this.totalLoadTimeNanos = new AtomicLong();
+
+		metricGroup.gauge("lookupCacheHitCount", (Gauge<Long>) () -> cache.stats().hitCount());
+		metricGroup.gauge("lookupCacheMissCount", (Gauge<Long>) () -> cache.stats().missCount());
+		metricGroup.gauge("lookupCacheHitRate", (Gauge<Double>) () -> cache.stats().hitRate());
+		metricGroup.gauge("lookupCacheSize", (Gauge<Long>) () -> cache.size());
+		metricGroup.gauge("lookupCacheAverageLoadTimeMs", (Gauge<Double>) () -> {
+			long loads = numLoads.get();
+			return loads == 0 ? 0.0 : totalLoadTimeNanos.get() / 1e6 / loads;
+		});
+	}
+
+	/**
+	 * Returns the lookup keys of the given input row, which can be held by the cache.
+	 */
+	public BaseRow getKey(BaseRow input) throws Exception {
+		return keySelector.getKey(input);
+	}
+
+	/**
+	 * Returns the cached rows of the key, or null if the rows of the key are not cached.
+	 */
+	@Nullable
+	public List<BaseRow> get(BaseRow key) {
+		return cache.getIfPresent(key);
+	}
+
+	/**
+	 * Copies a fetched row, as the lookup function may reuse the rows it emits.
+	 */
+	public BaseRow copy(BaseRow row) {
+		if (row instanceof BinaryRow) {
+			return ((BinaryRow) row).copy();
+		}
+		// the serializer reuses its binary row writer
+		synchronized (rowSerializer) {
+			return rowSerializer.toBinaryRow(row).copy();
+		}
+	}
+
+	/**
+	 * Caches the rows of the key, which have been copied by {@link #copy(BaseRow)}.
+	 *
+	 * @param loadTimeNanos The time to fetch the rows.
+	 */
+	public void put(BaseRow key, List<BaseRow> rows, long loadTimeNanos) {
+		cache.put(key, rows);
+		numLoads.incrementAndGet();
+		totalLoadTimeNanos.addAndGet(loadTimeNanos);
+	}
+
+	public void close() {
+		if (cache != null) {
+			cache.invalidateAll();
+		}
+	}
+
+	private static int weigh(BaseRow key, List<BaseRow> rows) {
+		long bytes = sizeOf(key);
+		for (BaseRow row : rows) {
+			bytes += sizeOf(row);
+		}
+		return (int) Math.min(bytes, Integer.MAX_VALUE);
+	}
+
+	private static long sizeOf(BaseRow row) {
+		// a rough estimation of the heap size of a non-binary key
+		return row instanceof BinaryRow ? ((BinaryRow) row).getSizeInBytes() : 8L * row.getArity();
+	}
+}
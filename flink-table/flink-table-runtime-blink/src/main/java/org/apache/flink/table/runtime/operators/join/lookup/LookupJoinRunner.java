@@ -30,6 +30,11 @@ import org.apache.flink.table.runtime.generated.GeneratedCollector;
 import org.apache.flink.table.runtime.generated.GeneratedFunction;
 import org.apache.flink.util.Collector;
 
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * The join runner to lookup the dimension table.
  */
@@ -40,6 +45,8 @@ public class LookupJoinRunner extends ProcessFunction<BaseRow, BaseRow> {
 	private final GeneratedCollector<TableFunctionCollector<BaseRow>> generatedCollector;
 	private final boolean isLeftOuterJoin;
 	private final int tableFieldsCount;
+	@Nullable
+	private final LookupCache cache;
 
 	private transient FlatMapFunction<BaseRow, BaseRow> fetcher;
 	protected transient TableFunctionCollector<BaseRow> collector;
@@ -51,10 +58,20 @@ public class LookupJoinRunner extends ProcessFunction<BaseRow, BaseRow> {
 			GeneratedCollector<TableFunctionCollector<BaseRow>> generatedCollector,
 			boolean isLeftOuterJoin,
 			int tableFieldsCount) {
+		this(generatedFetcher, generatedCollector, isLeftOuterJoin, tableFieldsCount, null);
+	}
+
+	public LookupJoinRunner(
+			GeneratedFunction<FlatMapFunction<BaseRow, BaseRow>> generatedFetcher,
+			GeneratedCollector<TableFunctionCollector<BaseRow>> generatedCollector,
+			boolean isLeftOuterJoin,
+			int tableFieldsCount,
+			@Nullable LookupCache cache) {
 		this.generatedFetcher = generatedFetcher;
 		this.generatedCollector = generatedCollector;
 		this.isLeftOuterJoin = isLeftOuterJoin;
 		this.tableFieldsCount = tableFieldsCount;
+		this.cache = cache;
 	}
 
 	@Override
@@ -67,6 +84,9 @@ public class LookupJoinRunner extends ProcessFunction<BaseRow, BaseRow> {
 		FunctionUtils.setFunctionRuntimeContext(collector, getRuntimeContext());
 		FunctionUtils.openFunction(fetcher, parameters);
 		FunctionUtils.openFunction(collector, parameters);
+		if (cache != null) {
+			cache.open(getRuntimeContext().getMetricGroup());
+		}
 
 		this.nullRow = new GenericRow(tableFieldsCount);
 		this.outRow = new JoinedRow();
@@ -78,8 +98,24 @@ public class LookupJoinRunner extends ProcessFunction<BaseRow, BaseRow> {
 		collector.setInput(in);
 		collector.reset();
 
-		// fetcher has copied the input field when object reuse is enabled
-		fetcher.flatMap(in, getFetcherCollector());
+		if (cache != null) {
+			BaseRow key = cache.getKey(in);
+			List<BaseRow> rows = cache.get(key);
+			if (rows == null) {
+				long start = System.nanoTime();
+				CachingCollector cachingCollector = new CachingCollector();
+				fetcher.flatMap(in, cachingCollector);
+				rows = cachingCollector.rows;
+				cache.put(key, rows, System.nanoTime() - start);
+			}
+			Collector<BaseRow> fetcherCollector = getFetcherCollector();
+			for (BaseRow row : rows) {
+				fetcherCollector.collect(row);
+			}
+		} else {
+			// fetcher has copied the input field when object reuse is enabled
+			fetcher.flatMap(in, getFetcherCollector());
+		}
 
 		if (isLeftOuterJoin && !collector.isCollected()) {
 			outRow.replace(in, nullRow);
@@ -101,5 +137,25 @@ public class LookupJoinRunner extends ProcessFunction<BaseRow, BaseRow> {
 		if (collector != null) {
 			FunctionUtils.closeFunction(collector);
 		}
+		if (cache != null) {
+			cache.close();
+		}
+	}
+
+	/**
+	 * Collects copies of the rows fetched for a key which is not in the {@link LookupCache}.
+	 */
+	private final class CachingCollector implements Collector<BaseRow> {
+
+		private final List<BaseRow> rows = new ArrayList<>();
+
+		@Override
+		public void collect(BaseRow record) {
+			rows.add(cache.copy(record));
+		}
+
+		@Override
+		public void close() {
+		}
 	}
 }
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.partitionpruning;
+
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.runtime.functions.SqlDateTimeUtils;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The distinct values of the join keys of the dimension side of a join, which are the values of
+ * the partition fields of the fact table that can find a join partner. Partitions of the fact
+ * table with other values can be skipped.
+ *
+ * <p>The values of the fields are kept as the Java objects of the partition specs of partitionable
+ * table sources, i.e. {@link String}, {@link Boolean}, {@link Byte}, {@link Short}, {@link Integer},
+ * {@link Long}, {@link Float}, {@link Double} and {@link java.sql.Date}, see
+ * {@link #isSupported(LogicalType)}.
+ *
+ * <p>{@link #disabled() Disabled} values accept every partition. They are used when the dimension
+ * side has too many distinct keys to be worth pruning with.
+ */
+public final class PartitionValues implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final boolean enabled;
+
+	private final Set<List<Object>> values;
+
+	private PartitionValues(boolean enabled, Set<List<Object>> values) {
+		this.enabled = enabled;
+		this.values = values;
+	}
+
+	/**
+	 * Returns empty values, which accept no partition until values are added.
+	 */
+	public static PartitionValues empty() {
+		return new PartitionValues(true, new HashSet<>());
+	}
+
+	/**
+	 * Returns values which accept all partitions.
+	 */
+	public static PartitionValues disabled() {
+		return new PartitionValues(false, Collections.emptySet());
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public int size() {
+		return values.size();
+	}
+
+	/**
+	 * Adds the values of the given fields of a row of the dimension side.
+	 */
+	void add(BaseRow row, int[] fields, LogicalType[] types) {
+		List<Object> key = new ArrayList<>(fields.length);
+		for (int i = 0; i < fields.length; i++) {
+			if (row.isNullAt(fields[i])) {
+				// null keys never find a join partner
+				return;
+			}
+			key.add(toPartitionValue(row, fields[i], types[i]));
+		}
+		values.add(key);
+	}
+
+	/**
+	 * Returns whether a partition with the given values of the partition fields, in the order of
+	 * the join keys, can find a join partner.
+	 */
+	public boolean contains(List<Object> partitionValues) {
+		return !enabled || values.contains(partitionValues);
+	}
+
+	/**
+	 * Returns the union of these values and the given ones, which may reuse either of them.
+	 */
+	PartitionValues merge(PartitionValues other) {
+		if (!enabled || !other.enabled) {
+			return disabled();
+		}
+		values.addAll(other.values);
+		return this;
+	}
+
+	/**
+	 * Returns whether the values of the given type can be collected.
+	 */
+	public static boolean isSupported(LogicalType type) {
+		switch (type.getTypeRoot()) {
+			case CHAR:
+			case VARCHAR:
+			case BOOLEAN:
+			case TINYINT:
+			case SMALLINT:
+			case INTEGER:
+			case BIGINT:
+			case FLOAT:
+			case DOUBLE:
+			case DATE:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static Object toPartitionValue(BaseRow row, int field, LogicalType type) {
+		switch (type.getTypeRoot()) {
+			case CHAR:
+			case VARCHAR:
+				return row.getString(field).toString();
+			case BOOLEAN:
+				return row.getBoolean(field);
+			case TINYINT:
+				return row.getByte(field);
+			case SMALLINT:
+				return row.getShort(field);
+			case INTEGER:
+				return row.getInt(field);
+			case BIGINT:
+				return row.getLong(field);
+			case FLOAT:
+				return row.getFloat(field);
+			case DOUBLE:
+				return row.getDouble(field);
+			case DATE:
+				return SqlDateTimeUtils.internalToDate(row.getInt(field));
+			default:
+				throw new UnsupportedOperationException("Partition values of type " + type + " are not supported.");
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.partitionpruning;
+
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Merges the {@link PartitionValues} of the subtasks of the dimension side of a join on the
+ * JobManager, through the {@link GlobalAggregateManager}.
+ *
+ * <p>The result is null until every subtask of the dimension side has contributed its values, so
+ * that the fact side never skips a partition which a missing subtask would have joined with.
+ */
+final class PartitionValuesAggregateFunction
+		implements AggregateFunction<PartitionValuesAggregateFunction.Update, PartitionValuesAggregateFunction.Accumulator, PartitionValues> {
+
+	private static final long serialVersionUID = 1L;
+
+	static final PartitionValuesAggregateFunction INSTANCE = new PartitionValuesAggregateFunction();
+
+	/**
+	 * Creates the update with which a subtask of the dimension side contributes its values.
+	 */
+	static Update contribute(int subtaskIndex, int numSubtasks, PartitionValues values) {
+		return new Update(subtaskIndex, numSubtasks, values);
+	}
+
+	/**
+	 * Creates the update with which a subtask of the fact side requests the merged values.
+	 */
+	static Update query() {
+		return new Update(-1, 0, null);
+	}
+
+	@Override
+	public Accumulator createAccumulator() {
+		return new Accumulator();
+	}
+
+	@Override
+	public Accumulator add(Update update, Accumulator accumulator) {
+		if (update.values != null && accumulator.contributors.add(update.subtaskIndex)) {
+			accumulator.numSubtasks = update.numSubtasks;
+			accumulator.values = accumulator.values == null
+				? update.values
+				: accumulator.values.merge(update.values);
+		}
+		return accumulator;
+	}
+
+	@Override
+	public PartitionValues getResult(Accumulator accumulator) {
+		if (accumulator.values != null && accumulator.contributors.size() == accumulator.numSubtasks) {
+			return accumulator.values;
+		}
+		return null;
+	}
+
+	@Override
+	public Accumulator merge(Accumulator a, Accumulator b) {
+		// accumulators are never merged by the GlobalAggregateManager
+		throw new UnsupportedOperationException();
+	}
+
+	// ------------------------------------------------------------------------
+
+	/** The values contributed by a subtask of the dimension side, or a request of the merged values. */
+	static final class Update implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int subtaskIndex;
+		private final int numSubtasks;
+		@Nullable
+		private final PartitionValues values;
+
+		private Update(int subtaskIndex, int numSubtasks, @Nullable PartitionValues values) {
+			this.subtaskIndex = subtaskIndex;
+			this.numSubtasks = numSubtasks;
+			this.values = values;
+		}
+	}
+
+	/** The merged values and the subtasks which contributed to them, as kept on the JobManager. */
+	static final class Accumulator {
+
+		private final Set<Integer> contributors = new HashSet<>();
+		private int numSubtasks;
+		private PartitionValues values;
+	}
+}
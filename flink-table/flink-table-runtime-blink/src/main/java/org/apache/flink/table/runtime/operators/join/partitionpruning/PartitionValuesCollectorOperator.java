@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.partitionpruning;
+
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
+import org.apache.flink.streaming.api.operators.BoundedOneInput;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Collects the distinct values of the join keys of the dimension side of a join, and forwards the
+ * rows unchanged to the join.
+ *
+ * <p>When the input ends, the values of this subtask are sent to the JobManager, where the values
+ * of all subtasks are merged through the {@link GlobalAggregateManager}. The partitionable source
+ * of the fact side picks up the merged values under the same name with a
+ * {@link PartitionValuesReceiver}, and only reads the partitions whose values are among them. If a
+ * subtask has more distinct values than expected, {@link PartitionValues#disabled() disabled}
+ * values are sent, so that the fact side does not wait for values which would not prune much.
+ */
+public class PartitionValuesCollectorOperator extends TableStreamOperator<BaseRow>
+		implements OneInputStreamOperator<BaseRow, BaseRow>, BoundedOneInput {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(PartitionValuesCollectorOperator.class);
+
+	private final String valuesName;
+
+	private final int[] keyFields;
+
+	private final LogicalType[] keyTypes;
+
+	private final int maxValues;
+
+	private transient PartitionValues values;
+
+	/**
+	 * @param valuesName The name under which the values are published, unique within the job.
+	 * @param keyFields The indices of the join keys in the rows of the dimension side, in the order
+	 *                  of the partition fields they are joined with.
+	 * @param keyTypes The types of the join keys, which must be {@link PartitionValues#isSupported supported}.
+	 * @param maxValues The maximum number of distinct values of a subtask. The values are disabled
+	 *                  if a subtask has more.
+	 */
+	public PartitionValuesCollectorOperator(
+			String valuesName,
+			int[] keyFields,
+			LogicalType[] keyTypes,
+			int maxValues) {
+		checkArgument(keyFields.length > 0 && keyFields.length == keyTypes.length,
+			"There must be a type for each of the key fields.");
+		for (LogicalType keyType : keyTypes) {
+			checkArgument(PartitionValues.isSupported(keyType),
+				"Partition values of type " + keyType + " cannot be collected.");
+		}
+		checkArgument(maxValues > 0, "The maximum number of values must be positive.");
+		this.valuesName = checkNotNull(valuesName);
+		this.keyFields = keyFields;
+		this.keyTypes = keyTypes;
+		this.maxValues = maxValues;
+	}
+
+	@Override
+	public void open() throws Exception {
+		super.open();
+		this.values = PartitionValues.empty();
+	}
+
+	@Override
+	public void processElement(StreamRecord<BaseRow> element) throws Exception {
+		if (values.isEnabled()) {
+			values.add(element.getValue(), keyFields, keyTypes);
+			if (values.size() > maxValues) {
+				LOG.info("Disabled the dynamic partition pruning {}, because the dimension side has more than {} keys.",
+					valuesName, maxValues);
+				values = PartitionValues.disabled();
+			}
+		}
+		output.collect(element);
+	}
+
+	@Override
+	public void endInput() throws Exception {
+		getRuntimeContext().getGlobalAggregateManager().updateGlobalAggregate(
+			valuesName,
+			PartitionValuesAggregateFunction.contribute(
+				getRuntimeContext().getIndexOfThisSubtask(),
+				getRuntimeContext().getNumberOfParallelSubtasks(),
+				values),
+			PartitionValuesAggregateFunction.INSTANCE);
+	}
+}
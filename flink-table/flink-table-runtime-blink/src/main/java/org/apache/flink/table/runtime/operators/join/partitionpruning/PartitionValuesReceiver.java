@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.partitionpruning;
+
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
+import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Receives the {@link PartitionValues} which a {@link PartitionValuesCollectorOperator} published,
+ * for a subtask of a partitionable source of the fact side of the join.
+ *
+ * <p>The source has to wait for the values before it reads the first partition. As the fact side
+ * may be scheduled before the dimension side has finished, e.g. if there are not enough slots for
+ * both, the source only waits for a limited time, and reads all partitions if the values are not
+ * available by then.
+ */
+public class PartitionValuesReceiver {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PartitionValuesReceiver.class);
+
+	private static final long POLL_INTERVAL_MILLIS = 100L;
+
+	private final GlobalAggregateManager aggregateManager;
+
+	private final String valuesName;
+
+	private final long waitTimeoutMillis;
+
+	/**
+	 * @param runtimeContext The runtime context of the source.
+	 * @param valuesName The name of the values, as given to the {@link PartitionValuesCollectorOperator}.
+	 * @param waitTimeoutMillis The maximum time to wait for the values.
+	 */
+	public PartitionValuesReceiver(RuntimeContext runtimeContext, String valuesName, long waitTimeoutMillis) {
+		this(((StreamingRuntimeContext) runtimeContext).getGlobalAggregateManager(), valuesName, waitTimeoutMillis);
+	}
+
+	public PartitionValuesReceiver(GlobalAggregateManager aggregateManager, String valuesName, long waitTimeoutMillis) {
+		checkArgument(waitTimeoutMillis >= 0L, "The wait timeout must not be negative.");
+		this.aggregateManager = checkNotNull(aggregateManager);
+		this.valuesName = checkNotNull(valuesName);
+		this.waitTimeoutMillis = waitTimeoutMillis;
+	}
+
+	/**
+	 * Waits for the merged values of all subtasks of the dimension side.
+	 *
+	 * @return The values, or null if they were not available within the wait timeout.
+	 */
+	@Nullable
+	public PartitionValues receive() throws Exception {
+		long deadline = System.currentTimeMillis() + waitTimeoutMillis;
+		while (true) {
+			PartitionValues values = aggregateManager.updateGlobalAggregate(
+				valuesName,
+				PartitionValuesAggregateFunction.query(),
+				PartitionValuesAggregateFunction.INSTANCE);
+			if (values != null) {
+				return values;
+			}
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0L) {
+				LOG.info("The values of the dynamic partition pruning {} were not available within {} ms, " +
+					"all partitions are read.", valuesName, waitTimeoutMillis);
+				return null;
+			}
+			Thread.sleep(Math.min(POLL_INTERVAL_MILLIS, remaining));
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.runtimefilter;
+
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.runtime.operators.util.BloomFilter;
+
+import java.io.Serializable;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A filter of the join keys of the build side of a hash join, which is applied to the probe side
+ * before the shuffle, to drop the rows which cannot find a join partner.
+ *
+ * <p>The filter consists of a {@link BloomFilter} of the hash codes of the keys and, for keys of
+ * a single integral field, of the range of the keys. Filters of the build keys of different
+ * subtasks are merged by combining the bits of the bloom filters and the ranges.
+ *
+ * <p>A {@link #disabled() disabled} filter accepts all keys. It is used when the build side has
+ * more keys than expected, because the bloom filter would not be selective anyway.
+ */
+public final class RuntimeFilter implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final boolean enabled;
+
+	private final int expectedEntries;
+
+	private final byte[] bloomFilterBits;
+
+	private long minKey = Long.MAX_VALUE;
+
+	private long maxKey = Long.MIN_VALUE;
+
+	private long numEntries;
+
+	private transient BloomFilter bloomFilter;
+
+	/**
+	 * Creates an empty filter.
+	 *
+	 * @param expectedEntries The expected number of distinct keys.
+	 * @param fpp The expected false positive probability for the expected number of keys.
+	 */
+	public RuntimeFilter(int expectedEntries, double fpp) {
+		checkArgument(expectedEntries > 0, "The expected number of entries must be positive.");
+		checkArgument(fpp > 0.0 && fpp < 1.0, "The false positive probability must be in (0, 1).");
+		int numBits = Math.max(Long.SIZE, BloomFilter.optimalNumOfBits(expectedEntries, fpp));
+
+		this.enabled = true;
+		this.expectedEntries = expectedEntries;
+		this.bloomFilterBits = new byte[(numBits + Byte.SIZE - 1) / Byte.SIZE];
+	}
+
+	private RuntimeFilter() {
+		this.enabled = false;
+		this.expectedEntries = 0;
+		this.bloomFilterBits = null;
+	}
+
+	/**
+	 * Returns a filter which accepts all keys.
+	 */
+	public static RuntimeFilter disabled() {
+		return new RuntimeFilter();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Adds the hash code of a key.
+	 */
+	public void add(int hash) {
+		bloomFilter().addHash(hash);
+		numEntries++;
+	}
+
+	/**
+	 * Adds the value of a key of a single integral field to the range of the keys.
+	 */
+	public void addToRange(long key) {
+		minKey = Math.min(minKey, key);
+		maxKey = Math.max(maxKey, key);
+	}
+
+	/**
+	 * Returns false if no key with the given hash code has been added, true if such a key might
+	 * have been added.
+	 */
+	public boolean mightContain(int hash) {
+		return !enabled || bloomFilter().testHash(hash);
+	}
+
+	/**
+	 * Returns whether the given key lies in the range of the added keys. Keys are always in the
+	 * range if no ranges have been added.
+	 */
+	public boolean inRange(long key) {
+		return !enabled || minKey > maxKey || (key >= minKey && key <= maxKey);
+	}
+
+	/**
+	 * Returns the number of keys that have been added, including duplicates.
+	 */
+	public long getNumEntries() {
+		return numEntries;
+	}
+
+	/**
+	 * Adds the keys of the given filter to this filter, and returns the merged filter.
+	 */
+	public RuntimeFilter merge(RuntimeFilter other) {
+		if (!enabled) {
+			return this;
+		} else if (!other.enabled) {
+			return other;
+		}
+
+		checkArgument(bloomFilterBits.length == other.bloomFilterBits.length && expectedEntries == other.expectedEntries,
+			"Cannot merge runtime filters of different sizes.");
+		for (int i = 0; i < bloomFilterBits.length; i++) {
+			bloomFilterBits[i] |= other.bloomFilterBits[i];
+		}
+		minKey = Math.min(minKey, other.minKey);
+		maxKey = Math.max(maxKey, other.maxKey);
+		numEntries += other.numEntries;
+		return this;
+	}
+
+	private BloomFilter bloomFilter() {
+		if (bloomFilter == null) {
+			bloomFilter = new BloomFilter(expectedEntries, bloomFilterBits.length);
+			bloomFilter.setBitsLocation(MemorySegmentFactory.wrap(bloomFilterBits), 0);
+		}
+		return bloomFilter;
+	}
+
+	@Override
+	public String toString() {
+		if (!enabled) {
+			return "RuntimeFilter{disabled}";
+		}
+		return "RuntimeFilter{" +
+			"numBytes=" + bloomFilterBits.length +
+			", numEntries=" + numEntries +
+			(minKey <= maxKey ? ", range=[" + minKey + ", " + maxKey + "]" : "") +
+			'}';
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.runtimefilter;
+
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Merges the {@link RuntimeFilter RuntimeFilters} of the subtasks of the build side of a join on
+ * the JobManager, through the {@link GlobalAggregateManager}.
+ *
+ * <p>The result is null until every subtask of the build side has contributed its filter, so that
+ * the probe side never applies a filter that misses some of the build keys.
+ */
+final class RuntimeFilterAggregateFunction
+		implements AggregateFunction<RuntimeFilterAggregateFunction.Update, RuntimeFilterAggregateFunction.Accumulator, RuntimeFilter> {
+
+	private static final long serialVersionUID = 1L;
+
+	static final RuntimeFilterAggregateFunction INSTANCE = new RuntimeFilterAggregateFunction();
+
+	/**
+	 * Creates the update with which a subtask of the build side contributes its filter.
+	 */
+	static Update contribute(int subtaskIndex, int numSubtasks, RuntimeFilter filter) {
+		return new Update(subtaskIndex, numSubtasks, filter);
+	}
+
+	/**
+	 * Creates the update with which a subtask of the probe side requests the merged filter.
+	 */
+	static Update query() {
+		return new Update(-1, 0, null);
+	}
+
+	@Override
+	public Accumulator createAccumulator() {
+		return new Accumulator();
+	}
+
+	@Override
+	public Accumulator add(Update update, Accumulator accumulator) {
+		if (update.filter != null && accumulator.contributors.add(update.subtaskIndex)) {
+			accumulator.numSubtasks = update.numSubtasks;
+			accumulator.filter = accumulator.filter == null
+				? update.filter
+				: accumulator.filter.merge(update.filter);
+		}
+		return accumulator;
+	}
+
+	@Override
+	public RuntimeFilter getResult(Accumulator accumulator) {
+		if (accumulator.filter != null && accumulator.contributors.size() == accumulator.numSubtasks) {
+			return accumulator.filter;
+		}
+		return null;
+	}
+
+	@Override
+	public Accumulator merge(Accumulator a, Accumulator b) {
+		// accumulators are never merged by the GlobalAggregateManager
+		throw new UnsupportedOperationException();
+	}
+
+	// ------------------------------------------------------------------------
+
+	/** The filter contributed by a subtask of the build side, or a request of the merged filter. */
+	static final class Update implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int subtaskIndex;
+		private final int numSubtasks;
+		@Nullable
+		private final RuntimeFilter filter;
+
+		private Update(int subtaskIndex, int numSubtasks, @Nullable RuntimeFilter filter) {
+			this.subtaskIndex = subtaskIndex;
+			this.numSubtasks = numSubtasks;
+			this.filter = filter;
+		}
+	}
+
+	/** The merged filter and the subtasks which contributed to it, as kept on the JobManager. */
+	static final class Accumulator {
+
+		private final Set<Integer> contributors = new HashSet<>();
+		private int numSubtasks;
+		private RuntimeFilter filter;
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.runtimefilter;
+
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
+import org.apache.flink.streaming.api.operators.BoundedOneInput;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.BinaryRow;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.generated.Projection;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Builds a {@link RuntimeFilter} of the join keys of the build side of a hash join, and forwards
+ * the build rows unchanged to the join.
+ *
+ * <p>When the input ends, the filter of this subtask is sent to the JobManager, where the filters
+ * of all subtasks are merged through the {@link GlobalAggregateManager}. The
+ * {@link RuntimeFilterOperator RuntimeFilterOperators} of the probe side pick up the merged
+ * filter under the same name. If a subtask has more build rows than expected, a disabled filter
+ * is sent, so that the probe side does not wait for a filter which would not be selective.
+ */
+public class RuntimeFilterBuilderOperator extends TableStreamOperator<BaseRow>
+		implements OneInputStreamOperator<BaseRow, BaseRow>, BoundedOneInput {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(RuntimeFilterBuilderOperator.class);
+
+	private final String filterName;
+
+	private final GeneratedProjection keyProjectionCode;
+
+	@Nullable
+	private final LogicalType rangeKeyType;
+
+	private final int expectedEntries;
+
+	private final double fpp;
+
+	private transient Projection<BaseRow, BinaryRow> keyProjection;
+
+	private transient RuntimeFilter filter;
+
+	/**
+	 * @param filterName The name under which the filter is published, unique within the job.
+	 * @param keyProjectionCode The projection of the join key of the build rows.
+	 * @param rangeKeyType The type of the join key if it consists of a single integral field, to
+	 *                     also filter by the range of the keys. Null otherwise.
+	 * @param expectedEntries The maximum number of build rows of a subtask. The filter is
+	 *                        disabled if a subtask has more rows.
+	 * @param fpp The false positive probability of the bloom filter for the expected keys.
+	 */
+	public RuntimeFilterBuilderOperator(
+			String filterName,
+			GeneratedProjection keyProjectionCode,
+			@Nullable LogicalType rangeKeyType,
+			int expectedEntries,
+			double fpp) {
+		checkArgument(rangeKeyType == null || RuntimeFilterUtil.supportsRange(rangeKeyType),
+			"The range of keys of type " + rangeKeyType + " cannot be tracked.");
+		this.filterName = checkNotNull(filterName);
+		this.keyProjectionCode = checkNotNull(keyProjectionCode);
+		this.rangeKeyType = rangeKeyType;
+		this.expectedEntries = expectedEntries;
+		this.fpp = fpp;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void open() throws Exception {
+		super.open();
+		this.keyProjection = keyProjectionCode.newInstance(getUserCodeClassloader());
+		this.filter = new RuntimeFilter(expectedEntries, fpp);
+	}
+
+	@Override
+	public void processElement(StreamRecord<BaseRow> element) throws Exception {
+		if (filter.isEnabled()) {
+			BinaryRow key = keyProjection.apply(element.getValue());
+			filter.add(key.hashCode());
+			if (rangeKeyType != null && !key.isNullAt(0)) {
+				filter.addToRange(RuntimeFilterUtil.getRangeKey(key, rangeKeyType));
+			}
+
+			if (filter.getNumEntries() > expectedEntries) {
+				LOG.info("Disabled the runtime filter {}, because the build side has more than {} rows.",
+					filterName, expectedEntries);
+				filter = RuntimeFilter.disabled();
+			}
+		}
+		output.collect(element);
+	}
+
+	@Override
+	public void endInput() throws Exception {
+		getRuntimeContext().getGlobalAggregateManager().updateGlobalAggregate(
+			filterName,
+			RuntimeFilterAggregateFunction.contribute(
+				getRuntimeContext().getIndexOfThisSubtask(),
+				getRuntimeContext().getNumberOfParallelSubtasks(),
+				filter),
+			RuntimeFilterAggregateFunction.INSTANCE);
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.runtimefilter;
+
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.BinaryRow;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.generated.Projection;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import javax.annotation.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Applies the {@link RuntimeFilter} of the build side of a hash join to the rows of the probe
+ * side, before they are shuffled to the join.
+ *
+ * <p>The probe side usually starts before the build side of the join has finished. Until the
+ * merged filter is available, the rows are forwarded unfiltered, and the operator asks the
+ * JobManager for the filter every {@code checkInterval} rows. The requests go asynchronously
+ * through the {@link GlobalAggregateManager}, so the task never waits for the JobManager. At most
+ * one request is pending at a time, and no more requests are sent once the filter has arrived.
+ */
+public class RuntimeFilterOperator extends TableStreamOperator<BaseRow>
+		implements OneInputStreamOperator<BaseRow, BaseRow> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String filterName;
+
+	private final GeneratedProjection keyProjectionCode;
+
+	@Nullable
+	private final LogicalType rangeKeyType;
+
+	private final int checkInterval;
+
+	private transient Projection<BaseRow, BinaryRow> keyProjection;
+
+	/** The merged filter of the build side, null while it is not available. */
+	private transient RuntimeFilter filter;
+
+	/** The pending request for the filter, null if no request is in flight. */
+	private transient CompletableFuture<RuntimeFilter> pendingFilter;
+
+	private transient int recordsSinceCheck;
+
+	private transient Counter numRecordsFiltered;
+
+	/**
+	 * @param filterName The name of the filter, as given to the {@link RuntimeFilterBuilderOperator}.
+	 * @param keyProjectionCode The projection of the join key of the probe rows, which must
+	 *                          produce the same binary keys as the projection of the build side.
+	 * @param rangeKeyType The type of the single integral key field, if the builder tracks the
+	 *                     range of the keys. Null otherwise.
+	 * @param checkInterval The number of rows after which to check again whether the filter is
+	 *                      available.
+	 */
+	public RuntimeFilterOperator(
+			String filterName,
+			GeneratedProjection keyProjectionCode,
+			@Nullable LogicalType rangeKeyType,
+			int checkInterval) {
+		checkArgument(rangeKeyType == null || RuntimeFilterUtil.supportsRange(rangeKeyType),
+			"The range of keys of type " + rangeKeyType + " cannot be tracked.");
+		checkArgument(checkInterval > 0, "The check interval must be positive.");
+		this.filterName = checkNotNull(filterName);
+		this.keyProjectionCode = checkNotNull(keyProjectionCode);
+		this.rangeKeyType = rangeKeyType;
+		this.checkInterval = checkInterval;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void open() throws Exception {
+		super.open();
+		this.keyProjection = keyProjectionCode.newInstance(getUserCodeClassloader());
+		this.numRecordsFiltered = getMetricGroup().counter("numRecordsFilteredByRuntimeFilter");
+		// check for the filter with the first row
+		this.recordsSinceCheck = checkInterval;
+	}
+
+	@Override
+	public void processElement(StreamRecord<BaseRow> element) throws Exception {
+		if (filter == null) {
+			checkFilter();
+		}
+
+		if (filter == null || !filter.isEnabled() || mightMatch(element.getValue())) {
+			output.collect(element);
+		} else {
+			numRecordsFiltered.inc();
+		}
+	}
+
+	private void checkFilter() throws Exception {
+		if (pendingFilter == null && ++recordsSinceCheck >= checkInterval) {
+			recordsSinceCheck = 0;
+			pendingFilter = getRuntimeContext().getGlobalAggregateManager().updateGlobalAggregateAsync(
+				filterName,
+				RuntimeFilterAggregateFunction.query(),
+				RuntimeFilterAggregateFunction.INSTANCE);
+		}
+
+		if (pendingFilter != null && pendingFilter.isDone()) {
+			// the request has completed, so this does not block
+			filter = pendingFilter.get();
+			pendingFilter = null;
+		}
+	}
+
+	private boolean mightMatch(BaseRow row) {
+		BinaryRow key = keyProjection.apply(row);
+		if (rangeKeyType != null && !key.isNullAt(0)
+				&& !filter.inRange(RuntimeFilterUtil.getRangeKey(key, rangeKeyType))) {
+			return false;
+		}
+		return filter.mightContain(key.hashCode());
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.runtimefilter;
+
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.types.logical.LogicalType;
+
+/**
+ * Utilities for the runtime filter operators.
+ */
+public final class RuntimeFilterUtil {
+
+	private RuntimeFilterUtil() {}
+
+	/**
+	 * Returns whether the range of keys of the given type can be tracked as longs.
+	 */
+	public static boolean supportsRange(LogicalType keyType) {
+		switch (keyType.getTypeRoot()) {
+			case TINYINT:
+			case SMALLINT:
+			case INTEGER:
+			case DATE:
+			case TIME_WITHOUT_TIME_ZONE:
+			case BIGINT:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Returns the value of the non-null first field of the given key as a long.
+	 */
+	static long getRangeKey(BaseRow key, LogicalType keyType) {
+		switch (keyType.getTypeRoot()) {
+			case TINYINT:
+				return key.getByte(0);
+			case SMALLINT:
+				return key.getShort(0);
+			case INTEGER:
+			case DATE:
+			case TIME_WITHOUT_TIME_ZONE:
+				return key.getInt(0);
+			case BIGINT:
+				return key.getLong(0);
+			default:
+				throw new UnsupportedOperationException(keyType + " has no range.");
+		}
+	}
+}
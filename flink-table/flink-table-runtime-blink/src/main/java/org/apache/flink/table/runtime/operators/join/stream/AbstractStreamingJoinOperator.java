@@ -26,6 +26,7 @@ import org.apache.flink.streaming.api.operators.TimestampedCollector;
 import org.apache.flink.streaming.api.operators.TwoInputStreamOperator;
 import org.apache.flink.table.dataformat.BaseRow;
 import org.apache.flink.table.dataformat.BinaryRow;
+import org.apache.flink.table.runtime.generated.CompileUtils;
 import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
 import org.apache.flink.table.runtime.generated.JoinCondition;
 import org.apache.flink.table.runtime.operators.join.NullAwareJoinHelper;
@@ -104,6 +105,7 @@ public abstract class AbstractStreamingJoinOperator extends AbstractStreamOperat
 	@Override
 	public void open() throws Exception {
 		super.open();
+		CompileUtils.initialize(getContainingTask().getEnvironment());
 
 		JoinCondition condition = generatedJoinCondition.newInstance(getRuntimeContext().getUserCodeClassLoader());
 		condition.setRuntimeContext(getRuntimeContext());
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.GenericRow;
+import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo;
+
+import java.io.Serializable;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * The {@link MultiJoinInputLayout} describes how the records of all inputs of a
+ * {@link StreamingMultiJoinOperator} are carried by a single union stream.
+ *
+ * <p>A union row consists of the index of the input the record comes from and the record itself.
+ * It is serialized by the {@link MultiJoinUnionRowSerializer} as the index followed by the record
+ * in the format of its input, so a record only takes the space of its own fields on the wire and
+ * in state. The header of the union row is the header of the input record.
+ */
+public class MultiJoinInputLayout implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final BaseRowTypeInfo[] inputTypes;
+
+	public MultiJoinInputLayout(BaseRowTypeInfo[] inputTypes) {
+		checkArgument(inputTypes.length >= 2, "A multi-way join needs at least two inputs.");
+		this.inputTypes = inputTypes;
+	}
+
+	public int getNumInputs() {
+		return inputTypes.length;
+	}
+
+	public BaseRowTypeInfo getInputType(int inputIndex) {
+		return inputTypes[inputIndex];
+	}
+
+	/**
+	 * Returns the type of the union rows.
+	 */
+	public MultiJoinUnionRowTypeInfo getUnionType() {
+		return new MultiJoinUnionRowTypeInfo(inputTypes);
+	}
+
+	/**
+	 * Returns the index of the input the given union row comes from.
+	 */
+	public static int getInputIndex(BaseRow unionRow) {
+		return unionRow.getInt(0);
+	}
+
+	/**
+	 * Returns the input record of the given union row.
+	 */
+	public static BaseRow getInputRow(BaseRow unionRow) {
+		return unionRow.getRow(1, 0);
+	}
+
+	/**
+	 * Wraps the given record of the given input into a union row.
+	 */
+	public static BaseRow toUnionRow(BaseRow inputRow, int inputIndex) {
+		GenericRow row = new GenericRow(2);
+		row.setHeader(inputRow.getHeader());
+		row.setField(0, inputIndex);
+		row.setField(1, inputRow);
+		return row;
+	}
+}
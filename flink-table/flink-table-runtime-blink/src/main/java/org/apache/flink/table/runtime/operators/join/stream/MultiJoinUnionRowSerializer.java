@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.api.common.typeutils.CompositeTypeSerializerSnapshot;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.GenericRow;
+import org.apache.flink.table.runtime.typeutils.BaseRowSerializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Serializer for the union rows of a {@link StreamingMultiJoinOperator}, see
+ * {@link MultiJoinInputLayout}. A union row is written as the index of its input followed by its
+ * record, serialized by the serializer of that input, so no fields of other inputs are written.
+ */
+public class MultiJoinUnionRowSerializer extends TypeSerializer<BaseRow> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final BaseRowSerializer[] inputSerializers;
+
+	public MultiJoinUnionRowSerializer(BaseRowSerializer[] inputSerializers) {
+		this.inputSerializers = inputSerializers;
+	}
+
+	@Override
+	public boolean isImmutableType() {
+		return false;
+	}
+
+	@Override
+	public TypeSerializer<BaseRow> duplicate() {
+		BaseRowSerializer[] duplicates = new BaseRowSerializer[inputSerializers.length];
+		for (int i = 0; i < inputSerializers.length; i++) {
+			duplicates[i] = (BaseRowSerializer) inputSerializers[i].duplicate();
+		}
+		return new MultiJoinUnionRowSerializer(duplicates);
+	}
+
+	@Override
+	public BaseRow createInstance() {
+		return MultiJoinInputLayout.toUnionRow(new GenericRow(inputSerializers[0].getArity()), 0);
+	}
+
+	@Override
+	public BaseRow copy(BaseRow from) {
+		int inputIndex = MultiJoinInputLayout.getInputIndex(from);
+		return MultiJoinInputLayout.toUnionRow(
+			inputSerializers[inputIndex].copy(MultiJoinInputLayout.getInputRow(from)), inputIndex);
+	}
+
+	@Override
+	public BaseRow copy(BaseRow from, BaseRow reuse) {
+		return copy(from);
+	}
+
+	@Override
+	public int getLength() {
+		return -1;
+	}
+
+	@Override
+	public void serialize(BaseRow record, DataOutputView target) throws IOException {
+		int inputIndex = MultiJoinInputLayout.getInputIndex(record);
+		target.writeInt(inputIndex);
+		inputSerializers[inputIndex].serialize(MultiJoinInputLayout.getInputRow(record), target);
+	}
+
+	@Override
+	public BaseRow deserialize(DataInputView source) throws IOException {
+		int inputIndex = source.readInt();
+		return MultiJoinInputLayout.toUnionRow(inputSerializers[inputIndex].deserialize(source), inputIndex);
+	}
+
+	@Override
+	public BaseRow deserialize(BaseRow reuse, DataInputView source) throws IOException {
+		return deserialize(source);
+	}
+
+	@Override
+	public void copy(DataInputView source, DataOutputView target) throws IOException {
+		int inputIndex = source.readInt();
+		target.writeInt(inputIndex);
+		inputSerializers[inputIndex].copy(source, target);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof MultiJoinUnionRowSerializer &&
+			Arrays.equals(inputSerializers, ((MultiJoinUnionRowSerializer) obj).inputSerializers);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(inputSerializers);
+	}
+
+	@Override
+	public TypeSerializerSnapshot<BaseRow> snapshotConfiguration() {
+		return new MultiJoinUnionRowSerializerSnapshot(this);
+	}
+
+	/**
+	 * {@link TypeSerializerSnapshot} for {@link MultiJoinUnionRowSerializer}.
+	 */
+	public static final class MultiJoinUnionRowSerializerSnapshot
+			extends CompositeTypeSerializerSnapshot<BaseRow, MultiJoinUnionRowSerializer> {
+
+		private static final int CURRENT_VERSION = 1;
+
+		@SuppressWarnings("unused")
+		public MultiJoinUnionRowSerializerSnapshot() {
+			// this constructor is used when restoring from a checkpoint/savepoint.
+			super(MultiJoinUnionRowSerializer.class);
+		}
+
+		MultiJoinUnionRowSerializerSnapshot(MultiJoinUnionRowSerializer serializer) {
+			super(serializer);
+		}
+
+		@Override
+		protected int getCurrentOuterSnapshotVersion() {
+			return CURRENT_VERSION;
+		}
+
+		@Override
+		protected TypeSerializer<?>[] getNestedSerializers(MultiJoinUnionRowSerializer outerSerializer) {
+			return outerSerializer.inputSerializers;
+		}
+
+		@Override
+		protected MultiJoinUnionRowSerializer createOuterSerializerWithNestedSerializers(
+				TypeSerializer<?>[] nestedSerializers) {
+			BaseRowSerializer[] inputSerializers = new BaseRowSerializer[nestedSerializers.length];
+			for (int i = 0; i < nestedSerializers.length; i++) {
+				inputSerializers[i] = (BaseRowSerializer) nestedSerializers[i];
+			}
+			return new MultiJoinUnionRowSerializer(inputSerializers);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.runtime.typeutils.BaseRowSerializer;
+import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo;
+
+import java.util.Arrays;
+
+/**
+ * TypeInfo for the union rows of a {@link StreamingMultiJoinOperator}, see
+ * {@link MultiJoinInputLayout}.
+ */
+public class MultiJoinUnionRowTypeInfo extends TypeInformation<BaseRow> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final BaseRowTypeInfo[] inputTypes;
+
+	public MultiJoinUnionRowTypeInfo(BaseRowTypeInfo[] inputTypes) {
+		this.inputTypes = inputTypes;
+	}
+
+	@Override
+	public boolean isBasicType() {
+		return false;
+	}
+
+	@Override
+	public boolean isTupleType() {
+		return false;
+	}
+
+	@Override
+	public int getArity() {
+		return 2;
+	}
+
+	@Override
+	public int getTotalFields() {
+		return 2;
+	}
+
+	@Override
+	public Class<BaseRow> getTypeClass() {
+		return BaseRow.class;
+	}
+
+	@Override
+	public boolean isKeyType() {
+		return false;
+	}
+
+	@Override
+	public TypeSerializer<BaseRow> createSerializer(ExecutionConfig config) {
+		BaseRowSerializer[] inputSerializers = new BaseRowSerializer[inputTypes.length];
+		for (int i = 0; i < inputTypes.length; i++) {
+			inputSerializers[i] = (BaseRowSerializer) inputTypes[i].createSerializer(config);
+		}
+		return new MultiJoinUnionRowSerializer(inputSerializers);
+	}
+
+	@Override
+	public String toString() {
+		return "MultiJoinUnionRow" + Arrays.toString(inputTypes);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof MultiJoinUnionRowTypeInfo &&
+			Arrays.equals(inputTypes, ((MultiJoinUnionRowTypeInfo) obj).inputTypes);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(inputTypes);
+	}
+
+	@Override
+	public boolean canEqual(Object obj) {
+		return obj instanceof MultiJoinUnionRowTypeInfo;
+	}
+}
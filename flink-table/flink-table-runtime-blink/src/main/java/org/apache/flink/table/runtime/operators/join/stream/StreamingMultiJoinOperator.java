@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.state.ListState;
+import org.apache.flink.api.common.state.ListStateDescriptor;
+import org.apache.flink.api.common.typeinfo.PrimitiveArrayTypeInfo;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.state.StateInitializationContext;
+import org.apache.flink.runtime.state.StateSnapshotContext;
+import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.api.operators.TimestampedCollector;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.BinaryRow;
+import org.apache.flink.table.dataformat.JoinedRow;
+import org.apache.flink.table.dataformat.util.BaseRowUtil;
+import org.apache.flink.table.runtime.generated.CompileUtils;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.generated.JoinCondition;
+import org.apache.flink.table.runtime.operators.join.NullAwareJoinHelper;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinRecordStateView;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinRecordStateViews;
+
+import java.util.Collections;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Streaming unbounded INNER Join operator over N inputs which are all joined on the same key.
+ *
+ * <p>A chain of N-1 {@link StreamingJoinOperator}s keeps every intermediate join result in state,
+ * so state size and the number of state updates grow with every level of the chain. This operator
+ * only keeps the records of the N inputs in state. A record arriving on one input is added to (or
+ * retracted from) the state of its input, and the records with the same key of all other inputs
+ * are looked up to build the joined records.
+ *
+ * <p>The other inputs are probed in ascending order of the number of records they have buffered
+ * in this subtask, so the lookup stops as early as possible if one of them has no record for the
+ * key. These numbers are kept in operator state. After rescaling they are only estimates, which
+ * only affects the probe order. The joined records are built in input order, the join condition {@code i} is applied to
+ * the joined record of the inputs {@code 0} to {@code i} and the record of input {@code i + 1},
+ * just like in a left-deep chain of binary joins.
+ *
+ * <p>All inputs are carried by a single union stream, see {@link MultiJoinInputLayout}. The
+ * output records consist of the fields of all inputs in input order.
+ */
+public class StreamingMultiJoinOperator extends AbstractStreamOperator<BaseRow>
+		implements OneInputStreamOperator<BaseRow, BaseRow> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final MultiJoinInputLayout inputLayout;
+	private final GeneratedJoinCondition[] generatedJoinConditions;
+	private final JoinInputSideSpec[] inputSideSpecs;
+
+	/**
+	 * Should filter null keys.
+	 */
+	private final int[] nullFilterKeys;
+
+	/**
+	 * No keys need to filter null.
+	 */
+	private final boolean nullSafe;
+
+	/**
+	 * Filter null to all keys.
+	 */
+	private final boolean filterAllNulls;
+
+	private final long minRetentionTime;
+	private final boolean stateCleaningEnabled;
+
+	private transient int numInputs;
+	private transient JoinCondition[] joinConditions;
+	private transient JoinRecordStateView[] recordStateViews;
+	private transient TimestampedCollector<BaseRow> collector;
+
+	/** The number of records of each input buffered in the state of this subtask. */
+	private transient long[] numOfRecords;
+	private transient ListState<long[]> numOfRecordsState;
+	/** The order in which the other inputs are probed, reused for every record. */
+	private transient int[] probeOrder;
+	/** The joined record of the inputs 0 to i + 1, for every i. */
+	private transient JoinedRow[] joinedRows;
+
+	public StreamingMultiJoinOperator(
+			MultiJoinInputLayout inputLayout,
+			GeneratedJoinCondition[] generatedJoinConditions,
+			JoinInputSideSpec[] inputSideSpecs,
+			boolean[] filterNullKeys,
+			long minRetentionTime) {
+		int numInputs = inputLayout.getNumInputs();
+		checkArgument(generatedJoinConditions.length == numInputs - 1,
+				"A multi-way join over %s inputs needs %s join conditions.", numInputs, numInputs - 1);
+		checkArgument(inputSideSpecs.length == numInputs);
+		this.inputLayout = inputLayout;
+		this.generatedJoinConditions = generatedJoinConditions;
+		this.inputSideSpecs = inputSideSpecs;
+		this.minRetentionTime = minRetentionTime;
+		this.stateCleaningEnabled = minRetentionTime > 1;
+		this.nullFilterKeys = NullAwareJoinHelper.getNullFilterKeys(filterNullKeys);
+		this.nullSafe = nullFilterKeys.length == 0;
+		this.filterAllNulls = nullFilterKeys.length == filterNullKeys.length;
+	}
+
+	@Override
+	public void initializeState(StateInitializationContext context) throws Exception {
+		super.initializeState(context);
+		this.numOfRecordsState = context.getOperatorStateStore().getListState(new ListStateDescriptor<>(
+				"num-of-records", PrimitiveArrayTypeInfo.LONG_PRIMITIVE_ARRAY_TYPE_INFO));
+
+		// sum up the numbers of all subtasks whose state is restored by this subtask
+		this.numOfRecords = new long[inputLayout.getNumInputs()];
+		for (long[] restored : numOfRecordsState.get()) {
+			for (int i = 0; i < numOfRecords.length; i++) {
+				numOfRecords[i] += restored[i];
+			}
+		}
+	}
+
+	@Override
+	public void snapshotState(StateSnapshotContext context) throws Exception {
+		super.snapshotState(context);
+		numOfRecordsState.clear();
+		numOfRecordsState.add(numOfRecords.clone());
+	}
+
+	@Override
+	public void open() throws Exception {
+		super.open();
+		CompileUtils.initialize(getContainingTask().getEnvironment());
+
+		this.numInputs = inputLayout.getNumInputs();
+		this.joinConditions = new JoinCondition[numInputs - 1];
+		for (int i = 0; i < joinConditions.length; i++) {
+			JoinCondition condition = generatedJoinConditions[i].newInstance(
+					getRuntimeContext().getUserCodeClassLoader());
+			condition.setRuntimeContext(getRuntimeContext());
+			condition.open(new Configuration());
+			joinConditions[i] = condition;
+		}
+
+		// initialize states
+		this.recordStateViews = new JoinRecordStateView[numInputs];
+		for (int i = 0; i < numInputs; i++) {
+			recordStateViews[i] = JoinRecordStateViews.create(
+					getRuntimeContext(),
+					"input-" + i + "-records",
+					inputSideSpecs[i],
+					inputLayout.getInputType(i),
+					minRetentionTime,
+					stateCleaningEnabled);
+		}
+
+		this.collector = new TimestampedCollector<>(output);
+		this.probeOrder = new int[numInputs];
+		this.joinedRows = new JoinedRow[numInputs - 1];
+		for (int i = 0; i < joinedRows.length; i++) {
+			joinedRows[i] = new JoinedRow();
+		}
+	}
+
+	@Override
+	public void processElement(StreamRecord<BaseRow> element) throws Exception {
+		BaseRow unionRow = element.getValue();
+		int inputIndex = MultiJoinInputLayout.getInputIndex(unionRow);
+		if (!nullSafe) {
+			// key is always BinaryRow
+			BinaryRow joinKey = (BinaryRow) getCurrentKey();
+			if (filterAllNulls ? joinKey.anyNull() : joinKey.anyNull(nullFilterKeys)) {
+				// the record never joins and is not needed in state
+				return;
+			}
+		}
+
+		BaseRow input = MultiJoinInputLayout.getInputRow(unionRow);
+		boolean isAccumulate = BaseRowUtil.isAccumulateMsg(input);
+		input.setHeader(BaseRowUtil.ACCUMULATE_MSG);
+		if (isAccumulate) {
+			recordStateViews[inputIndex].addRecord(input);
+			numOfRecords[inputIndex]++;
+		} else {
+			recordStateViews[inputIndex].retractRecord(input);
+			// the numbers are estimates after rescaling
+			numOfRecords[inputIndex] = Math.max(numOfRecords[inputIndex] - 1, 0);
+		}
+
+		// look up the other inputs, the smallest first
+		sortProbeOrder();
+		for (int probeIndex : probeOrder) {
+			if (probeIndex != inputIndex && !recordStateViews[probeIndex].getRecords().iterator().hasNext()) {
+				// no joined record for this key
+				return;
+			}
+		}
+
+		join(0, null, inputIndex, input, isAccumulate ? BaseRowUtil.ACCUMULATE_MSG : BaseRowUtil.RETRACT_MSG);
+	}
+
+	/**
+	 * Sorts the inputs in ascending order of their number of buffered records.
+	 */
+	private void sortProbeOrder() {
+		for (int i = 0; i < numInputs; i++) {
+			int index = i;
+			int j = i - 1;
+			while (j >= 0 && numOfRecords[probeOrder[j]] > numOfRecords[index]) {
+				probeOrder[j + 1] = probeOrder[j];
+				j--;
+			}
+			probeOrder[j + 1] = index;
+		}
+	}
+
+	/**
+	 * Joins the given joined record of the inputs 0 to {@code inputIndex - 1} with the records
+	 * of the input {@code inputIndex} and all following inputs, and emits the results. The records
+	 * are iterated directly from state, except for the current record of its input.
+	 */
+	private void join(int inputIndex, BaseRow joined, int currentIndex, BaseRow current, byte header)
+			throws Exception {
+		Iterable<BaseRow> records = inputIndex == currentIndex
+				? Collections.singletonList(current)
+				: recordStateViews[inputIndex].getRecords();
+		for (BaseRow record : records) {
+			BaseRow newJoined;
+			if (inputIndex == 0) {
+				newJoined = record;
+			} else if (joinConditions[inputIndex - 1].apply(joined, record)) {
+				newJoined = joinedRows[inputIndex - 1].replace(joined, record);
+			} else {
+				continue;
+			}
+
+			if (inputIndex == numInputs - 1) {
+				newJoined.setHeader(header);
+				collector.collect(newJoined);
+			} else {
+				join(inputIndex + 1, newJoined, currentIndex, current, header);
+			}
+		}
+	}
+
+	@VisibleForTesting
+	long getNumOfRecords(int inputIndex) {
+		return numOfRecords[inputIndex];
+	}
+
+	@Override
+	public void close() throws Exception {
+		super.close();
+		if (joinConditions != null) {
+			for (JoinCondition condition : joinConditions) {
+				if (condition != null) {
+					condition.close();
+				}
+			}
+		}
+	}
+}
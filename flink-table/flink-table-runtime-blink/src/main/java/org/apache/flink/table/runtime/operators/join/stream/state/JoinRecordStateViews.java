@@ -25,9 +25,10 @@ import org.apache.flink.api.common.state.StateTtlConfig;
 import org.apache.flink.api.common.state.ValueState;
 import org.apache.flink.api.common.state.ValueStateDescriptor;
 import org.apache.flink.api.common.time.Time;
-import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
 import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.runtime.typeutils.BaseRowStateSerializer;
 import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo;
 import org.apache.flink.util.IterableIterator;
 
@@ -85,6 +86,13 @@ public final class JoinRecordStateViews {
 		}
 	}
 
+	/**
+	 * Creates the serializer of the records of the given type in state.
+	 */
+	static BaseRowStateSerializer createStateSerializer(RuntimeContext ctx, BaseRowTypeInfo recordType) {
+		return new BaseRowStateSerializer(ctx.getExecutionConfig(), recordType.getLogicalTypes());
+	}
+
 	// ------------------------------------------------------------------------------------
 
 	private static final class JoinKeyContainsUniqueKey implements JoinRecordStateView {
@@ -99,7 +107,7 @@ public final class JoinRecordStateViews {
 				StateTtlConfig ttlConfig) {
 			ValueStateDescriptor<BaseRow> recordStateDesc = new ValueStateDescriptor<>(
 				stateName,
-				recordType);
+				createStateSerializer(ctx, recordType));
 			if (!ttlConfig.equals(StateTtlConfig.DISABLED)) {
 				recordStateDesc.enableTimeToLive(ttlConfig);
 			}
@@ -146,8 +154,8 @@ public final class JoinRecordStateViews {
 			checkNotNull(uniqueKeySelector);
 			MapStateDescriptor<BaseRow, BaseRow> recordStateDesc = new MapStateDescriptor<>(
 				stateName,
-				uniqueKeyType,
-				recordType);
+				createStateSerializer(ctx, uniqueKeyType),
+				createStateSerializer(ctx, recordType));
 			if (!ttlConfig.equals(StateTtlConfig.DISABLED)) {
 				recordStateDesc.enableTimeToLive(ttlConfig);
 			}
@@ -184,8 +192,8 @@ public final class JoinRecordStateViews {
 				StateTtlConfig ttlConfig) {
 			MapStateDescriptor<BaseRow, Integer> recordStateDesc = new MapStateDescriptor<>(
 				stateName,
-				recordType,
-				Types.INT);
+				createStateSerializer(ctx, recordType),
+				IntSerializer.INSTANCE);
 			if (!ttlConfig.equals(StateTtlConfig.DISABLED)) {
 				recordStateDesc.enableTimeToLive(ttlConfig);
 			}
@@ -25,9 +25,12 @@ import org.apache.flink.api.common.state.StateTtlConfig;
 import org.apache.flink.api.common.state.ValueState;
 import org.apache.flink.api.common.state.ValueStateDescriptor;
 import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
 import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.api.java.typeutils.TupleTypeInfo;
+import org.apache.flink.api.java.typeutils.runtime.TupleSerializer;
 import org.apache.flink.table.dataformat.BaseRow;
 import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo;
 import org.apache.flink.util.IterableIterator;
@@ -37,6 +40,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import static org.apache.flink.table.runtime.operators.join.stream.state.JoinRecordStateViews.createStateSerializer;
 import static org.apache.flink.table.runtime.operators.join.stream.state.JoinRecordStateViews.createTtlConfig;
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
@@ -73,6 +77,18 @@ public final class OuterJoinRecordStateViews {
 		}
 	}
 
+	/**
+	 * Creates the serializer of the (record, number of associations) pairs in state.
+	 */
+	@SuppressWarnings("unchecked")
+	private static TypeSerializer<Tuple2<BaseRow, Integer>> createRecordAndNumSerializer(
+			RuntimeContext ctx,
+			BaseRowTypeInfo recordType) {
+		return new TupleSerializer<>(
+			(Class<Tuple2<BaseRow, Integer>>) (Class<?>) Tuple2.class,
+			new TypeSerializer[] {createStateSerializer(ctx, recordType), IntSerializer.INSTANCE});
+	}
+
 	// ------------------------------------------------------------------------------------------
 
 	private static final class JoinKeyContainsUniqueKey implements OuterJoinRecordStateView {
@@ -82,10 +98,9 @@ public final class OuterJoinRecordStateViews {
 		private final List<Tuple2<BaseRow, Integer>> reusedTupleList;
 
 		private JoinKeyContainsUniqueKey(RuntimeContext ctx, String stateName, BaseRowTypeInfo recordType, StateTtlConfig ttlConfig) {
-			TupleTypeInfo<Tuple2<BaseRow, Integer>> valueTypeInfo = new TupleTypeInfo<>(recordType, Types.INT);
 			ValueStateDescriptor<Tuple2<BaseRow, Integer>> recordStateDesc = new ValueStateDescriptor<>(
 				stateName,
-				valueTypeInfo);
+				createRecordAndNumSerializer(ctx, recordType));
 			if (!ttlConfig.equals(StateTtlConfig.DISABLED)) {
 				recordStateDesc.enableTimeToLive(ttlConfig);
 			}
@@ -152,11 +167,10 @@ public final class OuterJoinRecordStateViews {
 				StateTtlConfig ttlConfig) {
 			checkNotNull(uniqueKeyType);
 			checkNotNull(uniqueKeySelector);
-			TupleTypeInfo<Tuple2<BaseRow, Integer>> valueTypeInfo = new TupleTypeInfo<>(recordType, Types.INT);
 			MapStateDescriptor<BaseRow, Tuple2<BaseRow, Integer>> recordStateDesc = new MapStateDescriptor<>(
 				stateName,
-				uniqueKeyType,
-				valueTypeInfo);
+				createStateSerializer(ctx, uniqueKeyType),
+				createRecordAndNumSerializer(ctx, recordType));
 			if (!ttlConfig.equals(StateTtlConfig.DISABLED)) {
 				recordStateDesc.enableTimeToLive(ttlConfig);
 			}
@@ -211,8 +225,8 @@ public final class OuterJoinRecordStateViews {
 			TupleTypeInfo<Tuple2<Integer, Integer>> tupleTypeInfo = new TupleTypeInfo<>(Types.INT, Types.INT);
 			MapStateDescriptor<BaseRow, Tuple2<Integer, Integer>> recordStateDesc = new MapStateDescriptor<>(
 				stateName,
-				recordType,
-				tupleTypeInfo);
+				createStateSerializer(ctx, recordType),
+				tupleTypeInfo.createSerializer(ctx.getExecutionConfig()));
 			if (!ttlConfig.equals(StateTtlConfig.DISABLED)) {
 				recordStateDesc.enableTimeToLive(ttlConfig);
 			}
@@ -0,0 +1,411 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.rank;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.state.MapState;
+import org.apache.flink.api.common.state.MapStateDescriptor;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.base.ListSerializer;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.state.KeyedStateBackend;
+import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.util.BaseRowUtil;
+import org.apache.flink.table.runtime.generated.GeneratedRecordComparator;
+import org.apache.flink.table.runtime.generated.GeneratedRecordEqualiser;
+import org.apache.flink.table.runtime.generated.RecordEqualiser;
+import org.apache.flink.table.runtime.keyselector.BaseRowKeySelector;
+import org.apache.flink.table.runtime.typeutils.BaseRowStateSerializer;
+import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo;
+import org.apache.flink.table.runtime.typeutils.SortKeySerializer;
+import org.apache.flink.table.runtime.util.LRUMap;
+import org.apache.flink.util.Collector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The function could handle retract stream. Input stream could only contain acc, delete or retract record.
+ *
+ * <p>Different from {@link RetractableTopNFunction}, which loads and writes a sorted map of all the sort keys
+ * of a partition for every record, this function keeps the records in a map state whose keys are serialized
+ * by a {@link SortKeySerializer}, so that a state backend which sorts its keys by bytes, like RocksDB, keeps
+ * them in the sort order. Per partition, only the region of the top records which covers the rank end is
+ * kept in a heap cache; a record which sorts after that region only touches its own entry in state, and the
+ * region is refilled from the front of the state when retractions shrink it below the rank end.
+ *
+ * <p>Other state backends, like the heap state backend, do not iterate their keys in order, so the region is
+ * then refilled by scanning all the keys of the partition.
+ */
+public class IncrementalTopNFunction extends AbstractTopNFunction {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(IncrementalTopNFunction.class);
+
+	private static final String ROCKSDB_KEYED_STATE_BACKEND =
+			"org.apache.flink.contrib.streaming.state.RocksDBKeyedStateBackend";
+
+	// Message to indicate the state is cleared because of ttl restriction. The message could be used to output to log.
+	private static final String STATE_CLEARED_WARN_MSG = "The state is cleared because of state ttl. " +
+			"This will result in incorrect result. You can increase the state ttl to avoid this.";
+
+	private final SortKeySerializer sortKeySerializer;
+	private final TypeSerializer<BaseRow> inputRowSer;
+	private final long cacheSize;
+
+	// flag to skip records with non-exist error instead to fail, true by default.
+	private final boolean lenient = true;
+
+	// a map state stores mapping from sort key to records list, in the order of the sort keys if the backend
+	// keeps its keys sorted
+	private transient MapState<BaseRow, List<BaseRow>> dataState;
+
+	// the kvTopRegions stores mapping from partition key to the cached top region of its records
+	private transient Map<BaseRow, TopRegion> kvTopRegions;
+
+	// whether the state iterates the sort keys in their order
+	private transient boolean orderedState;
+
+	// The util to compare two BaseRow equals to each other.
+	private GeneratedRecordEqualiser generatedEqualiser;
+	private RecordEqualiser equaliser;
+
+	public IncrementalTopNFunction(
+			long minRetentionTime,
+			long maxRetentionTime,
+			BaseRowTypeInfo inputRowType,
+			GeneratedRecordComparator generatedRecordComparator,
+			BaseRowKeySelector sortKeySelector,
+			boolean[] sortAscending,
+			boolean[] sortNullsIsLast,
+			RankType rankType,
+			RankRange rankRange,
+			GeneratedRecordEqualiser generatedEqualiser,
+			boolean generateRetraction,
+			boolean outputRankNumber,
+			long cacheSize) {
+		super(minRetentionTime, maxRetentionTime, inputRowType, generatedRecordComparator, sortKeySelector, rankType,
+				rankRange, generateRetraction, outputRankNumber);
+		this.sortKeySerializer = new SortKeySerializer(
+				sortKeySelector.getProducedType().getLogicalTypes(), sortAscending, sortNullsIsLast);
+		this.inputRowSer = inputRowType.createSerializer(new ExecutionConfig());
+		this.cacheSize = cacheSize;
+		this.generatedEqualiser = generatedEqualiser;
+	}
+
+	@Override
+	public void open(Configuration parameters) throws Exception {
+		super.open(parameters);
+		int lruCacheSize = Math.max(1, (int) (cacheSize / getDefaultTopNSize()));
+		kvTopRegions = new LRUMap<>(lruCacheSize);
+		LOG.info("Top{} operator is using LRU caches key-size: {}", getDefaultTopNSize(), lruCacheSize);
+
+		// compile equaliser
+		equaliser = generatedEqualiser.newInstance(getRuntimeContext().getUserCodeClassLoader());
+		generatedEqualiser = null;
+
+		ListSerializer<BaseRow> valueSerializer = new ListSerializer<>(new BaseRowStateSerializer(
+				getRuntimeContext().getExecutionConfig(), inputRowType.getLogicalTypes()));
+		MapStateDescriptor<BaseRow, List<BaseRow>> mapStateDescriptor = new MapStateDescriptor<>(
+				"sorted-data-state", sortKeySerializer, valueSerializer);
+		dataState = getRuntimeContext().getMapState(mapStateDescriptor);
+
+		orderedState = isStateOrdered();
+
+		// metrics
+		registerMetric(lruCacheSize * getDefaultTopNSize());
+	}
+
+	@VisibleForTesting
+	boolean isStateOrdered() {
+		if (!(keyContext instanceof AbstractStreamOperator)) {
+			return false;
+		}
+		return isOrderedStateBackend(((AbstractStreamOperator<?>) keyContext).getKeyedStateBackend());
+	}
+
+	/**
+	 * Returns whether the given backend iterates the keys of a map state in the order of their
+	 * serialized bytes. Only RocksDB is known to do so, any other backend takes the unordered path.
+	 * The class is matched by name, because RocksDB is no dependency of the runtime.
+	 */
+	@VisibleForTesting
+	static boolean isOrderedStateBackend(@Nullable KeyedStateBackend<?> backend) {
+		return backend != null && ROCKSDB_KEYED_STATE_BACKEND.equals(backend.getClass().getName());
+	}
+
+	@Override
+	public void processElement(BaseRow input, Context ctx, Collector<BaseRow> out) throws Exception {
+		long currentTime = ctx.timerService().currentProcessingTime();
+		// register state-cleanup timer
+		registerProcessingCleanupTimer(ctx, currentTime);
+
+		initRankEnd(input);
+		TopRegion region = getTopRegion();
+		BaseRow sortKey = sortKeySelector.getKey(input);
+		boolean inRegion = region.covers(sortKey);
+
+		if (BaseRowUtil.isAccumulateMsg(input)) {
+			BaseRow record = inputRowSer.copy(input);
+			List<BaseRow> records = dataState.get(sortKey);
+			if (records == null) {
+				// the sort key is never seen
+				records = new ArrayList<>();
+			}
+			records.add(record);
+			dataState.put(sortKey, records);
+
+			if (inRegion) {
+				region.buffer.put(sortKey, record);
+				emitRecordsWithRowNumber(region.buffer, sortKey, input, out);
+				region.shrink();
+			}
+		} else {
+			List<BaseRow> records = dataState.get(sortKey);
+			BaseRow retracted = records == null ? null : removeRecord(records, input);
+			if (retracted == null) {
+				if (records == null) {
+					// Skip the data if it's state is cleared because of state ttl.
+					if (lenient) {
+						LOG.warn(STATE_CLEARED_WARN_MSG);
+						return;
+					} else {
+						throw new RuntimeException(STATE_CLEARED_WARN_MSG);
+					}
+				} else {
+					throw new RuntimeException("Can not retract a non-existent record: " + input + ". " +
+							"This should never happen.");
+				}
+			}
+			if (records.isEmpty()) {
+				dataState.remove(sortKey);
+			} else {
+				dataState.put(sortKey, records);
+			}
+
+			if (inRegion) {
+				long rank = region.remove(sortKey, input);
+				if (!region.complete && region.buffer.getCurrentTopNum() < rankEnd) {
+					fill(region);
+				}
+				if (rank > 0) {
+					retractRecordWithRowNumber(region.buffer, rank, input, out);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void onTimer(
+			long timestamp,
+			OnTimerContext ctx,
+			Collector<BaseRow> out) throws Exception {
+		if (stateCleaningEnabled) {
+			// cleanup cache
+			kvTopRegions.remove(keyContext.getCurrentKey());
+			cleanupState(dataState);
+		}
+	}
+
+	private TopRegion getTopRegion() throws Exception {
+		requestCount += 1;
+		BaseRow currentKey = (BaseRow) keyContext.getCurrentKey();
+		TopRegion region = kvTopRegions.get(currentKey);
+		if (region == null) {
+			region = new TopRegion(new TopNBuffer(sortKeyComparator, ArrayList::new));
+			fill(region);
+			kvTopRegions.put(currentKey, region);
+		} else {
+			hitCount += 1;
+		}
+		return region;
+	}
+
+	/**
+	 * Adds the records which follow the given region in state to it, until it covers the rank end or
+	 * all the records of the partition.
+	 */
+	private void fill(TopRegion region) throws Exception {
+		TopNBuffer buffer = region.buffer;
+		Map.Entry<BaseRow, Collection<BaseRow>> lastEntry = buffer.lastEntry();
+		BaseRow lastKey = lastEntry == null ? null : lastEntry.getKey();
+		boolean complete = true;
+		Iterator<Map.Entry<BaseRow, List<BaseRow>>> iter = dataState.iterator();
+		while (iter != null && iter.hasNext()) {
+			Map.Entry<BaseRow, List<BaseRow>> entry = iter.next();
+			BaseRow sortKey = entry.getKey();
+			if (lastKey != null && sortKeyComparator.compare(sortKey, lastKey) <= 0) {
+				// already in the region
+				continue;
+			}
+			if (orderedState && buffer.getCurrentTopNum() >= rankEnd) {
+				// the following records all sort after the region
+				complete = false;
+				break;
+			}
+			buffer.putAll(sortKey, new ArrayList<>(entry.getValue()));
+			if (region.shrink()) {
+				complete = false;
+			}
+		}
+		region.complete = complete;
+	}
+
+	private BaseRow removeRecord(List<BaseRow> records, BaseRow input) {
+		Iterator<BaseRow> iter = records.iterator();
+		while (iter.hasNext()) {
+			BaseRow record = iter.next();
+			if (equaliser.equalsWithoutHeader(record, input)) {
+				iter.remove();
+				return record;
+			}
+		}
+		return null;
+	}
+
+	// ------------- ROW_NUMBER-------------------------------
+
+	private void retractRecordWithRowNumber(
+			TopNBuffer buffer, long retractedRank, BaseRow inputRow, Collector<BaseRow> out) {
+		delete(out, inputRow, retractedRank);
+		long curRank = 0L;
+		Iterator<Map.Entry<BaseRow, Collection<BaseRow>>> iterator = buffer.entrySet().iterator();
+		while (iterator.hasNext() && isInRankEnd(curRank)) {
+			Collection<BaseRow> records = iterator.next().getValue();
+			if (curRank + records.size() < retractedRank) {
+				curRank += records.size();
+				continue;
+			}
+			Iterator<BaseRow> recordsIter = records.iterator();
+			while (recordsIter.hasNext() && isInRankEnd(curRank)) {
+				curRank += 1;
+				BaseRow prevRow = recordsIter.next();
+				if (curRank >= retractedRank) {
+					retract(out, prevRow, curRank + 1);
+					collect(out, prevRow, curRank);
+				}
+			}
+		}
+	}
+
+	private void emitRecordsWithRowNumber(
+			TopNBuffer buffer, BaseRow sortKey, BaseRow inputRow, Collector<BaseRow> out) {
+		Iterator<Map.Entry<BaseRow, Collection<BaseRow>>> iterator = buffer.entrySet().iterator();
+		long curRank = 0L;
+		boolean findsSortKey = false;
+		while (iterator.hasNext() && isInRankEnd(curRank)) {
+			Map.Entry<BaseRow, Collection<BaseRow>> entry = iterator.next();
+			Collection<BaseRow> records = entry.getValue();
+			if (!findsSortKey && sortKeyComparator.compare(entry.getKey(), sortKey) == 0) {
+				curRank += records.size();
+				collect(out, inputRow, curRank);
+				findsSortKey = true;
+			} else if (findsSortKey) {
+				Iterator<BaseRow> recordsIter = records.iterator();
+				while (recordsIter.hasNext() && isInRankEnd(curRank)) {
+					curRank += 1;
+					BaseRow prevRow = recordsIter.next();
+					retract(out, prevRow, curRank - 1);
+					collect(out, prevRow, curRank);
+				}
+			} else {
+				curRank += records.size();
+			}
+		}
+	}
+
+	/**
+	 * The records of a partition which sort first, i.e. a prefix of its records in state. The region
+	 * holds at least the records up to the rank end, unless it is complete, i.e. holds all records.
+	 */
+	private final class TopRegion {
+
+		private final TopNBuffer buffer;
+		private boolean complete;
+
+		private TopRegion(TopNBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		/**
+		 * Whether a record of the given sort key belongs to the region.
+		 */
+		private boolean covers(BaseRow sortKey) {
+			if (complete) {
+				return true;
+			}
+			Map.Entry<BaseRow, Collection<BaseRow>> lastEntry = buffer.lastEntry();
+			return lastEntry != null && sortKeyComparator.compare(sortKey, lastEntry.getKey()) <= 0;
+		}
+
+		/**
+		 * Drops the last sort keys whose records are not needed to cover the rank end.
+		 *
+		 * @return true if any sort key was dropped.
+		 */
+		private boolean shrink() {
+			boolean shrunk = false;
+			Map.Entry<BaseRow, Collection<BaseRow>> lastEntry = buffer.lastEntry();
+			while (lastEntry != null && buffer.getCurrentTopNum() - lastEntry.getValue().size() >= rankEnd) {
+				buffer.removeAll(lastEntry.getKey());
+				shrunk = true;
+				lastEntry = buffer.lastEntry();
+			}
+			if (shrunk) {
+				complete = false;
+			}
+			return shrunk;
+		}
+
+		/**
+		 * Removes the given record from the region.
+		 *
+		 * @return the rank the record had, or -1 if it is not in the region.
+		 */
+		private long remove(BaseRow sortKey, BaseRow record) {
+			long rank = 0L;
+			for (Map.Entry<BaseRow, Collection<BaseRow>> entry : buffer.entrySet()) {
+				if (sortKeyComparator.compare(entry.getKey(), sortKey) != 0) {
+					rank += entry.getValue().size();
+					continue;
+				}
+				for (BaseRow prevRow : entry.getValue()) {
+					rank += 1;
+					if (equaliser.equalsWithoutHeader(prevRow, record)) {
+						buffer.remove(sortKey, prevRow);
+						return rank;
+					}
+				}
+				return -1;
+			}
+			return -1;
+		}
+	}
+}
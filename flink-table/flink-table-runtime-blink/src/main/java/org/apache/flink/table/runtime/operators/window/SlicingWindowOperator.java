@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.window;
+
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Meter;
+import org.apache.flink.metrics.MeterView;
+import org.apache.flink.runtime.state.internal.InternalValueState;
+import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
+import org.apache.flink.streaming.api.operators.ChainingStrategy;
+import org.apache.flink.streaming.api.operators.InternalTimer;
+import org.apache.flink.streaming.api.operators.InternalTimerService;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.api.operators.TimestampedCollector;
+import org.apache.flink.streaming.api.operators.Triggerable;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.JoinedRow;
+import org.apache.flink.table.dataformat.util.BaseRowUtil;
+import org.apache.flink.table.runtime.dataview.PerWindowStateDataViewStore;
+import org.apache.flink.table.runtime.generated.CompileUtils;
+import org.apache.flink.table.runtime.generated.GeneratedNamespaceAggsHandleFunction;
+import org.apache.flink.table.runtime.generated.NamespaceAggsHandleFunction;
+import org.apache.flink.table.runtime.operators.window.assigners.SlidingWindowAssigner;
+import org.apache.flink.table.runtime.typeutils.BaseRowStateSerializer;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * An operator that aggregates sliding time windows on slices.
+ *
+ * <p>Each sliding window is cut into panes (slices) of size {@code gcd(size, slide)} which do not
+ * overlap, see {@link SlidingWindowAssigner#assignPane(Object, long)}. An input record is only
+ * accumulated into the accumulators of its pane, and a window merges the accumulators of all its
+ * panes when it fires. Different from the {@link WindowOperator}, which also keeps the state per
+ * pane, a record does not need to visit every window it belongs to: only a single timer is
+ * registered for the first window of the pane which has not fired yet, and the timer of the next
+ * window is registered when a window fires and some of its panes still belong to the next one.
+ * The cost of a record is therefore independent of the ratio of window size and slide.
+ *
+ * <p>The operator only supports windows which fire once at the end of the window, i.e. without
+ * early or late firing and without allowed lateness.
+ *
+ * <p>The parameter types:
+ * {@code <IN>}: BaseRow
+ * {@code <OUT>}: JoinedRow(KEY, AGG_RESULT)
+ *
+ * @param <K> The type of key returned by the {@code KeySelector}.
+ */
+public class SlicingWindowOperator<K>
+		extends AbstractStreamOperator<BaseRow>
+		implements OneInputStreamOperator<BaseRow, BaseRow>, Triggerable<K, TimeWindow> {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final String LATE_ELEMENTS_DROPPED_METRIC_NAME = "numLateRecordsDropped";
+	private static final String LATE_ELEMENTS_DROPPED_RATE_METRIC_NAME = "lateRecordsDroppedRate";
+
+	private final SlidingWindowAssigner windowAssigner;
+
+	/**
+	 * Accumulates the input rows into the accumulators of a pane, and merges the panes of a window.
+	 */
+	private final GeneratedNamespaceAggsHandleFunction<TimeWindow> generatedWindowAggregator;
+
+	private final LogicalType[] accumulatorTypes;
+
+	/** The index of the rowtime of the input rows, or -1 in processing time. */
+	private final int rowtimeIndex;
+
+	// --------------------------------------------------------------------------------
+
+	private transient NamespaceAggsHandleFunction<TimeWindow> windowAggregator;
+
+	private transient TypeSerializer<TimeWindow> windowSerializer;
+
+	private transient InternalTimerService<TimeWindow> internalTimerService;
+
+	private transient BaseRowStateSerializer accSerializer;
+
+	private transient InternalValueState<K, TimeWindow, BaseRow> paneState;
+
+	/** This is used for emitting elements with a given timestamp. */
+	private transient TimestampedCollector<BaseRow> collector;
+
+	private transient JoinedRow reuseOutput;
+
+	/** Flag to prevent duplicate function.close() calls in close() and dispose(). */
+	private transient boolean functionsClosed = false;
+
+	private transient Counter numLateRecordsDropped;
+	private transient Meter lateRecordsDroppedRate;
+
+	/**
+	 * Creates a {@link SlicingWindowOperator} which aggregates the input rows.
+	 *
+	 * @param generatedWindowAggregator The aggregator which accumulates input rows and merges panes
+	 * @param windowAssigner The sliding window assigner
+	 * @param accumulatorTypes The accumulator types
+	 * @param rowtimeIndex The index of the rowtime, or -1 in processing time
+	 */
+	public SlicingWindowOperator(
+			GeneratedNamespaceAggsHandleFunction<TimeWindow> generatedWindowAggregator,
+			SlidingWindowAssigner windowAssigner,
+			LogicalType[] accumulatorTypes,
+			int rowtimeIndex) {
+		// rowtime index should >= 0 when in event time mode
+		checkArgument(!windowAssigner.isEventTime() || rowtimeIndex >= 0);
+		this.generatedWindowAggregator = checkNotNull(generatedWindowAggregator);
+		this.windowAssigner = checkNotNull(windowAssigner);
+		this.accumulatorTypes = checkNotNull(accumulatorTypes);
+		this.rowtimeIndex = rowtimeIndex;
+
+		setChainingStrategy(ChainingStrategy.ALWAYS);
+	}
+
+	@Override
+	public void open() throws Exception {
+		super.open();
+		CompileUtils.initialize(getContainingTask().getEnvironment());
+
+		collector = new TimestampedCollector<>(output);
+		collector.eraseTimestamp();
+
+		windowSerializer = windowAssigner.getWindowSerializer(getExecutionConfig());
+		internalTimerService = getInternalTimerService("window-timers", windowSerializer, this);
+
+		accSerializer = new BaseRowStateSerializer(getExecutionConfig(), accumulatorTypes);
+		ValueStateDescriptor<BaseRow> paneStateDescriptor = new ValueStateDescriptor<>("pane-aggs", accSerializer);
+		paneState = (InternalValueState<K, TimeWindow, BaseRow>) getOrCreateKeyedState(
+			windowSerializer, paneStateDescriptor);
+
+		ClassLoader classLoader = getRuntimeContext().getUserCodeClassLoader();
+		PerWindowStateDataViewStore dataViewStore = new PerWindowStateDataViewStore(
+			getKeyedStateBackend(),
+			windowSerializer,
+			getRuntimeContext());
+		windowAggregator = generatedWindowAggregator.newInstance(classLoader);
+		windowAggregator.open(dataViewStore);
+
+		reuseOutput = new JoinedRow();
+
+		// metrics
+		this.numLateRecordsDropped = metrics.counter(LATE_ELEMENTS_DROPPED_METRIC_NAME);
+		this.lateRecordsDroppedRate = metrics.meter(
+			LATE_ELEMENTS_DROPPED_RATE_METRIC_NAME,
+			new MeterView(numLateRecordsDropped, 60));
+	}
+
+	@Override
+	public void close() throws Exception {
+		super.close();
+		collector = null;
+		functionsClosed = true;
+		closeFunctions();
+	}
+
+	@Override
+	public void dispose() throws Exception {
+		super.dispose();
+		collector = null;
+		if (!functionsClosed) {
+			functionsClosed = true;
+			closeFunctions();
+		}
+	}
+
+	private void closeFunctions() throws Exception {
+		if (windowAggregator != null) {
+			windowAggregator.close();
+		}
+	}
+
+	@Override
+	public void processElement(StreamRecord<BaseRow> record) throws Exception {
+		BaseRow inputRow = record.getValue();
+		TimeWindow pane;
+		if (windowAssigner.isEventTime()) {
+			pane = windowAssigner.assignPane(inputRow, inputRow.getLong(rowtimeIndex));
+		} else {
+			pane = windowAssigner.assignPane(inputRow, internalTimerService.currentProcessingTime());
+		}
+
+		if (isWindowLate(windowAssigner.getLastWindow(pane))) {
+			// markEvent will increase numLateRecordsDropped
+			lateRecordsDroppedRate.markEvent();
+			return;
+		}
+
+		paneState.setCurrentNamespace(pane);
+		BaseRow acc = paneState.value();
+		if (acc == null) {
+			acc = windowAggregator.createAccumulators();
+		}
+		windowAggregator.setAccumulators(pane, acc);
+		if (BaseRowUtil.isAccumulateMsg(inputRow)) {
+			windowAggregator.accumulate(inputRow);
+		} else {
+			windowAggregator.retract(inputRow);
+		}
+		acc = windowAggregator.getAccumulators();
+		paneState.update(accSerializer.toCompactRow(acc));
+
+		// only the first window of the pane which has not fired yet needs a timer,
+		// the timers of the later windows are registered when their previous window fires
+		TimeWindow window = windowAssigner.getFirstWindow(pane);
+		while (isWindowLate(window)) {
+			window = windowAssigner.getNextWindow(window);
+		}
+		registerTimer(window);
+	}
+
+	@Override
+	public void onEventTime(InternalTimer<K, TimeWindow> timer) throws Exception {
+		setCurrentKey(timer.getKey());
+		fireWindow(timer.getNamespace());
+	}
+
+	@Override
+	public void onProcessingTime(InternalTimer<K, TimeWindow> timer) throws Exception {
+		setCurrentKey(timer.getKey());
+		fireWindow(timer.getNamespace());
+	}
+
+	/**
+	 * Merges the panes of the given window and emits the result. The panes which do not belong to
+	 * any later window are cleaned up, and the timer of the next window is registered if some panes
+	 * belong to it.
+	 */
+	private void fireWindow(TimeWindow window) throws Exception {
+		TimeWindow nextWindow = windowAssigner.getNextWindow(window);
+		boolean hasNextWindow = false;
+
+		BaseRow acc = windowAggregator.createAccumulators();
+		// null namespace means use heap data views
+		windowAggregator.setAccumulators(null, acc);
+		for (TimeWindow pane : windowAssigner.splitIntoPanes(window)) {
+			paneState.setCurrentNamespace(pane);
+			BaseRow paneAcc = paneState.value();
+			if (paneAcc == null) {
+				continue;
+			}
+			windowAggregator.merge(pane, paneAcc);
+			if (pane.getStart() >= nextWindow.getStart()) {
+				hasNextWindow = true;
+			} else {
+				// the window is the last window of the pane
+				paneState.clear();
+				windowAggregator.cleanup(pane);
+			}
+		}
+
+		BaseRow aggResult = windowAggregator.getValue(window);
+		reuseOutput.replace((BaseRow) getCurrentKey(), aggResult);
+		// no need to set header
+		collector.collect(reuseOutput);
+
+		if (hasNextWindow) {
+			registerTimer(nextWindow);
+		}
+	}
+
+	private void registerTimer(TimeWindow window) {
+		if (windowAssigner.isEventTime()) {
+			internalTimerService.registerEventTimeTimer(window, window.maxTimestamp());
+		} else {
+			internalTimerService.registerProcessingTimeTimer(window, window.maxTimestamp());
+		}
+	}
+
+	/** Returns true if the watermark is after the end timestamp of the event time window. */
+	private boolean isWindowLate(TimeWindow window) {
+		return windowAssigner.isEventTime() && window.maxTimestamp() <= internalTimerService.currentWatermark();
+	}
+
+	// ------------------------------------------------------------------------------
+	// Visible For Testing
+	// ------------------------------------------------------------------------------
+
+	protected Counter getNumLateRecordsDropped() {
+		return numLateRecordsDropped;
+	}
+}
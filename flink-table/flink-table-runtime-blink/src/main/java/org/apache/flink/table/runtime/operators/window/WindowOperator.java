@@ -44,6 +44,7 @@ import org.apache.flink.table.dataformat.BaseRow;
 import org.apache.flink.table.dataformat.JoinedRow;
 import org.apache.flink.table.dataformat.util.BaseRowUtil;
 import org.apache.flink.table.runtime.dataview.PerWindowStateDataViewStore;
+import org.apache.flink.table.runtime.generated.CompileUtils;
 import org.apache.flink.table.runtime.generated.GeneratedNamespaceAggsHandleFunction;
 import org.apache.flink.table.runtime.generated.GeneratedRecordEqualiser;
 import org.apache.flink.table.runtime.generated.NamespaceAggsHandleFunction;
@@ -246,6 +247,7 @@ public class WindowOperator<K, W extends Window>
 	@Override
 	public void open() throws Exception {
 		super.open();
+		CompileUtils.initialize(getContainingTask().getEnvironment());
 
 		collector = new TimestampedCollector<>(output);
 		collector.eraseTimestamp();
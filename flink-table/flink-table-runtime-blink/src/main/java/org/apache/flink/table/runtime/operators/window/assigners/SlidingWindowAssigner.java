@@ -94,6 +94,22 @@ public class SlidingWindowAssigner extends PanedWindowAssigner<TimeWindow> imple
 		return new TimeWindow(lastStart, lastStart + size);
 	}
 
+	/**
+	 * Gets the first window which the pane belongs to.
+	 */
+	public TimeWindow getFirstWindow(TimeWindow pane) {
+		long lastEnd = getLastWindow(pane).getEnd();
+		long firstEnd = lastEnd - (lastEnd - pane.getStart() - 1) / slide * slide;
+		return new TimeWindow(firstEnd - size, firstEnd);
+	}
+
+	/**
+	 * Gets the window which slides right after the given window.
+	 */
+	public TimeWindow getNextWindow(TimeWindow window) {
+		return new TimeWindow(window.getStart() + slide, window.getEnd() + slide);
+	}
+
 	@Override
 	public TypeSerializer<TimeWindow> getWindowSerializer(ExecutionConfig executionConfig) {
 		return new TimeWindow.Serializer();
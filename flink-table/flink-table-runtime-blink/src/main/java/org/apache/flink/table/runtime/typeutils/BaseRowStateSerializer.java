@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.typeutils;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.BinaryRow;
+import org.apache.flink.table.runtime.types.InternalSerializers;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Serializer for {@link BaseRow} keys and values of keyed state.
+ *
+ * <p>The serialized form is the same as the one of {@link BaseRowSerializer}, so both serializers
+ * are compatible with each other. In addition:
+ * <ul>
+ *     <li>Rows are deserialized without copying when read from a {@link DataInputDeserializer},
+ *     which is how the RocksDB state backend reads the bytes it gets for every access. The
+ *     returned {@link BinaryRow} points to the bytes of that deserializer, so this serializer must
+ *     only be used where those bytes are not reused afterwards, i.e. for state.</li>
+ *     <li>{@link #toCompactRow(BaseRow)} converts rows of fixed-length fields to {@link BinaryRow}
+ *     before they are put into the heap state backend, which keeps them in one byte array instead
+ *     of a tree of boxed objects. The RocksDB state backend then writes them without conversion.</li>
+ * </ul>
+ */
+public class BaseRowStateSerializer extends BaseRowSerializer {
+
+	private static final long serialVersionUID = 1L;
+
+	private final LogicalType[] types;
+	private final TypeSerializer[] fieldSerializers;
+	private final boolean fixedLength;
+
+	public BaseRowStateSerializer(ExecutionConfig config, LogicalType... types) {
+		this(types, Arrays.stream(types)
+			.map((LogicalType type) -> InternalSerializers.create(type, config))
+			.toArray(TypeSerializer[]::new));
+	}
+
+	public BaseRowStateSerializer(LogicalType[] types, TypeSerializer[] fieldSerializers) {
+		super(types, fieldSerializers);
+		this.types = types;
+		this.fieldSerializers = fieldSerializers;
+		this.fixedLength = Arrays.stream(types).allMatch(BinaryRow::isInFixedLengthPart);
+	}
+
+	@Override
+	public TypeSerializer<BaseRow> duplicate() {
+		return new BaseRowStateSerializer(types, fieldSerializers);
+	}
+
+	@Override
+	public BaseRow deserialize(DataInputView source) throws IOException {
+		if (source instanceof DataInputDeserializer) {
+			DataInputDeserializer input = (DataInputDeserializer) source;
+			int length = input.readInt();
+			int offset = input.getPosition();
+			if (length < 0 || length > input.available()) {
+				throw new IOException("Invalid length of serialized row: " + length);
+			}
+			input.skipBytesToRead(length);
+			BinaryRow row = new BinaryRow(types.length);
+			row.pointTo(MemorySegmentFactory.wrap(input.getBuffer()), offset, length);
+			return row;
+		}
+		return super.deserialize(source);
+	}
+
+	@Override
+	public BaseRow copy(BaseRow from) {
+		if (from instanceof BinaryRow || !fixedLength) {
+			return super.copy(from);
+		}
+		return toCompactRow(from);
+	}
+
+	/**
+	 * Converts the given row to a {@link BinaryRow} if it is not one yet and all of its fields are
+	 * of fixed length, so it can be stored compactly. Rows with variable-length fields are
+	 * returned as they are, as converting them on every write would not pay off on heap.
+	 *
+	 * <p>The returned row does not share memory with the given row or with this serializer.
+	 */
+	public BaseRow toCompactRow(BaseRow row) {
+		if (row instanceof BinaryRow || !fixedLength) {
+			return row;
+		}
+		return toBinaryRow(row).copy();
+	}
+}
@@ -0,0 +1,444 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.typeutils;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.api.java.typeutils.runtime.DataInputViewStream;
+import org.apache.flink.api.java.typeutils.runtime.DataOutputViewStream;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.BinaryRow;
+import org.apache.flink.table.dataformat.BinaryRowWriter;
+import org.apache.flink.table.dataformat.BinaryString;
+import org.apache.flink.table.dataformat.Decimal;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.util.InstantiationUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Serializer for sort keys whose serialized bytes compare, unsigned and lexicographically, like
+ * the keys themselves compare under the given sort order. State backends which keep their keys
+ * sorted by bytes, like RocksDB, therefore iterate a map state with this key serializer in the
+ * sort order of the keys.
+ *
+ * <p>Every field is written as one null byte, which puts nulls first or last as configured,
+ * followed by the bytes of the non-null value. Numbers are written big-endian with the sign bit
+ * flipped, strings and binaries are written with their zero bytes escaped and a terminator, so
+ * that no value is a prefix of another one. The bytes of the values of descending fields are
+ * inverted. The serialized form has no length prefix, as it would break the order.
+ *
+ * <p>Only types for which {@link #isSupported(LogicalType)} holds can be serialized. Rows are
+ * deserialized to {@link BinaryRow}s.
+ */
+public final class SortKeySerializer extends TypeSerializer<BaseRow> {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final int NULL_FIRST = 0x00;
+	private static final int NOT_NULL = 0x01;
+	private static final int NULL_LAST = 0x02;
+
+	private static final int ESCAPE = 0x00;
+	private static final int ESCAPED_ZERO = 0xFF;
+	private static final int TERMINATOR = 0x01;
+
+	private final LogicalType[] types;
+	private final boolean[] ascending;
+	private final boolean[] nullsIsLast;
+
+	private transient BinaryRow reuseRow;
+	private transient BinaryRowWriter reuseWriter;
+	private transient ByteArrayOutputStream reuseBytes;
+
+	public SortKeySerializer(LogicalType[] types, boolean[] ascending, boolean[] nullsIsLast) {
+		checkArgument(types.length == ascending.length && types.length == nullsIsLast.length);
+		for (LogicalType type : types) {
+			checkArgument(isSupported(type), "Sort keys of type %s are not supported.", type);
+		}
+		this.types = types;
+		this.ascending = ascending;
+		this.nullsIsLast = nullsIsLast;
+	}
+
+	/**
+	 * Whether values of the given type can be written in a form that compares like the values.
+	 */
+	public static boolean isSupported(LogicalType type) {
+		switch (type.getTypeRoot()) {
+			case BOOLEAN:
+			case TINYINT:
+			case SMALLINT:
+			case INTEGER:
+			case DATE:
+			case TIME_WITHOUT_TIME_ZONE:
+			case INTERVAL_YEAR_MONTH:
+			case BIGINT:
+			case TIMESTAMP_WITHOUT_TIME_ZONE:
+			case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+			case INTERVAL_DAY_TIME:
+			case FLOAT:
+			case DOUBLE:
+			case CHAR:
+			case VARCHAR:
+			case BINARY:
+			case VARBINARY:
+				return true;
+			case DECIMAL:
+				return Decimal.isCompact(((DecimalType) type).getPrecision());
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Whether values of all the given types can be written in a form that compares like the values.
+	 */
+	public static boolean isSupported(LogicalType[] types) {
+		return Arrays.stream(types).allMatch(SortKeySerializer::isSupported);
+	}
+
+	@Override
+	public boolean isImmutableType() {
+		return false;
+	}
+
+	@Override
+	public TypeSerializer<BaseRow> duplicate() {
+		return new SortKeySerializer(types, ascending, nullsIsLast);
+	}
+
+	@Override
+	public BaseRow createInstance() {
+		return new BinaryRow(types.length);
+	}
+
+	@Override
+	public BaseRow copy(BaseRow from) {
+		if (from instanceof BinaryRow) {
+			return ((BinaryRow) from).copy();
+		}
+		// goes through the serialized form, rows which are not binary are rare here
+		try {
+			DataOutputSerializer out = new DataOutputSerializer(64);
+			serialize(from, out);
+			return deserialize(new DataInputDeserializer(out.getSharedBuffer(), 0, out.length()));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	public BaseRow copy(BaseRow from, BaseRow reuse) {
+		return copy(from);
+	}
+
+	@Override
+	public int getLength() {
+		return -1;
+	}
+
+	@Override
+	public void serialize(BaseRow row, DataOutputView target) throws IOException {
+		for (int i = 0; i < types.length; i++) {
+			if (row.isNullAt(i)) {
+				target.writeByte(nullsIsLast[i] ? NULL_LAST : NULL_FIRST);
+				continue;
+			}
+			target.writeByte(NOT_NULL);
+			int mask = ascending[i] ? 0 : 0xFF;
+			LogicalType type = types[i];
+			switch (type.getTypeRoot()) {
+				case BOOLEAN:
+					target.writeByte((row.getBoolean(i) ? 1 : 0) ^ mask);
+					break;
+				case TINYINT:
+					target.writeByte((row.getByte(i) ^ 0x80) ^ mask);
+					break;
+				case SMALLINT:
+					writeBigEndian(target, row.getShort(i) ^ Short.MIN_VALUE, 2, mask);
+					break;
+				case INTEGER:
+				case DATE:
+				case TIME_WITHOUT_TIME_ZONE:
+				case INTERVAL_YEAR_MONTH:
+					writeBigEndian(target, row.getInt(i) ^ Integer.MIN_VALUE, 4, mask);
+					break;
+				case BIGINT:
+				case TIMESTAMP_WITHOUT_TIME_ZONE:
+				case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+				case INTERVAL_DAY_TIME:
+					writeBigEndian(target, row.getLong(i) ^ Long.MIN_VALUE, 8, mask);
+					break;
+				case FLOAT:
+					int intBits = Float.floatToIntBits(row.getFloat(i));
+					writeBigEndian(target, intBits ^ ((intBits >> 31) | Integer.MIN_VALUE), 4, mask);
+					break;
+				case DOUBLE:
+					long longBits = Double.doubleToLongBits(row.getDouble(i));
+					writeBigEndian(target, longBits ^ ((longBits >> 63) | Long.MIN_VALUE), 8, mask);
+					break;
+				case DECIMAL:
+					DecimalType decimalType = (DecimalType) type;
+					long unscaled = row.getDecimal(i, decimalType.getPrecision(), decimalType.getScale())
+						.toUnscaledLong();
+					writeBigEndian(target, unscaled ^ Long.MIN_VALUE, 8, mask);
+					break;
+				case CHAR:
+				case VARCHAR:
+					writeEscaped(target, row.getString(i).getBytes(), mask);
+					break;
+				case BINARY:
+				case VARBINARY:
+					writeEscaped(target, row.getBinary(i), mask);
+					break;
+				default:
+					throw new UnsupportedOperationException("Unsupported type: " + type);
+			}
+		}
+	}
+
+	@Override
+	public BaseRow deserialize(DataInputView source) throws IOException {
+		if (reuseRow == null) {
+			reuseRow = new BinaryRow(types.length);
+			reuseWriter = new BinaryRowWriter(reuseRow);
+			reuseBytes = new ByteArrayOutputStream();
+		}
+		reuseWriter.reset();
+		for (int i = 0; i < types.length; i++) {
+			if (source.readUnsignedByte() != NOT_NULL) {
+				reuseWriter.setNullAt(i);
+				continue;
+			}
+			int mask = ascending[i] ? 0 : 0xFF;
+			LogicalType type = types[i];
+			switch (type.getTypeRoot()) {
+				case BOOLEAN:
+					reuseWriter.writeBoolean(i, (source.readUnsignedByte() ^ mask) != 0);
+					break;
+				case TINYINT:
+					reuseWriter.writeByte(i, (byte) ((source.readUnsignedByte() ^ mask) ^ 0x80));
+					break;
+				case SMALLINT:
+					reuseWriter.writeShort(i, (short) (readBigEndian(source, 2, mask) ^ Short.MIN_VALUE));
+					break;
+				case INTEGER:
+				case DATE:
+				case TIME_WITHOUT_TIME_ZONE:
+				case INTERVAL_YEAR_MONTH:
+					reuseWriter.writeInt(i, (int) readBigEndian(source, 4, mask) ^ Integer.MIN_VALUE);
+					break;
+				case BIGINT:
+				case TIMESTAMP_WITHOUT_TIME_ZONE:
+				case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+				case INTERVAL_DAY_TIME:
+					reuseWriter.writeLong(i, readBigEndian(source, 8, mask) ^ Long.MIN_VALUE);
+					break;
+				case FLOAT:
+					int intBits = (int) readBigEndian(source, 4, mask);
+					intBits = intBits < 0 ? intBits ^ Integer.MIN_VALUE : ~intBits;
+					reuseWriter.writeFloat(i, Float.intBitsToFloat(intBits));
+					break;
+				case DOUBLE:
+					long longBits = readBigEndian(source, 8, mask);
+					longBits = longBits < 0 ? longBits ^ Long.MIN_VALUE : ~longBits;
+					reuseWriter.writeDouble(i, Double.longBitsToDouble(longBits));
+					break;
+				case DECIMAL:
+					DecimalType decimalType = (DecimalType) type;
+					long unscaled = readBigEndian(source, 8, mask) ^ Long.MIN_VALUE;
+					reuseWriter.writeDecimal(
+						i,
+						Decimal.fromUnscaledLong(decimalType.getPrecision(), decimalType.getScale(), unscaled),
+						decimalType.getPrecision());
+					break;
+				case CHAR:
+				case VARCHAR:
+					reuseWriter.writeString(i, BinaryString.fromBytes(readEscaped(source, mask)));
+					break;
+				case BINARY:
+				case VARBINARY:
+					reuseWriter.writeBinary(i, readEscaped(source, mask));
+					break;
+				default:
+					throw new UnsupportedOperationException("Unsupported type: " + type);
+			}
+		}
+		reuseWriter.complete();
+		return reuseRow.copy();
+	}
+
+	@Override
+	public BaseRow deserialize(BaseRow reuse, DataInputView source) throws IOException {
+		return deserialize(source);
+	}
+
+	@Override
+	public void copy(DataInputView source, DataOutputView target) throws IOException {
+		serialize(deserialize(source), target);
+	}
+
+	private static void writeBigEndian(DataOutputView target, long value, int numBytes, int mask)
+			throws IOException {
+		for (int shift = (numBytes - 1) * 8; shift >= 0; shift -= 8) {
+			target.writeByte((int) (value >>> shift) ^ mask);
+		}
+	}
+
+	private static long readBigEndian(DataInputView source, int numBytes, int mask) throws IOException {
+		long value = 0;
+		for (int i = 0; i < numBytes; i++) {
+			value = (value << 8) | (source.readUnsignedByte() ^ mask);
+		}
+		// sign-extend, so that narrower values can be cast back
+		int unused = 64 - numBytes * 8;
+		return (value << unused) >> unused;
+	}
+
+	private static void writeEscaped(DataOutputView target, byte[] bytes, int mask) throws IOException {
+		for (byte b : bytes) {
+			if (b == 0) {
+				target.writeByte(ESCAPE ^ mask);
+				target.writeByte(ESCAPED_ZERO ^ mask);
+			} else {
+				target.writeByte(b ^ mask);
+			}
+		}
+		target.writeByte(ESCAPE ^ mask);
+		target.writeByte(TERMINATOR ^ mask);
+	}
+
+	private byte[] readEscaped(DataInputView source, int mask) throws IOException {
+		reuseBytes.reset();
+		while (true) {
+			int b = source.readUnsignedByte() ^ mask;
+			if (b != ESCAPE) {
+				reuseBytes.write(b);
+			} else if ((source.readUnsignedByte() ^ mask) == ESCAPED_ZERO) {
+				reuseBytes.write(0);
+			} else {
+				return reuseBytes.toByteArray();
+			}
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof SortKeySerializer) {
+			SortKeySerializer other = (SortKeySerializer) obj;
+			return Arrays.equals(types, other.types) &&
+				Arrays.equals(ascending, other.ascending) &&
+				Arrays.equals(nullsIsLast, other.nullsIsLast);
+		}
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * Arrays.hashCode(types) + Arrays.hashCode(ascending)) + Arrays.hashCode(nullsIsLast);
+	}
+
+	@Override
+	public TypeSerializerSnapshot<BaseRow> snapshotConfiguration() {
+		return new SortKeySerializerSnapshot(types, ascending, nullsIsLast);
+	}
+
+	/**
+	 * {@link TypeSerializerSnapshot} for {@link SortKeySerializer}.
+	 */
+	public static final class SortKeySerializerSnapshot implements TypeSerializerSnapshot<BaseRow> {
+
+		private static final int CURRENT_VERSION = 1;
+
+		private LogicalType[] previousTypes;
+		private boolean[] previousAscending;
+		private boolean[] previousNullsIsLast;
+
+		@SuppressWarnings("unused")
+		public SortKeySerializerSnapshot() {
+			// this constructor is used when restoring from a checkpoint/savepoint.
+		}
+
+		SortKeySerializerSnapshot(LogicalType[] types, boolean[] ascending, boolean[] nullsIsLast) {
+			this.previousTypes = types;
+			this.previousAscending = ascending;
+			this.previousNullsIsLast = nullsIsLast;
+		}
+
+		@Override
+		public int getCurrentVersion() {
+			return CURRENT_VERSION;
+		}
+
+		@Override
+		public void writeSnapshot(DataOutputView out) throws IOException {
+			out.writeInt(previousTypes.length);
+			DataOutputViewStream stream = new DataOutputViewStream(out);
+			for (int i = 0; i < previousTypes.length; i++) {
+				InstantiationUtil.serializeObject(stream, previousTypes[i]);
+				out.writeBoolean(previousAscending[i]);
+				out.writeBoolean(previousNullsIsLast[i]);
+			}
+		}
+
+		@Override
+		public void readSnapshot(int readVersion, DataInputView in, ClassLoader userCodeClassLoader)
+				throws IOException {
+			int length = in.readInt();
+			DataInputViewStream stream = new DataInputViewStream(in);
+			previousTypes = new LogicalType[length];
+			previousAscending = new boolean[length];
+			previousNullsIsLast = new boolean[length];
+			for (int i = 0; i < length; i++) {
+				try {
+					previousTypes[i] = InstantiationUtil.deserializeObject(stream, userCodeClassLoader);
+				} catch (ClassNotFoundException e) {
+					throw new IOException(e);
+				}
+				previousAscending[i] = in.readBoolean();
+				previousNullsIsLast[i] = in.readBoolean();
+			}
+		}
+
+		@Override
+		public TypeSerializer<BaseRow> restoreSerializer() {
+			return new SortKeySerializer(previousTypes, previousAscending, previousNullsIsLast);
+		}
+
+		@Override
+		public TypeSerializerSchemaCompatibility<BaseRow> resolveSchemaCompatibility(
+				TypeSerializer<BaseRow> newSerializer) {
+			if (restoreSerializer().equals(newSerializer)) {
+				return TypeSerializerSchemaCompatibility.compatibleAsIs();
+			}
+			return TypeSerializerSchemaCompatibility.incompatible();
+		}
+	}
+}
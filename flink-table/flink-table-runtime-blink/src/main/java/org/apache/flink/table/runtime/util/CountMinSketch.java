@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.util;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A count-min sketch which estimates the frequencies of integer hashes in a fixed memory.
+ *
+ * <p>The sketch holds {@code depth} rows of {@code width} counters. An added hash increments
+ * one counter in each row, and the estimated count of a hash is the minimum of its counters.
+ * The estimation never underestimates the real count, and overestimates it by at most
+ * {@code 2 * total / width} with a probability of {@code 1 - 1 / 2^depth}.
+ *
+ * <p>The counters can be halved by {@link #decay()}, so that the sketch tracks the recent
+ * frequencies of a stream rather than the frequencies since it was created.
+ *
+ * <p>Note: This class is not thread-safe.
+ */
+public class CountMinSketch {
+
+	private final int width;
+	private final int depth;
+	private final long[][] counters;
+
+	/** The number of added hashes, decayed together with the counters. */
+	private long totalCount;
+
+	public CountMinSketch(int width, int depth) {
+		checkArgument(width > 0, "The width of the sketch must be positive.");
+		checkArgument(depth > 0, "The depth of the sketch must be positive.");
+		this.width = width;
+		this.depth = depth;
+		this.counters = new long[depth][width];
+	}
+
+	/**
+	 * Adds the hash and returns its estimated count, including this occurrence.
+	 */
+	public long add(int hash) {
+		long estimate = Long.MAX_VALUE;
+		for (int i = 0; i < depth; i++) {
+			int index = index(hash, i);
+			long count = ++counters[i][index];
+			estimate = Math.min(estimate, count);
+		}
+		totalCount++;
+		return estimate;
+	}
+
+	/**
+	 * Returns the estimated count of the hash.
+	 */
+	public long estimate(int hash) {
+		long estimate = Long.MAX_VALUE;
+		for (int i = 0; i < depth; i++) {
+			estimate = Math.min(estimate, counters[i][index(hash, i)]);
+		}
+		return estimate;
+	}
+
+	/**
+	 * Returns the number of added hashes.
+	 */
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	/**
+	 * Halves all counters, so that the hashes added before count half as much as the hashes
+	 * added afterwards.
+	 */
+	public void decay() {
+		for (long[] row : counters) {
+			for (int i = 0; i < width; i++) {
+				row[i] >>>= 1;
+			}
+		}
+		totalCount >>>= 1;
+	}
+
+	private int index(int hash, int row) {
+		// derives the hash of each row from the hash by a different seed
+		int h = MurmurHashUtil.fmix(hash ^ (MurmurHashUtil.DEFAULT_SEED + row * 0x9e3779b9));
+		return (h & Integer.MAX_VALUE) % width;
+	}
+}
@@ -30,7 +30,11 @@ import org.apache.flink.table.dataformat.vector.heap.HeapShortVector;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -155,6 +159,51 @@ public class VectorizedColumnBatchTest {
 		}
 	}
 
+	@Test
+	public void testSelection() {
+		HeapIntVector col = new HeapIntVector(VECTOR_SIZE);
+		for (int i = 0; i < VECTOR_SIZE; i++) {
+			col.vector[i] = i;
+		}
+
+		VectorizedColumnBatch batch = new VectorizedColumnBatch(new ColumnVector[]{col});
+		batch.setNumRows(VECTOR_SIZE);
+		assertFalse(batch.isSelectedInUse());
+		assertEquals(5, batch.getRowId(5));
+
+		// keep every third row
+		int[] selected = batch.getSelectedForWrite(VECTOR_SIZE);
+		int numSelected = 0;
+		for (int i = 0; i < VECTOR_SIZE; i += 3) {
+			selected[numSelected++] = i;
+		}
+		batch.setSelected(selected, numSelected);
+
+		assertTrue(batch.isSelectedInUse());
+		assertEquals(numSelected, batch.getNumRows());
+		assertEquals(3 * (numSelected - 1) + 1, batch.getPhysicalNumRows());
+		ColumnarRow row = new ColumnarRow(batch);
+		for (int i = 0; i < batch.getNumRows(); i++) {
+			row.setRowId(batch.getRowId(i));
+			assertEquals(3 * i, row.getInt(0));
+		}
+
+		// a larger array for writing keeps the current selection
+		int[] larger = batch.getSelectedForWrite(2 * VectorizedColumnBatch.DEFAULT_SIZE);
+		assertEquals(2 * VectorizedColumnBatch.DEFAULT_SIZE, larger.length);
+		assertArrayEquals(Arrays.copyOf(selected, numSelected), Arrays.copyOf(larger, numSelected));
+
+		batch.clearSelected();
+		batch.setNumRows(VECTOR_SIZE);
+		assertFalse(batch.isSelectedInUse());
+		assertEquals(VECTOR_SIZE, batch.getPhysicalNumRows());
+
+		batch.setSelected(new int[] {1}, 1);
+		batch.reset();
+		assertFalse(batch.isSelectedInUse());
+		assertEquals(0, batch.getNumRows());
+	}
+
 	private final class TestDictionary implements Dictionary {
 		private int[] intDictionary;
 
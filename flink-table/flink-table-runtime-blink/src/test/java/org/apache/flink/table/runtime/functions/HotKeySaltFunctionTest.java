@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.functions;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests for {@link HotKeySaltFunction}.
+ */
+public class HotKeySaltFunctionTest {
+
+	@Test
+	public void testSaltHotKeys() throws Exception {
+		HotKeySaltFunction function = new HotKeySaltFunction(4, 0.1);
+		function.open(null);
+
+		Set<Integer> hotKeySalts = new HashSet<>();
+		Set<Integer> coldKeySalts = new HashSet<>();
+		for (int i = 0; i < 10000; i++) {
+			// half of the records are of the hot key 0
+			if (i % 2 == 0) {
+				hotKeySalts.add(function.eval(0));
+			} else {
+				coldKeySalts.add(function.eval(1 + i % 1000));
+			}
+		}
+		assertEquals(4, hotKeySalts.size());
+		assertEquals(1, coldKeySalts.size());
+		assertEquals(0, (int) coldKeySalts.iterator().next());
+		assertEquals(0, function.eval(null));
+		assertFalse(function.isDeterministic());
+	}
+
+	@Test
+	public void testNoHotKeysBeforeMinRecords() throws Exception {
+		HotKeySaltFunction function = new HotKeySaltFunction(4, 0.1);
+		function.open(null);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(0, function.eval(0));
+		}
+	}
+
+	@Test
+	public void testKeyCoolsDown() throws Exception {
+		HotKeySaltFunction function = new HotKeySaltFunction(4, 0.1);
+		function.open(null);
+		for (int i = 0; i < 10000; i++) {
+			function.eval(0);
+		}
+		// after enough other keys the counts of the key are decayed below the ratio
+		for (int i = 0; i < 500000; i++) {
+			function.eval(1 + i % 10000);
+		}
+		assertEquals(0, function.eval(0));
+	}
+}
@@ -18,16 +18,24 @@
 
 package org.apache.flink.table.runtime.generated;
 
+import org.apache.flink.api.common.ExecutionConfig;
 import org.apache.flink.api.common.InvalidProgramException;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.operators.testutils.MockEnvironment;
+import org.apache.flink.runtime.operators.testutils.MockEnvironmentBuilder;
 
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Files;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 
@@ -39,10 +47,14 @@ public class CompileUtilsTest {
 	@Rule
 	public ExpectedException thrown = ExpectedException.none();
 
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
 	@Before
 	public void before() {
 		// cleanup cached class before tests
 		CompileUtils.COMPILED_CACHE.invalidateAll();
+		CompileUtils.configure(new Configuration());
 	}
 
 	@Test
@@ -60,6 +72,126 @@ public class CompileUtilsTest {
 		assertNotSame(class1, class3);
 	}
 
+	@Test
+	public void testBytecodeCacheReuse() {
+		String code =
+			"public class Main {\n" +
+			"  int i;\n" +
+			"  int j;\n" +
+			"}";
+
+		long numCompiledClasses = CompileUtils.getNumCompiledClasses();
+		long numBytecodeCacheHits = CompileUtils.getNumBytecodeCacheHits();
+		Class<?> class1 = CompileUtils.compile(this.getClass().getClassLoader(), "Main", code);
+		Class<?> class2 = CompileUtils.compile(new TestClassLoader(), "Main", code);
+		assertNotSame(class1, class2);
+		assertEquals("Main", class2.getName());
+		// the second class is loaded from the cached bytecode
+		assertEquals(numCompiledClasses + 1, CompileUtils.getNumCompiledClasses());
+		assertEquals(numBytecodeCacheHits + 1, CompileUtils.getNumBytecodeCacheHits());
+	}
+
+	@Test
+	public void testPersistedBytecode() throws Exception {
+		String code =
+			"public class Main {\n" +
+			"  public static class Inner {}\n" +
+			"  Inner inner = new Inner();\n" +
+			"}";
+
+		File dir = tempFolder.newFolder();
+		Configuration config = new Configuration();
+		config.setString(CompileCacheOptions.TABLE_EXEC_CODEGEN_CACHE_DIR, dir.getAbsolutePath());
+		CompileUtils.configure(config);
+
+		long numCompiledClasses = CompileUtils.getNumCompiledClasses();
+		CompileUtils.compile(this.getClass().getClassLoader(), "Main", code);
+		assertEquals(1, dir.listFiles().length);
+
+		// drop all cached classes and bytecode in memory, like after a restart
+		CompileUtils.COMPILED_CACHE.invalidateAll();
+		CompileUtils.configure(config);
+
+		Class<?> clazz = CompileUtils.compile(this.getClass().getClassLoader(), "Main", code);
+		assertEquals("Main$Inner", clazz.getDeclaredField("inner").getType().getName());
+		assertEquals(numCompiledClasses + 1, CompileUtils.getNumCompiledClasses());
+	}
+
+	@Test
+	public void testCorruptPersistedBytecode() throws Exception {
+		String code =
+			"public class Main {\n" +
+			"  int i;\n" +
+			"}";
+
+		File dir = tempFolder.newFolder();
+		Configuration config = new Configuration();
+		config.setString(CompileCacheOptions.TABLE_EXEC_CODEGEN_CACHE_DIR, dir.getAbsolutePath());
+		CompileUtils.configure(config);
+
+		long numCompiledClasses = CompileUtils.getNumCompiledClasses();
+		CompileUtils.compile(this.getClass().getClassLoader(), "Main", code);
+		File file = dir.listFiles()[0];
+		byte[] content = Files.readAllBytes(file.toPath());
+		content[content.length / 2] ^= 1;
+		Files.write(file.toPath(), content);
+
+		CompileUtils.COMPILED_CACHE.invalidateAll();
+		CompileUtils.configure(config);
+
+		// the corrupt bytecode is not loaded, but compiled again
+		Class<?> clazz = CompileUtils.compile(this.getClass().getClassLoader(), "Main", code);
+		assertEquals("Main", clazz.getName());
+		assertEquals(numCompiledClasses + 2, CompileUtils.getNumCompiledClasses());
+	}
+
+	@Test
+	public void testBytecodeCachePerJob() throws Exception {
+		String code =
+			"public class Main {\n" +
+			"  int i;\n" +
+			"}";
+
+		File dir1 = tempFolder.newFolder();
+		File dir2 = tempFolder.newFolder();
+		ClassLoader classLoader1 = new TestClassLoader();
+		ClassLoader classLoader2 = new TestClassLoader();
+
+		// the options of every job are used, not only the ones of the first job
+		try (MockEnvironment environment1 = createEnvironment(classLoader1, dir1);
+				MockEnvironment environment2 = createEnvironment(classLoader2, dir2)) {
+			CompileUtils.initialize(environment1);
+			CompileUtils.initialize(environment2);
+
+			CompileUtils.compile(classLoader1, "Main", code);
+			CompileUtils.compile(classLoader2, "Main", code);
+			assertEquals(1, dir1.listFiles().length);
+			assertEquals(1, dir2.listFiles().length);
+		}
+	}
+
+	@Test
+	public void testBytecodeCacheKeyedByUserJars() throws Exception {
+		String code =
+			"public class Main {\n" +
+			"  int i;\n" +
+			"  int j;\n" +
+			"}";
+
+		File jar1 = tempFolder.newFile("udf1.jar");
+		File jar2 = tempFolder.newFile("udf2.jar");
+		Files.write(jar2.toPath(), new byte[] {1, 2, 3});
+
+		long numCompiledClasses = CompileUtils.getNumCompiledClasses();
+		long numBytecodeCacheHits = CompileUtils.getNumBytecodeCacheHits();
+		CompileUtils.compile(new TestClassLoader(jar1.toURI().toURL()), "Main", code);
+		CompileUtils.compile(new TestClassLoader(jar1.toURI().toURL()), "Main", code);
+		// the code is compiled again against other user jars
+		CompileUtils.compile(new TestClassLoader(jar2.toURI().toURL()), "Main", code);
+		assertEquals(numCompiledClasses + 2, CompileUtils.getNumCompiledClasses());
+		assertEquals(numBytecodeCacheHits + 1, CompileUtils.getNumBytecodeCacheHits());
+	}
+
 	@Test
 	public void testWrongCode() {
 		String code =
@@ -73,10 +205,21 @@ public class CompileUtilsTest {
 		CompileUtils.compile(this.getClass().getClassLoader(), "Main", code);
 	}
 
+	private static MockEnvironment createEnvironment(ClassLoader classLoader, File cacheDir) {
+		Configuration jobParameters = new Configuration();
+		jobParameters.setString(CompileCacheOptions.TABLE_EXEC_CODEGEN_CACHE_DIR, cacheDir.getAbsolutePath());
+		ExecutionConfig executionConfig = new ExecutionConfig();
+		executionConfig.setGlobalJobParameters(jobParameters);
+		return new MockEnvironmentBuilder()
+			.setUserCodeClassLoader(classLoader)
+			.setExecutionConfig(executionConfig)
+			.build();
+	}
+
 	private static class TestClassLoader extends URLClassLoader {
 
-		TestClassLoader() {
-			super(new URL[0], Thread.currentThread().getContextClassLoader());
+		TestClassLoader(URL... urls) {
+			super(urls, Thread.currentThread().getContextClassLoader());
 		}
 	}
 }
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.bundle;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.BinaryRow;
+import org.apache.flink.table.dataformat.GenericRow;
+import org.apache.flink.table.runtime.operators.bundle.trigger.CountBundleTrigger;
+import org.apache.flink.table.runtime.typeutils.BaseRowSerializer;
+import org.apache.flink.table.runtime.util.BinaryRowKeySelector;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.util.Collector;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.record;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link BinaryMapBundleOperator}.
+ */
+public class BinaryMapBundleOperatorTest {
+
+	private static final LogicalType[] INPUT_TYPES = new LogicalType[] {
+			new VarCharType(VarCharType.MAX_LENGTH), new BigIntType()};
+	private static final LogicalType[] OUTPUT_TYPES = new LogicalType[] {
+			new VarCharType(VarCharType.MAX_LENGTH), new BigIntType()};
+
+	@Test
+	public void testSimple() throws Exception {
+		OneInputStreamOperatorTestHarness<BaseRow, BaseRow> harness = createHarness(3, 2 * 1024 * 1024);
+		harness.open();
+
+		harness.processElement(record("k1", 1L));
+		harness.processElement(record("k1", 2L));
+		assertTrue(outputs(harness).isEmpty());
+
+		harness.processElement(record("k2", 3L));
+		Map<String, Long> expected = new HashMap<>();
+		expected.put("k1", 3L);
+		expected.put("k2", 3L);
+		assertEquals(expected, sumByKey(outputs(harness)));
+
+		harness.processElement(record("k1", 4L));
+		harness.processElement(record("k3", 5L));
+		assertEquals(2, outputs(harness).size());
+
+		harness.close();
+		expected.put("k1", 7L);
+		expected.put("k3", 5L);
+		assertEquals(expected, sumByKey(outputs(harness)));
+		assertEquals(4, outputs(harness).size());
+	}
+
+	@Test
+	public void testFinishBundleOnMemoryPressure() throws Exception {
+		int numKeys = 50000;
+		OneInputStreamOperatorTestHarness<BaseRow, BaseRow> harness =
+				createHarness(Long.MAX_VALUE, 2 * 1024 * 1024);
+		harness.open();
+
+		for (int i = 0; i < 2 * numKeys; i++) {
+			harness.processElement(record("key" + (i % numKeys), 1L));
+		}
+		// the bundle did not fit into the managed memory
+		assertFalse(outputs(harness).isEmpty());
+
+		harness.close();
+		List<BaseRow> outputs = outputs(harness);
+		assertTrue(outputs.size() > numKeys);
+		Map<String, Long> sums = sumByKey(outputs);
+		assertEquals(numKeys, sums.size());
+		for (long sum : sums.values()) {
+			assertEquals(2L, sum);
+		}
+	}
+
+	private static OneInputStreamOperatorTestHarness<BaseRow, BaseRow> createHarness(
+			long bundleSize, long memorySize) throws Exception {
+		BinaryMapBundleOperator operator = new BinaryMapBundleOperator(
+				new SumBundleFunction(),
+				new CountBundleTrigger<>(bundleSize),
+				new BinaryRowKeySelector(new int[] {0}, INPUT_TYPES),
+				new LogicalType[] {new BigIntType()},
+				memorySize);
+		OneInputStreamOperatorTestHarness<BaseRow, BaseRow> harness =
+				new OneInputStreamOperatorTestHarness<>(operator);
+		harness.setup(new BaseRowSerializer(new ExecutionConfig(), OUTPUT_TYPES));
+		return harness;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<BaseRow> outputs(OneInputStreamOperatorTestHarness<BaseRow, BaseRow> harness) {
+		List<BaseRow> outputs = new ArrayList<>();
+		for (Object record : harness.getOutput()) {
+			if (record instanceof StreamRecord) {
+				outputs.add(((StreamRecord<BaseRow>) record).getValue());
+			}
+		}
+		return outputs;
+	}
+
+	private static Map<String, Long> sumByKey(List<BaseRow> outputs) {
+		Map<String, Long> sums = new HashMap<>();
+		for (BaseRow row : outputs) {
+			sums.merge(row.getString(0).toString(), row.getLong(1), Long::sum);
+		}
+		return sums;
+	}
+
+	private static class SumBundleFunction extends BinaryMapBundleFunction {
+
+		@Override
+		public BaseRow createValue() {
+			return GenericRow.of(0L);
+		}
+
+		@Override
+		public BaseRow addInput(BinaryRow value, BaseRow input) {
+			return GenericRow.of(value.getLong(0) + input.getLong(1));
+		}
+
+		@Override
+		public void finishBundle(BinaryRow key, BinaryRow value, Collector<BaseRow> out) {
+			out.collect(GenericRow.of(key.getString(0), value.getLong(0)));
+		}
+	}
+}
@@ -30,6 +30,7 @@ import org.apache.flink.streaming.api.functions.async.AsyncFunction;
 import org.apache.flink.streaming.api.functions.async.ResultFuture;
 import org.apache.flink.streaming.api.functions.async.RichAsyncFunction;
 import org.apache.flink.streaming.api.operators.async.AsyncWaitOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
 import org.apache.flink.table.dataformat.BaseRow;
 import org.apache.flink.table.dataformat.BinaryString;
@@ -40,6 +41,7 @@ import org.apache.flink.table.runtime.generated.GeneratedFunctionWrapper;
 import org.apache.flink.table.runtime.generated.GeneratedResultFutureWrapper;
 import org.apache.flink.table.runtime.operators.join.lookup.AsyncLookupJoinRunner;
 import org.apache.flink.table.runtime.operators.join.lookup.AsyncLookupJoinWithCalcRunner;
+import org.apache.flink.table.runtime.operators.join.lookup.LookupCache;
 import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinRunner;
 import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinWithCalcRunner;
 import org.apache.flink.table.runtime.typeutils.BaseRowSerializer;
@@ -61,10 +63,12 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static org.apache.flink.table.dataformat.BinaryString.fromString;
 import static org.apache.flink.table.runtime.util.StreamRecordUtils.record;
+import static org.junit.Assert.assertEquals;
 
 /**
  * Harness tests for {@link LookupJoinRunner} and {@link LookupJoinWithCalcRunner}.
@@ -211,12 +215,66 @@ public class AsyncLookupJoinHarnessTest {
 		assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
 	}
 
+	@Test
+	public void testTemporalLeftAsyncJoinWithCache() throws Exception {
+		OneInputStreamOperatorTestHarness<BaseRow, BaseRow> testHarness = createHarness(
+			JoinType.LEFT_JOIN,
+			FilterOnTable.WITHOUT_FILTER,
+			LookupJoinHarnessTest.createCache());
+
+		testHarness.open();
+		TestingFetcherFunction.NUM_CALLS.set(0);
+		TestingFetcherFunction.NUM_COMPLETED.set(0);
+
+		List<StreamRecord<BaseRow>> inputs = Arrays.asList(
+			record(1, "a"),
+			record(2, "b"),
+			record(3, "c"),
+			record(1, "d"),
+			record(2, "e"),
+			record(3, "f"));
+		for (StreamRecord<BaseRow> input : inputs) {
+			synchronized (testHarness.getCheckpointLock()) {
+				testHarness.processElement(input);
+			}
+			// wait until the rows of the key are fetched, so that the next row of the key hits the cache
+			while (TestingFetcherFunction.NUM_COMPLETED.get() < TestingFetcherFunction.NUM_CALLS.get()) {
+				Thread.sleep(10);
+			}
+		}
+
+		// wait until all async collectors in the buffer have been emitted out.
+		synchronized (testHarness.getCheckpointLock()) {
+			testHarness.close();
+		}
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(record(1, "a", 1, "Julian"));
+		expectedOutput.add(record(2, "b", null, null));
+		expectedOutput.add(record(3, "c", 3, "Jark"));
+		expectedOutput.add(record(3, "c", 3, "Jackson"));
+		expectedOutput.add(record(1, "d", 1, "Julian"));
+		expectedOutput.add(record(2, "e", null, null));
+		expectedOutput.add(record(3, "f", 3, "Jark"));
+		expectedOutput.add(record(3, "f", 3, "Jackson"));
+
+		assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+		assertEquals(3, TestingFetcherFunction.NUM_CALLS.get());
+	}
+
 	// ---------------------------------------------------------------------------------
 
-	@SuppressWarnings("unchecked")
 	private OneInputStreamOperatorTestHarness<BaseRow, BaseRow> createHarness(
 			JoinType joinType,
 			FilterOnTable filterOnTable) throws Exception {
+		return createHarness(joinType, filterOnTable, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private OneInputStreamOperatorTestHarness<BaseRow, BaseRow> createHarness(
+			JoinType joinType,
+			FilterOnTable filterOnTable,
+			LookupCache cache) throws Exception {
 		RichAsyncFunction<BaseRow, BaseRow> joinRunner;
 		boolean isLeftJoin = joinType == JoinType.LEFT_JOIN;
 		if (filterOnTable == FilterOnTable.WITHOUT_FILTER) {
@@ -226,7 +284,8 @@ public class AsyncLookupJoinHarnessTest {
 				fetcherReturnType,
 				rightRowTypeInfo,
 				isLeftJoin,
-				ASYNC_BUFFER_CAPACITY);
+				ASYNC_BUFFER_CAPACITY,
+				cache);
 		} else {
 			joinRunner = new AsyncLookupJoinWithCalcRunner(
 				new GeneratedFunctionWrapper(new TestingFetcherFunction()),
@@ -235,7 +294,8 @@ public class AsyncLookupJoinHarnessTest {
 				fetcherReturnType,
 				rightRowTypeInfo,
 				isLeftJoin,
-				ASYNC_BUFFER_CAPACITY);
+				ASYNC_BUFFER_CAPACITY,
+				cache);
 		}
 
 		AsyncWaitOperator<BaseRow, BaseRow> operator = new AsyncWaitOperator<>(
@@ -280,6 +340,9 @@ public class AsyncLookupJoinHarnessTest {
 
 		private static final Map<Integer, List<BaseRow>> data = new HashMap<>();
 
+		static final AtomicInteger NUM_CALLS = new AtomicInteger();
+		static final AtomicInteger NUM_COMPLETED = new AtomicInteger();
+
 		static {
 			data.put(1, Collections.singletonList(
 				GenericRow.of(1, fromString("Julian"))));
@@ -300,10 +363,14 @@ public class AsyncLookupJoinHarnessTest {
 
 		@Override
 		public void asyncInvoke(BaseRow input, ResultFuture<BaseRow> resultFuture) throws Exception {
+			NUM_CALLS.incrementAndGet();
 			int id = input.getInt(0);
 			CompletableFuture
 				.supplyAsync((Supplier<Collection<BaseRow>>) () -> data.get(id), executor)
-				.thenAcceptAsync(resultFuture::complete, executor);
+				.thenAcceptAsync(rows -> {
+					resultFuture.complete(rows);
+					NUM_COMPLETED.incrementAndGet();
+				}, executor);
 		}
 
 		@Override
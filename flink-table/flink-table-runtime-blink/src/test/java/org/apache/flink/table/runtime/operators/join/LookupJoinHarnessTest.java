@@ -33,11 +33,14 @@ import org.apache.flink.table.dataformat.JoinedRow;
 import org.apache.flink.table.runtime.collector.TableFunctionCollector;
 import org.apache.flink.table.runtime.generated.GeneratedCollectorWrapper;
 import org.apache.flink.table.runtime.generated.GeneratedFunctionWrapper;
+import org.apache.flink.table.runtime.operators.join.lookup.LookupCache;
 import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinRunner;
 import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinWithCalcRunner;
 import org.apache.flink.table.runtime.typeutils.BaseRowSerializer;
 import org.apache.flink.table.runtime.util.BaseRowHarnessAssertor;
+import org.apache.flink.table.runtime.util.BinaryRowKeySelector;
 import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.VarCharType;
 import org.apache.flink.util.Collector;
 
@@ -49,9 +52,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.flink.table.dataformat.BinaryString.fromString;
 import static org.apache.flink.table.runtime.util.StreamRecordUtils.record;
+import static org.junit.Assert.assertEquals;
 
 /**
  * Harness tests for {@link LookupJoinRunner} and {@link LookupJoinWithCalcRunner}.
@@ -168,12 +173,50 @@ public class LookupJoinHarnessTest {
 		testHarness.close();
 	}
 
+	@Test
+	public void testTemporalLeftJoinWithFilterAndCache() throws Exception {
+		OneInputStreamOperatorTestHarness<BaseRow, BaseRow> testHarness = createHarness(
+			JoinType.LEFT_JOIN,
+			FilterOnTable.WITH_FILTER,
+			createCache());
+
+		testHarness.open();
+		TestingFetcherFunction.NUM_CALLS.set(0);
+
+		testHarness.processElement(record(1, "a"));
+		testHarness.processElement(record(2, "b"));
+		testHarness.processElement(record(3, "c"));
+		testHarness.processElement(record(1, "d"));
+		testHarness.processElement(record(2, "e"));
+		testHarness.processElement(record(3, "f"));
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(record(1, "a", 1, "Julian"));
+		expectedOutput.add(record(2, "b", null, null));
+		expectedOutput.add(record(3, "c", 3, "Jackson"));
+		expectedOutput.add(record(1, "d", 1, "Julian"));
+		expectedOutput.add(record(2, "e", null, null));
+		expectedOutput.add(record(3, "f", 3, "Jackson"));
+
+		assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+		// the rows of the repeated keys, including the missing key 2, are read from the cache
+		assertEquals(3, TestingFetcherFunction.NUM_CALLS.get());
+		testHarness.close();
+	}
+
 	// ---------------------------------------------------------------------------------
 
-	@SuppressWarnings("unchecked")
 	private OneInputStreamOperatorTestHarness<BaseRow, BaseRow> createHarness(
 			JoinType joinType,
 			FilterOnTable filterOnTable) throws Exception {
+		return createHarness(joinType, filterOnTable, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private OneInputStreamOperatorTestHarness<BaseRow, BaseRow> createHarness(
+			JoinType joinType,
+			FilterOnTable filterOnTable,
+			LookupCache cache) throws Exception {
 		boolean isLeftJoin = joinType == JoinType.LEFT_JOIN;
 		ProcessFunction<BaseRow, BaseRow> joinRunner;
 		if (filterOnTable == FilterOnTable.WITHOUT_FILTER) {
@@ -181,14 +224,16 @@ public class LookupJoinHarnessTest {
 				new GeneratedFunctionWrapper<>(new TestingFetcherFunction()),
 				new GeneratedCollectorWrapper<>(new TestingFetcherCollector()),
 				isLeftJoin,
-				2);
+				2,
+				cache);
 		} else {
 			joinRunner = new LookupJoinWithCalcRunner(
 				new GeneratedFunctionWrapper<>(new TestingFetcherFunction()),
 				new GeneratedFunctionWrapper<>(new CalculateOnTemporalTable()),
 				new GeneratedCollectorWrapper<>(new TestingFetcherCollector()),
 				isLeftJoin,
-				2);
+				2,
+				cache);
 		}
 
 		ProcessOperator<BaseRow, BaseRow> operator = new ProcessOperator<>(joinRunner);
@@ -197,6 +242,18 @@ public class LookupJoinHarnessTest {
 			inSerializer);
 	}
 
+	/**
+	 * Creates a cache of the rows of the lookup table by the id of the input row.
+	 */
+	static LookupCache createCache() {
+		LogicalType[] types = {new IntType(), new VarCharType(VarCharType.MAX_LENGTH)};
+		return new LookupCache(
+			new BinaryRowKeySelector(new int[]{0}, types),
+			types,
+			1024 * 1024,
+			60 * 1000);
+	}
+
 	/**
 	 * Whether this is a inner join or left join.
 	 */
@@ -225,6 +282,8 @@ public class LookupJoinHarnessTest {
 
 		private static final Map<Integer, List<GenericRow>> data = new HashMap<>();
 
+		static final AtomicInteger NUM_CALLS = new AtomicInteger();
+
 		static {
 			data.put(1, Collections.singletonList(
 				GenericRow.of(1, fromString("Julian"))));
@@ -237,6 +296,7 @@ public class LookupJoinHarnessTest {
 
 		@Override
 		public void flatMap(BaseRow value, Collector<BaseRow> out) throws Exception {
+			NUM_CALLS.incrementAndGet();
 			int id = value.getInt(0);
 			List<GenericRow> rows = data.get(id);
 			if (rows != null) {
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.partitionpruning;
+
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.runtime.operators.testutils.MockEnvironment;
+import org.apache.flink.runtime.operators.testutils.MockEnvironmentBuilder;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.BinaryString;
+import org.apache.flink.table.dataformat.GenericRow;
+import org.apache.flink.table.types.logical.DateType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link PartitionValuesCollectorOperator} and {@link PartitionValuesReceiver}.
+ */
+public class PartitionValuesCollectorOperatorTest {
+
+	private static final String VALUES_NAME = "join-1";
+
+	@Test
+	public void testCollectValues() throws Exception {
+		TestingGlobalAggregateManager aggregateManager = new TestingGlobalAggregateManager();
+		PartitionValuesReceiver receiver = new PartitionValuesReceiver(aggregateManager, VALUES_NAME, 0L);
+
+		// two parallel subtasks of the dimension side, with the keys 0, 2, 4, ... and 1, 3, 5, ...
+		List<OneInputStreamOperatorTestHarness<BaseRow, BaseRow>> collectors = new ArrayList<>();
+		for (int subtask = 0; subtask < 2; subtask++) {
+			OneInputStreamOperatorTestHarness<BaseRow, BaseRow> collector =
+				createHarness(aggregateManager, subtask, 2, new int[] {0}, new LogicalType[] {new IntType()}, 100);
+			collector.open();
+			for (int key = subtask; key < 20; key += 2) {
+				// every key twice
+				collector.processElement(new StreamRecord<>(GenericRow.of(key, BinaryString.fromString("a"))));
+				collector.processElement(new StreamRecord<>(GenericRow.of(key, BinaryString.fromString("b"))));
+			}
+			// null keys are dropped
+			collector.processElement(new StreamRecord<>(GenericRow.of(null, BinaryString.fromString("c"))));
+			// the rows are forwarded to the join
+			assertEquals(21, collector.getOutput().size());
+			collectors.add(collector);
+		}
+
+		assertNull(receiver.receive());
+
+		// the values are incomplete until all subtasks of the dimension side have finished
+		collectors.get(0).endInput();
+		assertNull(receiver.receive());
+
+		collectors.get(1).endInput();
+		PartitionValues values = receiver.receive();
+		assertTrue(values.isEnabled());
+		assertEquals(20, values.size());
+		for (int key = 0; key < 20; key++) {
+			assertTrue(values.contains(Arrays.asList(key)));
+		}
+		assertFalse(values.contains(Arrays.asList(20)));
+		assertFalse(values.contains(Arrays.asList((Object) null)));
+
+		for (OneInputStreamOperatorTestHarness<BaseRow, BaseRow> collector : collectors) {
+			collector.close();
+		}
+	}
+
+	@Test
+	public void testMultipleKeyFields() throws Exception {
+		TestingGlobalAggregateManager aggregateManager = new TestingGlobalAggregateManager();
+
+		// the keys are in the order of the partition fields, not of the dimension rows
+		OneInputStreamOperatorTestHarness<BaseRow, BaseRow> collector = createHarness(
+			aggregateManager, 0, 1, new int[] {1, 0}, new LogicalType[] {new DateType(), new VarCharType(10)}, 100);
+		collector.open();
+		collector.processElement(new StreamRecord<>(GenericRow.of(BinaryString.fromString("us"), 17897)));
+		collector.processElement(new StreamRecord<>(GenericRow.of(BinaryString.fromString("eu"), 17898)));
+		collector.endInput();
+
+		PartitionValues values = new PartitionValuesReceiver(aggregateManager, VALUES_NAME, 0L).receive();
+		assertEquals(2, values.size());
+		assertTrue(values.contains(Arrays.asList(Date.valueOf("2019-01-01"), "us")));
+		assertTrue(values.contains(Arrays.asList(Date.valueOf("2019-01-02"), "eu")));
+		assertFalse(values.contains(Arrays.asList(Date.valueOf("2019-01-02"), "us")));
+
+		collector.close();
+	}
+
+	@Test
+	public void testDisabledValues() throws Exception {
+		TestingGlobalAggregateManager aggregateManager = new TestingGlobalAggregateManager();
+
+		OneInputStreamOperatorTestHarness<BaseRow, BaseRow> collector =
+			createHarness(aggregateManager, 0, 1, new int[] {0}, new LogicalType[] {new IntType()}, 100);
+		collector.open();
+		// more keys than expected disable the pruning
+		for (int key = 0; key < 200; key++) {
+			collector.processElement(new StreamRecord<>(GenericRow.of(key, BinaryString.fromString("a"))));
+		}
+		collector.endInput();
+		assertEquals(200, collector.getOutput().size());
+
+		PartitionValues values = new PartitionValuesReceiver(aggregateManager, VALUES_NAME, 0L).receive();
+		assertFalse(values.isEnabled());
+		assertTrue(values.contains(Arrays.asList(1000)));
+
+		collector.close();
+	}
+
+	private static OneInputStreamOperatorTestHarness<BaseRow, BaseRow> createHarness(
+			GlobalAggregateManager aggregateManager,
+			int subtaskIndex,
+			int parallelism,
+			int[] keyFields,
+			LogicalType[] keyTypes,
+			int maxValues) throws Exception {
+		PartitionValuesCollectorOperator operator =
+			new PartitionValuesCollectorOperator(VALUES_NAME, keyFields, keyTypes, maxValues);
+		MockEnvironment environment = new MockEnvironmentBuilder()
+			.setAggregateManager(aggregateManager)
+			.setMaxParallelism(128)
+			.setParallelism(parallelism)
+			.setSubtaskIndex(subtaskIndex)
+			.build();
+		return new OneInputStreamOperatorTestHarness<>(operator, environment);
+	}
+
+	/**
+	 * Keeps the global aggregates in memory, like the JobManager does.
+	 */
+	private static final class TestingGlobalAggregateManager implements GlobalAggregateManager {
+
+		private final Map<String, Object> accumulators = new HashMap<>();
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <IN, ACC, OUT> OUT updateGlobalAggregate(
+				String aggregateName,
+				Object aggregand,
+				AggregateFunction<IN, ACC, OUT> aggregateFunction) {
+
+			ACC accumulator = (ACC) accumulators.computeIfAbsent(aggregateName, name -> aggregateFunction.createAccumulator());
+			accumulator = aggregateFunction.add((IN) aggregand, accumulator);
+			accumulators.put(aggregateName, accumulator);
+			return aggregateFunction.getResult(accumulator);
+		}
+	}
+}
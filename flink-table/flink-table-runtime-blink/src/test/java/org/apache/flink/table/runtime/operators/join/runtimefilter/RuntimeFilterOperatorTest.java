@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.runtimefilter;
+
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.runtime.operators.testutils.MockEnvironment;
+import org.apache.flink.runtime.operators.testutils.MockEnvironmentBuilder;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.BinaryRow;
+import org.apache.flink.table.dataformat.BinaryRowWriter;
+import org.apache.flink.table.dataformat.GenericRow;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.generated.Projection;
+import org.apache.flink.table.types.logical.BigIntType;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link RuntimeFilterBuilderOperator} and {@link RuntimeFilterOperator}.
+ */
+public class RuntimeFilterOperatorTest {
+
+	private static final String FILTER_NAME = "join-1";
+
+	@Test
+	public void testFilterProbeSide() throws Exception {
+		TestingGlobalAggregateManager aggregateManager = new TestingGlobalAggregateManager();
+
+		OneInputStreamOperatorTestHarness<BaseRow, BaseRow> probe = createProbeHarness(aggregateManager, 0, 10);
+		probe.open();
+
+		// before the filter is available, all rows pass
+		for (long key = 0; key < 5; key++) {
+			probe.processElement(new StreamRecord<>(GenericRow.of(key * 1000, "early")));
+		}
+		assertEquals(5, probe.getOutput().size());
+
+		// two parallel subtasks of the build side, with keys 0, 2, 4, ... and 1, 3, 5, ...
+		List<OneInputStreamOperatorTestHarness<BaseRow, BaseRow>> builders = new ArrayList<>();
+		for (int subtask = 0; subtask < 2; subtask++) {
+			OneInputStreamOperatorTestHarness<BaseRow, BaseRow> builder = createBuildHarness(aggregateManager, subtask, 2);
+			builder.open();
+			for (long key = subtask; key < 100; key += 2) {
+				builder.processElement(new StreamRecord<>(GenericRow.of(key, "build")));
+			}
+			// the build rows are forwarded to the join
+			assertEquals(50, builder.getOutput().size());
+			builders.add(builder);
+		}
+
+		// the filter is incomplete until all subtasks of the build side have finished
+		builders.get(0).endInput();
+		for (long key = 0; key < 10; key++) {
+			probe.processElement(new StreamRecord<>(GenericRow.of(-1L, "incomplete")));
+		}
+		assertEquals(15, probe.getOutput().size());
+
+		builders.get(1).endInput();
+
+		probe.getOutput().clear();
+		int numProbeRows = 0;
+		for (long key = 0; key < 10_000; key += 7) {
+			probe.processElement(new StreamRecord<>(GenericRow.of(key, "probe")));
+			numProbeRows++;
+		}
+
+		List<Long> keys = new ArrayList<>();
+		for (Object record : probe.getOutput()) {
+			@SuppressWarnings("unchecked")
+			BaseRow row = ((StreamRecord<BaseRow>) record).getValue();
+			keys.add(row.getLong(0));
+		}
+
+		// all keys of the build side pass, and the keys outside the range of the build keys are dropped
+		for (long key = 0; key < 100; key += 7) {
+			assertTrue(keys.contains(key));
+		}
+		for (long key : keys) {
+			assertTrue("Unexpected key " + key, key < 100 || key >= 10_000);
+		}
+		// the rows before the next check of the filter pass unfiltered
+		assertTrue(keys.size() < 10 + 100 / 7 + 1);
+		assertTrue(numProbeRows > keys.size());
+
+		for (OneInputStreamOperatorTestHarness<BaseRow, BaseRow> builder : builders) {
+			builder.close();
+		}
+		probe.close();
+	}
+
+	@Test
+	public void testDisabledFilter() throws Exception {
+		TestingGlobalAggregateManager aggregateManager = new TestingGlobalAggregateManager();
+
+		OneInputStreamOperatorTestHarness<BaseRow, BaseRow> builder = createBuildHarness(aggregateManager, 0, 1);
+		builder.open();
+		// more rows than expected disable the filter
+		for (long key = 0; key < 2000; key++) {
+			builder.processElement(new StreamRecord<>(GenericRow.of(key, "build")));
+		}
+		builder.endInput();
+		assertEquals(2000, builder.getOutput().size());
+
+		OneInputStreamOperatorTestHarness<BaseRow, BaseRow> probe = createProbeHarness(aggregateManager, 0, 1);
+		probe.open();
+		for (long key = 0; key < 100; key++) {
+			probe.processElement(new StreamRecord<>(GenericRow.of(key + 1_000_000L, "probe")));
+		}
+		assertEquals(100, probe.getOutput().size());
+
+		builder.close();
+		probe.close();
+	}
+
+	@Test
+	public void testFilterRequestedAsynchronously() throws Exception {
+		TestingGlobalAggregateManager aggregateManager = new TestingGlobalAggregateManager();
+
+		OneInputStreamOperatorTestHarness<BaseRow, BaseRow> builder = createBuildHarness(aggregateManager, 0, 1);
+		builder.open();
+		for (long key = 0; key < 100; key++) {
+			builder.processElement(new StreamRecord<>(GenericRow.of(key, "build")));
+		}
+		builder.endInput();
+
+		DeferringGlobalAggregateManager deferringManager = new DeferringGlobalAggregateManager(aggregateManager);
+		OneInputStreamOperatorTestHarness<BaseRow, BaseRow> probe = createProbeHarness(deferringManager, 0, 1);
+		probe.open();
+
+		// the rows pass while the request is pending, and no further requests are sent
+		for (long key = 0; key < 50; key++) {
+			probe.processElement(new StreamRecord<>(GenericRow.of(key + 1_000_000L, "pending")));
+		}
+		assertEquals(50, probe.getOutput().size());
+		assertEquals(1, deferringManager.numRequests);
+
+		// the filter applies as soon as the request has completed
+		deferringManager.completePendingRequests();
+		for (long key = 0; key < 50; key++) {
+			probe.processElement(new StreamRecord<>(GenericRow.of(key + 1_000_000L, "probe")));
+		}
+		assertEquals(50, probe.getOutput().size());
+		assertEquals(1, deferringManager.numRequests);
+
+		builder.close();
+		probe.close();
+	}
+
+	private static OneInputStreamOperatorTestHarness<BaseRow, BaseRow> createBuildHarness(
+			GlobalAggregateManager aggregateManager, int subtaskIndex, int parallelism) throws Exception {
+		RuntimeFilterBuilderOperator operator = new RuntimeFilterBuilderOperator(
+			FILTER_NAME, keyProjection(), new BigIntType(), 1000, 0.01);
+		return new OneInputStreamOperatorTestHarness<>(operator, createEnvironment(aggregateManager, subtaskIndex, parallelism));
+	}
+
+	private static OneInputStreamOperatorTestHarness<BaseRow, BaseRow> createProbeHarness(
+			GlobalAggregateManager aggregateManager, int subtaskIndex, int parallelism) throws Exception {
+		RuntimeFilterOperator operator = new RuntimeFilterOperator(FILTER_NAME, keyProjection(), new BigIntType(), 10);
+		return new OneInputStreamOperatorTestHarness<>(operator, createEnvironment(aggregateManager, subtaskIndex, parallelism));
+	}
+
+	private static MockEnvironment createEnvironment(
+			GlobalAggregateManager aggregateManager, int subtaskIndex, int parallelism) {
+		return new MockEnvironmentBuilder()
+			.setAggregateManager(aggregateManager)
+			.setMaxParallelism(128)
+			.setParallelism(parallelism)
+			.setSubtaskIndex(subtaskIndex)
+			.build();
+	}
+
+	private static GeneratedProjection keyProjection() {
+		return new GeneratedProjection("", "", new Object[0]) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public Projection newInstance(ClassLoader classLoader) {
+				return new LongKeyProjection();
+			}
+		};
+	}
+
+	/**
+	 * Projects the first field of type BIGINT.
+	 */
+	private static final class LongKeyProjection implements Projection<BaseRow, BinaryRow> {
+
+		private final BinaryRow key = new BinaryRow(1);
+		private final BinaryRowWriter writer = new BinaryRowWriter(key);
+
+		@Override
+		public BinaryRow apply(BaseRow row) {
+			writer.reset();
+			if (row.isNullAt(0)) {
+				writer.setNullAt(0);
+			} else {
+				writer.writeLong(0, row.getLong(0));
+			}
+			writer.complete();
+			return key;
+		}
+	}
+
+	/**
+	 * Keeps the global aggregates in memory, like the JobManager does.
+	 */
+	private static final class TestingGlobalAggregateManager implements GlobalAggregateManager {
+
+		private final Map<String, Object> accumulators = new HashMap<>();
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <IN, ACC, OUT> OUT updateGlobalAggregate(
+				String aggregateName,
+				Object aggregand,
+				AggregateFunction<IN, ACC, OUT> aggregateFunction) {
+
+			ACC accumulator = (ACC) accumulators.computeIfAbsent(aggregateName, name -> aggregateFunction.createAccumulator());
+			accumulator = aggregateFunction.add((IN) aggregand, accumulator);
+			accumulators.put(aggregateName, accumulator);
+			return aggregateFunction.getResult(accumulator);
+		}
+	}
+
+	/**
+	 * Completes the asynchronous requests only when told to, like a slow JobManager.
+	 */
+	private static final class DeferringGlobalAggregateManager implements GlobalAggregateManager {
+
+		private final GlobalAggregateManager delegate;
+
+		private final List<Runnable> pendingRequests = new ArrayList<>();
+
+		private int numRequests;
+
+		private DeferringGlobalAggregateManager(GlobalAggregateManager delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public <IN, ACC, OUT> OUT updateGlobalAggregate(
+				String aggregateName,
+				Object aggregand,
+				AggregateFunction<IN, ACC, OUT> aggregateFunction) throws IOException {
+			return delegate.updateGlobalAggregate(aggregateName, aggregand, aggregateFunction);
+		}
+
+		@Override
+		public <IN, ACC, OUT> CompletableFuture<OUT> updateGlobalAggregateAsync(
+				String aggregateName,
+				Object aggregand,
+				AggregateFunction<IN, ACC, OUT> aggregateFunction) {
+			numRequests++;
+			CompletableFuture<OUT> result = new CompletableFuture<>();
+			pendingRequests.add(() -> {
+				try {
+					result.complete(delegate.updateGlobalAggregate(aggregateName, aggregand, aggregateFunction));
+				} catch (IOException e) {
+					result.completeExceptionally(e);
+				}
+			});
+			return result;
+		}
+
+		private void completePendingRequests() {
+			pendingRequests.forEach(Runnable::run);
+			pendingRequests.clear();
+		}
+	}
+}
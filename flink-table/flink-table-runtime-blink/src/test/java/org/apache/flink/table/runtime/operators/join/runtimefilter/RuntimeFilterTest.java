@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.runtimefilter;
+
+import org.apache.flink.util.InstantiationUtil;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link RuntimeFilter}.
+ */
+public class RuntimeFilterTest {
+
+	@Test
+	public void testNoFalseNegatives() {
+		RuntimeFilter filter = new RuntimeFilter(1000, 0.05);
+		for (int i = 0; i < 1000; i++) {
+			filter.add(hash(i));
+		}
+
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(filter.mightContain(hash(i)));
+		}
+
+		int falsePositives = 0;
+		for (int i = 1000; i < 11000; i++) {
+			if (filter.mightContain(hash(i))) {
+				falsePositives++;
+			}
+		}
+		// the expected false positive probability is 5%
+		assertTrue("Too many false positives: " + falsePositives, falsePositives < 1000);
+	}
+
+	@Test
+	public void testMergeAndSerialize() throws Exception {
+		RuntimeFilter first = new RuntimeFilter(100, 0.01);
+		RuntimeFilter second = new RuntimeFilter(100, 0.01);
+		for (int i = 0; i < 50; i++) {
+			first.add(hash(i));
+			first.addToRange(i);
+			second.add(hash(i + 50));
+			second.addToRange(i + 50);
+		}
+
+		RuntimeFilter merged = InstantiationUtil.clone(first).merge(InstantiationUtil.clone(second));
+		merged = InstantiationUtil.clone(merged);
+
+		assertEquals(100, merged.getNumEntries());
+		for (int i = 0; i < 100; i++) {
+			assertTrue(merged.mightContain(hash(i)));
+			assertTrue(merged.inRange(i));
+		}
+		assertFalse(merged.inRange(-1));
+		assertFalse(merged.inRange(100));
+	}
+
+	@Test
+	public void testDisabled() {
+		RuntimeFilter filter = new RuntimeFilter(10, 0.01);
+		filter.add(hash(1));
+
+		RuntimeFilter disabled = filter.merge(RuntimeFilter.disabled());
+		assertFalse(disabled.isEnabled());
+		assertTrue(disabled.mightContain(hash(2)));
+		assertTrue(disabled.inRange(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void testWithoutRange() {
+		RuntimeFilter filter = new RuntimeFilter(10, 0.01);
+		filter.add(hash(1));
+		assertTrue(filter.inRange(Long.MIN_VALUE));
+	}
+
+	private static int hash(int key) {
+		return Integer.reverse(key * 0x9E3779B9);
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeutils.SerializerTestInstance;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataOutputViewStreamWrapper;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.BinaryRow;
+import org.apache.flink.table.dataformat.GenericRow;
+import org.apache.flink.table.dataformat.util.BaseRowUtil;
+import org.apache.flink.table.runtime.typeutils.BaseRowSerializer;
+import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.testutils.DeeplyEqualsChecker;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.apache.flink.table.dataformat.BinaryString.fromString;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test for {@link MultiJoinUnionRowSerializer}.
+ */
+public class MultiJoinUnionRowSerializerTest extends SerializerTestInstance<BaseRow> {
+
+	private static final BaseRowTypeInfo[] INPUT_TYPES = new BaseRowTypeInfo[] {
+			new BaseRowTypeInfo(new IntType(), new VarCharType(VarCharType.MAX_LENGTH)),
+			new BaseRowTypeInfo(new BigIntType()),
+			new BaseRowTypeInfo(new IntType(), new BigIntType(), new BigIntType(), new BigIntType())};
+
+	public MultiJoinUnionRowSerializerTest() {
+		super(
+			new DeeplyEqualsChecker()
+				.withCustomCheck(
+					(o1, o2) -> o1 instanceof BaseRow && o2 instanceof BaseRow,
+					(o1, o2, checker) -> deepEqualsUnionRow((BaseRow) o1, (BaseRow) o2)),
+			createUnionRowSerializer(),
+			BaseRow.class,
+			-1,
+			testData());
+	}
+
+	private static MultiJoinUnionRowSerializer createUnionRowSerializer() {
+		return (MultiJoinUnionRowSerializer) new MultiJoinInputLayout(INPUT_TYPES)
+				.getUnionType().createSerializer(new ExecutionConfig());
+	}
+
+	private static BaseRow[] testData() {
+		GenericRow row0 = GenericRow.of(1, fromString("a"));
+		GenericRow row1 = GenericRow.of(2L);
+		row1.setHeader(BaseRowUtil.RETRACT_MSG);
+		GenericRow row2 = GenericRow.of(3, 4L, null, 5L);
+		return new BaseRow[] {
+				MultiJoinInputLayout.toUnionRow(row0, 0),
+				MultiJoinInputLayout.toUnionRow(row1, 1),
+				MultiJoinInputLayout.toUnionRow(row2, 2)};
+	}
+
+	private static boolean deepEqualsUnionRow(BaseRow should, BaseRow is) {
+		int inputIndex = MultiJoinInputLayout.getInputIndex(should);
+		if (inputIndex != MultiJoinInputLayout.getInputIndex(is) || should.getHeader() != is.getHeader()) {
+			return false;
+		}
+		BaseRowSerializer serializer = INPUT_TYPES[inputIndex].createSerializer(new ExecutionConfig());
+		BinaryRow row1 = serializer.toBinaryRow(MultiJoinInputLayout.getInputRow(should));
+		BinaryRow row2 = serializer.toBinaryRow(MultiJoinInputLayout.getInputRow(is));
+		return row1.equals(row2);
+	}
+
+	@Test
+	public void testRecordsAreNotPadded() throws IOException {
+		MultiJoinUnionRowSerializer serializer = createUnionRowSerializer();
+		BaseRowSerializer inputSerializer = INPUT_TYPES[1].createSerializer(new ExecutionConfig());
+		BaseRow row = GenericRow.of(2L);
+
+		int unionSize = serializedSize(serializer, MultiJoinInputLayout.toUnionRow(row, 1));
+		int inputSize = serializedSize(inputSerializer, row);
+		// the union row only adds the input index to the record of its input
+		assertEquals(inputSize + 4, unionSize);
+	}
+
+	private static int serializedSize(TypeSerializer<BaseRow> serializer, BaseRow row) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		serializer.serialize(row, new DataOutputViewStreamWrapper(out));
+		return out.size();
+	}
+}
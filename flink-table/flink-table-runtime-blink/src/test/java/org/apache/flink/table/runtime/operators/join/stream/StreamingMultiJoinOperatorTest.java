@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.functions.AbstractRichFunction;
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.KeyedOneInputStreamOperatorTestHarness;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.generated.JoinCondition;
+import org.apache.flink.table.runtime.keyselector.BaseRowKeySelector;
+import org.apache.flink.table.runtime.keyselector.MultiJoinKeySelector;
+import org.apache.flink.table.runtime.operators.join.Int2HashJoinOperatorTest.TrueCondition;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.typeutils.BaseRowSerializer;
+import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo;
+import org.apache.flink.table.runtime.util.BaseRowHarnessAssertor;
+import org.apache.flink.table.runtime.util.BinaryRowKeySelector;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.record;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.retractRecord;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link StreamingMultiJoinOperator}.
+ */
+public class StreamingMultiJoinOperatorTest {
+
+	private static final int NUM_INPUTS = 3;
+
+	private final BaseRowTypeInfo inputType = new BaseRowTypeInfo(new BigIntType(), new BigIntType());
+	private final MultiJoinInputLayout inputLayout =
+			new MultiJoinInputLayout(new BaseRowTypeInfo[] {inputType, inputType, inputType});
+
+	private final LogicalType[] outputTypes = new LogicalType[] {
+			new BigIntType(), new BigIntType(), new BigIntType(),
+			new BigIntType(), new BigIntType(), new BigIntType()};
+	private final BaseRowHarnessAssertor assertor =
+			new BaseRowHarnessAssertor(new BaseRowTypeInfo(outputTypes).getFieldTypes());
+
+	@Test
+	public void testInnerJoin() throws Exception {
+		KeyedOneInputStreamOperatorTestHarness<BaseRow, BaseRow, BaseRow> harness = createHarness(
+				trueCondition(), trueCondition());
+		harness.open();
+
+		harness.processElement(input(0, record(1L, 10L)));
+		harness.processElement(input(1, record(1L, 20L)));
+		assertEquals(0, harness.getOutput().size());
+
+		harness.processElement(input(2, record(1L, 30L)));
+		harness.processElement(input(0, record(1L, 11L)));
+		// no record of the other inputs for key 2
+		harness.processElement(input(2, record(2L, 31L)));
+		harness.processElement(input(1, retractRecord(1L, 20L)));
+		harness.processElement(input(1, record(1L, 21L)));
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(record(1L, 10L, 1L, 20L, 1L, 30L));
+		expectedOutput.add(record(1L, 11L, 1L, 20L, 1L, 30L));
+		expectedOutput.add(retractRecord(1L, 10L, 1L, 20L, 1L, 30L));
+		expectedOutput.add(retractRecord(1L, 11L, 1L, 20L, 1L, 30L));
+		expectedOutput.add(record(1L, 10L, 1L, 21L, 1L, 30L));
+		expectedOutput.add(record(1L, 11L, 1L, 21L, 1L, 30L));
+		assertor.assertOutputEqualsSorted("output wrong.", expectedOutput, harness.getOutput());
+
+		// only the records of the inputs are kept in state
+		assertEquals(4, harness.numKeyedStateEntries());
+		harness.close();
+	}
+
+	@Test
+	public void testInnerJoinWithNonEquiCondition() throws Exception {
+		// the value of the first input is less than the value of the third input
+		KeyedOneInputStreamOperatorTestHarness<BaseRow, BaseRow, BaseRow> harness = createHarness(
+				trueCondition(), lessThanCondition(1, 1));
+		harness.open();
+
+		harness.processElement(input(2, record(1L, 15L)));
+		harness.processElement(input(1, record(1L, 20L)));
+		harness.processElement(input(0, record(1L, 10L)));
+		harness.processElement(input(0, record(1L, 16L)));
+		harness.processElement(input(2, record(1L, 17L)));
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(record(1L, 10L, 1L, 20L, 1L, 15L));
+		expectedOutput.add(record(1L, 10L, 1L, 20L, 1L, 17L));
+		expectedOutput.add(record(1L, 16L, 1L, 20L, 1L, 17L));
+		assertor.assertOutputEqualsSorted("output wrong.", expectedOutput, harness.getOutput());
+		harness.close();
+	}
+
+	@Test
+	public void testNullKeysAreFiltered() throws Exception {
+		KeyedOneInputStreamOperatorTestHarness<BaseRow, BaseRow, BaseRow> harness = createHarness(
+				trueCondition(), trueCondition());
+		harness.open();
+
+		harness.processElement(input(0, record(null, 10L)));
+		harness.processElement(input(1, record(null, 20L)));
+		harness.processElement(input(2, record(null, 30L)));
+
+		assertEquals(0, harness.getOutput().size());
+		assertEquals(0, harness.numKeyedStateEntries());
+		harness.close();
+	}
+
+	@Test
+	public void testRestoreNumOfRecords() throws Exception {
+		KeyedOneInputStreamOperatorTestHarness<BaseRow, BaseRow, BaseRow> harness =
+				createHarness(createOperator(trueCondition(), trueCondition()));
+		harness.open();
+
+		harness.processElement(input(0, record(1L, 10L)));
+		harness.processElement(input(0, record(1L, 11L)));
+		harness.processElement(input(1, record(1L, 20L)));
+		OperatorSubtaskState snapshot = harness.snapshot(0L, 0L);
+		harness.close();
+
+		StreamingMultiJoinOperator operator = createOperator(trueCondition(), trueCondition());
+		harness = createHarness(operator);
+		harness.initializeState(snapshot);
+		harness.open();
+
+		// the numbers of buffered records survive the restore
+		assertEquals(2, operator.getNumOfRecords(0));
+		assertEquals(1, operator.getNumOfRecords(1));
+		assertEquals(0, operator.getNumOfRecords(2));
+
+		harness.processElement(input(2, record(1L, 30L)));
+		harness.processElement(input(0, retractRecord(1L, 10L)));
+		assertEquals(1, operator.getNumOfRecords(0));
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(record(1L, 10L, 1L, 20L, 1L, 30L));
+		expectedOutput.add(record(1L, 11L, 1L, 20L, 1L, 30L));
+		expectedOutput.add(retractRecord(1L, 10L, 1L, 20L, 1L, 30L));
+		assertor.assertOutputEqualsSorted("output wrong.", expectedOutput, harness.getOutput());
+		harness.close();
+	}
+
+	private StreamRecord<BaseRow> input(int inputIndex, StreamRecord<BaseRow> record) {
+		return new StreamRecord<>(MultiJoinInputLayout.toUnionRow(record.getValue(), inputIndex));
+	}
+
+	private KeyedOneInputStreamOperatorTestHarness<BaseRow, BaseRow, BaseRow> createHarness(
+			GeneratedJoinCondition... conditions) throws Exception {
+		return createHarness(createOperator(conditions));
+	}
+
+	private StreamingMultiJoinOperator createOperator(GeneratedJoinCondition... conditions) {
+		JoinInputSideSpec[] inputSideSpecs = new JoinInputSideSpec[NUM_INPUTS];
+		for (int i = 0; i < NUM_INPUTS; i++) {
+			inputSideSpecs[i] = JoinInputSideSpec.withoutUniqueKey();
+		}
+		return new StreamingMultiJoinOperator(inputLayout, conditions, inputSideSpecs, new boolean[] {true}, 0);
+	}
+
+	private KeyedOneInputStreamOperatorTestHarness<BaseRow, BaseRow, BaseRow> createHarness(
+			StreamingMultiJoinOperator operator) throws Exception {
+		BaseRowKeySelector[] keySelectors = new BaseRowKeySelector[NUM_INPUTS];
+		for (int i = 0; i < NUM_INPUTS; i++) {
+			keySelectors[i] = new BinaryRowKeySelector(new int[] {0}, inputType.getLogicalTypes());
+		}
+		MultiJoinKeySelector keySelector = new MultiJoinKeySelector(inputLayout, keySelectors);
+		KeyedOneInputStreamOperatorTestHarness<BaseRow, BaseRow, BaseRow> harness =
+				new KeyedOneInputStreamOperatorTestHarness<>(
+						operator, keySelector, keySelector.getProducedType());
+		harness.setup(new BaseRowSerializer(new ExecutionConfig(), outputTypes));
+		return harness;
+	}
+
+	private static GeneratedJoinCondition trueCondition() {
+		return new GeneratedJoinCondition("", "", new Object[0]) {
+			@Override
+			public JoinCondition newInstance(ClassLoader classLoader) {
+				return new TrueCondition();
+			}
+		};
+	}
+
+	private static GeneratedJoinCondition lessThanCondition(int leftField, int rightField) {
+		return new GeneratedJoinCondition("", "", new Object[0]) {
+			@Override
+			public JoinCondition newInstance(ClassLoader classLoader) {
+				return new LessThanCondition(leftField, rightField);
+			}
+		};
+	}
+
+	private static class LessThanCondition extends AbstractRichFunction implements JoinCondition {
+
+		private final int leftField;
+		private final int rightField;
+
+		private LessThanCondition(int leftField, int rightField) {
+			this.leftField = leftField;
+			this.rightField = rightField;
+		}
+
+		@Override
+		public boolean apply(BaseRow in1, BaseRow in2) {
+			return in1.getLong(leftField) < in2.getLong(rightField);
+		}
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.rank;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.contrib.streaming.state.RocksDBStateBackend;
+import org.apache.flink.runtime.state.KeyedStateBackend;
+import org.apache.flink.runtime.state.memory.MemoryStateBackend;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.runtime.generated.GeneratedRecordEqualiser;
+import org.apache.flink.table.runtime.generated.RecordEqualiser;
+import org.apache.flink.table.runtime.typeutils.BaseRowSerializer;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.deleteRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.record;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.retractRecord;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link IncrementalTopNFunction}, which must behave like {@link RetractableTopNFunction} on both
+ * the heap state backend and the RocksDB state backend, which iterates the sort keys in order.
+ */
+@RunWith(Parameterized.class)
+public class IncrementalTopNFunctionTest extends RetractableTopNFunctionTest {
+
+	private final boolean useRocksDB;
+
+	// RocksDB returns binary rows, so records must be compared with the generic rows of the test
+	private final GeneratedRecordEqualiser binaryEqualiser = new GeneratedRecordEqualiser("", "", new Object[0]) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public RecordEqualiser newInstance(ClassLoader classLoader) {
+			return new BinaryRecordEqualiser(inputRowType.getLogicalTypes());
+		}
+	};
+
+	public IncrementalTopNFunctionTest(boolean useRocksDB) {
+		this.useRocksDB = useRocksDB;
+	}
+
+	@Parameterized.Parameters(name = "useRocksDB = {0}")
+	public static Collection<Boolean> parameters() {
+		return Arrays.asList(false, true);
+	}
+
+	@Override
+	protected AbstractTopNFunction createFunction(RankType rankType, RankRange rankRange,
+			boolean generateRetraction, boolean outputRankNumber) {
+		return new IncrementalTopNFunction(minTime.toMilliseconds(), maxTime.toMilliseconds(),
+				inputRowType, sortKeyComparator, sortKeySelector, new boolean[] {true}, new boolean[] {false},
+				rankType, rankRange, binaryEqualiser, generateRetraction, outputRankNumber, cacheSize);
+	}
+
+	@Override
+	OneInputStreamOperatorTestHarness<BaseRow, BaseRow> createTestHarness(
+			AbstractTopNFunction rankFunction) throws Exception {
+		OneInputStreamOperatorTestHarness<BaseRow, BaseRow> testHarness = super.createTestHarness(rankFunction);
+		if (useRocksDB) {
+			testHarness.setStateBackend(new RocksDBStateBackend(new MemoryStateBackend()));
+		}
+		return testHarness;
+	}
+
+	@Test
+	public void testRetractRecordsBeyondCachedRegion() throws Exception {
+		AbstractTopNFunction func = createFunction(RankType.ROW_NUMBER, new ConstantRankRange(1, 2), true,
+				true);
+		OneInputStreamOperatorTestHarness<BaseRow, BaseRow> testHarness = createTestHarness(func);
+		testHarness.open();
+		testHarness.processElement(record("book", 1L, 15));
+		testHarness.processElement(record("book", 2L, 12));
+		testHarness.processElement(record("book", 3L, 19));
+		testHarness.processElement(record("book", 4L, 11));
+		testHarness.processElement(record("book", 5L, 17));
+		// ranks are now 4L, 2L | 1L, 5L, 3L; retracting the top ones pulls in records from state
+		testHarness.processElement(retractRecord("book", 4L, 11));
+		testHarness.processElement(retractRecord("book", 2L, 12));
+		// a retraction after the top region does not emit anything
+		testHarness.processElement(retractRecord("book", 3L, 19));
+		testHarness.processElement(retractRecord("book", 1L, 15));
+		testHarness.close();
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(record("book", 1L, 15, 1L));
+		expectedOutput.add(record("book", 2L, 12, 1L));
+		expectedOutput.add(retractRecord("book", 1L, 15, 1L));
+		expectedOutput.add(record("book", 1L, 15, 2L));
+		expectedOutput.add(record("book", 4L, 11, 1L));
+		expectedOutput.add(retractRecord("book", 2L, 12, 1L));
+		expectedOutput.add(record("book", 2L, 12, 2L));
+		expectedOutput.add(retractRecord("book", 1L, 15, 2L));
+		expectedOutput.add(deleteRecord("book", 4L, 11, 1L));
+		expectedOutput.add(retractRecord("book", 2L, 12, 2L));
+		expectedOutput.add(record("book", 2L, 12, 1L));
+		expectedOutput.add(record("book", 1L, 15, 2L));
+		expectedOutput.add(deleteRecord("book", 2L, 12, 1L));
+		expectedOutput.add(retractRecord("book", 1L, 15, 2L));
+		expectedOutput.add(record("book", 1L, 15, 1L));
+		expectedOutput.add(record("book", 5L, 17, 2L));
+		expectedOutput.add(deleteRecord("book", 1L, 15, 1L));
+		expectedOutput.add(retractRecord("book", 5L, 17, 2L));
+		expectedOutput.add(record("book", 5L, 17, 1L));
+		assertorWithRowNumber.assertOutputEqualsSorted("output wrong.", expectedOutput, testHarness.getOutput());
+	}
+
+	@Test
+	public void testOnlyRocksDBIsOrdered() throws Exception {
+		AbstractTopNFunction func = createFunction(RankType.ROW_NUMBER, new ConstantRankRange(1, 2), true,
+				true);
+		OneInputStreamOperatorTestHarness<BaseRow, BaseRow> testHarness = createTestHarness(func);
+		testHarness.open();
+		assertEquals(useRocksDB, ((IncrementalTopNFunction) func).isStateOrdered());
+		testHarness.close();
+
+		// other backends than the heap backend are not assumed to be ordered either
+		assertFalse(IncrementalTopNFunction.isOrderedStateBackend(mock(KeyedStateBackend.class)));
+	}
+
+	/**
+	 * Compares records in their binary form.
+	 */
+	private static class BinaryRecordEqualiser implements RecordEqualiser {
+
+		private static final long serialVersionUID = 1L;
+
+		private final BaseRowSerializer serializer;
+
+		private BinaryRecordEqualiser(LogicalType[] types) {
+			this.serializer = new BaseRowSerializer(new ExecutionConfig(), types);
+		}
+
+		@Override
+		public boolean equals(BaseRow row1, BaseRow row2) {
+			return serializer.toBinaryRow(row1).copy().equals(serializer.toBinaryRow(row2));
+		}
+
+		@Override
+		public boolean equalsWithoutHeader(BaseRow row1, BaseRow row2) {
+			return serializer.toBinaryRow(row1).copy().equalsWithoutHeader(serializer.toBinaryRow(row2));
+		}
+	}
+}
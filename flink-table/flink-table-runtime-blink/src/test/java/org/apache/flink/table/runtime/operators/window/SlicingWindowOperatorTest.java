@@ -0,0 +1,365 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.window;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.util.KeyedOneInputStreamOperatorTestHarness;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.GenericRow;
+import org.apache.flink.table.runtime.dataview.StateDataViewStore;
+import org.apache.flink.table.runtime.generated.GeneratedNamespaceAggsHandleFunction;
+import org.apache.flink.table.runtime.generated.NamespaceAggsHandleFunction;
+import org.apache.flink.table.runtime.operators.window.assigners.SlidingWindowAssigner;
+import org.apache.flink.table.runtime.typeutils.BaseRowTypeInfo;
+import org.apache.flink.table.runtime.util.BaseRowHarnessAssertor;
+import org.apache.flink.table.runtime.util.BinaryRowKeySelector;
+import org.apache.flink.table.runtime.util.GenericRowRecordSortComparator;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.record;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link SlicingWindowOperator}.
+ */
+public class SlicingWindowOperatorTest {
+
+	private LogicalType[] inputFieldTypes = new LogicalType[]{
+			new VarCharType(VarCharType.MAX_LENGTH),
+			new IntType(),
+			new BigIntType()};
+
+	private BaseRowTypeInfo outputType = new BaseRowTypeInfo(
+			new VarCharType(VarCharType.MAX_LENGTH),
+			new BigIntType(),
+			new BigIntType(),
+			new BigIntType(),
+			new BigIntType(),
+			new BigIntType());
+
+	private LogicalType[] accTypes = new LogicalType[] { new BigIntType(), new BigIntType() };
+	private BinaryRowKeySelector keySelector = new BinaryRowKeySelector(new int[] { 0 }, inputFieldTypes);
+	private TypeInformation<BaseRow> keyType = keySelector.getProducedType();
+	private BaseRowHarnessAssertor assertor = new BaseRowHarnessAssertor(
+			outputType.getFieldTypes(),
+			new GenericRowRecordSortComparator(0, new VarCharType(VarCharType.MAX_LENGTH)));
+
+	@Test
+	public void testEventTimeSlidingWindows() throws Exception {
+		SlicingWindowOperator<BaseRow> operator = new SlicingWindowOperator<>(
+				createAggsHandler(),
+				SlidingWindowAssigner.of(Duration.ofSeconds(3), Duration.ofSeconds(1)).withEventTime(),
+				accTypes,
+				2);
+
+		KeyedOneInputStreamOperatorTestHarness<BaseRow, BaseRow, BaseRow> testHarness = createTestHarness(operator);
+
+		testHarness.open();
+
+		// process elements
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+
+		// add elements out-of-order
+		testHarness.processElement(record("key2", 1, 3999L));
+		testHarness.processElement(record("key2", 1, 3000L));
+
+		testHarness.processElement(record("key1", 1, 20L));
+		testHarness.processElement(record("key1", 1, 0L));
+		testHarness.processElement(record("key1", 1, 999L));
+
+		testHarness.processElement(record("key2", 1, 1998L));
+		testHarness.processElement(record("key2", 1, 1999L));
+		testHarness.processElement(record("key2", 1, 1000L));
+
+		testHarness.processWatermark(new Watermark(999));
+		expectedOutput.add(record("key1", 3L, 3L, -2000L, 1000L, 999L));
+		expectedOutput.add(new Watermark(999));
+		assertor.assertOutputEqualsSorted("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.processWatermark(new Watermark(1999));
+		expectedOutput.add(record("key1", 3L, 3L, -1000L, 2000L, 1999L));
+		expectedOutput.add(record("key2", 3L, 3L, -1000L, 2000L, 1999L));
+		expectedOutput.add(new Watermark(1999));
+		assertor.assertOutputEqualsSorted("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.processWatermark(new Watermark(2999));
+		expectedOutput.add(record("key1", 3L, 3L, 0L, 3000L, 2999L));
+		expectedOutput.add(record("key2", 3L, 3L, 0L, 3000L, 2999L));
+		expectedOutput.add(new Watermark(2999));
+		assertor.assertOutputEqualsSorted("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		// do a snapshot, close and restore again
+		OperatorSubtaskState snapshot = testHarness.snapshot(0L, 0);
+		testHarness.close();
+		expectedOutput.clear();
+
+		testHarness = createTestHarness(operator);
+		testHarness.setup();
+		testHarness.initializeState(snapshot);
+		testHarness.open();
+
+		testHarness.processWatermark(new Watermark(3999));
+		expectedOutput.add(record("key2", 5L, 5L, 1000L, 4000L, 3999L));
+		expectedOutput.add(new Watermark(3999));
+		assertor.assertOutputEqualsSorted("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.processWatermark(new Watermark(4999));
+		expectedOutput.add(record("key2", 2L, 2L, 2000L, 5000L, 4999L));
+		expectedOutput.add(new Watermark(4999));
+		assertor.assertOutputEqualsSorted("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.processWatermark(new Watermark(5999));
+		expectedOutput.add(record("key2", 2L, 2L, 3000L, 6000L, 5999L));
+		expectedOutput.add(new Watermark(5999));
+		assertor.assertOutputEqualsSorted("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		// those don't have any effect...
+		testHarness.processWatermark(new Watermark(6999));
+		testHarness.processWatermark(new Watermark(7999));
+		expectedOutput.add(new Watermark(6999));
+		expectedOutput.add(new Watermark(7999));
+
+		assertor.assertOutputEqualsSorted("Output was not correct.", expectedOutput, testHarness.getOutput());
+		assertEquals(0, testHarness.numKeyedStateEntries());
+
+		testHarness.close();
+	}
+
+	@Test
+	public void testProcessingTimeSlidingWindows() throws Exception {
+		SlicingWindowOperator<BaseRow> operator = new SlicingWindowOperator<>(
+				createAggsHandler(),
+				SlidingWindowAssigner.of(Duration.ofSeconds(3), Duration.ofSeconds(1)).withProcessingTime(),
+				accTypes,
+				-1);
+
+		KeyedOneInputStreamOperatorTestHarness<BaseRow, BaseRow, BaseRow> testHarness = createTestHarness(operator);
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+
+		testHarness.open();
+
+		// timestamp is ignored in processing time
+		testHarness.setProcessingTime(3);
+		testHarness.processElement(record("key2", 1, Long.MAX_VALUE));
+
+		testHarness.setProcessingTime(1000);
+
+		expectedOutput.add(record("key2", 1L, 1L, -2000L, 1000L, 999L));
+
+		assertor.assertOutputEqualsSorted("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.processElement(record("key2", 1, Long.MAX_VALUE));
+		testHarness.processElement(record("key2", 1, Long.MAX_VALUE));
+
+		testHarness.setProcessingTime(2000);
+
+		expectedOutput.add(record("key2", 3L, 3L, -1000L, 2000L, 1999L));
+		assertor.assertOutputEqualsSorted("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.processElement(record("key1", 1, Long.MAX_VALUE));
+		testHarness.processElement(record("key1", 1, Long.MAX_VALUE));
+
+		testHarness.setProcessingTime(3000);
+
+		expectedOutput.add(record("key2", 3L, 3L, 0L, 3000L, 2999L));
+		expectedOutput.add(record("key1", 2L, 2L, 0L, 3000L, 2999L));
+
+		assertor.assertOutputEqualsSorted("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.processElement(record("key1", 1, Long.MAX_VALUE));
+		testHarness.processElement(record("key1", 1, Long.MAX_VALUE));
+		testHarness.processElement(record("key1", 1, Long.MAX_VALUE));
+
+		testHarness.setProcessingTime(7000);
+
+		expectedOutput.add(record("key2", 2L, 2L, 1000L, 4000L, 3999L));
+		expectedOutput.add(record("key1", 5L, 5L, 1000L, 4000L, 3999L));
+		expectedOutput.add(record("key1", 5L, 5L, 2000L, 5000L, 4999L));
+		expectedOutput.add(record("key1", 3L, 3L, 3000L, 6000L, 5999L));
+
+		assertor.assertOutputEqualsSorted("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.close();
+	}
+
+	@Test
+	public void testLargeRatioOfSizeAndSlide() throws Exception {
+		SlicingWindowOperator<BaseRow> operator = new SlicingWindowOperator<>(
+				createAggsHandler(),
+				SlidingWindowAssigner.of(Duration.ofMinutes(10), Duration.ofSeconds(1)).withEventTime(),
+				accTypes,
+				2);
+
+		KeyedOneInputStreamOperatorTestHarness<BaseRow, BaseRow, BaseRow> testHarness = createTestHarness(operator);
+		testHarness.open();
+
+		testHarness.processElement(record("key1", 1, 100L));
+		testHarness.processElement(record("key1", 1, 300L));
+		testHarness.processElement(record("key1", 2, 1100L));
+		// a single timer for the first window of each pane instead of one timer per window
+		assertEquals(2, testHarness.numEventTimeTimers());
+
+		testHarness.processWatermark(new Watermark(1_000_000L));
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(record("key1", 2L, 2L, -599_000L, 1000L, 999L));
+		for (long end = 2000L; end <= 600_000L; end += 1000L) {
+			expectedOutput.add(record("key1", 4L, 3L, end - 600_000L, end, end - 1));
+		}
+		expectedOutput.add(record("key1", 2L, 1L, 1000L, 601_000L, 600_999L));
+		expectedOutput.add(new Watermark(1_000_000L));
+		assertor.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		assertEquals(0, testHarness.numEventTimeTimers());
+		assertEquals(0, testHarness.numKeyedStateEntries());
+
+		testHarness.close();
+	}
+
+	@Test
+	public void testLateElementsDropped() throws Exception {
+		SlicingWindowOperator<BaseRow> operator = new SlicingWindowOperator<>(
+				createAggsHandler(),
+				SlidingWindowAssigner.of(Duration.ofSeconds(3), Duration.ofSeconds(1)).withEventTime(),
+				accTypes,
+				2);
+
+		KeyedOneInputStreamOperatorTestHarness<BaseRow, BaseRow, BaseRow> testHarness = createTestHarness(operator);
+		testHarness.open();
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+
+		testHarness.processWatermark(new Watermark(2999));
+		expectedOutput.add(new Watermark(2999));
+
+		// all the windows of the pane have been fired
+		testHarness.processElement(record("key1", 1, 500L));
+		// only the window [1000, 4000) of the pane has not been fired
+		testHarness.processElement(record("key1", 2, 1500L));
+		testHarness.processElement(record("key1", 4, 3500L));
+
+		testHarness.processWatermark(new Watermark(4999));
+		expectedOutput.add(record("key1", 6L, 2L, 1000L, 4000L, 3999L));
+		expectedOutput.add(record("key1", 4L, 1L, 2000L, 5000L, 4999L));
+		expectedOutput.add(new Watermark(4999));
+
+		testHarness.processWatermark(new Watermark(5999));
+		expectedOutput.add(record("key1", 4L, 1L, 3000L, 6000L, 5999L));
+		expectedOutput.add(new Watermark(5999));
+
+		assertor.assertOutputEqualsSorted("Output was not correct.", expectedOutput, testHarness.getOutput());
+		assertEquals(1, operator.getNumLateRecordsDropped().getCount());
+
+		testHarness.close();
+	}
+
+	private KeyedOneInputStreamOperatorTestHarness<BaseRow, BaseRow, BaseRow> createTestHarness(
+			SlicingWindowOperator<BaseRow> operator) throws Exception {
+		return new KeyedOneInputStreamOperatorTestHarness<>(operator, keySelector, keyType);
+	}
+
+	private static GeneratedNamespaceAggsHandleFunction<TimeWindow> createAggsHandler() {
+		return new GeneratedNamespaceAggsHandleFunction<TimeWindow>("SumAndCountAgg", "", new Object[0]) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public NamespaceAggsHandleFunction<TimeWindow> newInstance(ClassLoader classLoader) {
+				return new SumAndCountAgg();
+			}
+		};
+	}
+
+	// sum, count, window_start, window_end, window_max_timestamp
+	private static class SumAndCountAgg implements NamespaceAggsHandleFunction<TimeWindow> {
+
+		private static final long serialVersionUID = 1L;
+
+		private long sum;
+		private long count;
+
+		@Override
+		public void open(StateDataViewStore store) {
+		}
+
+		@Override
+		public void setAccumulators(TimeWindow namespace, BaseRow acc) {
+			sum = acc.getLong(0);
+			count = acc.getLong(1);
+		}
+
+		@Override
+		public void accumulate(BaseRow inputRow) {
+			if (!inputRow.isNullAt(1)) {
+				sum += inputRow.getInt(1);
+				count += 1;
+			}
+		}
+
+		@Override
+		public void retract(BaseRow inputRow) {
+			if (!inputRow.isNullAt(1)) {
+				sum -= inputRow.getInt(1);
+				count -= 1;
+			}
+		}
+
+		@Override
+		public void merge(TimeWindow namespace, BaseRow otherAcc) {
+			sum += otherAcc.getLong(0);
+			count += otherAcc.getLong(1);
+		}
+
+		@Override
+		public BaseRow createAccumulators() {
+			return GenericRow.of(0L, 0L);
+		}
+
+		@Override
+		public BaseRow getAccumulators() {
+			return GenericRow.of(sum, count);
+		}
+
+		@Override
+		public BaseRow getValue(TimeWindow namespace) {
+			return GenericRow.of(sum, count, namespace.getStart(), namespace.getEnd(), namespace.maxTimestamp());
+		}
+
+		@Override
+		public void cleanup(TimeWindow namespace) {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -102,6 +102,21 @@ public class SlidingWindowAssignerTest {
 
 		assertEquals(assigner.getLastWindow(new TimeWindow(4000, 5000)), new TimeWindow(4000, 9000));
 		assertEquals(assigner.getLastWindow(new TimeWindow(2000, 3000)), new TimeWindow(2000, 7000));
+
+		assertEquals(assigner.getFirstWindow(new TimeWindow(4000, 5000)), new TimeWindow(0, 5000));
+		assertEquals(assigner.getFirstWindow(new TimeWindow(-1000, 0)), new TimeWindow(-5000, 0));
+		assertEquals(assigner.getNextWindow(new TimeWindow(0, 5000)), new TimeWindow(1000, 6000));
+	}
+
+	@Test
+	public void testFirstWindowOfPaneWithUnalignedSlide() {
+		SlidingWindowAssigner assigner = SlidingWindowAssigner.of(Duration.ofMillis(5000), Duration.ofMillis(2000));
+
+		assertEquals(assigner.assignPane(ELEMENT, 2500L), new TimeWindow(2000, 3000));
+		assertEquals(assigner.getFirstWindow(new TimeWindow(2000, 3000)), new TimeWindow(-2000, 3000));
+		assertEquals(assigner.getFirstWindow(new TimeWindow(3000, 4000)), new TimeWindow(0, 5000));
+		assertEquals(assigner.getLastWindow(new TimeWindow(3000, 4000)), new TimeWindow(2000, 7000));
+		assertEquals(assigner.getNextWindow(new TimeWindow(0, 5000)), new TimeWindow(2000, 7000));
 	}
 
 	@SuppressWarnings("unchecked")
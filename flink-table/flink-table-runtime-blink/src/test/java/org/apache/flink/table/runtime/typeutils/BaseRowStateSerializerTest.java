@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.typeutils;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataInputViewStreamWrapper;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.BinaryRow;
+import org.apache.flink.table.dataformat.GenericRow;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+
+import static org.apache.flink.table.dataformat.BinaryString.fromString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test for {@link BaseRowStateSerializer}.
+ */
+public class BaseRowStateSerializerTest {
+
+	private final BaseRowStateSerializer serializer = new BaseRowStateSerializer(
+		new ExecutionConfig(), new IntType(), new VarCharType(VarCharType.MAX_LENGTH));
+
+	@Test
+	public void testDeserializeWithoutCopy() throws Exception {
+		DataOutputSerializer out = new DataOutputSerializer(64);
+		out.writeInt(42);
+		serializer.serialize(GenericRow.of(1, fromString("a")), out);
+		serializer.serialize(GenericRow.of(2, null), out);
+		byte[] bytes = out.getCopyOfBuffer();
+
+		DataInputDeserializer in = new DataInputDeserializer(bytes);
+		assertEquals(42, in.readInt());
+		BinaryRow row1 = (BinaryRow) serializer.deserialize(in);
+		BinaryRow row2 = (BinaryRow) serializer.deserialize(in);
+		assertEquals(0, in.available());
+
+		assertSame(bytes, row1.getSegments()[0].getArray());
+		assertSame(bytes, row2.getSegments()[0].getArray());
+		assertEquals(1, row1.getInt(0));
+		assertEquals(fromString("a"), row1.getString(1));
+		assertEquals(2, row2.getInt(0));
+		assertTrue(row2.isNullAt(1));
+	}
+
+	@Test
+	public void testDeserializeFromStream() throws Exception {
+		DataOutputSerializer out = new DataOutputSerializer(64);
+		serializer.serialize(GenericRow.of(1, fromString("a")), out);
+
+		BaseRow row = serializer.deserialize(
+			new DataInputViewStreamWrapper(new ByteArrayInputStream(out.getCopyOfBuffer())));
+		assertEquals(1, row.getInt(0));
+		assertEquals(fromString("a"), row.getString(1));
+	}
+
+	@Test
+	public void testCompactRow() {
+		BaseRowStateSerializer fixedLengthSerializer = new BaseRowStateSerializer(
+			new ExecutionConfig(), new BigIntType(), new IntType());
+		GenericRow acc = GenericRow.of(10L, null);
+		BaseRow compact = fixedLengthSerializer.toCompactRow(acc);
+		assertTrue(compact instanceof BinaryRow);
+		assertEquals(10L, compact.getLong(0));
+		assertTrue(compact.isNullAt(1));
+		assertNotSame(compact, fixedLengthSerializer.toCompactRow(GenericRow.of(11L, 1)));
+		assertEquals(10L, compact.getLong(0));
+		assertTrue(fixedLengthSerializer.copy(acc) instanceof BinaryRow);
+
+		// rows with variable-length fields are kept as they are
+		GenericRow row = GenericRow.of(1, fromString("a"));
+		assertSame(row, serializer.toCompactRow(row));
+		assertFalse(serializer.copy(row) instanceof BinaryRow);
+	}
+
+	@Test
+	public void testCompatibleWithBaseRowSerializer() {
+		BaseRowSerializer previous = new BaseRowSerializer(
+			new ExecutionConfig(), new IntType(), new VarCharType(VarCharType.MAX_LENGTH));
+		TypeSerializerSchemaCompatibility<BaseRow> compatibility =
+			previous.snapshotConfiguration().resolveSchemaCompatibility(serializer);
+		assertTrue(compatibility.isCompatibleAsIs());
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.typeutils;
+
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.table.dataformat.BaseRow;
+import org.apache.flink.table.dataformat.BinaryRow;
+import org.apache.flink.table.dataformat.BinaryString;
+import org.apache.flink.table.dataformat.Decimal;
+import org.apache.flink.table.dataformat.GenericRow;
+import org.apache.flink.table.types.logical.ArrayType;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.SmallIntType;
+import org.apache.flink.table.types.logical.TinyIntType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test for {@link SortKeySerializer}.
+ */
+public class SortKeySerializerTest {
+
+	private static final LogicalType[] TYPES = {
+		new IntType(),
+		new VarCharType(VarCharType.MAX_LENGTH),
+		new DoubleType(),
+		new BigIntType(),
+		new DecimalType(10, 2),
+		new SmallIntType(),
+		new TinyIntType()
+	};
+
+	@Test
+	public void testSerializedFormKeepsOrder() throws IOException {
+		Random random = new Random(42);
+		boolean[] ascending = {true, false, true, false, true, true, false};
+		boolean[] nullsIsLast = {false, true, true, false, false, true, true};
+		SortKeySerializer serializer = new SortKeySerializer(TYPES, ascending, nullsIsLast);
+		Comparator<BaseRow> comparator = new FieldComparator(ascending, nullsIsLast);
+
+		List<BaseRow> rows = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			rows.add(randomRow(random));
+		}
+		for (int i = 1; i < rows.size(); i++) {
+			BaseRow row1 = rows.get(i - 1);
+			BaseRow row2 = rows.get(i);
+			byte[] bytes1 = serialize(serializer, row1);
+			byte[] bytes2 = serialize(serializer, row2);
+			assertEquals(
+				Integer.signum(comparator.compare(row1, row2)),
+				Integer.signum(compareUnsigned(bytes1, bytes2)));
+
+			BaseRow deserialized = serializer.deserialize(new DataInputDeserializer(bytes2));
+			assertTrue(deserialized instanceof BinaryRow);
+			assertEquals(0, comparator.compare(row2, deserialized));
+		}
+	}
+
+	@Test
+	public void testSupportedTypes() {
+		assertTrue(SortKeySerializer.isSupported(TYPES));
+		assertFalse(SortKeySerializer.isSupported(new DecimalType(30, 2)));
+		assertFalse(SortKeySerializer.isSupported(new ArrayType(new IntType())));
+	}
+
+	private static BaseRow randomRow(Random random) {
+		// few distinct values, so that rows often share prefixes
+		return GenericRow.of(
+			random.nextInt(5) == 0 ? null : random.nextInt(5) - 2,
+			random.nextInt(5) == 0 ? null : randomString(random),
+			random.nextInt(5) == 0 ? null : (random.nextInt(5) - 2) * 0.5,
+			random.nextInt(5) == 0 ? null : (long) random.nextInt(3) - 1L,
+			random.nextInt(5) == 0 ? null : Decimal.fromUnscaledLong(10, 2, random.nextInt(5) - 2),
+			random.nextInt(5) == 0 ? null : (short) (random.nextInt(3) - 1),
+			random.nextInt(5) == 0 ? null : (byte) (random.nextInt(3) - 1));
+	}
+
+	private static BinaryString randomString(Random random) {
+		byte[] bytes = new byte[random.nextInt(3)];
+		for (int i = 0; i < bytes.length; i++) {
+			// include zero bytes, which are escaped
+			bytes[i] = (byte) random.nextInt(3);
+		}
+		return BinaryString.fromBytes(bytes);
+	}
+
+	private static byte[] serialize(SortKeySerializer serializer, BaseRow row) throws IOException {
+		DataOutputSerializer out = new DataOutputSerializer(64);
+		serializer.serialize(row, out);
+		return out.getCopyOfBuffer();
+	}
+
+	private static int compareUnsigned(byte[] bytes1, byte[] bytes2) {
+		for (int i = 0; i < Math.min(bytes1.length, bytes2.length); i++) {
+			int res = (bytes1[i] & 0xFF) - (bytes2[i] & 0xFF);
+			if (res != 0) {
+				return res;
+			}
+		}
+		return bytes1.length - bytes2.length;
+	}
+
+	/**
+	 * Compares rows of {@link #TYPES} like the generated sort key comparators do.
+	 */
+	private static class FieldComparator implements Comparator<BaseRow> {
+
+		private final boolean[] ascending;
+		private final boolean[] nullsIsLast;
+
+		private FieldComparator(boolean[] ascending, boolean[] nullsIsLast) {
+			this.ascending = ascending;
+			this.nullsIsLast = nullsIsLast;
+		}
+
+		@Override
+		public int compare(BaseRow row1, BaseRow row2) {
+			for (int i = 0; i < TYPES.length; i++) {
+				boolean isNull1 = row1.isNullAt(i);
+				boolean isNull2 = row2.isNullAt(i);
+				if (isNull1 && isNull2) {
+					continue;
+				} else if (isNull1) {
+					return nullsIsLast[i] ? 1 : -1;
+				} else if (isNull2) {
+					return nullsIsLast[i] ? -1 : 1;
+				}
+				int comp;
+				switch (i) {
+					case 0:
+						comp = Integer.compare(row1.getInt(i), row2.getInt(i));
+						break;
+					case 1:
+						comp = row1.getString(i).compareTo(row2.getString(i));
+						break;
+					case 2:
+						comp = Double.compare(row1.getDouble(i), row2.getDouble(i));
+						break;
+					case 3:
+						comp = Long.compare(row1.getLong(i), row2.getLong(i));
+						break;
+					case 4:
+						comp = row1.getDecimal(i, 10, 2).compareTo(row2.getDecimal(i, 10, 2));
+						break;
+					case 5:
+						comp = Short.compare(row1.getShort(i), row2.getShort(i));
+						break;
+					default:
+						comp = Byte.compare(row1.getByte(i), row2.getByte(i));
+				}
+				if (comp != 0) {
+					return ascending[i] ? comp : -comp;
+				}
+			}
+			return 0;
+		}
+	}
+}
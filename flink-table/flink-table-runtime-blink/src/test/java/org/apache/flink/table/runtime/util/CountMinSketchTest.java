@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CountMinSketch}.
+ */
+public class CountMinSketchTest {
+
+	@Test
+	public void testEstimate() {
+		CountMinSketch sketch = new CountMinSketch(1024, 4);
+		for (int i = 0; i < 10000; i++) {
+			sketch.add(i % 100);
+		}
+		for (int i = 0; i < 1000; i++) {
+			sketch.add(-1);
+		}
+		assertEquals(11000, sketch.getTotalCount());
+
+		// never underestimates, and overestimates by at most 2 * total / width
+		long maxError = 2 * sketch.getTotalCount() / 1024;
+		for (int i = 0; i < 100; i++) {
+			long estimate = sketch.estimate(i);
+			assertTrue(estimate >= 100 && estimate <= 100 + maxError);
+		}
+		long estimate = sketch.estimate(-1);
+		assertTrue(estimate >= 1000 && estimate <= 1000 + maxError);
+		assertTrue(sketch.estimate(12345) <= maxError);
+	}
+
+	@Test
+	public void testAddReturnsEstimate() {
+		CountMinSketch sketch = new CountMinSketch(16, 2);
+		assertEquals(1, sketch.add(7));
+		assertEquals(2, sketch.add(7));
+		assertEquals(2, sketch.estimate(7));
+		assertEquals(0, sketch.estimate(8));
+	}
+
+	@Test
+	public void testDecay() {
+		CountMinSketch sketch = new CountMinSketch(1024, 4);
+		for (int i = 0; i < 100; i++) {
+			sketch.add(1);
+		}
+		sketch.add(2);
+		sketch.decay();
+		assertEquals(50, sketch.estimate(1));
+		assertEquals(0, sketch.estimate(2));
+		assertEquals(50, sketch.getTotalCount());
+	}
+}